@@ -1,19 +1,25 @@
 package com.gestiondeportiva.api.auth;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
 import com.gestiondeportiva.api.dto.UsuarioCreateDTO;
 import com.gestiondeportiva.api.dto.UsuarioDTO;
+import com.gestiondeportiva.api.security.AuditoriaAccesos;
 import com.gestiondeportiva.api.security.JwtUtil;
+import com.gestiondeportiva.api.security.RenovacionTokens;
+import com.gestiondeportiva.api.security.RevocacionTokens;
 import com.gestiondeportiva.api.security.UserDetailsServiceImpl;
+import com.gestiondeportiva.api.security.UsuarioPrincipal;
 import com.gestiondeportiva.api.services.UsuarioService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 /**
@@ -27,6 +33,9 @@ import jakarta.validation.Valid;
  * <ul>
  *   <li>POST /api/auth/login - Autentica usuario y devuelve token JWT</li>
  *   <li>POST /api/auth/register - Registra nuevo usuario y devuelve token JWT</li>
+ *   <li>POST /api/auth/refresh - Renueva el token JWT con un refresh token (y lo rota)</li>
+ *   <li>POST /api/auth/logout - Revoca el token JWT de la petición y, si se envía, el refresh token
+ *       (requiere autenticación)</li>
  * </ul>
  *
  * <p><strong>Flujo de autenticación:</strong></p>
@@ -35,6 +44,7 @@ import jakarta.validation.Valid;
  *   <li>Spring Security verifica credenciales (contraseña con BCrypt)</li>
  *   <li>Si es correcto, genera token JWT con rol del usuario</li>
  *   <li>Cliente usa el token en header Authorization para llamadas posteriores</li>
+ *   <li>Cuando el token expira, el cliente lo renueva con el refresh token, sin contraseña</li>
  * </ol>
  *
  * @author Sistema de Gestión Deportiva MyClub
@@ -47,18 +57,24 @@ import jakarta.validation.Valid;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsServiceImpl userDetailsService;
     private final JwtUtil jwtUtil;
     private final UsuarioService usuarioService;
+    private final RevocacionTokens revocacionTokens;
+    private final RenovacionTokens renovacionTokens;
+    private final AuditoriaAccesos auditoriaAccesos;
 
     public AuthController(AuthenticationManager authenticationManager,
-                          UserDetailsServiceImpl userDetailsService,
                           JwtUtil jwtUtil,
-                          UsuarioService usuarioService) {
+                          UsuarioService usuarioService,
+                          RevocacionTokens revocacionTokens,
+                          RenovacionTokens renovacionTokens,
+                          AuditoriaAccesos auditoriaAccesos) {
         this.authenticationManager = authenticationManager;
-        this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
         this.usuarioService = usuarioService;
+        this.revocacionTokens = revocacionTokens;
+        this.renovacionTokens = renovacionTokens;
+        this.auditoriaAccesos = auditoriaAccesos;
     }
 
     /**
@@ -68,43 +84,59 @@ public class AuthController {
      * La contraseña se compara con BCrypt. Si es correcta, genera un token JWT
      * que incluye el rol del usuario y tiene una validez configurable.
      * </p>
+     * <p>
+     * El intento (correcto o fallido) y el último acceso se registran en segundo plano
+     * mediante {@link AuditoriaAccesos}, sin añadir escrituras a la petición.
+     * </p>
      *
      * @param request objeto con email y password del usuario
-     * @return ResponseEntity con LoginResponse conteniendo el token JWT
+     * @param httpRequest petición HTTP (para registrar la IP de origen)
+     * @return ResponseEntity con LoginResponse conteniendo el token JWT y el refresh token
      * @throws org.springframework.security.core.AuthenticationException si las credenciales son incorrectas
      */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request,
+                                               HttpServletRequest httpRequest) {
 
         // Autenticar email + password
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            auditoriaAccesos.registrar(null, request.getEmail(), httpRequest.getRemoteAddr(), false);
+            throw e;
+        }
 
-        // Cargar datos completos del usuario
-        UserDetails user = userDetailsService.loadUserByUsername(request.getEmail());
+        // El principal autenticado ya contiene ID, rol y equipo del usuario
+        UsuarioPrincipal user = (UsuarioPrincipal) authentication.getPrincipal();
+        auditoriaAccesos.registrar(user.getId(), user.getUsername(), httpRequest.getRemoteAddr(), true);
 
-        // Generar token
+        // Generar token y refresh token
         String token = jwtUtil.generateToken(user);
+        String refreshToken = renovacionTokens.emitir(user.getId());
 
-        return ResponseEntity.ok(new LoginResponse(token));
+        return ResponseEntity.ok(new LoginResponse(token, refreshToken));
     }
 
     /**
      * Registra un nuevo usuario en el sistema y autentica automáticamente.
      * <p>
      * Crea un nuevo usuario con los datos proporcionados, encripta la contraseña,
-     * y genera un token JWT automáticamente sin requerir un login adicional.
+     * y genera un token JWT directamente a partir del usuario guardado, sin requerir
+     * un login adicional ni volver a verificar la contraseña.
      * </p>
      *
      * <p><strong>Validaciones:</strong></p>
      * <ul>
-     *   <li>Verifica que el email no esté ya registrado</li>
+     *   <li>Verifica que el email no esté ya registrado (respaldado por el índice único)</li>
+     *   <li>Crea siempre un JUGADOR sin equipo: el rol y el equipo del cliente se ignoran</li>
      *   <li>Aplica validaciones de @Valid en RegisterRequest</li>
-     *   <li>Encripta contraseña con BCrypt antes de guardar</li>
+     *   <li>Encripta contraseña con BCrypt una única vez antes de guardar</li>
      * </ul>
      *
      * @param request datos del nuevo usuario con validaciones
@@ -113,50 +145,88 @@ public class AuthController {
      */
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
+
+        // Crear DTO para el servicio
+        UsuarioCreateDTO nuevoUsuario = new UsuarioCreateDTO(
+                request.getNombre(),
+                request.getApellidos(),
+                request.getEmail(),
+                request.getPassword(),
+                request.getRol(),
+                request.getPosicion(),
+                request.getTelefono(),
+                request.getIdEquipo()
+        );
+
+        // Guardar el usuario (comprobación de email y cifrado de la contraseña en el servicio)
+        UsuarioDTO usuarioCreado;
         try {
-            // Verificar si el email ya existe
-            if (usuarioService.findByEmail(request.getEmail()).isPresent()) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                        .body("El email ya está registrado");
-            }
-
-            // Crear DTO para el servicio
-            UsuarioCreateDTO nuevoUsuario = new UsuarioCreateDTO(
-                    request.getNombre(),
-                    request.getApellidos(),
-                    request.getEmail(),
-                    request.getPassword(),
-                    request.getRol(),
-                    request.getPosicion(),
-                    request.getTelefono(),
-                    request.getIdEquipo()
-            );
+            usuarioCreado = usuarioService.registrar(nuevoUsuario);
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("El email ya está registrado");
+        }
 
-            // Guardar el usuario (la contraseña se encriptará en el servicio)
-            UsuarioDTO usuarioCreado = usuarioService.save(nuevoUsuario);
+        // Generar token desde el usuario guardado
+        String token = jwtUtil.generateToken(new UsuarioPrincipal(
+                usuarioCreado.getId(),
+                usuarioCreado.getEmail(),
+                null,
+                usuarioCreado.getRol(),
+                usuarioCreado.getIdEquipo()));
 
-            // Autenticar automáticamente después del registro
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            request.getPassword()
-                    )
-            );
+        // Devolver respuesta con token, refresh token y datos del usuario
+        RegisterResponse response = new RegisterResponse(
+                token, renovacionTokens.emitir(usuarioCreado.getId()), usuarioCreado);
 
-            // Cargar datos completos del usuario
-            UserDetails user = userDetailsService.loadUserByUsername(request.getEmail());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
 
-            // Generar token
-            String token = jwtUtil.generateToken(user);
+    /**
+     * Renueva la sesión con un refresh token, sin verificar la contraseña.
+     * <p>
+     * Devuelve un token JWT nuevo y un refresh token nuevo; el refresh token presentado
+     * deja de ser válido (rotación), por lo que el cliente debe guardar el nuevo.
+     * </p>
+     *
+     * @param request objeto con el refresh token
+     * @return ResponseEntity con LoginResponse (token y refresh token nuevos),
+     *         o 401 si el refresh token no existe, ha expirado o ya se ha usado
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+
+        return renovacionTokens.renovar(request.getRefreshToken())
+                .<ResponseEntity<?>>map(tokens -> ResponseEntity.ok(
+                        new LoginResponse(tokens.accessToken(), tokens.refreshToken())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body("Refresh token no válido o expirado"));
+    }
 
-            // Devolver respuesta con token y datos del usuario
-            RegisterResponse response = new RegisterResponse(token, usuarioCreado);
+    /**
+     * Cierra la sesión revocando el token JWT con el que se hace la petición.
+     * <p>
+     * El token deja de autenticar en cuanto se confirma la revocación; la revocación se
+     * conserva hasta que el token habría expirado. Si se envía el refresh token, también
+     * se invalida.
+     * </p>
+     *
+     * @param authorization header Authorization con el token ("Bearer {token}")
+     * @param request objeto con el refresh token (opcional)
+     * @return ResponseEntity vacío con código 204
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader("Authorization") String authorization,
+                                       @RequestBody(required = false) RefreshRequest request) {
 
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        // La petición ya está autenticada, así que el token es válido
+        JwtUtil.TokenVerificado token = jwtUtil.verificar(authorization.substring(7));
+        revocacionTokens.revocarToken(token.id(), token.expiraEn());
 
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error al registrar el usuario: " + e.getMessage());
+        if (request != null) {
+            renovacionTokens.revocar(request.getRefreshToken());
         }
+
+        return ResponseEntity.noContent().build();
     }
 }
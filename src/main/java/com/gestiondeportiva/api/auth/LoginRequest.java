@@ -15,7 +15,7 @@ package com.gestiondeportiva.api.auth;
  *
  * @author Sistema de Gestión Deportiva MyClub
  * @version 1.0
- * @see com.gestiondeportiva.api.auth.AuthController#login(LoginRequest)
+ * @see com.gestiondeportiva.api.auth.AuthController#login
  */
 public class LoginRequest {
 
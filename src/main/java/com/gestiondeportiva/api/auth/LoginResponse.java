@@ -7,28 +7,40 @@ package com.gestiondeportiva.api.auth;
  * Este token debe ser incluido en las cabeceras Authorization de las
  * peticiones posteriores para acceder a endpoints protegidos.
  * </p>
+ * <p>
+ * Incluye también un refresh token para obtener un token JWT nuevo mediante
+ * POST /api/auth/refresh cuando el actual expire, sin volver a enviar la contraseña.
+ * La misma respuesta se devuelve al renovar.
+ * </p>
  *
  * <p><strong>Formato del token:</strong></p>
  * <ul>
  *   <li>Tipo: JWT (JSON Web Token)</li>
  *   <li>Contenido: Email del usuario, rol y fecha de expiración</li>
  *   <li>Uso: Header Authorization: Bearer {token}</li>
+ *   <li>Validez: corta (jwt.access.validity-ms); el refresh token dura jwt.refresh.validity-days</li>
  * </ul>
  *
  * @author Sistema de Gestión Deportiva MyClub
  * @version 1.0
- * @see com.gestiondeportiva.api.auth.AuthController#login(LoginRequest)
+ * @see com.gestiondeportiva.api.auth.AuthController#login
  * @see com.gestiondeportiva.api.security.JwtUtil
  */
 public class LoginResponse {
 
     private String token;
+    private String refreshToken;
 
-    public LoginResponse(String token) {
+    public LoginResponse(String token, String refreshToken) {
         this.token = token;
+        this.refreshToken = refreshToken;
     }
 
     public String getToken() {
         return token;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
 }
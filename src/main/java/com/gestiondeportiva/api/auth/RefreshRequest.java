@@ -0,0 +1,26 @@
+package com.gestiondeportiva.api.auth;
+
+/**
+ * Clase que representa una solicitud de renovación de sesión o de cierre de sesión.
+ * <p>
+ * Contiene el refresh token entregado en el login, el registro o la última renovación.
+ * Se utiliza como objeto de entrada en POST /api/auth/refresh y, opcionalmente, en
+ * POST /api/auth/logout para invalidar también el refresh token.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see com.gestiondeportiva.api.auth.AuthController#refresh(RefreshRequest)
+ */
+public class RefreshRequest {
+
+    private String refreshToken;
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -4,7 +4,6 @@ import com.gestiondeportiva.api.entities.Posicion;
 import com.gestiondeportiva.api.entities.Rol;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 
 /**
@@ -21,10 +20,10 @@ import jakarta.validation.constraints.Pattern;
  *   <li>apellidos: Obligatorio, no puede estar vacío</li>
  *   <li>email: Obligatorio, formato válido de email</li>
  *   <li>password: Obligatorio, será encriptado con BCrypt antes de guardar</li>
- *   <li>rol: Obligatorio (ADMIN, ENTRENADOR, JUGADOR)</li>
- *   <li>posicion: Opcional, requerido solo si rol es JUGADOR</li>
+ *   <li>rol: Opcional y se ignora: el registro público crea siempre un JUGADOR</li>
+ *   <li>posicion: Opcional</li>
  *   <li>telefono: Obligatorio, debe contener entre 9 y 15 dígitos</li>
- *   <li>idEquipo: Opcional, ID del equipo al que pertenece el usuario</li>
+ *   <li>idEquipo: Opcional y se ignora: el equipo lo asigna después un ADMIN o un ENTRENADOR</li>
  * </ul>
  *
  * @author Sistema de Gestión Deportiva MyClub
@@ -46,7 +45,6 @@ public class RegisterRequest {
     @NotBlank(message = "La contraseña no puede estar vacía")
     private String password;
 
-    @NotNull(message = "Debe indicar un rol para el usuario")
     private Rol rol;
 
     private Posicion posicion;
@@ -13,6 +13,7 @@ import com.gestiondeportiva.api.dto.UsuarioDTO;
  * <p><strong>Contenido de la respuesta:</strong></p>
  * <ul>
  *   <li>token: Token JWT para autenticar futuras peticiones</li>
+ *   <li>refreshToken: Token para renovar el token JWT sin volver a enviar la contraseña</li>
  *   <li>usuario: Datos completos del usuario registrado (sin la contraseña)</li>
  * </ul>
  *
@@ -31,13 +32,15 @@ import com.gestiondeportiva.api.dto.UsuarioDTO;
 public class RegisterResponse {
 
     private String token;
+    private String refreshToken;
     private UsuarioDTO usuario;
 
     public RegisterResponse() {
     }
 
-    public RegisterResponse(String token, UsuarioDTO usuario) {
+    public RegisterResponse(String token, String refreshToken, UsuarioDTO usuario) {
         this.token = token;
+        this.refreshToken = refreshToken;
         this.usuario = usuario;
     }
 
@@ -49,6 +52,14 @@ public class RegisterResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public UsuarioDTO getUsuario() {
         return usuario;
     }
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.gestiondeportiva.api.dto.ConvocatoriaDTO;
@@ -33,6 +35,7 @@ import jakarta.validation.Valid;
  *   <li>POST /api/convocatorias - Crea una nueva convocatoria</li>
  *   <li>PUT /api/convocatorias/{id} - Actualiza una convocatoria</li>
  *   <li>DELETE /api/convocatorias/{id} - Elimina una convocatoria</li>
+ *   <li>POST /api/convocatorias/evento/{id}/bulk - Reemplaza la convocatoria completa de un evento</li>
  * </ul>
  *
  * <p><strong>Modelo de datos:</strong></p>
@@ -58,12 +61,19 @@ public class ConvocatoriaController {
 
     /**
      * Lista todas las convocatorias del sistema.
+     * <p>
+     * Paginado por cursor: {@code ?after=<id>&limit=<n>}. El cursor de la siguiente página
+     * se devuelve en la cabecera {@code X-Next-Cursor}.
+     * </p>
      *
+     * @param after último ID recibido (opcional)
+     * @param limit tamaño de página (opcional)
      * @return ResponseEntity con lista de ConvocatoriaDTO y código HTTP 200
      */
     @GetMapping
-    public ResponseEntity <List<ConvocatoriaDTO>> findAll(){
-        return ResponseEntity.ok(convocatoriaService.findAll());
+    public ResponseEntity<List<ConvocatoriaDTO>> findAll(@RequestParam(required = false) Long after,
+                                                         @RequestParam(required = false) Integer limit) {
+        return Paginas.ok(convocatoriaService.findAll(after, limit));
     }
 
     /**
@@ -98,6 +108,25 @@ public class ConvocatoriaController {
             .body(guardada);
     }
 
+    /**
+     * Publica la convocatoria completa de un evento en una sola petición.
+     * <p>
+     * Reemplaza las convocatorias existentes del evento por la plantilla recibida
+     * (jugador y titular) dentro de una única transacción, con inserciones por lotes.
+     * Solo ENTRENADOR y ADMIN pueden publicar convocatorias.
+     * </p>
+     *
+     * @param id ID del evento
+     * @param plantilla lista de jugadores convocados con su indicador de titular
+     * @return ResponseEntity con la nueva convocatoria del evento y código HTTP 200
+     */
+    @PreAuthorize("hasAnyRole('ENTRENADOR','ADMIN')")
+    @PostMapping("/evento/{id}/bulk")
+    public ResponseEntity<List<ConvocatoriaDTO>> reemplazarConvocatoria(@PathVariable Long id,
+                                                                        @RequestBody List<ConvocatoriaDTO> plantilla) {
+        return ResponseEntity.ok(convocatoriaService.reemplazarConvocatoria(id, plantilla));
+    }
+
     /**
      * Actualiza una convocatoria existente.
      * <p>
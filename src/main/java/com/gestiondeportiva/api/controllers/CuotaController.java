@@ -3,6 +3,7 @@ package com.gestiondeportiva.api.controllers;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.gestiondeportiva.api.dto.CuotaDTO;
+import com.gestiondeportiva.api.dto.GeneracionCuotasDTO;
 import com.gestiondeportiva.api.services.CuotaService;
 
 import jakarta.validation.Valid;
@@ -11,6 +12,7 @@ import java.util.List;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,6 +20,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Controlador REST para la gestión de cuotas de jugadores.
@@ -32,6 +35,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
  *   <li>GET /api/cuotas - Lista todas las cuotas del sistema</li>
  *   <li>GET /api/cuotas/{id} - Obtiene una cuota por ID</li>
  *   <li>POST /api/cuotas - Crea una nueva cuota</li>
+ *   <li>POST /api/cuotas/generar - Genera una cuota pendiente para todos los jugadores de un equipo o del club (ADMIN)</li>
  *   <li>PUT /api/cuotas/{id} - Actualiza una cuota (ej: marcar como pagada)</li>
  *   <li>DELETE /api/cuotas/{id} - Elimina una cuota</li>
  * </ul>
@@ -60,12 +64,19 @@ public class CuotaController {
 
     /**
      * Lista todas las cuotas del sistema.
+     * <p>
+     * Paginado por cursor: {@code ?after=<id>&limit=<n>}. El cursor de la siguiente página
+     * se devuelve en la cabecera {@code X-Next-Cursor}.
+     * </p>
      *
+     * @param after último ID recibido (opcional)
+     * @param limit tamaño de página (opcional)
      * @return ResponseEntity con lista de CuotaDTO y código HTTP 200
      */
     @GetMapping
-    public ResponseEntity<List<CuotaDTO>> findAll(){
-        return ResponseEntity.ok(cuotaService.findAll());
+    public ResponseEntity<List<CuotaDTO>> findAll(@RequestParam(required = false) Long after,
+                                                  @RequestParam(required = false) Integer limit) {
+        return Paginas.ok(cuotaService.findAll(after, limit));
     }
 
     /**
@@ -99,6 +110,27 @@ public class CuotaController {
             .body(guardada);
     }
 
+    /**
+     * Genera en bloque una cuota PENDIENTE para todos los jugadores de un equipo,
+     * o de todo el club si no se indica equipo.
+     * <p>
+     * Pensado para la emisión de la mensualidad. Los jugadores que ya tienen una
+     * cuota con el mismo concepto se omiten, de modo que repetir la petición no
+     * duplica cuotas.
+     * </p>
+     *
+     * @param solicitud concepto, importe y equipo opcional
+     * @return ResponseEntity con el resumen de la generación y código HTTP 201
+     */
+    @PostMapping("/generar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GeneracionCuotasDTO> generar(@RequestBody GeneracionCuotasDTO solicitud){
+        GeneracionCuotasDTO resumen = cuotaService.generarCuotas(solicitud);
+        return ResponseEntity
+            .status(HttpStatus.CREATED)
+            .body(resumen);
+    }
+
     /**
      * Actualiza una cuota existente.
      * <p>
@@ -11,9 +11,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.gestiondeportiva.api.dto.DisponibilidadDTO;
+import com.gestiondeportiva.api.dto.ResultadoLoteDTO;
 import com.gestiondeportiva.api.services.DisponibilidadService;
 
 import jakarta.validation.Valid;
@@ -33,6 +35,7 @@ import jakarta.validation.Valid;
  *   <li>POST /api/disponibilidades - Crea una nueva disponibilidad</li>
  *   <li>PUT /api/disponibilidades/{id} - Actualiza una disponibilidad</li>
  *   <li>DELETE /api/disponibilidades/{id} - Elimina una disponibilidad</li>
+ *   <li>POST /api/disponibilidades/bulk - Registra o actualiza varias disponibilidades</li>
  * </ul>
  *
  * <p><strong>Modelo de datos:</strong></p>
@@ -67,12 +70,19 @@ public class DisponibilidadController {
 
     /**
      * Lista todas las disponibilidades del sistema.
+     * <p>
+     * Paginado por cursor: {@code ?after=<id>&limit=<n>}. El cursor de la siguiente página
+     * se devuelve en la cabecera {@code X-Next-Cursor}.
+     * </p>
      *
+     * @param after último ID recibido (opcional)
+     * @param limit tamaño de página (opcional)
      * @return ResponseEntity con lista de DisponibilidadDTO y código HTTP 200
      */
     @GetMapping
-    public ResponseEntity<List<DisponibilidadDTO>> findAll(){
-        return ResponseEntity.ok(disponibilidadService.findAll());
+    public ResponseEntity<List<DisponibilidadDTO>> findAll(@RequestParam(required = false) Long after,
+                                                           @RequestParam(required = false) Integer limit) {
+        return Paginas.ok(disponibilidadService.findAll(after, limit));
     }
 
     /**
@@ -106,6 +116,24 @@ public class DisponibilidadController {
             .body(guardado);
     }
 
+    /**
+     * Registra o actualiza en bloque varias disponibilidades.
+     * <p>
+     * Permite a un entrenador rellenar la disponibilidad de toda la plantilla, o a un
+     * jugador responder a todos los entrenamientos del mes, en una sola petición.
+     * Cada elemento se procesa de forma independiente y se devuelve su resultado
+     * (CREADO, ACTUALIZADO o ERROR) en el mismo orden que la petición.
+     * </p>
+     *
+     * @param lote lista de disponibilidades (evento, jugador, estado y comentario)
+     * @return ResponseEntity con el resultado de cada elemento y código HTTP 200
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ResultadoLoteDTO<DisponibilidadDTO>>> guardarLote(
+            @RequestBody List<DisponibilidadDTO> lote) {
+        return ResponseEntity.ok(disponibilidadService.guardarLote(lote));
+    }
+
     /**
      * Actualiza una disponibilidad existente.
      * <p>
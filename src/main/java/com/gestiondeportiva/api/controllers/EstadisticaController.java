@@ -8,6 +8,7 @@ import jakarta.validation.Valid;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.gestiondeportiva.api.dto.EstadisticaDTO;
@@ -34,6 +36,7 @@ import com.gestiondeportiva.api.dto.EstadisticaDTO;
  *   <li>POST /api/estadisticas - Crea/actualiza estadística (upsert)</li>
  *   <li>PUT /api/estadisticas/{id} - Actualiza una estadística</li>
  *   <li>DELETE /api/estadisticas/{id} - Elimina una estadística</li>
+ *   <li>POST /api/estadisticas/evento/{id}/hoja - Guarda la hoja de estadísticas de un evento</li>
  * </ul>
  *
  * @author Sistema de Gestión Deportiva MyClub
@@ -52,12 +55,19 @@ public class EstadisticaController {
 
     /**
      * Lista todas las estadísticas del sistema.
+     * <p>
+     * Paginado por cursor: {@code ?after=<id>&limit=<n>}. El cursor de la siguiente página
+     * se devuelve en la cabecera {@code X-Next-Cursor}.
+     * </p>
      *
+     * @param after último ID recibido (opcional)
+     * @param limit tamaño de página (opcional)
      * @return ResponseEntity con lista de EstadisticaDTO y código 200
      */
     @GetMapping
-    public ResponseEntity<List<EstadisticaDTO>> findAll(){
-        return ResponseEntity.ok(estadisticaService.findAll());
+    public ResponseEntity<List<EstadisticaDTO>> findAll(@RequestParam(required = false) Long after,
+                                                        @RequestParam(required = false) Integer limit) {
+        return Paginas.ok(estadisticaService.findAll(after, limit));
     }
 
     /**
@@ -91,6 +101,24 @@ public class EstadisticaController {
             .body(guardada);
     }
 
+    /**
+     * Guarda la hoja de estadísticas completa de un evento en una sola petición.
+     * <p>
+     * Recibe las líneas de todos los jugadores (goles y tarjetas) y hace upsert
+     * por jugador dentro de una única transacción. Solo ENTRENADOR y ADMIN.
+     * </p>
+     *
+     * @param id ID del evento
+     * @param lineas estadísticas de cada jugador
+     * @return ResponseEntity con las estadísticas guardadas y código HTTP 200
+     */
+    @PreAuthorize("hasAnyRole('ENTRENADOR','ADMIN')")
+    @PostMapping("/evento/{id}/hoja")
+    public ResponseEntity<List<EstadisticaDTO>> guardarHojaPartido(@PathVariable Long id,
+                                                                   @RequestBody List<EstadisticaDTO> lineas) {
+        return ResponseEntity.ok(estadisticaService.guardarHojaPartido(id, lineas));
+    }
+
     /**
      * Actualiza una estadística existente.
      *
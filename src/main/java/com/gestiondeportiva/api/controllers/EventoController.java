@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.gestiondeportiva.api.dto.EventoDTO;
@@ -54,8 +55,9 @@ public class EventoController {
     // 🔍 Jugador, Entrenador y Admin pueden LISTAR (el servicio filtra)
     @PreAuthorize("hasAnyRole('JUGADOR','ENTRENADOR','ADMIN')")
     @GetMapping
-    public ResponseEntity<List<EventoDTO>> findAll(){
-        return ResponseEntity.ok(eventoService.findAll());
+    public ResponseEntity<List<EventoDTO>> findAll(@RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer limit) {
+        return Paginas.ok(eventoService.findAll(after, limit));
     }
 
     // 🔍 Jugador, Entrenador y Admin pueden ver un evento (el servicio filtra)
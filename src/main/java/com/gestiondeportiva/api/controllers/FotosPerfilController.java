@@ -0,0 +1,223 @@
+package com.gestiondeportiva.api.controllers;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gestiondeportiva.api.services.FileStorageService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Controlador que sirve las fotos de perfil del almacén local.
+ * <p>
+ * Los avatares se piden una y otra vez en cada pantalla. Los archivos del almacén se
+ * nombran por el SHA-256 de su contenido ({@link FileStorageService}), así que una URL
+ * nunca cambia de contenido: se sirven con {@code Cache-Control: immutable} durante un
+ * año y el navegador ni siquiera vuelve a preguntar. Si lo hace, el ETag es el propio
+ * hash y la respuesta es un 304 sin leer el archivo.
+ * </p>
+ *
+ * <p><strong>Funcionamiento:</strong></p>
+ * <ul>
+ *   <li>GET/HEAD /uploads/fotos-perfil/{ab}/{cd}/{sha256}.{ext} - Foto con caché inmutable</li>
+ *   <li>If-None-Match: 304 si el ETag coincide</li>
+ *   <li>Range (un solo rango, con If-Range opcional): 206 con el fragmento, o 416 si
+ *       está fuera del archivo. If-Range solo se cumple con un ETag fuerte</li>
+ *   <li>La ruta del propio directorio, sin nombre de archivo: 404</li>
+ *   <li>El cuerpo se envía con sendfile del contenedor cuando está disponible (Tomcat NIO)
+ *       o con {@link FileChannel#transferTo}, sin pasar por un búfer de la aplicación</li>
+ *   <li>Los archivos anteriores al almacén por contenido (nombre UUID) se sirven con un
+ *       ETag débil de tamaño y fecha, y se revalidan en cada uso</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see FileStorageService
+ */
+@RestController
+@RequestMapping("/uploads/fotos-perfil")
+public class FotosPerfilController {
+
+    private static final String PREFIJO = "/uploads/fotos-perfil/";
+
+    private static final String CACHE_INMUTABLE = "public, max-age=31536000, immutable";
+    private static final String CACHE_REVALIDAR = "public, no-cache";
+
+    /** Atributos de petición con los que Tomcat envía un archivo mediante sendfile */
+    private static final String SENDFILE_SOPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARCHIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIN = "org.apache.tomcat.sendfile.end";
+
+    private final FileStorageService fileStorageService;
+
+    public FotosPerfilController(FileStorageService fileStorageService) {
+        this.fileStorageService = fileStorageService;
+    }
+
+    /**
+     * Sirve una foto del almacén local.
+     *
+     * @param request petición (la ruta del archivo se toma de la URI)
+     * @param response respuesta en la que se escribe la foto
+     * @throws IOException si falla la lectura del archivo o la escritura de la respuesta
+     * @throws IllegalArgumentException si la ruta sale del directorio del almacén
+     */
+    @RequestMapping(path = "/**", method = { RequestMethod.GET, RequestMethod.HEAD })
+    public void servir(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // "/**" también admite el directorio sin nombre de archivo
+        String uri = request.getRequestURI();
+        int inicioNombre = request.getContextPath().length() + PREFIJO.length();
+        if (uri.length() <= inicioNombre) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String nombre = uri.substring(inicioNombre);
+        Path ruta = fileStorageService.obtenerRutaArchivo(nombre);
+        if (!Files.isRegularFile(ruta)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long tamanio = Files.size(ruta);
+        boolean inmutable = fileStorageService.esDireccionadoPorContenido(nombre);
+        String etag = inmutable
+                ? "\"" + hashDelNombre(nombre) + "\""
+                : "W/\"" + Long.toHexString(tamanio) + "-"
+                        + Long.toHexString(Files.getLastModifiedTime(ruta).toMillis()) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, inmutable ? CACHE_INMUTABLE : CACHE_REVALIDAR);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        if (coincide(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long inicio = 0;
+        long longitud = tamanio;
+        HttpRange rango = rangoSolicitado(request, etag);
+        if (rango != null) {
+            try {
+                inicio = rango.getRangeStart(tamanio);
+                longitud = rango.getRangeEnd(tamanio) - inicio + 1;
+            } catch (IllegalArgumentException e) {
+                longitud = 0;
+            }
+            // HttpRange no rechaza un inicio posterior al final del archivo
+            if (inicio >= tamanio || longitud <= 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanio);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + inicio + "-" + (inicio + longitud - 1) + "/" + tamanio);
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(nombre)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(longitud);
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || longitud == 0) {
+            return;
+        }
+
+        enviar(request, response, ruta, inicio, longitud);
+    }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * Envía el fragmento del archivo. Con sendfile, el contenedor lo copia del disco al
+     * socket en el núcleo; si no, {@code transferTo} evita el búfer intermedio siempre
+     * que el canal de salida lo permita.
+     */
+    private static void enviar(HttpServletRequest request, HttpServletResponse response,
+                               Path ruta, long inicio, long longitud) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SOPORTADO))) {
+            request.setAttribute(SENDFILE_ARCHIVO, ruta.toRealPath().toString());
+            request.setAttribute(SENDFILE_INICIO, inicio);
+            request.setAttribute(SENDFILE_FIN, inicio + longitud);
+            return;
+        }
+
+        try (FileChannel archivo = FileChannel.open(ruta, StandardOpenOption.READ);
+             WritableByteChannel salida = Channels.newChannel(response.getOutputStream())) {
+            long posicion = inicio;
+            long restante = longitud;
+            while (restante > 0) {
+                long enviados = archivo.transferTo(posicion, restante, salida);
+                if (enviados <= 0) {
+                    break; // El archivo ha encogido mientras se enviaba
+                }
+                posicion += enviados;
+                restante -= enviados;
+            }
+        }
+    }
+
+    /**
+     * Devuelve el rango pedido si es uno solo y, con If-Range, el ETag sigue siendo el
+     * mismo. Varios rangos o una cabecera mal formada se responden con el archivo entero,
+     * igual que If-Range con un ETag débil (exige comparación fuerte).
+     */
+    private static HttpRange rangoSolicitado(HttpServletRequest request, String etag) {
+        String cabecera = request.getHeader(HttpHeaders.RANGE);
+        if (cabecera == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && (etag.startsWith("W/") || !ifRange.trim().equals(etag))) {
+            return null;
+        }
+        try {
+            List<HttpRange> rangos = HttpRange.parseRanges(cabecera);
+            return rangos.size() == 1 ? rangos.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Comparación débil de If-None-Match: ignora el prefijo W/ de ambos lados.
+     */
+    private static boolean coincide(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String propio = sinPrefijoDebil(etag);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || sinPrefijoDebil(valor).equals(propio)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sinPrefijoDebil(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String hashDelNombre(String nombre) {
+        String archivo = nombre.substring(nombre.lastIndexOf('/') + 1);
+        return archivo.substring(0, archivo.lastIndexOf('.'));
+    }
+}
@@ -0,0 +1,42 @@
+package com.gestiondeportiva.api.controllers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
+
+/**
+ * Construcción de respuestas HTTP para listados paginados por cursor.
+ * <p>
+ * El cuerpo de la respuesta sigue siendo un array JSON con los elementos de la página,
+ * de modo que los clientes existentes no se ven afectados. El cursor de la siguiente
+ * página se devuelve en la cabecera {@value PaginaCursorDTO#CABECERA_SIGUIENTE_CURSOR}
+ * y solo está presente cuando quedan más resultados.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see PaginaCursorDTO
+ */
+final class Paginas {
+
+    private Paginas() {
+    }
+
+    /**
+     * Crea una respuesta 200 con el contenido de la página y la cabecera del cursor.
+     *
+     * @param <T> tipo de DTO de la página
+     * @param pagina página obtenida del servicio
+     * @return ResponseEntity con la lista de elementos y código HTTP 200
+     */
+    static <T> ResponseEntity<List<T>> ok(PaginaCursorDTO<T> pagina) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.haySiguiente()) {
+            respuesta.header(PaginaCursorDTO.CABECERA_SIGUIENTE_CURSOR,
+                    String.valueOf(pagina.getSiguienteCursor()));
+        }
+        return respuesta.body(pagina.getContenido());
+    }
+}
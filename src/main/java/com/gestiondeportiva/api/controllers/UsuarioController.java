@@ -1,5 +1,6 @@
 package com.gestiondeportiva.api.controllers;
 
+import java.net.URI;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
@@ -18,12 +19,13 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.gestiondeportiva.api.dto.TrabajoFotoDTO;
 import com.gestiondeportiva.api.dto.UsuarioCreateDTO;
 import com.gestiondeportiva.api.dto.UsuarioDTO;
 import com.gestiondeportiva.api.entities.Usuario;
 import com.gestiondeportiva.api.mappers.UsuarioMapper;
 import com.gestiondeportiva.api.repositories.UsuarioRepository;
-import com.gestiondeportiva.api.services.CloudinaryService;
+import com.gestiondeportiva.api.services.ProcesadorFotosPerfil;
 import com.gestiondeportiva.api.services.UsuarioService;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -45,14 +47,15 @@ import jakarta.validation.Valid;
  *   <li>POST /api/usuarios - Crea un nuevo usuario (ADMIN, ENTRENADOR)</li>
  *   <li>PUT /api/usuarios/{id} - Actualiza un usuario</li>
  *   <li>DELETE /api/usuarios/{id} - Elimina un usuario (ADMIN, ENTRENADOR)</li>
- *   <li>POST /api/usuarios/{id}/foto - Sube foto de perfil a Cloudinary</li>
+ *   <li>POST /api/usuarios/{id}/foto - Acepta una foto de perfil (se sube a Cloudinary en segundo plano)</li>
+ *   <li>GET /api/usuarios/{id}/foto/trabajos/{idTrabajo} - Estado del procesamiento de la foto</li>
  *   <li>PUT /api/usuarios/{id}/cambiar-password - Cambia la contraseña</li>
  * </ul>
  *
  * @author Sistema de Gestión Deportiva MyClub
  * @version 1.0
  * @see UsuarioService
- * @see CloudinaryService
+ * @see ProcesadorFotosPerfil
  */
 @RestController
 @RequestMapping("/api/usuarios")
@@ -61,16 +64,16 @@ public class UsuarioController {
     private final UsuarioService usuarioService;
     private final UsuarioRepository usuarioRepository;
     private final UsuarioMapper usuarioMapper;
-    private final CloudinaryService cloudinaryService;
+    private final ProcesadorFotosPerfil procesadorFotosPerfil;
 
     public UsuarioController(UsuarioService usuarioService,
                             UsuarioRepository usuarioRepository,
                             UsuarioMapper usuarioMapper,
-                            CloudinaryService cloudinaryService) {
+                            ProcesadorFotosPerfil procesadorFotosPerfil) {
         this.usuarioService = usuarioService;
         this.usuarioRepository = usuarioRepository;
         this.usuarioMapper = usuarioMapper;
-        this.cloudinaryService = cloudinaryService;
+        this.procesadorFotosPerfil = procesadorFotosPerfil;
     }
 
     /**
@@ -79,13 +82,20 @@ public class UsuarioController {
      * El servicio aplica filtros según el rol:
      * ADMIN ve todos, ENTRENADOR solo ve jugadores de su equipo.
      * </p>
+     * <p>
+     * Paginado por cursor: {@code ?after=<id>&limit=<n>}. El cursor de la siguiente página
+     * se devuelve en la cabecera {@code X-Next-Cursor}.
+     * </p>
      *
+     * @param after último ID recibido (opcional)
+     * @param limit tamaño de página (opcional)
      * @return ResponseEntity con lista de UsuarioDTO y código HTTP 200
      */
     @PreAuthorize("hasAnyRole('ENTRENADOR','ADMIN')")
     @GetMapping
-    public ResponseEntity<List<UsuarioDTO>> findAll() {
-        return ResponseEntity.ok(usuarioService.findAll());
+    public ResponseEntity<List<UsuarioDTO>> findAll(@RequestParam(required = false) Long after,
+                                                    @RequestParam(required = false) Integer limit) {
+        return Paginas.ok(usuarioService.findAll(after, limit));
     }
 
     /**
@@ -163,39 +173,51 @@ public class UsuarioController {
     }
 
     /**
-     * Sube o actualiza la foto de perfil de un usuario en Cloudinary.
+     * Acepta una nueva foto de perfil para un usuario y la procesa en segundo plano.
      * <p>
-     * Si el usuario ya tiene una foto, se elimina de Cloudinary antes de subir la nueva.
-     * La imagen se almacena en la carpeta 'myclub/fotos-perfil' y se optimiza automáticamente.
+     * La petición solo valida la imagen y la guarda localmente; la subida a Cloudinary,
+     * la sustitución de la foto y la eliminación de la anterior se hacen después, con
+     * reintentos. Responde 202 con el trabajo creado y su URL de consulta en Location.
      * </p>
      *
      * @param id ID del usuario
      * @param file archivo de imagen en formato MultipartFile
-     * @return ResponseEntity con UsuarioDTO actualizado incluyendo la nueva URL de foto
+     * @return ResponseEntity con TrabajoFotoDTO en estado PENDIENTE y código HTTP 202
      * @throws EntityNotFoundException si el usuario no existe
+     * @throws IllegalArgumentException si el archivo está vacío o no es una imagen
      */
     @PostMapping("/{id}/foto")
-    public ResponseEntity<UsuarioDTO> uploadPhoto(
+    public ResponseEntity<TrabajoFotoDTO> uploadPhoto(
             @PathVariable Long id,
             @RequestParam("file") MultipartFile file) {
 
-        // Buscar el usuario
-        Usuario usuario = usuarioRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado"));
-
-        // Eliminar la foto anterior de Cloudinary si existe
-        if (usuario.getFotoUrl() != null && !usuario.getFotoUrl().isEmpty()) {
-            cloudinaryService.eliminarImagen(usuario.getFotoUrl());
-        }
-
-        // Subir la nueva imagen a Cloudinary
-        String imageUrl = cloudinaryService.subirImagen(file, "myclub/fotos-perfil");
+        TrabajoFotoDTO trabajo = procesadorFotosPerfil.aceptar(id, file);
 
-        // Actualizar la URL de la foto en el usuario
-        usuario.setFotoUrl(imageUrl);
-        Usuario actualizado = usuarioRepository.save(usuario);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/trabajos/{idTrabajo}")
+                .buildAndExpand(trabajo.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(trabajo);
+    }
 
-        return ResponseEntity.ok(usuarioMapper.toDTO(actualizado));
+    /**
+     * Consulta el estado de un trabajo de foto de perfil.
+     * <p>
+     * Cuando el estado es COMPLETADO, fotoUrl contiene la nueva foto; cuando es FALLIDO,
+     * error contiene el motivo.
+     * </p>
+     *
+     * @param id ID del usuario
+     * @param idTrabajo ID del trabajo devuelto al subir la foto
+     * @return ResponseEntity con TrabajoFotoDTO y código 200, o 404 si no existe
+     */
+    @GetMapping("/{id}/foto/trabajos/{idTrabajo}")
+    public ResponseEntity<TrabajoFotoDTO> getPhotoJob(
+            @PathVariable Long id,
+            @PathVariable String idTrabajo) {
+        return procesadorFotosPerfil.consultar(id, idTrabajo)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
@@ -49,6 +49,9 @@ public class DisponibilidadDTO {
     /** Estado de disponibilidad (ASISTE, NO_ASISTE, DUDA) */
     private EstadoDisponibilidad estadoDisponibilidad;
 
+    /** Comentario opcional del jugador (ej: "Llegaré tarde") */
+    private String comentario;
+
     public DisponibilidadDTO() {
     }
 
@@ -67,6 +70,15 @@ public class DisponibilidadDTO {
         this.estadoDisponibilidad = estadoDisponibilidad;
     }
 
+    public DisponibilidadDTO(Long id, Long idJugador, String nombreJugador, String apellidos,
+                             String fotoUrl, Posicion posicion, Long idEvento, String descripcionEvento,
+                             LocalDate fechaEvento, EstadoDisponibilidad estadoDisponibilidad,
+                             String comentario) {
+        this(id, idJugador, nombreJugador, apellidos, fotoUrl, posicion, idEvento, descripcionEvento,
+                fechaEvento, estadoDisponibilidad);
+        this.comentario = comentario;
+    }
+
     // --- Getters y Setters ---
     public Long getId() {
         return id;
@@ -147,4 +159,12 @@ public class DisponibilidadDTO {
     public void setEstadoDisponibilidad(EstadoDisponibilidad estadoDisponibilidad) {
         this.estadoDisponibilidad = estadoDisponibilidad;
     }
+
+    public String getComentario() {
+        return comentario;
+    }
+
+    public void setComentario(String comentario) {
+        this.comentario = comentario;
+    }
 }
@@ -0,0 +1,99 @@
+package com.gestiondeportiva.api.dto;
+
+/**
+ * DTO para solicitar la generación masiva de cuotas y devolver su resumen.
+ * <p>
+ * En la petición se indican el concepto, el importe y opcionalmente el equipo.
+ * Si no se indica equipo, la cuota se genera para todos los jugadores del club.
+ * En la respuesta se completan los contadores del proceso.
+ * </p>
+ *
+ * <p><strong>Contadores de la respuesta:</strong></p>
+ * <ul>
+ *   <li>jugadores: Jugadores evaluados</li>
+ *   <li>creadas: Cuotas PENDIENTE generadas</li>
+ *   <li>omitidas: Jugadores que ya tenían una cuota con ese concepto</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see com.gestiondeportiva.api.entities.Cuota
+ */
+public class GeneracionCuotasDTO {
+
+    /** Concepto de la cuota (ej: "Mensualidad Enero") */
+    private String concepto;
+
+    /** Importe de la cuota en euros */
+    private Double importe;
+
+    /** ID del equipo (null para generar las cuotas de todo el club) */
+    private Long idEquipo;
+
+    /** Número de jugadores evaluados */
+    private int jugadores;
+
+    /** Número de cuotas creadas */
+    private int creadas;
+
+    /** Número de jugadores omitidos por tener ya una cuota con ese concepto */
+    private int omitidas;
+
+    public GeneracionCuotasDTO() {
+    }
+
+    public GeneracionCuotasDTO(String concepto, Double importe, Long idEquipo) {
+        this.concepto = concepto;
+        this.importe = importe;
+        this.idEquipo = idEquipo;
+    }
+
+    // --- Getters y Setters ---
+    public String getConcepto() {
+        return concepto;
+    }
+
+    public void setConcepto(String concepto) {
+        this.concepto = concepto;
+    }
+
+    public Double getImporte() {
+        return importe;
+    }
+
+    public void setImporte(Double importe) {
+        this.importe = importe;
+    }
+
+    public Long getIdEquipo() {
+        return idEquipo;
+    }
+
+    public void setIdEquipo(Long idEquipo) {
+        this.idEquipo = idEquipo;
+    }
+
+    public int getJugadores() {
+        return jugadores;
+    }
+
+    public void setJugadores(int jugadores) {
+        this.jugadores = jugadores;
+    }
+
+    public int getCreadas() {
+        return creadas;
+    }
+
+    public void setCreadas(int creadas) {
+        this.creadas = creadas;
+    }
+
+    public int getOmitidas() {
+        return omitidas;
+    }
+
+    public void setOmitidas(int omitidas) {
+        this.omitidas = omitidas;
+    }
+}
@@ -0,0 +1,69 @@
+package com.gestiondeportiva.api.dto;
+
+import java.util.List;
+
+/**
+ * DTO que representa una página de resultados obtenida mediante paginación por cursor (keyset).
+ * <p>
+ * En lugar de usar desplazamientos ({@code OFFSET}), cada página se pide a partir del último
+ * ID recibido ({@code ?after=<id>&limit=<n>}). La consulta usa el índice de la clave primaria,
+ * por lo que el coste de cada página es constante independientemente del tamaño de la tabla.
+ * </p>
+ *
+ * <p><strong>Contenido:</strong></p>
+ * <ul>
+ *   <li>contenido: Elementos de la página, ordenados por ID ascendente</li>
+ *   <li>siguienteCursor: ID a enviar como {@code after} para pedir la siguiente página,
+ *       o null si no hay más resultados</li>
+ * </ul>
+ *
+ * @param <T> tipo de DTO contenido en la página
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see com.gestiondeportiva.api.services.Paginacion
+ */
+public class PaginaCursorDTO<T> {
+
+    /** Cabecera HTTP en la que se devuelve el cursor de la siguiente página */
+    public static final String CABECERA_SIGUIENTE_CURSOR = "X-Next-Cursor";
+
+    /** Elementos de la página actual */
+    private List<T> contenido;
+
+    /** ID a partir del cual pedir la siguiente página (null si es la última) */
+    private Long siguienteCursor;
+
+    public PaginaCursorDTO() {
+    }
+
+    public PaginaCursorDTO(List<T> contenido, Long siguienteCursor) {
+        this.contenido = contenido;
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    // --- Getters y Setters ---
+    public List<T> getContenido() {
+        return contenido;
+    }
+
+    public void setContenido(List<T> contenido) {
+        this.contenido = contenido;
+    }
+
+    public Long getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public void setSiguienteCursor(Long siguienteCursor) {
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    /**
+     * Indica si existen más resultados después de esta página.
+     *
+     * @return true si hay una página siguiente, false en caso contrario
+     */
+    public boolean haySiguiente() {
+        return siguienteCursor != null;
+    }
+}
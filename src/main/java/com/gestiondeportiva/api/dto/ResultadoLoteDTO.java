@@ -0,0 +1,116 @@
+package com.gestiondeportiva.api.dto;
+
+/**
+ * DTO que representa el resultado de un elemento dentro de una operación por lotes.
+ * <p>
+ * Las operaciones masivas (upsert de disponibilidades, hoja de estadísticas, etc.)
+ * procesan cada elemento de forma independiente: los elementos válidos se guardan
+ * y los inválidos se devuelven con su error, sin abortar el resto del lote.
+ * </p>
+ *
+ * <p><strong>Contenido:</strong></p>
+ * <ul>
+ *   <li>indice: Posición del elemento en la petición original (empezando en 0)</li>
+ *   <li>resultado: CREADO, ACTUALIZADO o ERROR</li>
+ *   <li>mensaje: Descripción del error (solo si resultado es ERROR)</li>
+ *   <li>dato: Elemento guardado (null si resultado es ERROR)</li>
+ * </ul>
+ *
+ * @param <T> tipo de DTO del elemento procesado
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ */
+public class ResultadoLoteDTO<T> {
+
+    /**
+     * Resultado del procesamiento de un elemento del lote.
+     */
+    public enum Resultado {
+        /** El elemento no existía y se ha creado */
+        CREADO,
+        /** El elemento ya existía y se ha actualizado */
+        ACTUALIZADO,
+        /** El elemento no se ha guardado por un error de validación o permisos */
+        ERROR
+    }
+
+    /** Posición del elemento en la petición original */
+    private int indice;
+
+    /** Resultado del procesamiento */
+    private Resultado resultado;
+
+    /** Mensaje de error (null si se ha guardado correctamente) */
+    private String mensaje;
+
+    /** Elemento guardado (null si se ha producido un error) */
+    private T dato;
+
+    public ResultadoLoteDTO() {
+    }
+
+    public ResultadoLoteDTO(int indice, Resultado resultado, String mensaje, T dato) {
+        this.indice = indice;
+        this.resultado = resultado;
+        this.mensaje = mensaje;
+        this.dato = dato;
+    }
+
+    /**
+     * Crea un resultado correcto para un elemento guardado.
+     *
+     * @param <T> tipo de DTO del elemento
+     * @param indice posición del elemento en la petición
+     * @param resultado CREADO o ACTUALIZADO
+     * @param dato elemento guardado
+     * @return ResultadoLoteDTO sin mensaje de error
+     */
+    public static <T> ResultadoLoteDTO<T> ok(int indice, Resultado resultado, T dato) {
+        return new ResultadoLoteDTO<>(indice, resultado, null, dato);
+    }
+
+    /**
+     * Crea un resultado de error para un elemento rechazado.
+     *
+     * @param <T> tipo de DTO del elemento
+     * @param indice posición del elemento en la petición
+     * @param mensaje descripción del error
+     * @return ResultadoLoteDTO con resultado ERROR
+     */
+    public static <T> ResultadoLoteDTO<T> error(int indice, String mensaje) {
+        return new ResultadoLoteDTO<>(indice, Resultado.ERROR, mensaje, null);
+    }
+
+    // --- Getters y Setters ---
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Resultado getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(Resultado resultado) {
+        this.resultado = resultado;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    public T getDato() {
+        return dato;
+    }
+
+    public void setDato(T dato) {
+        this.dato = dato;
+    }
+}
@@ -0,0 +1,124 @@
+package com.gestiondeportiva.api.dto;
+
+import java.time.LocalDateTime;
+
+import com.gestiondeportiva.api.entities.EstadoTrabajoFoto;
+
+/**
+ * DTO que representa el estado de un trabajo de procesamiento de foto de perfil.
+ * <p>
+ * Se devuelve al aceptar la foto (HTTP 202) y al consultar su estado. El cliente
+ * repite la consulta hasta que el estado es COMPLETADO (fotoUrl informada) o FALLIDO
+ * (error informado).
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see com.gestiondeportiva.api.entities.TrabajoFoto
+ */
+public class TrabajoFotoDTO {
+
+    /** Identificador del trabajo (UUID) */
+    private String id;
+
+    /** ID del usuario */
+    private Long idUsuario;
+
+    /** Estado del trabajo */
+    private EstadoTrabajoFoto estado;
+
+    /** Intentos fallidos hasta el momento */
+    private int intentos;
+
+    /** URL de la nueva foto (solo si el estado es COMPLETADO) */
+    private String fotoUrl;
+
+    /** Motivo del último fallo */
+    private String error;
+
+    /** Momento en que se aceptó la foto */
+    private LocalDateTime creadoEn;
+
+    /** Momento del último cambio de estado */
+    private LocalDateTime actualizadoEn;
+
+    public TrabajoFotoDTO() {
+    }
+
+    public TrabajoFotoDTO(String id, Long idUsuario, EstadoTrabajoFoto estado, int intentos, String fotoUrl,
+                          String error, LocalDateTime creadoEn, LocalDateTime actualizadoEn) {
+        this.id = id;
+        this.idUsuario = idUsuario;
+        this.estado = estado;
+        this.intentos = intentos;
+        this.fotoUrl = fotoUrl;
+        this.error = error;
+        this.creadoEn = creadoEn;
+        this.actualizadoEn = actualizadoEn;
+    }
+
+    // --- Getters y Setters ---
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public EstadoTrabajoFoto getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoTrabajoFoto estado) {
+        this.estado = estado;
+    }
+
+    public int getIntentos() {
+        return intentos;
+    }
+
+    public void setIntentos(int intentos) {
+        this.intentos = intentos;
+    }
+
+    public String getFotoUrl() {
+        return fotoUrl;
+    }
+
+    public void setFotoUrl(String fotoUrl) {
+        this.fotoUrl = fotoUrl;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreadoEn() {
+        return creadoEn;
+    }
+
+    public void setCreadoEn(LocalDateTime creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+
+    public LocalDateTime getActualizadoEn() {
+        return actualizadoEn;
+    }
+
+    public void setActualizadoEn(LocalDateTime actualizadoEn) {
+        this.actualizadoEn = actualizadoEn;
+    }
+}
@@ -1,5 +1,7 @@
 package com.gestiondeportiva.api.dto;
 
+import java.time.LocalDateTime;
+
 import com.gestiondeportiva.api.entities.Posicion;
 import com.gestiondeportiva.api.entities.Rol;
 
@@ -46,21 +48,31 @@ public class UsuarioDTO {
     /** Número de teléfono de contacto */
     private String telefono;
 
-    /** URL de la foto de perfil almacenada en Cloudinary */
+    /** URL de la foto de perfil almacenada en Cloudinary (500 px) */
     private String fotoUrl;
 
+    /** URL de la foto de perfil a 120 px (solo lectura; null si solo hay fotoUrl) */
+    private String fotoMedianaUrl;
+
+    /** URL de la foto de perfil a 40 px para avatares (solo lectura; null si solo hay fotoUrl) */
+    private String fotoMiniaturaUrl;
+
     /** ID del equipo al que pertenece */
     private Long idEquipo;
 
     /** Nombre del equipo (desnormalizado para evitar consultas adicionales) */
     private String nombreEquipo;
 
+    /** Momento del último inicio de sesión (solo lectura) */
+    private LocalDateTime ultimoAcceso;
+
     public UsuarioDTO() {
     }
 
     public UsuarioDTO(Long id, String nombre, String apellidos, String email,
                       Rol rol, Posicion posicion, String telefono,
-                      String fotoUrl, Long idEquipo, String nombreEquipo) {
+                      String fotoUrl, String fotoMedianaUrl, String fotoMiniaturaUrl,
+                      Long idEquipo, String nombreEquipo, LocalDateTime ultimoAcceso) {
         this.id = id;
         this.nombre = nombre;
         this.apellidos = apellidos;
@@ -69,8 +81,11 @@ public class UsuarioDTO {
         this.posicion = posicion;
         this.telefono = telefono;
         this.fotoUrl = fotoUrl;
+        this.fotoMedianaUrl = fotoMedianaUrl;
+        this.fotoMiniaturaUrl = fotoMiniaturaUrl;
         this.idEquipo = idEquipo;
         this.nombreEquipo = nombreEquipo;
+        this.ultimoAcceso = ultimoAcceso;
     }
 
     // --- Getters y Setters ---
@@ -138,6 +153,22 @@ public class UsuarioDTO {
         this.fotoUrl = fotoUrl;
     }
 
+    public String getFotoMedianaUrl() {
+        return fotoMedianaUrl;
+    }
+
+    public void setFotoMedianaUrl(String fotoMedianaUrl) {
+        this.fotoMedianaUrl = fotoMedianaUrl;
+    }
+
+    public String getFotoMiniaturaUrl() {
+        return fotoMiniaturaUrl;
+    }
+
+    public void setFotoMiniaturaUrl(String fotoMiniaturaUrl) {
+        this.fotoMiniaturaUrl = fotoMiniaturaUrl;
+    }
+
     public Long getIdEquipo() {
         return idEquipo;
     }
@@ -153,4 +184,12 @@ public class UsuarioDTO {
     public void setNombreEquipo(String nombreEquipo) {
         this.nombreEquipo = nombreEquipo;
     }
+
+    public LocalDateTime getUltimoAcceso() {
+        return ultimoAcceso;
+    }
+
+    public void setUltimoAcceso(LocalDateTime ultimoAcceso) {
+        this.ultimoAcceso = ultimoAcceso;
+    }
 }
@@ -0,0 +1,129 @@
+package com.gestiondeportiva.api.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Entidad JPA que representa un archivo del almacén local direccionado por contenido.
+ * <p>
+ * El nombre del archivo se deriva de su SHA-256, así que el mismo contenido se guarda
+ * una sola vez. {@code referencias} cuenta cuántas veces se ha guardado: eliminar un
+ * archivo solo resta una referencia, y el archivo se borra del disco al llegar a cero.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see com.gestiondeportiva.api.services.FileStorageService
+ */
+@Entity
+@Table(name = "archivos_almacenados")
+public class ArchivoAlmacenado {
+
+    /** Ruta relativa en el almacén: {@code ab/cd/<sha256>.<ext>} */
+    @Id
+    @Column(length = 80)
+    private String nombre;
+
+    /** Veces que se ha guardado este contenido sin eliminarse */
+    @Column(nullable = false)
+    private int referencias;
+
+    /** Tamaño en bytes */
+    @Column(nullable = false)
+    private long tamanio;
+
+    /** Momento en que se guardó por primera vez */
+    @Column(name = "creado_en", nullable = false)
+    private LocalDateTime creadoEn;
+
+    /**
+     * Constructor por defecto.
+     */
+    public ArchivoAlmacenado() {
+    }
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param nombre ruta relativa en el almacén
+     * @param referencias referencias iniciales
+     * @param tamanio tamaño en bytes
+     * @param creadoEn momento en que se guardó
+     */
+    public ArchivoAlmacenado(String nombre, int referencias, long tamanio, LocalDateTime creadoEn) {
+        this.nombre = nombre;
+        this.referencias = referencias;
+        this.tamanio = tamanio;
+        this.creadoEn = creadoEn;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public int getReferencias() {
+        return referencias;
+    }
+
+    public void setReferencias(int referencias) {
+        this.referencias = referencias;
+    }
+
+    public long getTamanio() {
+        return tamanio;
+    }
+
+    public void setTamanio(long tamanio) {
+        this.tamanio = tamanio;
+    }
+
+    public LocalDateTime getCreadoEn() {
+        return creadoEn;
+    }
+
+    public void setCreadoEn(LocalDateTime creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivoAlmacenado{nombre='" + nombre + '\'' +
+                ", referencias=" + referencias +
+                ", tamanio=" + tamanio +
+                ", creadoEn=" + creadoEn + "}";
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((nombre == null) ? 0 : nombre.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ArchivoAlmacenado other = (ArchivoAlmacenado) obj;
+        if (nombre == null) {
+            if (other.nombre != null)
+                return false;
+        } else if (!nombre.equals(other.nombre))
+            return false;
+        return true;
+    }
+
+}
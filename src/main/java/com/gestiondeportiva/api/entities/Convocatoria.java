@@ -1,5 +1,7 @@
 package com.gestiondeportiva.api.entities;
 
+import org.hibernate.annotations.Filter;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Entity;
@@ -7,8 +9,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
@@ -28,12 +32,21 @@ import jakarta.validation.constraints.NotNull;
  * @see Usuario
  */
 @Entity
-@Table(name = "convocatorias")
+@Filter(name = FiltroEquipo.NOMBRE, condition = FiltroEquipo.CONDICION_POR_EVENTO, deduceAliasInjectionPoints = false)
+@Table(name = "convocatorias", indexes = {
+        @Index(name = "idx_convocatorias_evento_titular", columnList = "id_evento, titular"),
+        @Index(name = "idx_convocatorias_jugador", columnList = "id_jugador")
+})
 public class Convocatoria {
 
-    /** Identificador único de la convocatoria */
+    /**
+     * Identificador único de la convocatoria.
+     * Se reserva en bloques de 50 (secuencia convocatorias_seq) para que Hibernate
+     * pueda agrupar las inserciones en lotes JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "convocatorias_seq")
+    @SequenceGenerator(name = "convocatorias_seq", sequenceName = "convocatorias_seq", allocationSize = 50)
     private Long id;
 
     /** Evento para el cual se convoca al jugador */
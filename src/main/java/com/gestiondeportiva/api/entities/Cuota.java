@@ -12,8 +12,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
@@ -38,12 +40,20 @@ import jakarta.validation.constraints.NotNull;
  * @see EstadoCuota
  */
 @Entity
-@Table(name = "cuotas")
+@Table(name = "cuotas", indexes = {
+        @Index(name = "idx_cuotas_jugador_estado", columnList = "id_jugador, estado"),
+        @Index(name = "idx_cuotas_estado", columnList = "estado")
+})
 public class Cuota {
 
-    /** Identificador único de la cuota */
+    /**
+     * Identificador único de la cuota.
+     * Se reserva en bloques de 50 (secuencia cuotas_seq) para que Hibernate
+     * pueda agrupar las inserciones en lotes JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cuotas_seq")
+    @SequenceGenerator(name = "cuotas_seq", sequenceName = "cuotas_seq", allocationSize = 50)
     private Long id;
 
     /** Jugador al que pertenece la cuota */
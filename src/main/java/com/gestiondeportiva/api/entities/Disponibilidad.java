@@ -1,5 +1,7 @@
 package com.gestiondeportiva.api.entities;
 
+import org.hibernate.annotations.Filter;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
@@ -10,8 +12,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
@@ -37,12 +41,21 @@ import jakarta.validation.constraints.NotNull;
  * @see EstadoDisponibilidad
  */
 @Entity
-@Table(name = "disponibilidades")
+@Filter(name = FiltroEquipo.NOMBRE, condition = FiltroEquipo.CONDICION_POR_EVENTO, deduceAliasInjectionPoints = false)
+@Table(name = "disponibilidades", indexes = {
+        @Index(name = "idx_disponibilidades_evento_estado", columnList = "id_evento, estado"),
+        @Index(name = "idx_disponibilidades_jugador", columnList = "id_jugador")
+})
 public class Disponibilidad {
 
-    /** Identificador único de la disponibilidad */
+    /**
+     * Identificador único de la disponibilidad.
+     * Se reserva en bloques de 50 (secuencia disponibilidades_seq) para que Hibernate
+     * pueda agrupar las inserciones en lotes JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "disponibilidades_seq")
+    @SequenceGenerator(name = "disponibilidades_seq", sequenceName = "disponibilidades_seq", allocationSize = 50)
     private Long id;
 
     /** Evento para el que se registra la disponibilidad */
@@ -1,5 +1,7 @@
 package com.gestiondeportiva.api.entities;
 
+import org.hibernate.annotations.Filter;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
@@ -8,8 +10,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
@@ -30,12 +34,21 @@ import jakarta.validation.constraints.NotNull;
  * @see Usuario
  */
 @Entity
-@Table(name = "estadisticas")
+@Filter(name = FiltroEquipo.NOMBRE, condition = FiltroEquipo.CONDICION_POR_EVENTO, deduceAliasInjectionPoints = false)
+@Table(name = "estadisticas", indexes = {
+        @Index(name = "idx_estadisticas_evento_jugador", columnList = "id_evento, id_jugador"),
+        @Index(name = "idx_estadisticas_jugador", columnList = "id_jugador")
+})
 public class Estadistica {
 
-    /** Identificador único de la estadística */
+    /**
+     * Identificador único de la estadística.
+     * Se reserva en bloques de 50 (secuencia estadisticas_seq) para que Hibernate
+     * pueda agrupar las inserciones en lotes JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "estadisticas_seq")
+    @SequenceGenerator(name = "estadisticas_seq", sequenceName = "estadisticas_seq", allocationSize = 50)
     private Long id;
 
     /** Evento en el que se registró la estadística */
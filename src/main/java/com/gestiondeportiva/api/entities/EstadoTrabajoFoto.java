@@ -0,0 +1,26 @@
+package com.gestiondeportiva.api.entities;
+
+/**
+ * Enumeración que define el estado de un trabajo de procesamiento de foto de perfil.
+ * <p>
+ * La foto se acepta en la petición y se procesa en segundo plano; el cliente consulta
+ * el estado del trabajo hasta que termina.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see TrabajoFoto
+ */
+public enum EstadoTrabajoFoto {
+    /** La foto está guardada localmente y espera a ser procesada (o a su siguiente intento) */
+    PENDIENTE,
+
+    /** Un hilo en segundo plano está subiendo la foto */
+    PROCESANDO,
+
+    /** La foto se ha subido y el usuario ya la tiene como foto de perfil */
+    COMPLETADO,
+
+    /** La foto no se ha podido procesar tras agotar los intentos */
+    FALLIDO
+}
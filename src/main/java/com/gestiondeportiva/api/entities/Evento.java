@@ -5,6 +5,10 @@ import java.time.LocalTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.CascadeType;
@@ -16,6 +20,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -45,7 +50,16 @@ import jakarta.persistence.Table;
  * @see Disponibilidad
  */
 @Entity
-@Table(name = "eventos")
+@FilterDef(name = FiltroEquipo.NOMBRE, parameters = {
+        @ParamDef(name = FiltroEquipo.PARAM_EQUIPO, type = Long.class),
+        @ParamDef(name = FiltroEquipo.PARAM_USUARIO, type = Long.class)
+})
+@Filter(name = FiltroEquipo.NOMBRE, condition = FiltroEquipo.CONDICION_EVENTO, deduceAliasInjectionPoints = false)
+@Table(name = "eventos", indexes = {
+        @Index(name = "idx_eventos_equipo_fecha", columnList = "id_equipo, fecha"),
+        @Index(name = "idx_eventos_equipo_tipo", columnList = "id_equipo, tipo_evento"),
+        @Index(name = "idx_eventos_fecha", columnList = "fecha")
+})
 public class Evento {
 
     /** Identificador único del evento */
@@ -0,0 +1,48 @@
+package com.gestiondeportiva.api.entities;
+
+/**
+ * Nombres y condiciones del filtro de Hibernate que acota los datos al equipo del usuario.
+ * <p>
+ * El filtro se define en {@link Evento} y se aplica a {@link Evento}, {@link Usuario},
+ * {@link Disponibilidad}, {@link Convocatoria} y {@link Estadistica}. Se activa en cada
+ * transacción de un usuario JUGADOR o ENTRENADOR, de modo que todas las consultas sobre
+ * estas entidades añaden la condición de equipo en la propia base de datos.
+ * </p>
+ *
+ * <p><strong>Condición por entidad:</strong></p>
+ * <ul>
+ *   <li>Evento: Eventos del equipo</li>
+ *   <li>Usuario: Usuarios del equipo y el propio usuario autenticado</li>
+ *   <li>Disponibilidad, Convocatoria, Estadistica: Filas de eventos del equipo</li>
+ * </ul>
+ *
+ * <p><strong>Limitación:</strong> los filtros de Hibernate no se aplican a la carga por
+ * clave primaria ({@code findById}) ni a las asociaciones a-uno, por lo que las
+ * comprobaciones de acceso sobre una entidad concreta se siguen haciendo en los servicios.</p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see com.gestiondeportiva.api.security.FiltroEquipoTransactionManager
+ */
+public final class FiltroEquipo {
+
+    /** Nombre del filtro */
+    public static final String NOMBRE = "filtroEquipo";
+
+    /** Parámetro con el ID del equipo del usuario autenticado */
+    public static final String PARAM_EQUIPO = "equipo";
+
+    /** Parámetro con el ID del usuario autenticado */
+    public static final String PARAM_USUARIO = "usuario";
+
+    static final String CONDICION_EVENTO = "{alias}.id_equipo = :" + PARAM_EQUIPO;
+
+    static final String CONDICION_USUARIO =
+            "({alias}.id_equipo = :" + PARAM_EQUIPO + " OR {alias}.id = :" + PARAM_USUARIO + ")";
+
+    static final String CONDICION_POR_EVENTO =
+            "{alias}.id_evento IN (SELECT ev.id FROM eventos ev WHERE ev.id_equipo = :" + PARAM_EQUIPO + ")";
+
+    private FiltroEquipo() {
+    }
+}
@@ -0,0 +1,142 @@
+package com.gestiondeportiva.api.entities;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Entidad JPA que representa un refresh token emitido a un usuario.
+ * <p>
+ * Un refresh token permite obtener un nuevo access token sin volver a enviar la
+ * contraseña. Solo se guarda el SHA-256 del token (32 bytes): una filtración de la tabla
+ * no permite renovar sesiones. Cada renovación sustituye el hash y la expiración de la
+ * misma fila (rotación), por lo que el token anterior deja de ser válido.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see Usuario
+ * @see com.gestiondeportiva.api.security.RenovacionTokens
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_usuario", columnList = "id_usuario"),
+        @Index(name = "idx_refresh_tokens_expira", columnList = "expira_en")
+})
+public class RefreshToken {
+
+    /** Identificador único del refresh token */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** SHA-256 del token entregado al cliente (BINARY(32): longitud fija, no VARBINARY) */
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] hash;
+
+    /** Usuario al que pertenece el token */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_usuario", nullable = false)
+    private Usuario usuario;
+
+    /** Momento a partir del cual el token deja de ser válido */
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+
+    /**
+     * Constructor por defecto.
+     */
+    public RefreshToken() {
+    }
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param hash SHA-256 del token
+     * @param usuario usuario al que pertenece el token
+     * @param expiraEn momento de expiración
+     */
+    public RefreshToken(byte[] hash, Usuario usuario, LocalDateTime expiraEn) {
+        this.hash = hash;
+        this.usuario = usuario;
+        this.expiraEn = expiraEn;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public byte[] getHash() {
+        return hash;
+    }
+
+    public void setHash(byte[] hash) {
+        this.hash = hash;
+    }
+
+    public Usuario getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(Usuario usuario) {
+        this.usuario = usuario;
+    }
+
+    public LocalDateTime getExpiraEn() {
+        return expiraEn;
+    }
+
+    public void setExpiraEn(LocalDateTime expiraEn) {
+        this.expiraEn = expiraEn;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshToken{id=" + id +
+                ", usuario=" + (usuario != null ? usuario.getId() : "N/A") +
+                ", expiraEn=" + expiraEn + "}";
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        RefreshToken other = (RefreshToken) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        return true;
+    }
+
+}
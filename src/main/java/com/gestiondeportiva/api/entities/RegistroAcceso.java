@@ -0,0 +1,168 @@
+package com.gestiondeportiva.api.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Entidad JPA que representa un intento de inicio de sesión (registro de auditoría).
+ * <p>
+ * Se registra cada login, correcto o fallido, con el email usado, la IP de origen y el
+ * momento del intento. Los registros se escriben en segundo plano y en lotes, nunca
+ * dentro de la petición de login.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see com.gestiondeportiva.api.security.AuditoriaAccesos
+ */
+@Entity
+@Table(name = "registros_acceso", indexes = {
+        @Index(name = "idx_registros_acceso_usuario_fecha", columnList = "id_usuario, fecha"),
+        @Index(name = "idx_registros_acceso_fecha", columnList = "fecha")
+})
+public class RegistroAcceso {
+
+    /**
+     * Identificador único del registro.
+     * Se reserva en bloques de 50 (secuencia registros_acceso_seq) para que Hibernate
+     * pueda agrupar las inserciones en lotes JDBC.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registros_acceso_seq")
+    @SequenceGenerator(name = "registros_acceso_seq", sequenceName = "registros_acceso_seq", allocationSize = 50)
+    private Long id;
+
+    /** ID del usuario autenticado (null si el login ha fallado) */
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    /** Email con el que se ha intentado iniciar sesión */
+    private String email;
+
+    /** IP de origen de la petición */
+    @Column(length = 45)
+    private String ip;
+
+    /** Indica si el inicio de sesión ha sido correcto */
+    @Column(nullable = false)
+    private boolean exito;
+
+    /** Momento del intento */
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+
+    /**
+     * Constructor por defecto.
+     */
+    public RegistroAcceso() {
+    }
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param idUsuario ID del usuario autenticado (null si ha fallado)
+     * @param email email usado en el intento
+     * @param ip IP de origen
+     * @param exito true si el login ha sido correcto
+     * @param fecha momento del intento
+     */
+    public RegistroAcceso(Long idUsuario, String email, String ip, boolean exito, LocalDateTime fecha) {
+        this.idUsuario = idUsuario;
+        this.email = email;
+        this.ip = ip;
+        this.exito = exito;
+        this.fecha = fecha;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getIp() {
+        return ip;
+    }
+
+    public void setIp(String ip) {
+        this.ip = ip;
+    }
+
+    public boolean isExito() {
+        return exito;
+    }
+
+    public void setExito(boolean exito) {
+        this.exito = exito;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDateTime fecha) {
+        this.fecha = fecha;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistroAcceso{id=" + id +
+                ", idUsuario=" + idUsuario +
+                ", email='" + email + '\'' +
+                ", ip='" + ip + '\'' +
+                ", exito=" + exito +
+                ", fecha=" + fecha + "}";
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        RegistroAcceso other = (RegistroAcceso) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        return true;
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.gestiondeportiva.api.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Entidad JPA que representa una revocación de tokens JWT.
+ * <p>
+ * Los tokens JWT no se guardan en el servidor, por lo que para invalidarlos antes de
+ * su expiración se registra la revocación. Hay dos tipos:
+ * </p>
+ * <ul>
+ *   <li><strong>Por token</strong> ({@code jti} informado): invalida un único token,
+ *       por ejemplo al cerrar sesión</li>
+ *   <li><strong>Por usuario</strong> ({@code idUsuario} informado): invalida todos los
+ *       tokens del usuario emitidos hasta {@code revocadoEn}, por ejemplo al cambiar la
+ *       contraseña o eliminar la cuenta</li>
+ * </ul>
+ * <p>
+ * Cada registro deja de ser necesario en {@code expiraEn}, cuando ya han expirado todos
+ * los tokens a los que afecta, y se elimina en la siguiente limpieza.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see com.gestiondeportiva.api.security.RevocacionTokens
+ */
+@Entity
+@Table(name = "tokens_revocados", indexes = {
+        @Index(name = "idx_tokens_revocados_usuario", columnList = "id_usuario, revocado_en"),
+        @Index(name = "idx_tokens_revocados_expira", columnList = "expira_en")
+})
+public class TokenRevocado {
+
+    /** Identificador único de la revocación */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Identificador (claim jti) del token revocado; null en revocaciones por usuario */
+    @Column(unique = true, length = 36)
+    private String jti;
+
+    /** ID del usuario cuyos tokens se revocan; null en revocaciones por token */
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    /** Momento de la revocación */
+    @Column(name = "revocado_en", nullable = false)
+    private LocalDateTime revocadoEn;
+
+    /** Momento a partir del cual la revocación ya no es necesaria */
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+
+    /**
+     * Constructor por defecto.
+     */
+    public TokenRevocado() {
+    }
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param jti identificador del token revocado (null si es por usuario)
+     * @param idUsuario ID del usuario (null si es por token)
+     * @param revocadoEn momento de la revocación
+     * @param expiraEn momento a partir del cual la revocación ya no es necesaria
+     */
+    public TokenRevocado(String jti, Long idUsuario, LocalDateTime revocadoEn, LocalDateTime expiraEn) {
+        this.jti = jti;
+        this.idUsuario = idUsuario;
+        this.revocadoEn = revocadoEn;
+        this.expiraEn = expiraEn;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public LocalDateTime getRevocadoEn() {
+        return revocadoEn;
+    }
+
+    public void setRevocadoEn(LocalDateTime revocadoEn) {
+        this.revocadoEn = revocadoEn;
+    }
+
+    public LocalDateTime getExpiraEn() {
+        return expiraEn;
+    }
+
+    public void setExpiraEn(LocalDateTime expiraEn) {
+        this.expiraEn = expiraEn;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenRevocado{id=" + id +
+                ", jti='" + jti + '\'' +
+                ", idUsuario=" + idUsuario +
+                ", revocadoEn=" + revocadoEn +
+                ", expiraEn=" + expiraEn + "}";
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TokenRevocado other = (TokenRevocado) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        return true;
+    }
+
+}
@@ -0,0 +1,237 @@
+package com.gestiondeportiva.api.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Entidad JPA que representa un trabajo de procesamiento de una foto de perfil.
+ * <p>
+ * Al subir una foto, el archivo se guarda en un directorio local de espera y se crea
+ * un trabajo en estado PENDIENTE. Un hilo en segundo plano lo sube al servicio de
+ * imágenes, sustituye la foto del usuario y elimina la anterior. Si falla, el trabajo
+ * vuelve a PENDIENTE con un {@code siguienteIntento} posterior, hasta agotar los intentos.
+ * </p>
+ * <p>
+ * El directorio de espera es local, así que el trabajo lleva la {@code instancia} que
+ * aceptó la foto y solo esa instancia lo procesa.
+ * </p>
+ *
+ * <p>El identificador es un UUID que se devuelve al cliente para consultar el estado.</p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see EstadoTrabajoFoto
+ * @see com.gestiondeportiva.api.services.ProcesadorFotosPerfil
+ */
+@Entity
+@Table(name = "trabajos_foto", indexes = {
+        @Index(name = "idx_trabajos_foto_instancia_estado", columnList = "instancia, estado, siguiente_intento"),
+        @Index(name = "idx_trabajos_foto_estado_actualizado", columnList = "estado, actualizado_en"),
+        @Index(name = "idx_trabajos_foto_usuario", columnList = "id_usuario, estado, creado_en")
+})
+public class TrabajoFoto {
+
+    /** Identificador del trabajo (UUID) */
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    /** ID del usuario cuya foto se actualiza */
+    @Column(name = "id_usuario", nullable = false)
+    private Long idUsuario;
+
+    /** Instancia cuyo directorio de espera contiene el archivo */
+    @Column(nullable = false, length = 64)
+    private String instancia;
+
+    /** Nombre del archivo en el directorio de espera */
+    @Column(nullable = false, length = 64)
+    private String archivo;
+
+    /** Estado del trabajo */
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private EstadoTrabajoFoto estado;
+
+    /** Intentos de procesamiento fallidos */
+    @Column(nullable = false)
+    private int intentos;
+
+    /** Momento a partir del cual se puede procesar (o reintentar) */
+    @Column(name = "siguiente_intento", nullable = false)
+    private LocalDateTime siguienteIntento;
+
+    /** URL de la foto subida (solo si el trabajo se ha completado) */
+    @Column(name = "foto_url")
+    private String fotoUrl;
+
+    /** Motivo del último fallo */
+    @Column(length = 500)
+    private String error;
+
+    /** Momento en que se aceptó la foto */
+    @Column(name = "creado_en", nullable = false)
+    private LocalDateTime creadoEn;
+
+    /** Momento del último cambio de estado */
+    @Column(name = "actualizado_en", nullable = false)
+    private LocalDateTime actualizadoEn;
+
+    /**
+     * Constructor por defecto.
+     */
+    public TrabajoFoto() {
+    }
+
+    /**
+     * Crea un trabajo pendiente de procesar.
+     *
+     * @param id identificador del trabajo (UUID)
+     * @param idUsuario ID del usuario
+     * @param instancia instancia que ha aceptado la foto
+     * @param archivo nombre del archivo en el directorio de espera
+     * @param creadoEn momento en que se aceptó la foto
+     */
+    public TrabajoFoto(String id, Long idUsuario, String instancia, String archivo, LocalDateTime creadoEn) {
+        this.id = id;
+        this.idUsuario = idUsuario;
+        this.instancia = instancia;
+        this.archivo = archivo;
+        this.estado = EstadoTrabajoFoto.PENDIENTE;
+        this.intentos = 0;
+        this.siguienteIntento = creadoEn;
+        this.creadoEn = creadoEn;
+        this.actualizadoEn = creadoEn;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public String getInstancia() {
+        return instancia;
+    }
+
+    public void setInstancia(String instancia) {
+        this.instancia = instancia;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public void setArchivo(String archivo) {
+        this.archivo = archivo;
+    }
+
+    public EstadoTrabajoFoto getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoTrabajoFoto estado) {
+        this.estado = estado;
+    }
+
+    public int getIntentos() {
+        return intentos;
+    }
+
+    public void setIntentos(int intentos) {
+        this.intentos = intentos;
+    }
+
+    public LocalDateTime getSiguienteIntento() {
+        return siguienteIntento;
+    }
+
+    public void setSiguienteIntento(LocalDateTime siguienteIntento) {
+        this.siguienteIntento = siguienteIntento;
+    }
+
+    public String getFotoUrl() {
+        return fotoUrl;
+    }
+
+    public void setFotoUrl(String fotoUrl) {
+        this.fotoUrl = fotoUrl;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreadoEn() {
+        return creadoEn;
+    }
+
+    public void setCreadoEn(LocalDateTime creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+
+    public LocalDateTime getActualizadoEn() {
+        return actualizadoEn;
+    }
+
+    public void setActualizadoEn(LocalDateTime actualizadoEn) {
+        this.actualizadoEn = actualizadoEn;
+    }
+
+    @Override
+    public String toString() {
+        return "TrabajoFoto{id='" + id + '\'' +
+                ", idUsuario=" + idUsuario +
+                ", instancia='" + instancia + '\'' +
+                ", estado=" + estado +
+                ", intentos=" + intentos +
+                ", siguienteIntento=" + siguienteIntento + "}";
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TrabajoFoto other = (TrabajoFoto) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        return true;
+    }
+
+}
@@ -1,8 +1,11 @@
 package com.gestiondeportiva.api.entities;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Filter;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -15,6 +18,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -48,7 +52,11 @@ import jakarta.validation.constraints.Pattern;
  * @see Equipo
  */
 @Entity
-@Table(name = "usuarios")
+@Filter(name = FiltroEquipo.NOMBRE, condition = FiltroEquipo.CONDICION_USUARIO, deduceAliasInjectionPoints = false)
+@Table(name = "usuarios", indexes = {
+        @Index(name = "idx_usuarios_equipo_rol", columnList = "id_equipo, rol"),
+        @Index(name = "idx_usuarios_rol", columnList = "rol")
+})
 public class Usuario {
 
     /** Identificador único del usuario */
@@ -98,6 +106,23 @@ public class Usuario {
     @Column(name = "foto_url")
     private String fotoUrl;
 
+    /** URL de la foto de perfil a 120 px (null en fotos anteriores a los tamaños locales) */
+    @Column(name = "foto_mediana_url")
+    private String fotoMedianaUrl;
+
+    /** URL de la foto de perfil a 40 px, para avatares (null en fotos anteriores a los tamaños locales) */
+    @Column(name = "foto_miniatura_url")
+    private String fotoMiniaturaUrl;
+
+    /**
+     * Momento del último inicio de sesión correcto (null si nunca ha iniciado sesión).
+     * Lo actualiza en lotes {@link com.gestiondeportiva.api.security.AuditoriaAccesos}; la
+     * entidad nunca lo escribe, para que guardar un usuario no sobrescriba un acceso
+     * posterior al momento en que se cargó.
+     */
+    @Column(name = "ultimo_acceso", insertable = false, updatable = false)
+    private LocalDateTime ultimoAcceso;
+
     /** Equipo al que pertenece el usuario (null para ADMIN) */
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_equipo")
@@ -233,6 +258,30 @@ public class Usuario {
         this.fotoUrl = fotoUrl;
     }
 
+    public String getFotoMedianaUrl() {
+        return fotoMedianaUrl;
+    }
+
+    public void setFotoMedianaUrl(String fotoMedianaUrl) {
+        this.fotoMedianaUrl = fotoMedianaUrl;
+    }
+
+    public String getFotoMiniaturaUrl() {
+        return fotoMiniaturaUrl;
+    }
+
+    public void setFotoMiniaturaUrl(String fotoMiniaturaUrl) {
+        this.fotoMiniaturaUrl = fotoMiniaturaUrl;
+    }
+
+    public LocalDateTime getUltimoAcceso() {
+        return ultimoAcceso;
+    }
+
+    public void setUltimoAcceso(LocalDateTime ultimoAcceso) {
+        this.ultimoAcceso = ultimoAcceso;
+    }
+
     public Equipo getEquipo() {
         return equipo;
     }
@@ -76,6 +76,9 @@ public interface UsuarioMapper {
      * @return entidad Usuario con las relaciones JPA establecidas
      */
     @Mapping(source = "idEquipo", target = "equipo", qualifiedByName = "mapEquipo")
+    @Mapping(target = "ultimoAcceso", ignore = true)
+    @Mapping(target = "fotoMedianaUrl", ignore = true)
+    @Mapping(target = "fotoMiniaturaUrl", ignore = true)
     Usuario toEntity(UsuarioDTO dto);
 
     /**
@@ -96,6 +99,7 @@ public interface UsuarioMapper {
      * <p>
      * Solo actualiza los campos que no son null en el DTO, permitiendo
      * actualizaciones parciales sin sobrescribir campos existentes con null.
+     * Las URL de la foto solo las escribe el procesamiento de fotos de perfil.
      * </p>
      *
      * @param dto UsuarioDTO con los datos a actualizar
@@ -103,6 +107,10 @@ public interface UsuarioMapper {
      */
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(source = "idEquipo", target = "equipo", qualifiedByName = "mapEquipo")
+    @Mapping(target = "ultimoAcceso", ignore = true)
+    @Mapping(target = "fotoUrl", ignore = true)
+    @Mapping(target = "fotoMedianaUrl", ignore = true)
+    @Mapping(target = "fotoMiniaturaUrl", ignore = true)
     void updateEntityFromDTO(UsuarioDTO dto, @MappingTarget Usuario entity);
 
     /**
@@ -0,0 +1,57 @@
+package com.gestiondeportiva.api.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gestiondeportiva.api.entities.ArchivoAlmacenado;
+
+/**
+ * Repositorio JPA para el contador de referencias del almacén local de archivos.
+ * <p>
+ * Las referencias se suman y restan con UPDATE por clave primaria, sin leer la fila.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see ArchivoAlmacenado
+ * @see JpaRepository
+ */
+public interface ArchivoAlmacenadoRepository extends JpaRepository<ArchivoAlmacenado, String> {
+
+    /**
+     * Suma una referencia a un archivo ya registrado.
+     *
+     * @param nombre ruta relativa del archivo
+     * @return 1 si el archivo estaba registrado, 0 si no
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ArchivoAlmacenado a SET a.referencias = a.referencias + 1 WHERE a.nombre = :nombre")
+    int sumarReferencia(@Param("nombre") String nombre);
+
+    /**
+     * Resta una referencia a un archivo, sin bajar de cero.
+     *
+     * @param nombre ruta relativa del archivo
+     * @return 1 si se ha restado, 0 si no estaba registrado o ya no tenía referencias
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ArchivoAlmacenado a SET a.referencias = a.referencias - 1 "
+            + "WHERE a.nombre = :nombre AND a.referencias > 0")
+    int restarReferencia(@Param("nombre") String nombre);
+
+    /**
+     * Elimina el registro de un archivo si ya no tiene referencias.
+     *
+     * @param nombre ruta relativa del archivo
+     * @return 1 si se ha eliminado (hay que borrar el archivo del disco), 0 si no
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ArchivoAlmacenado a WHERE a.nombre = :nombre AND a.referencias = 0")
+    int deleteSinReferencias(@Param("nombre") String nombre);
+}
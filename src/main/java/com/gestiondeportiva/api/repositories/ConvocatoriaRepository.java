@@ -1,6 +1,12 @@
 package com.gestiondeportiva.api.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.gestiondeportiva.api.entities.Convocatoria;
 
@@ -12,6 +18,13 @@ import java.util.List;
  * Gestiona las convocatorias de jugadores para eventos, distinguiendo entre
  * titulares y suplentes.
  * </p>
+ * <p>
+ * Los métodos de listado cargan el evento y el jugador en la misma consulta mediante
+ * {@link EntityGraph}, ya que el mapper los necesita para construir los DTOs.
+ * Filtran por la clave foránea ({@code c.evento.id}) con JPQL explícito: la consulta
+ * derivada filtraría por el ID de la tabla unida y no podría usar los índices de
+ * convocatorias.
+ * </p>
  *
  * @author Sistema de Gestión Deportiva MyClub
  * @version 1.0
@@ -26,7 +39,9 @@ public interface ConvocatoriaRepository extends JpaRepository<Convocatoria, Long
      * @param eventoId ID del evento
      * @return lista de convocatorias del evento
      */
-    List<Convocatoria> findByEventoId(Long eventoId);
+    @EntityGraph(attributePaths = {"evento", "jugador"})
+    @Query("SELECT c FROM Convocatoria c WHERE c.evento.id = :eventoId")
+    List<Convocatoria> findByEventoId(@Param("eventoId") Long eventoId);
 
     /**
      * Busca todas las convocatorias de un jugador específico.
@@ -34,7 +49,9 @@ public interface ConvocatoriaRepository extends JpaRepository<Convocatoria, Long
      * @param jugadorId ID del jugador
      * @return lista de convocatorias del jugador
      */
-    List<Convocatoria> findByJugadorId(Long jugadorId);
+    @EntityGraph(attributePaths = {"evento", "jugador"})
+    @Query("SELECT c FROM Convocatoria c WHERE c.jugador.id = :jugadorId")
+    List<Convocatoria> findByJugadorId(@Param("jugadorId") Long jugadorId);
 
     /**
      * Busca solo los jugadores titulares convocados para un evento.
@@ -45,8 +62,33 @@ public interface ConvocatoriaRepository extends JpaRepository<Convocatoria, Long
      * @param eventoId ID del evento
      * @return lista de convocatorias titulares del evento
      */
-    List<Convocatoria> findByEventoIdAndTitularTrue(Long eventoId);
+    @EntityGraph(attributePaths = {"evento", "jugador"})
+    @Query("SELECT c FROM Convocatoria c WHERE c.evento.id = :eventoId AND c.titular = true")
+    List<Convocatoria> findByEventoIdAndTitularTrue(@Param("eventoId") Long eventoId);
 
-}
+    /**
+     * Obtiene una ventana de convocatorias con ID posterior al cursor indicado.
+     * <p>
+     * Paginación por cursor (keyset): recorre la clave primaria en orden sin usar OFFSET.
+     * </p>
+     *
+     * @param after último ID recibido por el cliente
+     * @param pageable tamaño de la ventana y orden por ID
+     * @return Slice con las convocatorias siguientes al cursor
+     */
+    @EntityGraph(attributePaths = {"evento", "jugador"})
+    Slice<Convocatoria> findByIdGreaterThan(Long after, Pageable pageable);
 
-    
\ No newline at end of file
+    /**
+     * Elimina todas las convocatorias de un evento con una única sentencia DELETE.
+     * <p>
+     * Utilizado al reemplazar la convocatoria completa de un evento.
+     * </p>
+     *
+     * @param eventoId ID del evento
+     * @return número de convocatorias eliminadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Convocatoria c WHERE c.evento.id = :eventoId")
+    int deleteByEventoId(@Param("eventoId") Long eventoId);
+}
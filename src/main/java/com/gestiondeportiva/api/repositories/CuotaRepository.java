@@ -1,8 +1,14 @@
 package com.gestiondeportiva.api.repositories;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.gestiondeportiva.api.entities.Cuota;
 import com.gestiondeportiva.api.entities.EstadoCuota;
@@ -13,6 +19,10 @@ import com.gestiondeportiva.api.entities.EstadoCuota;
  * Gestiona las cuotas de pago de los jugadores, permitiendo consultar
  * por jugador y por estado de pago.
  * </p>
+ * <p>
+ * Los métodos de listado cargan el jugador en la misma consulta mediante
+ * {@link EntityGraph}, ya que el mapper los necesita para construir los DTOs.
+ * </p>
  *
  * @author Sistema de Gestión Deportiva MyClub
  * @version 1.0
@@ -27,7 +37,9 @@ public interface CuotaRepository extends JpaRepository<Cuota, Long> {
      * @param jugadorId ID del jugador
      * @return lista de cuotas del jugador
      */
-    List<Cuota> findByJugadorId(Long jugadorId);
+    @EntityGraph(attributePaths = {"jugador"})
+    @Query("SELECT c FROM Cuota c WHERE c.jugador.id = :jugadorId")
+    List<Cuota> findByJugadorId(@Param("jugadorId") Long jugadorId);
 
     /**
      * Busca todas las cuotas por estado de pago.
@@ -38,6 +50,34 @@ public interface CuotaRepository extends JpaRepository<Cuota, Long> {
      * @param estadoCuota estado de la cuota (PENDIENTE, PAGADO, EXENTO)
      * @return lista de cuotas con el estado especificado
      */
+    @EntityGraph(attributePaths = {"jugador"})
     List<Cuota> findByEstadoCuota(EstadoCuota estadoCuota);
 
+    /**
+     * Obtiene una ventana de cuotas con ID posterior al cursor indicado.
+     * <p>
+     * Paginación por cursor (keyset): recorre la clave primaria en orden sin usar OFFSET.
+     * </p>
+     *
+     * @param after último ID recibido por el cliente
+     * @param pageable tamaño de la ventana y orden por ID
+     * @return Slice con las cuotas siguientes al cursor
+     */
+    @EntityGraph(attributePaths = {"jugador"})
+    Slice<Cuota> findByIdGreaterThan(Long after, Pageable pageable);
+
+    /**
+     * Obtiene, de entre los jugadores indicados, los que ya tienen una cuota con el concepto dado.
+     *
+     * @param concepto concepto de la cuota
+     * @param jugadorIds IDs de los jugadores a comprobar
+     * @return lista de IDs de jugadores que ya tienen la cuota
+     */
+    @Query("""
+            SELECT c.jugador.id FROM Cuota c
+            WHERE c.concepto = :concepto
+              AND c.jugador.id IN :jugadorIds
+            """)
+    List<Long> findJugadorIdsConConcepto(@Param("concepto") String concepto,
+            @Param("jugadorIds") Collection<Long> jugadorIds);
 }
@@ -1,9 +1,15 @@
 package com.gestiondeportiva.api.repositories;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.gestiondeportiva.api.dto.DisponibilidadDTO;
 import com.gestiondeportiva.api.entities.Disponibilidad;
 import com.gestiondeportiva.api.entities.EstadoDisponibilidad;
 
@@ -23,19 +29,46 @@ public interface DisponibilidadRepository extends JpaRepository<Disponibilidad,
 
     /**
      * Busca todas las disponibilidades de un jugador específico.
+     * <p>
+     * Proyecta directamente a DisponibilidadDTO con un único SELECT que une jugador
+     * y evento, evitando las cargas perezosas que haría el mapper por cada fila.
+     * </p>
      *
      * @param jugadorId ID del jugador
-     * @return lista de disponibilidades del jugador
+     * @return lista de DisponibilidadDTO del jugador
      */
-    List<Disponibilidad> findByJugadorId(Long jugadorId);
+    @Query("""
+            SELECT new com.gestiondeportiva.api.dto.DisponibilidadDTO(
+                d.id, j.id, j.nombre, j.apellidos, j.fotoUrl, j.posicion,
+                e.id, e.descripcion, e.fecha, d.estadoDisponibilidad, d.comentario)
+            FROM Disponibilidad d
+            JOIN d.jugador j
+            JOIN d.evento e
+            WHERE d.jugador.id = :jugadorId
+            ORDER BY d.id
+            """)
+    List<DisponibilidadDTO> findByJugadorId(@Param("jugadorId") Long jugadorId);
 
     /**
      * Busca todas las disponibilidades de un evento específico.
+     * <p>
+     * Proyecta directamente a DisponibilidadDTO con un único SELECT.
+     * </p>
      *
      * @param eventoId ID del evento
-     * @return lista de disponibilidades del evento
+     * @return lista de DisponibilidadDTO del evento
      */
-    List<Disponibilidad> findByEventoId(Long eventoId);
+    @Query("""
+            SELECT new com.gestiondeportiva.api.dto.DisponibilidadDTO(
+                d.id, j.id, j.nombre, j.apellidos, j.fotoUrl, j.posicion,
+                e.id, e.descripcion, e.fecha, d.estadoDisponibilidad, d.comentario)
+            FROM Disponibilidad d
+            JOIN d.jugador j
+            JOIN d.evento e
+            WHERE d.evento.id = :eventoId
+            ORDER BY d.id
+            """)
+    List<DisponibilidadDTO> findByEventoId(@Param("eventoId") Long eventoId);
 
     /**
      * Busca disponibilidades de un evento filtradas por estado.
@@ -46,7 +79,53 @@ public interface DisponibilidadRepository extends JpaRepository<Disponibilidad,
      *
      * @param id ID del evento
      * @param estadoDisponibilidad estado de disponibilidad (ASISTE, NO_ASISTE, DUDA)
-     * @return lista de disponibilidades con el estado especificado
+     * @return lista de DisponibilidadDTO con el estado especificado
+     */
+    @Query("""
+            SELECT new com.gestiondeportiva.api.dto.DisponibilidadDTO(
+                d.id, j.id, j.nombre, j.apellidos, j.fotoUrl, j.posicion,
+                e.id, e.descripcion, e.fecha, d.estadoDisponibilidad, d.comentario)
+            FROM Disponibilidad d
+            JOIN d.jugador j
+            JOIN d.evento e
+            WHERE d.evento.id = :id
+              AND d.estadoDisponibilidad = :estadoDisponibilidad
+            ORDER BY d.id
+            """)
+    List<DisponibilidadDTO> findByEventoIdAndEstadoDisponibilidad(@Param("id") Long id,
+            @Param("estadoDisponibilidad") EstadoDisponibilidad estadoDisponibilidad);
+
+    /**
+     * Obtiene una ventana de disponibilidades con ID posterior al cursor indicado.
+     * <p>
+     * Paginación por cursor (keyset): recorre la clave primaria en orden sin usar OFFSET.
+     * </p>
+     *
+     * @param after último ID recibido por el cliente
+     * @param pageable tamaño de la ventana y orden por ID
+     * @return Slice con las disponibilidades siguientes al cursor
+     */
+    Slice<Disponibilidad> findByIdGreaterThan(Long after, Pageable pageable);
+
+    /**
+     * Busca las disponibilidades existentes para un conjunto de eventos y jugadores.
+     * <p>
+     * Resuelve con una única consulta (IN) las filas afectadas por un upsert masivo.
+     * El resultado puede incluir combinaciones evento-jugador no pedidas, que el
+     * servicio descarta al cruzarlas con el lote.
+     * </p>
+     *
+     * @param eventoIds IDs de los eventos del lote
+     * @param jugadorIds IDs de los jugadores del lote
+     * @return lista de disponibilidades con evento y jugador cargados
      */
-    List<Disponibilidad> findByEventoIdAndEstadoDisponibilidad(Long id, EstadoDisponibilidad estadoDisponibilidad);
+    @Query("""
+            SELECT d FROM Disponibilidad d
+            JOIN FETCH d.evento e
+            JOIN FETCH d.jugador j
+            WHERE d.evento.id IN :eventoIds
+              AND d.jugador.id IN :jugadorIds
+            """)
+    List<Disponibilidad> findByEventoIdInAndJugadorIdIn(@Param("eventoIds") Collection<Long> eventoIds,
+            @Param("jugadorIds") Collection<Long> jugadorIds);
 }
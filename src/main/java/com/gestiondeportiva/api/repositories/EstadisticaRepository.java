@@ -3,7 +3,12 @@ package com.gestiondeportiva.api.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.gestiondeportiva.api.entities.Estadistica;
 
@@ -14,6 +19,12 @@ import com.gestiondeportiva.api.entities.Estadistica;
  * incluyendo goles y tarjetas. Implementa lógica para evitar duplicados
  * mediante la búsqueda combinada por evento y jugador.
  * </p>
+ * <p>
+ * Los métodos de listado cargan el evento y el jugador en la misma consulta mediante
+ * {@link EntityGraph}, ya que el mapper los necesita para construir los DTOs.
+ * Las consultas usan JPQL explícito sobre las claves foráneas (id_evento, id_jugador)
+ * para que se resuelvan con idx_estadisticas_evento_jugador e idx_estadisticas_jugador.
+ * </p>
  *
  * @author Sistema de Gestión Deportiva MyClub
  * @version 1.0
@@ -28,7 +39,9 @@ public interface EstadisticaRepository extends JpaRepository<Estadistica, Long>
      * @param jugadorId ID del jugador
      * @return lista de estadísticas del jugador
      */
-    List<Estadistica> findByJugadorId(Long jugadorId);
+    @EntityGraph(attributePaths = {"evento", "jugador"})
+    @Query("SELECT e FROM Estadistica e WHERE e.jugador.id = :jugadorId")
+    List<Estadistica> findByJugadorId(@Param("jugadorId") Long jugadorId);
 
     /**
      * Busca todas las estadísticas de un evento específico.
@@ -36,7 +49,9 @@ public interface EstadisticaRepository extends JpaRepository<Estadistica, Long>
      * @param eventoId ID del evento
      * @return lista de estadísticas del evento
      */
-    List<Estadistica> findByEventoId(Long eventoId);
+    @EntityGraph(attributePaths = {"evento", "jugador"})
+    @Query("SELECT e FROM Estadistica e WHERE e.evento.id = :eventoId")
+    List<Estadistica> findByEventoId(@Param("eventoId") Long eventoId);
 
     /**
      * Busca una estadística específica por evento y jugador.
@@ -49,6 +64,20 @@ public interface EstadisticaRepository extends JpaRepository<Estadistica, Long>
      * @param jugadorId ID del jugador
      * @return Optional con la estadística si existe, Optional.empty() si no
      */
-    Optional<Estadistica> findByEventoIdAndJugadorId(Long eventoId, Long jugadorId);
+    @Query("SELECT e FROM Estadistica e WHERE e.evento.id = :eventoId AND e.jugador.id = :jugadorId")
+    Optional<Estadistica> findByEventoIdAndJugadorId(@Param("eventoId") Long eventoId,
+            @Param("jugadorId") Long jugadorId);
 
+    /**
+     * Obtiene una ventana de estadísticas con ID posterior al cursor indicado.
+     * <p>
+     * Paginación por cursor (keyset): recorre la clave primaria en orden sin usar OFFSET.
+     * </p>
+     *
+     * @param after último ID recibido por el cliente
+     * @param pageable tamaño de la ventana y orden por ID
+     * @return Slice con las estadísticas siguientes al cursor
+     */
+    @EntityGraph(attributePaths = {"evento", "jugador"})
+    Slice<Estadistica> findByIdGreaterThan(Long after, Pageable pageable);
 }
@@ -1,6 +1,10 @@
 package com.gestiondeportiva.api.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.gestiondeportiva.api.entities.Evento;
 import com.gestiondeportiva.api.entities.TipoEvento;
@@ -32,11 +36,16 @@ public interface EventoRepository extends JpaRepository<Evento, Long> {
 
     /**
      * Busca todos los eventos de un equipo específico.
+     * <p>
+     * Filtra por la columna id_equipo (idx_eventos_equipo_fecha); la consulta derivada
+     * uniría equipos y filtraría por su ID, recorriendo toda la tabla de eventos.
+     * </p>
      *
      * @param equipoId ID del equipo
      * @return lista de eventos del equipo
      */
-    List<Evento> findByEquipoId(Long equipoId);
+    @Query("SELECT e FROM Evento e WHERE e.equipo.id = :equipoId")
+    List<Evento> findByEquipoId(@Param("equipoId") Long equipoId);
 
     /**
      * Busca eventos en una fecha específica.
@@ -64,4 +73,16 @@ public interface EventoRepository extends JpaRepository<Evento, Long> {
      * @return lista de eventos en la ubicación especificada
      */
     List<Evento> findByLugar(String lugar);
+
+    /**
+     * Obtiene una ventana de eventos con ID posterior al cursor indicado.
+     * <p>
+     * Paginación por cursor (keyset): recorre la clave primaria en orden sin usar OFFSET.
+     * </p>
+     *
+     * @param after último ID recibido por el cliente
+     * @param pageable tamaño de la ventana y orden por ID
+     * @return Slice con los eventos siguientes al cursor
+     */
+    Slice<Evento> findByIdGreaterThan(Long after, Pageable pageable);
 }
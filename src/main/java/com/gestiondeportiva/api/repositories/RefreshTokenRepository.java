@@ -0,0 +1,88 @@
+package com.gestiondeportiva.api.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gestiondeportiva.api.entities.RefreshToken;
+
+/**
+ * Repositorio JPA para la gestión de refresh tokens.
+ * <p>
+ * Todas las búsquedas son por el hash del token (índice único) o por expiración
+ * (índice de limpieza); nunca se guarda ni se busca el token en claro.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see RefreshToken
+ * @see JpaRepository
+ */
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Busca un refresh token vigente por su hash, cargando el usuario en la misma consulta.
+     *
+     * @param hash SHA-256 del token
+     * @param ahora momento actual
+     * @return Optional con el refresh token y su usuario, vacío si no existe o ha expirado
+     */
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.usuario WHERE r.hash = :hash AND r.expiraEn > :ahora")
+    Optional<RefreshToken> findVigenteByHash(@Param("hash") byte[] hash, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Rota un refresh token: sustituye su hash y su expiración solo si el hash actual
+     * no ha cambiado (otra renovación simultánea con el mismo token pierde la carrera).
+     *
+     * @param id ID del refresh token
+     * @param hashActual hash del token presentado
+     * @param hashNuevo hash del token nuevo
+     * @param expiraEn nueva expiración
+     * @return 1 si se ha rotado, 0 si otra renovación lo rotó antes
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.hash = :hashNuevo, r.expiraEn = :expiraEn "
+            + "WHERE r.id = :id AND r.hash = :hashActual")
+    int rotar(@Param("id") Long id,
+              @Param("hashActual") byte[] hashActual,
+              @Param("hashNuevo") byte[] hashNuevo,
+              @Param("expiraEn") LocalDateTime expiraEn);
+
+    /**
+     * Elimina un refresh token por su hash (cierre de sesión).
+     *
+     * @param hash SHA-256 del token
+     * @return número de tokens eliminados
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.hash = :hash")
+    int deleteByHash(@Param("hash") byte[] hash);
+
+    /**
+     * Elimina todos los refresh tokens de un usuario (cambio de contraseña, baja).
+     *
+     * @param idUsuario ID del usuario
+     * @return número de tokens eliminados
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.usuario.id = :idUsuario")
+    int deleteByUsuarioId(@Param("idUsuario") Long idUsuario);
+
+    /**
+     * Elimina los refresh tokens expirados.
+     *
+     * @param ahora momento actual
+     * @return número de tokens eliminados
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEn <= :ahora")
+    int deleteCaducados(@Param("ahora") LocalDateTime ahora);
+}
@@ -0,0 +1,19 @@
+package com.gestiondeportiva.api.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.gestiondeportiva.api.entities.RegistroAcceso;
+
+/**
+ * Repositorio JPA para el registro de auditoría de inicios de sesión.
+ * <p>
+ * Las inserciones las hace en lotes {@link com.gestiondeportiva.api.security.AuditoriaAccesos}.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see RegistroAcceso
+ * @see JpaRepository
+ */
+public interface RegistroAccesoRepository extends JpaRepository<RegistroAcceso, Long> {
+}
@@ -0,0 +1,83 @@
+package com.gestiondeportiva.api.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gestiondeportiva.api.entities.TokenRevocado;
+
+/**
+ * Repositorio JPA para la gestión de revocaciones de tokens JWT.
+ * <p>
+ * Solo se consulta cuando el filtro de Bloom de
+ * {@link com.gestiondeportiva.api.security.RevocacionTokens} indica que un token
+ * podría estar revocado, y al reconstruir dicho filtro.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see TokenRevocado
+ * @see JpaRepository
+ */
+public interface TokenRevocadoRepository extends JpaRepository<TokenRevocado, Long> {
+
+    /**
+     * Comprueba si un token concreto está revocado.
+     *
+     * @param jti identificador del token
+     * @return true si existe una revocación para ese token
+     */
+    boolean existsByJti(String jti);
+
+    /**
+     * Comprueba si los tokens de un usuario emitidos en un momento dado están revocados.
+     *
+     * @param idUsuario ID del usuario
+     * @param emitidoEn momento de emisión del token
+     * @return true si existe una revocación del usuario posterior a la emisión
+     */
+    boolean existsByIdUsuarioAndRevocadoEnGreaterThan(Long idUsuario, LocalDateTime emitidoEn);
+
+    /**
+     * Cuenta las revocaciones que aún no han expirado (para dimensionar el filtro de Bloom).
+     *
+     * @param ahora momento actual
+     * @return número de revocaciones vigentes
+     */
+    @Query("SELECT COUNT(t) FROM TokenRevocado t WHERE t.expiraEn > :ahora")
+    long countVigentes(@Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Obtiene los identificadores de los tokens revocados que aún no han expirado.
+     *
+     * @param ahora momento actual
+     * @return lista de jti revocados vigentes
+     */
+    @Query("SELECT t.jti FROM TokenRevocado t WHERE t.jti IS NOT NULL AND t.expiraEn > :ahora")
+    List<String> findJtiVigentes(@Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Obtiene los IDs de los usuarios con alguna revocación de tokens vigente.
+     *
+     * @param ahora momento actual
+     * @return lista de IDs de usuario sin repetir
+     */
+    @Query("SELECT DISTINCT t.idUsuario FROM TokenRevocado t WHERE t.idUsuario IS NOT NULL AND t.expiraEn > :ahora")
+    List<Long> findUsuariosConRevocacionVigente(@Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Elimina las revocaciones que ya no son necesarias porque sus tokens han expirado.
+     *
+     * @param ahora momento actual
+     * @return número de revocaciones eliminadas
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevocado t WHERE t.expiraEn <= :ahora")
+    int deleteCaducados(@Param("ahora") LocalDateTime ahora);
+}
@@ -0,0 +1,169 @@
+package com.gestiondeportiva.api.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gestiondeportiva.api.entities.EstadoTrabajoFoto;
+import com.gestiondeportiva.api.entities.TrabajoFoto;
+
+/**
+ * Repositorio JPA para los trabajos de procesamiento de fotos de perfil.
+ * <p>
+ * Los cambios de estado que pueden competir entre hilos (reclamar un trabajo) se hacen
+ * con UPDATE condicionales al estado actual, sin bloqueos.
+ * </p>
+ * <p>
+ * Las consultas del procesamiento se filtran por instancia: el archivo de cada trabajo
+ * solo está en el directorio de espera de la instancia que lo aceptó.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see TrabajoFoto
+ * @see JpaRepository
+ */
+public interface TrabajoFotoRepository extends JpaRepository<TrabajoFoto, String> {
+
+    /**
+     * Busca un trabajo de un usuario (consulta de estado).
+     *
+     * @param id ID del trabajo
+     * @param idUsuario ID del usuario
+     * @return Optional con el trabajo, vacío si no existe o es de otro usuario
+     */
+    Optional<TrabajoFoto> findByIdAndIdUsuario(String id, Long idUsuario);
+
+    /**
+     * Cuenta los trabajos de una instancia en un estado (por ejemplo, los pendientes,
+     * para limitar las fotos en su directorio de espera).
+     *
+     * @param instancia instancia que aceptó las fotos
+     * @param estado estado de los trabajos
+     * @return número de trabajos en ese estado
+     */
+    long countByInstanciaAndEstado(String instancia, EstadoTrabajoFoto estado);
+
+    /**
+     * Obtiene los IDs de los trabajos pendientes de una instancia cuyo siguiente intento
+     * ya ha llegado, del más antiguo al más reciente.
+     *
+     * @param instancia instancia que aceptó las fotos
+     * @param estado estado PENDIENTE
+     * @param ahora momento actual
+     * @param pageable número máximo de trabajos
+     * @return lista de IDs
+     */
+    @Query("SELECT t.id FROM TrabajoFoto t WHERE t.instancia = :instancia AND t.estado = :estado "
+            + "AND t.siguienteIntento <= :ahora ORDER BY t.siguienteIntento")
+    List<String> findIdsListos(@Param("instancia") String instancia,
+                               @Param("estado") EstadoTrabajoFoto estado,
+                               @Param("ahora") LocalDateTime ahora,
+                               Pageable pageable);
+
+    /**
+     * Comprueba si un usuario tiene un trabajo completado aceptado después de otro
+     * (su foto ya se ha sustituido por una más reciente).
+     *
+     * @param idUsuario ID del usuario
+     * @param estado estado COMPLETADO
+     * @param creadoEn momento en que se aceptó el trabajo de referencia
+     * @return true si existe un trabajo completado posterior
+     */
+    boolean existsByIdUsuarioAndEstadoAndCreadoEnGreaterThan(Long idUsuario, EstadoTrabajoFoto estado,
+                                                            LocalDateTime creadoEn);
+
+    /**
+     * Cambia el estado de un trabajo solo si sigue en el estado esperado. Sirve para
+     * que un trabajo encolado dos veces solo lo procese un hilo.
+     *
+     * @param id ID del trabajo
+     * @param esperado estado actual esperado
+     * @param nuevo nuevo estado
+     * @param ahora momento del cambio
+     * @return 1 si se ha cambiado, 0 si el trabajo ya no estaba en el estado esperado
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TrabajoFoto t SET t.estado = :nuevo, t.actualizadoEn = :ahora "
+            + "WHERE t.id = :id AND t.estado = :esperado")
+    int cambiarEstado(@Param("id") String id,
+                      @Param("esperado") EstadoTrabajoFoto esperado,
+                      @Param("nuevo") EstadoTrabajoFoto nuevo,
+                      @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Devuelve a PENDIENTE los trabajos de una instancia en proceso desde antes de una
+     * fecha: los que se quedaron a medias al parar la aplicación o cuyo hilo no pudo
+     * registrar el resultado.
+     *
+     * @param instancia instancia que aceptó las fotos
+     * @param enProceso estado PROCESANDO
+     * @param pendiente estado PENDIENTE
+     * @param antesDe fecha límite del último cambio de estado
+     * @param ahora momento actual
+     * @return número de trabajos reanudados
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TrabajoFoto t SET t.estado = :pendiente, t.siguienteIntento = :ahora, t.actualizadoEn = :ahora "
+            + "WHERE t.instancia = :instancia AND t.estado = :enProceso AND t.actualizadoEn < :antesDe")
+    int reanudar(@Param("instancia") String instancia,
+                 @Param("enProceso") EstadoTrabajoFoto enProceso,
+                 @Param("pendiente") EstadoTrabajoFoto pendiente,
+                 @Param("antesDe") LocalDateTime antesDe,
+                 @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Asigna a una instancia los trabajos sin instancia, creados antes de que los trabajos
+     * la registraran.
+     *
+     * @param instancia instancia que los adopta
+     * @return número de trabajos adoptados
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TrabajoFoto t SET t.instancia = :instancia WHERE t.instancia = ''")
+    int adoptarSinInstancia(@Param("instancia") String instancia);
+
+    /**
+     * Termina como fallidos los trabajos sin terminar que no han cambiado desde una
+     * fecha: los de una instancia que ya no existe, que nadie más puede procesar.
+     *
+     * @param estados estados sin terminar
+     * @param fallido estado FALLIDO
+     * @param error motivo que se registra
+     * @param antesDe fecha límite del último cambio de estado
+     * @param ahora momento actual
+     * @return número de trabajos abandonados
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TrabajoFoto t SET t.estado = :fallido, t.error = :error, t.actualizadoEn = :ahora "
+            + "WHERE t.estado IN :estados AND t.actualizadoEn < :antesDe")
+    int abandonar(@Param("estados") List<EstadoTrabajoFoto> estados,
+                  @Param("fallido") EstadoTrabajoFoto fallido,
+                  @Param("error") String error,
+                  @Param("antesDe") LocalDateTime antesDe,
+                  @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Elimina los trabajos terminados (completados o fallidos) antes de una fecha.
+     *
+     * @param estados estados finales
+     * @param antesDe fecha límite del último cambio de estado
+     * @return número de trabajos eliminados
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TrabajoFoto t WHERE t.estado IN :estados AND t.actualizadoEn < :antesDe")
+    int deleteFinalizados(@Param("estados") List<EstadoTrabajoFoto> estados,
+                          @Param("antesDe") LocalDateTime antesDe);
+}
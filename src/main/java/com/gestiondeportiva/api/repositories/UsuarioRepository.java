@@ -1,11 +1,22 @@
 package com.gestiondeportiva.api.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.gestiondeportiva.api.entities.Posicion;
 import com.gestiondeportiva.api.entities.Rol;
 import com.gestiondeportiva.api.entities.Usuario;
 
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,8 +61,34 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      * @param email dirección de correo electrónico del usuario
      * @return Optional con el usuario si existe, Optional.empty() si no
      */
+    @EntityGraph(attributePaths = {"equipo"})
     Optional<Usuario> findByEmail(String email);
 
+    /**
+     * Busca un usuario por su ID cargando también su equipo.
+     * <p>
+     * El equipo se incluye en la misma consulta porque el mapper lo necesita
+     * para construir el DTO y la sesión no permanece abierta en la vista.
+     * </p>
+     *
+     * @param id ID del usuario
+     * @return Optional con el usuario si existe, Optional.empty() si no
+     */
+    @Override
+    @EntityGraph(attributePaths = {"equipo"})
+    Optional<Usuario> findById(Long id);
+
+    /**
+     * Comprueba si existe un usuario con el email indicado.
+     * <p>
+     * Se resuelve con el índice único de email sin cargar la entidad.
+     * </p>
+     *
+     * @param email dirección de correo electrónico
+     * @return true si el email ya está registrado
+     */
+    boolean existsByEmail(String email);
+
     /**
      * Busca todos los usuarios con un rol específico.
      *
@@ -66,7 +103,8 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      * @param equipoId ID del equipo
      * @return lista de usuarios del equipo
      */
-    List<Usuario> findByEquipoId(Long equipoId);
+    @Query("SELECT u FROM Usuario u WHERE u.equipo.id = :equipoId")
+    List<Usuario> findByEquipoId(@Param("equipoId") Long equipoId);
 
     /**
      * Busca todos los jugadores por su posición en el campo.
@@ -76,4 +114,88 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     List<Usuario> findByPosicion(Posicion posicion);
 
+    /**
+     * Obtiene una ventana de usuarios con ID posterior al cursor indicado.
+     * <p>
+     * Paginación por cursor (keyset): recorre la clave primaria en orden sin usar OFFSET.
+     * </p>
+     *
+     * @param after último ID recibido por el cliente
+     * @param pageable tamaño de la ventana y orden por ID
+     * @return Slice con los usuarios siguientes al cursor
+     */
+    Slice<Usuario> findByIdGreaterThan(Long after, Pageable pageable);
+
+    /**
+     * Obtiene un bloque de IDs de usuarios de todo el club con un rol, con ID
+     * posterior al cursor indicado.
+     * <p>
+     * Solo se leen los IDs, sin cargar las entidades, para recorrer por bloques
+     * la plantilla del club en operaciones masivas.
+     * </p>
+     *
+     * @param rol rol de los usuarios
+     * @param after último ID procesado
+     * @param pageable tamaño del bloque
+     * @return lista de IDs ordenada de forma ascendente
+     * @see #findIdsByRolAndEquipoId(Rol, Long, Long, Pageable)
+     */
+    @Query("""
+            SELECT u.id FROM Usuario u
+            WHERE u.rol = :rol
+              AND u.id > :after
+            ORDER BY u.id
+            """)
+    List<Long> findIdsByRol(@Param("rol") Rol rol, @Param("after") Long after, Pageable pageable);
+
+    /**
+     * Obtiene un bloque de IDs de usuarios de un equipo con un rol, con ID posterior
+     * al cursor indicado.
+     * <p>
+     * Es una consulta distinta de {@link #findIdsByRol(Rol, Long, Pageable)} para que
+     * cada una tenga su propio plan: con una condición opcional sobre el equipo el
+     * optimizador no podría usar el índice (id_equipo, rol) en ningún caso.
+     * </p>
+     *
+     * @param rol rol de los usuarios
+     * @param equipoId ID del equipo
+     * @param after último ID procesado
+     * @param pageable tamaño del bloque
+     * @return lista de IDs ordenada de forma ascendente
+     */
+    @Query("""
+            SELECT u.id FROM Usuario u
+            WHERE u.rol = :rol
+              AND u.equipo.id = :equipoId
+              AND u.id > :after
+            ORDER BY u.id
+            """)
+    List<Long> findIdsByRolAndEquipoId(@Param("rol") Rol rol, @Param("equipoId") Long equipoId,
+            @Param("after") Long after, Pageable pageable);
+
+    /**
+     * Actualiza el último inicio de sesión de varios usuarios en una sola sentencia.
+     * <p>
+     * Solo avanza la fecha: si un usuario ya tiene un acceso posterior, no se modifica.
+     * </p>
+     *
+     * @param ids IDs de los usuarios
+     * @param fecha momento del inicio de sesión
+     * @return número de usuarios actualizados
+     */
+    @Modifying
+    @Query("UPDATE Usuario u SET u.ultimoAcceso = :fecha "
+            + "WHERE u.id IN :ids AND (u.ultimoAcceso IS NULL OR u.ultimoAcceso < :fecha)")
+    int actualizarUltimoAcceso(@Param("ids") Collection<Long> ids, @Param("fecha") LocalDateTime fecha);
+
+    /**
+     * Obtiene un usuario bloqueando su fila hasta el final de la transacción, para
+     * serializar cambios que dependen de su estado actual (sustitución de la foto de perfil).
+     *
+     * @param id ID del usuario
+     * @return Optional con el usuario bloqueado, vacío si no existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM Usuario u WHERE u.id = :id")
+    Optional<Usuario> findByIdParaActualizar(@Param("id") Long id);
 }
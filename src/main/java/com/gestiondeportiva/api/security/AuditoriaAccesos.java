@@ -0,0 +1,225 @@
+package com.gestiondeportiva.api.security;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gestiondeportiva.api.entities.RegistroAcceso;
+import com.gestiondeportiva.api.repositories.RegistroAccesoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Auditoría de inicios de sesión con escritura diferida (write-behind).
+ * <p>
+ * El login es el endpoint público más usado; escribir en él la auditoría y el último
+ * acceso añadiría una transacción de escritura a cada petición. En su lugar, el login
+ * solo encola el evento en memoria (sin bloqueo) y un hilo en segundo plano lo escribe
+ * en lotes: un INSERT por lotes JDBC para el registro de auditoría y un UPDATE del
+ * último acceso por cada momento distinto del lote, que agrupa a los usuarios con ese
+ * mismo último login.
+ * </p>
+ *
+ * <p><strong>Garantías:</strong></p>
+ * <ul>
+ *   <li>Cola acotada (auth.audit.queue-capacity, por defecto 10000): si se llena, el evento
+ *       se descarta y se cuenta en auth.auditoria.descartados; el login nunca espera</li>
+ *   <li>Lotes de hasta auth.audit.batch-size eventos (por defecto 500), que crecen solos
+ *       cuando llegan más eventos de los que se escriben</li>
+ *   <li>El último acceso de cada usuario es el de su login correcto más reciente del
+ *       lote, y nunca retrocede si ya había uno posterior</li>
+ *   <li>El email y la IP los controla el cliente: se recortan a la longitud de su columna
+ *       al encolarlos, y si aun así un lote falla se reintenta evento a evento, de modo
+ *       que un evento no válido no arrastra a los demás</li>
+ *   <li>Al parar la aplicación se escriben los eventos pendientes</li>
+ * </ul>
+ *
+ * <p><strong>Métricas (Actuator):</strong></p>
+ * <ul>
+ *   <li>auth.auditoria.cola: Eventos pendientes de escribir</li>
+ *   <li>auth.auditoria.descartados: Eventos descartados por cola llena</li>
+ *   <li>auth.auditoria.errores: Eventos perdidos por un error al escribirlos</li>
+ *   <li>auth.auditoria.escritura: Tiempo de escritura de cada lote</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see RegistroAcceso
+ */
+@Component
+public class AuditoriaAccesos implements DisposableBean {
+
+    /** Espera máxima del hilo escritor sin eventos, para comprobar si debe terminar */
+    private static final long ESPERA_MS = 500;
+
+    /** Espera máxima al parar la aplicación para vaciar la cola */
+    private static final long ESPERA_PARADA_MS = 10_000;
+
+    /** Longitud de las columnas email e ip de registros_acceso */
+    private static final int LONGITUD_EMAIL = 255;
+    private static final int LONGITUD_IP = 45;
+
+    private final BlockingQueue<EventoAcceso> cola;
+    private final int tamanioLote;
+    private final RegistroAccesoRepository registroAccesoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter descartados;
+    private final Counter errores;
+    private final Timer escritura;
+    private final Thread escritor;
+
+    private volatile boolean activo = true;
+
+    public AuditoriaAccesos(RegistroAccesoRepository registroAccesoRepository,
+                            UsuarioRepository usuarioRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${auth.audit.queue-capacity:10000}") int capacidadCola,
+                            @Value("${auth.audit.batch-size:500}") int tamanioLote,
+                            MeterRegistry meterRegistry) {
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+        this.tamanioLote = tamanioLote;
+        this.registroAccesoRepository = registroAccesoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.escritor = new Thread(this::escribirMientrasActivo, "auditoria-accesos");
+        this.escritor.setDaemon(true);
+
+        Gauge.builder("auth.auditoria.cola", cola, BlockingQueue::size)
+                .description("Eventos de login pendientes de escribir")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("auth.auditoria.descartados")
+                .description("Eventos de login descartados por cola llena")
+                .register(meterRegistry);
+        this.errores = Counter.builder("auth.auditoria.errores")
+                .description("Eventos de login perdidos por un error de escritura")
+                .register(meterRegistry);
+        this.escritura = Timer.builder("auth.auditoria.escritura")
+                .description("Tiempo de escritura de un lote de eventos de login")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        escritor.start();
+    }
+
+    /**
+     * Encola un intento de inicio de sesión. No bloquea ni accede a la base de datos.
+     *
+     * @param idUsuario ID del usuario autenticado (null si el login ha fallado)
+     * @param email email usado en el intento (se recorta a 255 caracteres)
+     * @param ip IP de origen (se recorta a 45 caracteres)
+     * @param exito true si el login ha sido correcto
+     */
+    public void registrar(Long idUsuario, String email, String ip, boolean exito) {
+        EventoAcceso evento = new EventoAcceso(idUsuario, recortar(email, LONGITUD_EMAIL),
+                recortar(ip, LONGITUD_IP), exito, LocalDateTime.now());
+        if (!cola.offer(evento)) {
+            descartados.increment();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        activo = false;
+        escritor.join(ESPERA_PARADA_MS);
+    }
+
+    // ================== Auxiliares ==================
+
+    private void escribirMientrasActivo() {
+        List<EventoAcceso> lote = new ArrayList<>(tamanioLote);
+        while (activo || !cola.isEmpty()) {
+            try {
+                EventoAcceso primero = cola.poll(ESPERA_MS, TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                cola.drainTo(lote, tamanioLote - 1);
+                escribir(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Algún evento no es válido o la base de datos no está disponible: se
+                // reintenta evento a evento y el hilo sigue atendiendo la cola
+                escribirUnoAUno(lote);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void escribir(List<EventoAcceso> lote) {
+        List<RegistroAcceso> registros = lote.stream()
+                .map(e -> new RegistroAcceso(e.idUsuario(), e.email(), e.ip(), e.exito(), e.fecha()))
+                .toList();
+        Map<LocalDateTime, List<Long>> usuariosPorUltimoAcceso = ultimoAccesoPorUsuario(lote);
+
+        escritura.record(() -> transactionTemplate.executeWithoutResult(estado -> {
+            registroAccesoRepository.saveAll(registros);
+            usuariosPorUltimoAcceso.forEach((fecha, usuarios) ->
+                    usuarioRepository.actualizarUltimoAcceso(usuarios, fecha));
+        }));
+    }
+
+    /**
+     * Agrupa los usuarios con login correcto en el lote por el momento de su último login.
+     */
+    private static Map<LocalDateTime, List<Long>> ultimoAccesoPorUsuario(List<EventoAcceso> lote) {
+        Map<Long, LocalDateTime> ultimos = lote.stream()
+                .filter(e -> e.exito() && e.idUsuario() != null)
+                .collect(Collectors.toMap(EventoAcceso::idUsuario, EventoAcceso::fecha,
+                        (a, b) -> a.isAfter(b) ? a : b));
+        return ultimos.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+    }
+
+    /**
+     * Escribe cada evento en su propia transacción. Un evento no válido se descarta; si
+     * el error no es de datos (base de datos no disponible), se descarta el resto del lote
+     * en lugar de esperar una conexión por cada evento.
+     */
+    private void escribirUnoAUno(List<EventoAcceso> lote) {
+        for (int i = 0; i < lote.size(); i++) {
+            try {
+                escribir(List.of(lote.get(i)));
+            } catch (DataIntegrityViolationException e) {
+                errores.increment();
+            } catch (RuntimeException e) {
+                errores.increment(lote.size() - i);
+                return;
+            }
+        }
+    }
+
+    private static String recortar(String valor, int longitud) {
+        return valor != null && valor.length() > longitud ? valor.substring(0, longitud) : valor;
+    }
+
+    /**
+     * Intento de inicio de sesión pendiente de escribir.
+     */
+    private record EventoAcceso(Long idUsuario, String email, String ip, boolean exito, LocalDateTime fecha) {
+    }
+}
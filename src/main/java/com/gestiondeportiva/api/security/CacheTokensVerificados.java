@@ -0,0 +1,134 @@
+package com.gestiondeportiva.api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.gestiondeportiva.api.security.JwtUtil.TokenVerificado;
+
+/**
+ * Caché acotada de tokens JWT ya verificados.
+ * <p>
+ * Guarda cada token cuya firma ya se ha comprobado, con sus claims y el principal ya
+ * construido, de modo que las peticiones siguientes con el mismo token no repiten el
+ * HMAC, el parseo del JSON ni la construcción del principal.
+ * La clave es el SHA-256 del token completo (incluida la firma): un token manipulado
+ * produce otra clave y pasa siempre por la verificación completa.
+ * </p>
+ *
+ * <p><strong>Política de expulsión:</strong></p>
+ * <ul>
+ *   <li>TTL: cada entrada caduca a la vez que su token; una entrada caducada se descarta
+ *       al leerla y el token se vuelve a verificar (lo que produce el error de expiración)</li>
+ *   <li>Tamaño: al superar el máximo se eliminan primero las entradas caducadas y, si no
+ *       basta, entradas arbitrarias hasta bajar del 90% de la capacidad</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see JwtUtil
+ */
+class CacheTokensVerificados {
+
+    private final int maximoEntradas;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    /**
+     * @param maximoEntradas número máximo de tokens en caché (0 o menos desactiva la caché)
+     */
+    CacheTokensVerificados(int maximoEntradas) {
+        this.maximoEntradas = maximoEntradas;
+    }
+
+    /**
+     * Obtiene un token ya verificado que no haya caducado.
+     *
+     * @param token token JWT recibido
+     * @return token verificado, o null si no está en caché o ha caducado
+     */
+    TokenVerificado obtener(String token) {
+        if (maximoEntradas <= 0) {
+            return null;
+        }
+        String clave = resumen(token);
+        Entrada entrada = entradas.get(clave);
+        if (entrada == null) {
+            fallos.increment();
+            return null;
+        }
+        if (entrada.caducada(System.currentTimeMillis())) {
+            entradas.remove(clave, entrada);
+            fallos.increment();
+            return null;
+        }
+        aciertos.increment();
+        return entrada.verificado();
+    }
+
+    /**
+     * Guarda un token cuya firma se acaba de verificar.
+     *
+     * @param token token JWT verificado
+     * @param verificado claims y principal obtenidos al verificarlo
+     */
+    void guardar(String token, TokenVerificado verificado) {
+        if (maximoEntradas <= 0 || verificado.expiraEn() == null) {
+            return;
+        }
+        if (entradas.size() >= maximoEntradas) {
+            liberarEspacio();
+        }
+        entradas.put(resumen(token), new Entrada(verificado, verificado.expiraEn().getTime()));
+    }
+
+    long getAciertos() {
+        return aciertos.sum();
+    }
+
+    long getFallos() {
+        return fallos.sum();
+    }
+
+    int size() {
+        return entradas.size();
+    }
+
+    private void liberarEspacio() {
+        long ahora = System.currentTimeMillis();
+        entradas.values().removeIf(entrada -> entrada.caducada(ahora));
+
+        // Las claves son resúmenes SHA-256: el orden de iteración es efectivamente aleatorio
+        int objetivo = maximoEntradas - maximoEntradas / 10;
+        Iterator<String> it = entradas.keySet().iterator();
+        while (entradas.size() > objetivo && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String resumen(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Token verificado junto con el instante de su expiración.
+     */
+    private record Entrada(TokenVerificado verificado, long expiraEn) {
+
+        boolean caducada(long ahora) {
+            return ahora >= expiraEn;
+        }
+    }
+}
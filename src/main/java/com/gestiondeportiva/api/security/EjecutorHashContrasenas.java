@@ -0,0 +1,148 @@
+package com.gestiondeportiva.api.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Ejecutor acotado para el cifrado y la verificación de contraseñas.
+ * <p>
+ * BCrypt consume CPU de forma intencionada. Si se ejecuta en los hilos de Tomcat, una
+ * ráfaga de logins (por ejemplo, todo el club abriendo la app antes de un partido)
+ * ocupa todos los núcleos y bloquea el resto de endpoints. Este ejecutor limita el número
+ * de hashes simultáneos y el número de peticiones en espera; cuando la cola está llena,
+ * la petición se rechaza al momento con {@link ServicioSaturadoException} (HTTP 503).
+ * </p>
+ *
+ * <p><strong>Configuración:</strong></p>
+ * <ul>
+ *   <li>auth.hash.threads: Hilos dedicados (por defecto, la mitad de los núcleos)</li>
+ *   <li>auth.hash.queue-capacity: Peticiones en espera como máximo (por defecto 64)</li>
+ *   <li>auth.hash.retry-after-seconds: Valor de Retry-After al rechazar (por defecto 2)</li>
+ * </ul>
+ *
+ * <p><strong>Métricas (Actuator):</strong></p>
+ * <ul>
+ *   <li>auth.hash.cola: Peticiones en espera</li>
+ *   <li>auth.hash.activos: Hashes en ejecución</li>
+ *   <li>auth.hash.latencia: Tiempo de cálculo de cada hash</li>
+ *   <li>auth.hash.espera: Tiempo total de la petición, incluida la espera en cola</li>
+ *   <li>auth.hash.rechazos: Peticiones rechazadas por saturación</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see PasswordEncoderAcotado
+ */
+@Component
+public class EjecutorHashContrasenas implements DisposableBean {
+
+    private final ThreadPoolExecutor ejecutor;
+    private final long reintentarEnSegundos;
+    private final Timer latencia;
+    private final Timer espera;
+    private final Counter rechazos;
+
+    public EjecutorHashContrasenas(
+            @Value("${auth.hash.threads:0}") int hilos,
+            @Value("${auth.hash.queue-capacity:64}") int capacidadCola,
+            @Value("${auth.hash.retry-after-seconds:2}") long reintentarEnSegundos,
+            MeterRegistry meterRegistry) {
+        int numeroHilos = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.ejecutor = new ThreadPoolExecutor(numeroHilos, numeroHilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola), new FabricaHilos(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.reintentarEnSegundos = reintentarEnSegundos;
+
+        Gauge.builder("auth.hash.cola", ejecutor, e -> e.getQueue().size())
+                .description("Peticiones de hash de contraseña en espera")
+                .register(meterRegistry);
+        Gauge.builder("auth.hash.activos", ejecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes de contraseña en ejecución")
+                .register(meterRegistry);
+        this.latencia = Timer.builder("auth.hash.latencia")
+                .description("Tiempo de cálculo de un hash de contraseña")
+                .register(meterRegistry);
+        this.espera = Timer.builder("auth.hash.espera")
+                .description("Tiempo de un hash de contraseña incluida la espera en cola")
+                .register(meterRegistry);
+        this.rechazos = Counter.builder("auth.hash.rechazos")
+                .description("Peticiones de hash rechazadas por saturación")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta una operación de hash en el ejecutor dedicado y espera su resultado.
+     *
+     * @param <T> tipo del resultado
+     * @param tarea operación de cifrado o verificación
+     * @return resultado de la operación
+     * @throws ServicioSaturadoException si la cola está llena
+     */
+    public <T> T ejecutar(Callable<T> tarea) {
+        long inicio = System.nanoTime();
+        Future<T> resultado;
+        try {
+            resultado = ejecutor.submit(() -> latencia.recordCallable(tarea));
+        } catch (RejectedExecutionException e) {
+            rechazos.increment();
+            throw new ServicioSaturadoException(
+                    "Demasiadas peticiones de autenticación, inténtalo de nuevo en unos segundos",
+                    reintentarEnSegundos);
+        }
+
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras se verificaba la contraseña", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(causa);
+        } finally {
+            espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ejecutor.shutdown();
+    }
+
+    /**
+     * Crea hilos daemon con nombre reconocible en los volcados de hilos.
+     */
+    private static final class FabricaHilos implements ThreadFactory {
+
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable tarea) {
+            Thread hilo = new Thread(tarea, "hash-contrasenas-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.gestiondeportiva.api.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom en memoria para claves de texto.
+ * <p>
+ * Responde si una clave <em>podría</em> haberse añadido: un resultado negativo es
+ * seguro, un positivo puede ser un falso positivo con la probabilidad configurada.
+ * Añadir y consultar son seguros entre hilos y no bloquean.
+ * </p>
+ *
+ * <p><strong>Dimensionado:</strong> para {@code n} claves y probabilidad de falso positivo
+ * {@code p} se usan {@code m = -n·ln(p) / ln(2)²} bits y {@code k = m/n · ln(2)} funciones
+ * hash, derivadas de dos hashes de 64 bits (doble hashing).</p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see RevocacionTokens
+ */
+class FiltroBloom {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long numeroBits;
+    private final int numeroHashes;
+
+    /**
+     * @param clavesEsperadas número de claves previsto
+     * @param probabilidadFalsoPositivo probabilidad de falso positivo con ese número de claves
+     */
+    FiltroBloom(int clavesEsperadas, double probabilidadFalsoPositivo) {
+        int n = Math.max(1, clavesEsperadas);
+        long m = (long) Math.ceil(-n * Math.log(probabilidadFalsoPositivo) / (LN2 * LN2));
+        int palabras = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(palabras);
+        this.numeroBits = (long) palabras * 64;
+        this.numeroHashes = (int) Math.max(1, Math.round((double) numeroBits / n * LN2));
+    }
+
+    /**
+     * Añade una clave al filtro.
+     */
+    void agregar(String clave) {
+        long h1 = hash(clave);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < numeroHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numeroBits);
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            if ((bits.get(palabra) & mascara) == 0) {
+                bits.getAndAccumulate(palabra, mascara, (actual, m) -> actual | m);
+            }
+        }
+    }
+
+    /**
+     * Comprueba si una clave podría estar en el filtro.
+     *
+     * @return false si la clave seguro que no se ha añadido; true si podría haberse añadido
+     */
+    boolean podriaContener(String clave) {
+        long h1 = hash(clave);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < numeroHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numeroBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * FNV-1a de 64 bits sobre los caracteres de la clave, con mezcla final.
+     */
+    private static long hash(String clave) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < clave.length(); i++) {
+            h ^= clave.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mezclar(h);
+    }
+
+    /**
+     * Función de mezcla de SplitMix64.
+     */
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
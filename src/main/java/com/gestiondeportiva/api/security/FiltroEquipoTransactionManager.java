@@ -0,0 +1,65 @@
+package com.gestiondeportiva.api.security;
+
+import org.hibernate.Session;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.gestiondeportiva.api.entities.FiltroEquipo;
+import com.gestiondeportiva.api.entities.Rol;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Gestor de transacciones JPA que activa el filtro de equipo para JUGADOR y ENTRENADOR.
+ * <p>
+ * Sustituye al gestor de transacciones por defecto de Spring Boot. Al abrir el
+ * EntityManager de cada transacción, si el usuario autenticado es JUGADOR o ENTRENADOR
+ * activa {@link FiltroEquipo#NOMBRE} con el ID de su equipo, de modo que todas las consultas
+ * de eventos, usuarios, disponibilidades, convocatorias y estadísticas de esa transacción
+ * quedan acotadas a su equipo en la propia base de datos.
+ * </p>
+ *
+ * <p><strong>Reglas de activación:</strong></p>
+ * <ul>
+ *   <li>ADMIN o petición sin autenticar (login, registro): sin filtro</li>
+ *   <li>JUGADOR o ENTRENADOR autenticado por JWT: filtro con el equipo del token
+ *       (sin equipo asignado, solo ve sus propios datos de usuario). El token no queda
+ *       desfasado: al cambiar el rol o el equipo de un usuario se revocan sus tokens</li>
+ *   <li>Otras autenticaciones (por ejemplo, usuarios simulados en pruebas): sin filtro, ya
+ *       que el equipo solo se conoce a través del token</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see FiltroEquipo
+ * @see UsuarioPrincipal
+ */
+@Component("transactionManager")
+public class FiltroEquipoTransactionManager extends JpaTransactionManager {
+
+    /** Valor del parámetro de equipo cuando el usuario no tiene equipo (no coincide con ningún ID) */
+    private static final long SIN_EQUIPO = -1L;
+
+    public FiltroEquipoTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected EntityManager createEntityManagerForTransaction() {
+        EntityManager entityManager = super.createEntityManagerForTransaction();
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UsuarioPrincipal principal
+                && (principal.getRol() == Rol.JUGADOR || principal.getRol() == Rol.ENTRENADOR)) {
+            entityManager.unwrap(Session.class)
+                    .enableFilter(FiltroEquipo.NOMBRE)
+                    .setParameter(FiltroEquipo.PARAM_EQUIPO,
+                            principal.getEquipoId() != null ? principal.getEquipoId() : SIN_EQUIPO)
+                    .setParameter(FiltroEquipo.PARAM_USUARIO, principal.getId());
+        }
+        return entityManager;
+    }
+}
@@ -5,11 +5,12 @@ import java.io.IOException;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.JwtException;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,8 +29,10 @@ import jakarta.servlet.http.HttpServletResponse;
  * <ol>
  *   <li>Extrae el header Authorization de la petición HTTP</li>
  *   <li>Verifica que sea tipo Bearer token (formato: "Bearer {token}")</li>
- *   <li>Extrae el email del usuario del token JWT</li>
- *   <li>Carga los detalles completos del usuario desde la base de datos</li>
+ *   <li>Verifica la firma del token JWT y construye el principal desde sus claims
+ *       (email, ID, rol y equipo), sin consultar la base de datos</li>
+ *   <li>Descarta los tokens revocados (cierre de sesión, cambio de contraseña, baja);
+ *       solo se consulta la base de datos si el filtro de Bloom de revocaciones da positivo</li>
  *   <li>Crea un objeto de autenticación y lo establece en SecurityContext</li>
  *   <li>Continúa con la cadena de filtros</li>
  * </ol>
@@ -37,24 +40,27 @@ import jakarta.servlet.http.HttpServletResponse;
  * <p><strong>Características:</strong></p>
  * <ul>
  *   <li>Hereda de OncePerRequestFilter: garantiza ejecución única por petición</li>
- *   <li>No valida expiración: asume tokens válidos (implementar si es necesario)</li>
- *   <li>Establece authorities desde UserDetails para control de acceso basado en roles</li>
+ *   <li>Los tokens expirados o con firma no válida no autentican; con access tokens de
+ *       corta duración es el caso habitual antes de renovar con el refresh token</li>
+ *   <li>Establece authorities desde el claim de rol para control de acceso basado en roles</li>
+ *   <li>Los tokens sin claims de usuario (emitidos por versiones anteriores) no autentican</li>
  * </ul>
  *
  * @author Sistema de Gestión Deportiva MyClub
  * @version 1.0
  * @see com.gestiondeportiva.api.security.JwtUtil
- * @see com.gestiondeportiva.api.security.UserDetailsServiceImpl
+ * @see com.gestiondeportiva.api.security.UsuarioPrincipal
+ * @see com.gestiondeportiva.api.security.RevocacionTokens
  */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final RevocacionTokens revocacionTokens;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, RevocacionTokens revocacionTokens) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.revocacionTokens = revocacionTokens;
     }
 
     /**
@@ -81,17 +87,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
 
             String token = authHeader.substring(7);
-            String email = jwtUtil.extractUsername(token);
-
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            JwtUtil.TokenVerificado verificado;
+            try {
+                // Una sola búsqueda en la caché: principal, jti y fecha de emisión juntos
+                verificado = jwtUtil.verificar(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                // Token expirado o no válido: la petición sigue sin autenticar y los
+                // endpoints protegidos responden 401/403 (el cliente debe renovarlo)
+                verificado = null;
+            }
+            UsuarioPrincipal principal = verificado != null ? verificado.principal() : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null
+                    && !revocacionTokens.estaRevocado(verificado.id(), principal.getId(), verificado.emitidoEn())) {
 
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails,
+                                principal,
                                 null,
-                                userDetails.getAuthorities()
+                                principal.getAuthorities()
                         );
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -2,14 +2,18 @@ package com.gestiondeportiva.api.security;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.gestiondeportiva.api.entities.Rol;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -25,9 +29,22 @@ import io.jsonwebtoken.security.Keys;
  * <ul>
  *   <li>Algoritmo: HS256 (HMAC con SHA-256)</li>
  *   <li>Longitud de clave: 256 bits</li>
- *   <li>Validez: 1 día (86400000 ms)</li>
+ *   <li>Validez: corta, {@code jwt.access.validity-ms} (por defecto 15 minutos); la sesión
+ *       se prolonga con refresh tokens ({@link RenovacionTokens}) sin volver a enviar la
+ *       contraseña</li>
  *   <li>Subject: Email del usuario</li>
- *   <li>Claims personalizados: roles del usuario</li>
+ *   <li>ID (jti): UUID aleatorio que permite revocar el token ({@link RevocacionTokens})</li>
+ *   <li>Claims personalizados: {@value #CLAIM_ID} (ID del usuario), {@value #CLAIM_ROL}
+ *       (rol) y {@value #CLAIM_EQUIPO} (ID del equipo, ausente si no tiene equipo)</li>
+ * </ul>
+ *
+ * <p><strong>Rendimiento:</strong></p>
+ * <ul>
+ *   <li>Los tokens ya verificados se guardan en una caché acotada
+ *       ({@code jwt.cache.max-entries}, por defecto 10000) hasta que el token expira,
+ *       junto con el principal, el jti y la fecha de emisión ya extraídos</li>
+ *   <li>Un mismo token solo se verifica con HMAC la primera vez que se recibe, y cada
+ *       petición lo busca en la caché una sola vez ({@link #verificar(String)})</li>
  * </ul>
  *
  * <p><strong>Seguridad:</strong></p>
@@ -45,31 +62,142 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtUtil {
 
+    /** Claim con el ID del usuario */
+    static final String CLAIM_ID = "id";
+
+    /** Claim con el rol del usuario (ADMIN, ENTRENADOR, JUGADOR) */
+    static final String CLAIM_ROL = "rol";
+
+    /** Claim con el ID del equipo del usuario */
+    static final String CLAIM_EQUIPO = "equipo";
+
     // Clave de al menos 32 caracteres (256 bits) para HS256
     private final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(
             "clave_super_segura_de_al_menos_32_bytes_123456".getBytes(StandardCharsets.UTF_8)
     );
 
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(SECRET_KEY)
+            .build();
+
+    private final CacheTokensVerificados cacheTokens;
+    private final long validezMs;
+
+    public JwtUtil(@Value("${jwt.cache.max-entries:10000}") int maximoTokensEnCache,
+                   @Value("${jwt.access.validity-ms:900000}") long validezMs) {
+        this.cacheTokens = new CacheTokensVerificados(maximoTokensEnCache);
+        this.validezMs = validezMs;
+    }
+
+    /**
+     * Token verificado con los datos que necesita cada petición.
+     *
+     * @param claims claims del token
+     * @param principal principal construido desde los claims, o null si el token no
+     *                  incluye los claims de usuario (tokens emitidos por versiones anteriores)
+     */
+    public record TokenVerificado(Claims claims, UsuarioPrincipal principal) {
+
+        /**
+         * @return identificador (jti) del token, o null en tokens de versiones anteriores
+         */
+        public String id() {
+            return claims.getId();
+        }
+
+        /**
+         * @return fecha de emisión del token
+         */
+        public Date emitidoEn() {
+            return claims.getIssuedAt();
+        }
+
+        /**
+         * @return fecha de expiración del token
+         */
+        public Date expiraEn() {
+            return claims.getExpiration();
+        }
+    }
+
     /**
      * Genera un token JWT para un usuario autenticado.
      * <p>
-     * El token incluye el email del usuario como subject, sus roles como claim personalizado,
-     * y tiene una validez de 1 día desde el momento de generación.
+     * El token incluye el email del usuario como subject y su ID, rol y equipo como claims
+     * personalizados, y tiene la validez configurada desde el momento de generación. Con estos
+     * claims {@link JwtAuthFilter} reconstruye el principal sin consultar la base de datos.
      * </p>
      *
-     * @param userDetails datos del usuario autenticado (email y authorities)
+     * @param principal datos del usuario autenticado
      * @return String con el token JWT firmado
      */
-    public String generateToken(UserDetails userDetails) {
+    public String generateToken(UsuarioPrincipal principal) {
         return Jwts.builder()
-                .setSubject(userDetails.getUsername())          // subject = email/username
-                .claim("roles", userDetails.getAuthorities())
+                .setSubject(principal.getUsername())          // subject = email/username
+                .setId(UUID.randomUUID().toString())
+                .claim(CLAIM_ID, principal.getId())
+                .claim(CLAIM_ROL, principal.getRol().name())
+                .claim(CLAIM_EQUIPO, principal.getEquipoId())
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 86400000)) // 1 día
+                .setExpiration(new Date(System.currentTimeMillis() + validezMs))
                 .signWith(SECRET_KEY)
                 .compact();
     }
 
+    /**
+     * Verifica el token JWT y devuelve sus claims junto con el principal.
+     * <p>
+     * La firma y la expiración se comprueban al parsear el token. No se consulta la
+     * base de datos: el ID, el rol y el equipo proceden de los claims firmados. Si el
+     * token ya se verificó y no ha expirado, se devuelve el resultado de la caché.
+     * </p>
+     *
+     * @param token token JWT a verificar
+     * @return token verificado
+     * @throws io.jsonwebtoken.JwtException si la firma no es válida o el token ha expirado
+     */
+    public TokenVerificado verificar(String token) {
+        TokenVerificado verificado = cacheTokens.obtener(token);
+        if (verificado != null) {
+            return verificado;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        verificado = new TokenVerificado(claims, construirPrincipal(claims));
+        cacheTokens.guardar(token, verificado);
+        return verificado;
+    }
+
+    /**
+     * Verifica el token JWT y construye el principal a partir de sus claims.
+     *
+     * @param token token JWT a verificar
+     * @return UsuarioPrincipal sin contraseña, o null si el token no incluye los claims
+     *         de usuario (tokens emitidos por versiones anteriores)
+     * @throws io.jsonwebtoken.JwtException si la firma no es válida o el token ha expirado
+     * @see #verificar(String)
+     */
+    public UsuarioPrincipal extractPrincipal(String token) {
+        return verificar(token).principal();
+    }
+
+    /**
+     * Construye el principal a partir de los claims de un token ya verificado.
+     */
+    private static UsuarioPrincipal construirPrincipal(Claims claims) {
+        Number id = claims.get(CLAIM_ID, Number.class);
+        String rol = claims.get(CLAIM_ROL, String.class);
+        if (claims.getSubject() == null || id == null || rol == null) {
+            return null;
+        }
+        Number equipo = claims.get(CLAIM_EQUIPO, Number.class);
+        return new UsuarioPrincipal(
+                id.longValue(),
+                claims.getSubject(),
+                null,
+                Rol.valueOf(rol),
+                equipo != null ? equipo.longValue() : null);
+    }
+
     /**
      * Extrae el username (email) del token JWT.
      *
@@ -117,16 +245,29 @@ public class JwtUtil {
      * Extrae todos los claims (payload) del token JWT.
      * <p>
      * Verifica la firma del token usando la clave secreta antes de devolver los claims.
+     * Si el token ya se verificó y no ha expirado, se devuelven los claims de la caché.
      * </p>
      *
      * @param token token JWT a parsear
      * @return Claims con toda la información del token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verificar(token).claims();
+    }
+
+    /**
+     * Validez de los access tokens emitidos.
+     *
+     * @return validez en milisegundos
+     */
+    public long getValidezMs() {
+        return validezMs;
+    }
+
+    /**
+     * Caché de tokens verificados (expuesta para pruebas y mediciones).
+     */
+    CacheTokensVerificados getCacheTokens() {
+        return cacheTokens;
     }
 }
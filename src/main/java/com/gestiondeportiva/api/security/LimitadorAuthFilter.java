@@ -0,0 +1,233 @@
+package com.gestiondeportiva.api.security;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro de limitación de peticiones para los endpoints públicos de autenticación.
+ * <p>
+ * /api/auth/login y /api/auth/register son públicos y cada petición cuesta un cálculo
+ * BCrypt, por lo que un ataque de fuerza bruta o de relleno de credenciales se traduce
+ * directamente en consumo de CPU. Este filtro se ejecuta antes de la autenticación y
+ * limita las peticiones por IP del cliente y por email, respondiendo 429 con Retry-After
+ * cuando se supera el límite.
+ * </p>
+ * <p>
+ * La IP es {@link HttpServletRequest#getRemoteAddr()}: detrás del proxy de Railway,
+ * server.forward-headers-strategy hace que sea la del cliente (X-Forwarded-For) y no la
+ * del proxy. El cuerpo se lee entero antes de seguir para obtener el email; si supera
+ * {@value #MAXIMO_CUERPO} bytes se responde 413, de modo que rellenar el JSON no permite
+ * saltarse el límite por email.
+ * </p>
+ *
+ * <p><strong>Límites (configurables):</strong></p>
+ * <ul>
+ *   <li>Por IP: auth.rate-limit.ip.capacity peticiones en ráfaga,
+ *       recuperando auth.rate-limit.ip.per-minute por minuto</li>
+ *   <li>Por email: auth.rate-limit.email.capacity peticiones en ráfaga,
+ *       recuperando auth.rate-limit.email.per-minute por minuto</li>
+ *   <li>Claves en memoria: auth.rate-limit.max-entries por limitador</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see LimitadorPeticiones
+ */
+@Component
+public class LimitadorAuthFilter extends OncePerRequestFilter {
+
+    /** Tamaño máximo del cuerpo de login y registro (bytes) */
+    static final int MAXIMO_CUERPO = 16 * 1024;
+
+    private final LimitadorPeticiones limitadorIp;
+    private final LimitadorPeticiones limitadorEmail;
+    private final ObjectMapper objectMapper;
+
+    public LimitadorAuthFilter(
+            @Value("${auth.rate-limit.ip.capacity:20}") int capacidadIp,
+            @Value("${auth.rate-limit.ip.per-minute:10}") int recargaIp,
+            @Value("${auth.rate-limit.email.capacity:5}") int capacidadEmail,
+            @Value("${auth.rate-limit.email.per-minute:2}") int recargaEmail,
+            @Value("${auth.rate-limit.max-entries:100000}") int maximoEntradas,
+            ObjectMapper objectMapper) {
+        this.limitadorIp = new LimitadorPeticiones(capacidadIp, recargaIp, maximoEntradas);
+        this.limitadorEmail = new LimitadorPeticiones(capacidadEmail, recargaEmail, maximoEntradas);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        return !"POST".equals(request.getMethod())
+                || !("/api/auth/login".equals(ruta) || "/api/auth/register".equals(ruta));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long esperaIp = limitadorIp.consumir(request.getRemoteAddr());
+        if (esperaIp > 0) {
+            rechazarPorLimite(request, response, esperaIp);
+            return;
+        }
+
+        byte[] cuerpo = request.getContentLengthLong() > MAXIMO_CUERPO
+                ? null
+                : request.getInputStream().readNBytes(MAXIMO_CUERPO + 1);
+        if (cuerpo == null || cuerpo.length > MAXIMO_CUERPO) {
+            rechazar(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "La petición supera el tamaño máximo de " + MAXIMO_CUERPO + " bytes");
+            return;
+        }
+
+        CuerpoLeido peticion = new CuerpoLeido(request, cuerpo);
+        String email = peticion.extraerEmail(objectMapper);
+        if (email != null) {
+            long esperaEmail = limitadorEmail.consumir(email);
+            if (esperaEmail > 0) {
+                rechazarPorLimite(request, response, esperaEmail);
+                return;
+            }
+        }
+
+        filterChain.doFilter(peticion, response);
+    }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * Responde 429 con Retry-After.
+     */
+    private void rechazarPorLimite(HttpServletRequest request, HttpServletResponse response, long esperaMs)
+            throws IOException {
+        long segundos = Math.max(1, (esperaMs + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        rechazar(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                "Demasiados intentos, inténtalo de nuevo en " + segundos + " segundos");
+    }
+
+    /**
+     * Responde con el estado indicado y el mismo formato de error que GlobalExceptionHandler.
+     */
+    private void rechazar(HttpServletRequest request, HttpServletResponse response,
+                          HttpStatus estado, String error) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", estado.value());
+        body.put("path", request.getRequestURI());
+        body.put("error", error);
+
+        response.setStatus(estado.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Petición cuyo cuerpo se ha leído entero por adelantado para extraer el email y que
+     * lo vuelve a ofrecer intacto al resto de la cadena.
+     */
+    private static final class CuerpoLeido extends HttpServletRequestWrapper {
+
+        private final byte[] cuerpo;
+
+        CuerpoLeido(HttpServletRequest request, byte[] cuerpo) {
+            super(request);
+            this.cuerpo = cuerpo;
+        }
+
+        /**
+         * Extrae el campo email del cuerpo JSON, normalizado a minúsculas.
+         *
+         * @return email, o null si el cuerpo no es JSON o no lo contiene
+         */
+        String extraerEmail(ObjectMapper objectMapper) {
+            if (cuerpo.length == 0) {
+                return null;
+            }
+            try {
+                JsonNode email = objectMapper.readTree(cuerpo).get("email");
+                return email != null && email.isTextual()
+                        ? email.asText().trim().toLowerCase(Locale.ROOT)
+                        : null;
+            } catch (IOException e) {
+                return null; // El controlador devolverá el error de formato
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream contenido = new ByteArrayInputStream(cuerpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return contenido.read();
+                }
+
+                @Override
+                public int read(byte[] destino, int desde, int longitud) {
+                    return contenido.read(destino, desde, longitud);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return contenido.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // El cuerpo ya está en memoria: todo está disponible desde el principio
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String charset = getCharacterEncoding() != null ? getCharacterEncoding() : "UTF-8";
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.gestiondeportiva.api.security;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de peticiones en memoria basado en cubetas de tokens (token bucket).
+ * <p>
+ * Cada clave (IP del cliente, email, etc.) tiene una cubeta con una capacidad máxima de
+ * tokens que se recarga a ritmo constante; cada petición consume un token y, si no queda
+ * ninguno, se rechaza indicando cuánto falta para el siguiente.
+ * </p>
+ *
+ * <p><strong>Concurrencia y memoria:</strong></p>
+ * <ul>
+ *   <li>Sin bloqueos: el estado de cada cubeta (tokens e instante de la última recarga) se
+ *       empaqueta en un único {@code long} que se actualiza con compare-and-set</li>
+ *   <li>Particionado: las claves se reparten en {@value #FRANJAS} franjas independientes,
+ *       de modo que la limpieza de una franja no recorre ni bloquea las demás</li>
+ *   <li>Memoria acotada: cuando una franja supera su cupo se eliminan las cubetas inactivas
+ *       (las que ya se han recargado por completo, equivalentes a una cubeta nueva) y, si no
+ *       basta, cubetas arbitrarias</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see LimitadorAuthFilter
+ */
+public class LimitadorPeticiones {
+
+    /** Número de franjas (potencia de dos) */
+    static final int FRANJAS = 64;
+
+    /** Bits del estado reservados a los tokens (en milésimas de token) */
+    private static final int BITS_TOKENS = 22;
+    private static final long MASCARA_TOKENS = (1L << BITS_TOKENS) - 1;
+    private static final long MILI = 1000;
+
+    private final long capacidadMili;
+    private final double recargaMiliPorMs;
+    private final int maximoPorFranja;
+    private final LongSupplier reloj;
+    private final long origen;
+    private final List<ConcurrentHashMap<String, Cubeta>> franjas;
+
+    /**
+     * @param capacidad tokens máximos por clave (ráfaga permitida)
+     * @param recargaPorMinuto tokens que recupera cada clave por minuto
+     * @param maximoEntradas número máximo aproximado de claves en memoria
+     */
+    public LimitadorPeticiones(int capacidad, int recargaPorMinuto, int maximoEntradas) {
+        this(capacidad, recargaPorMinuto, maximoEntradas, System::currentTimeMillis);
+    }
+
+    LimitadorPeticiones(int capacidad, int recargaPorMinuto, int maximoEntradas, LongSupplier reloj) {
+        if (capacidad < 1 || capacidad * MILI > MASCARA_TOKENS) {
+            throw new IllegalArgumentException("Capacidad del limitador fuera de rango: " + capacidad);
+        }
+        this.capacidadMili = capacidad * MILI;
+        this.recargaMiliPorMs = recargaPorMinuto * MILI / 60_000.0;
+        this.maximoPorFranja = Math.max(1, maximoEntradas / FRANJAS);
+        this.reloj = reloj;
+        this.origen = reloj.getAsLong();
+        List<ConcurrentHashMap<String, Cubeta>> nuevas = new ArrayList<>(FRANJAS);
+        for (int i = 0; i < FRANJAS; i++) {
+            nuevas.add(new ConcurrentHashMap<>());
+        }
+        this.franjas = List.copyOf(nuevas);
+    }
+
+    /**
+     * Intenta consumir un token de la cubeta de la clave indicada.
+     *
+     * @param clave clave a limitar (IP, email, etc.)
+     * @return 0 si la petición se permite; en otro caso, milisegundos hasta disponer de un token
+     */
+    public long consumir(String clave) {
+        long ahora = Math.max(0, reloj.getAsLong() - origen);
+        Cubeta cubeta = obtenerCubeta(clave, ahora);
+
+        while (true) {
+            long estado = cubeta.estado.get();
+            long tokens = tokensDisponibles(estado, ahora);
+
+            if (tokens < MILI) {
+                if (recargaMiliPorMs <= 0) {
+                    return Long.MAX_VALUE;
+                }
+                return Math.max(1, (long) Math.ceil((MILI - tokens) / recargaMiliPorMs));
+            }
+
+            long marca = Math.max(ahora, estado >>> BITS_TOKENS);
+            if (cubeta.estado.compareAndSet(estado, empaquetar(marca, tokens - MILI))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Número de claves en memoria (para pruebas y métricas).
+     */
+    int size() {
+        int total = 0;
+        for (ConcurrentHashMap<String, Cubeta> franja : franjas) {
+            total += franja.size();
+        }
+        return total;
+    }
+
+    // ================== Auxiliares ==================
+
+    private Cubeta obtenerCubeta(String clave, long ahora) {
+        ConcurrentHashMap<String, Cubeta> franja = franjas.get(indiceFranja(clave));
+        Cubeta cubeta = franja.get(clave);
+        if (cubeta != null) {
+            return cubeta;
+        }
+        if (franja.size() >= maximoPorFranja) {
+            liberarEspacio(franja, ahora);
+        }
+        Cubeta nueva = new Cubeta(empaquetar(ahora, capacidadMili));
+        Cubeta existente = franja.putIfAbsent(clave, nueva);
+        return existente != null ? existente : nueva;
+    }
+
+    private void liberarEspacio(ConcurrentHashMap<String, Cubeta> franja, long ahora) {
+        franja.values().removeIf(cubeta -> tokensDisponibles(cubeta.estado.get(), ahora) >= capacidadMili);
+
+        Iterator<String> it = franja.keySet().iterator();
+        while (franja.size() >= maximoPorFranja && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private long tokensDisponibles(long estado, long ahora) {
+        long marca = estado >>> BITS_TOKENS;
+        long tokens = estado & MASCARA_TOKENS;
+        long transcurrido = Math.max(0, ahora - marca);
+        return Math.min(capacidadMili, tokens + (long) (transcurrido * recargaMiliPorMs));
+    }
+
+    private static long empaquetar(long marca, long tokens) {
+        return (marca << BITS_TOKENS) | tokens;
+    }
+
+    private static int indiceFranja(String clave) {
+        int h = clave.hashCode();
+        return (h ^ (h >>> 16)) & (FRANJAS - 1);
+    }
+
+    /**
+     * Cubeta de tokens de una clave: instante de la última recarga y tokens restantes.
+     */
+    private static final class Cubeta {
+
+        private final AtomicLong estado;
+
+        private Cubeta(long estadoInicial) {
+            this.estado = new AtomicLong(estadoInicial);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.gestiondeportiva.api.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder que ejecuta el cifrado y la verificación en un ejecutor acotado.
+ * <p>
+ * Delega en otro PasswordEncoder (BCrypt) pero sin ocupar el hilo de la petición con
+ * el cálculo: tanto el login (a través del AuthenticationManager) como el registro y el
+ * cambio de contraseña pasan por {@link EjecutorHashContrasenas}, que limita la
+ * concurrencia y rechaza con 503 cuando está saturado.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see EjecutorHashContrasenas
+ */
+public class PasswordEncoderAcotado implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final EjecutorHashContrasenas ejecutor;
+
+    public PasswordEncoderAcotado(PasswordEncoder delegado, EjecutorHashContrasenas ejecutor) {
+        this.delegado = delegado;
+        this.ejecutor = ejecutor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return ejecutor.ejecutar(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return ejecutor.ejecutar(() -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,164 @@
+package com.gestiondeportiva.api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gestiondeportiva.api.entities.RefreshToken;
+import com.gestiondeportiva.api.repositories.RefreshTokenRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+
+/**
+ * Emisión y renovación de sesiones mediante refresh tokens rotatorios.
+ * <p>
+ * Los access tokens JWT son de corta duración. Para prolongar la sesión sin volver a
+ * enviar la contraseña (y sin pagar otra verificación BCrypt), el cliente presenta su
+ * refresh token y recibe un access token nuevo junto con un refresh token nuevo; el
+ * anterior deja de ser válido.
+ * </p>
+ *
+ * <p><strong>Coste de una renovación:</strong></p>
+ * <ol>
+ *   <li>Un SHA-256 del token presentado</li>
+ *   <li>Una consulta por el índice único del hash, que trae también el usuario para
+ *       firmar el access token con su rol y equipo actuales</li>
+ *   <li>Un UPDATE por clave primaria que rota hash y expiración en la misma fila, condicionado
+ *       al hash anterior: de dos renovaciones simultáneas con el mismo token solo una gana</li>
+ *   <li>Un HMAC para firmar el access token</li>
+ * </ol>
+ *
+ * <p><strong>Configuración:</strong></p>
+ * <ul>
+ *   <li>jwt.refresh.validity-days: Días de validez desde la última renovación (por defecto 30)</li>
+ *   <li>jwt.refresh.cleanup-ms: Cada cuántos ms se eliminan los expirados (por defecto 1 hora)</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see RefreshToken
+ * @see com.gestiondeportiva.api.auth.AuthController
+ */
+@Component
+public class RenovacionTokens {
+
+    /** Bytes aleatorios de cada refresh token (256 bits) */
+    private static final int BYTES_TOKEN = 32;
+
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final JwtUtil jwtUtil;
+    private final long validezDias;
+
+    public RenovacionTokens(RefreshTokenRepository refreshTokenRepository,
+                            UsuarioRepository usuarioRepository,
+                            JwtUtil jwtUtil,
+                            @Value("${jwt.refresh.validity-days:30}") long validezDias) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.jwtUtil = jwtUtil;
+        this.validezDias = validezDias;
+    }
+
+    /**
+     * Par de tokens entregado al renovar la sesión.
+     *
+     * @param accessToken nuevo access token JWT
+     * @param refreshToken nuevo refresh token (el presentado ya no es válido)
+     */
+    public record Tokens(String accessToken, String refreshToken) {
+    }
+
+    /**
+     * Emite un refresh token nuevo para un usuario recién autenticado.
+     *
+     * @param idUsuario ID del usuario
+     * @return refresh token en claro (solo se guarda su hash)
+     */
+    @Transactional
+    public String emitir(Long idUsuario) {
+        String token = generar();
+        refreshTokenRepository.save(new RefreshToken(
+                hash(token), usuarioRepository.getReferenceById(idUsuario), expiracion()));
+        return token;
+    }
+
+    /**
+     * Renueva la sesión a partir de un refresh token, rotándolo.
+     *
+     * @param refreshToken refresh token presentado por el cliente
+     * @return Optional con el nuevo par de tokens, vacío si el token no existe, ha expirado
+     *         o ya se ha usado
+     */
+    @Transactional
+    public Optional<Tokens> renovar(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return Optional.empty();
+        }
+
+        byte[] hashActual = hash(refreshToken);
+        Optional<RefreshToken> guardado = refreshTokenRepository.findVigenteByHash(hashActual, LocalDateTime.now());
+        if (guardado.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String nuevo = generar();
+        if (refreshTokenRepository.rotar(guardado.get().getId(), hashActual, hash(nuevo), expiracion()) == 0) {
+            return Optional.empty(); // Otra renovación con el mismo token se ha adelantado
+        }
+
+        String accessToken = jwtUtil.generateToken(UsuarioPrincipal.desdeUsuario(guardado.get().getUsuario()));
+        return Optional.of(new Tokens(accessToken, nuevo));
+    }
+
+    /**
+     * Invalida un refresh token (cierre de sesión).
+     *
+     * @param refreshToken refresh token presentado por el cliente
+     */
+    @Transactional
+    public void revocar(String refreshToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.deleteByHash(hash(refreshToken));
+        }
+    }
+
+    /**
+     * Elimina periódicamente los refresh tokens expirados.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.cleanup-ms:3600000}",
+               initialDelayString = "${jwt.refresh.cleanup-ms:3600000}")
+    public void limpiarCaducados() {
+        refreshTokenRepository.deleteCaducados(LocalDateTime.now());
+    }
+
+    // ================== Auxiliares ==================
+
+    private LocalDateTime expiracion() {
+        return LocalDateTime.now().plusDays(validezDias);
+    }
+
+    private static String generar() {
+        byte[] bytes = new byte[BYTES_TOKEN];
+        ALEATORIO.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.gestiondeportiva.api.security;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.gestiondeportiva.api.entities.TokenRevocado;
+import com.gestiondeportiva.api.repositories.RefreshTokenRepository;
+import com.gestiondeportiva.api.repositories.TokenRevocadoRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Almacén de revocaciones de tokens JWT con un filtro de Bloom como camino rápido.
+ * <p>
+ * Las revocaciones se guardan en la tabla {@code tokens_revocados}. Para no consultar la
+ * base de datos en cada petición, se mantiene en memoria un filtro de Bloom con las
+ * claves de todas las revocaciones vigentes: si el filtro responde que el token no está
+ * revocado (el caso habitual) no se hace ninguna consulta; solo un positivo, real o
+ * falso, se confirma contra la tabla.
+ * </p>
+ *
+ * <p><strong>Tipos de revocación:</strong></p>
+ * <ul>
+ *   <li>Por token (cierre de sesión): se revoca el token con ese jti</li>
+ *   <li>Por usuario (cambio de contraseña, baja): se revocan todos los tokens del usuario
+ *       emitidos antes de ese momento y se eliminan sus refresh tokens. Como el claim iat tiene
+ *       precisión de segundos, la revocación se guarda truncada al segundo y solo revoca los
+ *       tokens emitidos en segundos anteriores: el token que se emite justo después (por
+ *       ejemplo, al iniciar sesión con la contraseña nueva) sigue siendo válido</li>
+ * </ul>
+ *
+ * <p><strong>Reconstrucción del filtro:</strong></p>
+ * <ul>
+ *   <li>Un filtro de Bloom no admite borrados, así que se reconstruye desde la tabla cada
+ *       jwt.revocation.rebuild-ms (por defecto 60 s), eliminando antes las revocaciones
+ *       de tokens ya expirados</li>
+ *   <li>Las revocaciones hechas en esta instancia se añaden al filtro al momento; las
+ *       hechas en otras instancias se incorporan en la siguiente reconstrucción</li>
+ *   <li>El filtro se dimensiona para jwt.revocation.expected-entries claves (o el doble
+ *       de las vigentes, si son más) con un 1% de falsos positivos</li>
+ * </ul>
+ *
+ * <p><strong>Métricas (Actuator):</strong></p>
+ * <ul>
+ *   <li>jwt.revocacion.consultas: Comprobaciones que han tenido que consultar la tabla</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see JwtAuthFilter
+ * @see FiltroBloom
+ */
+@Component
+public class RevocacionTokens {
+
+    private static final String CLAVE_TOKEN = "jti:";
+    private static final String CLAVE_USUARIO = "usuario:";
+    private static final double FALSOS_POSITIVOS = 0.01;
+
+    private final TokenRevocadoRepository tokenRevocadoRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final int clavesEsperadas;
+    private final Counter consultas;
+
+    /** Filtro en uso */
+    private volatile FiltroBloom filtro;
+
+    /** Filtro en construcción; las revocaciones nuevas se añaden también a él */
+    private volatile FiltroBloom filtroEnConstruccion;
+
+    public RevocacionTokens(TokenRevocadoRepository tokenRevocadoRepository,
+                            RefreshTokenRepository refreshTokenRepository,
+                            JwtUtil jwtUtil,
+                            @Value("${jwt.revocation.expected-entries:100000}") int clavesEsperadas,
+                            MeterRegistry meterRegistry) {
+        this.tokenRevocadoRepository = tokenRevocadoRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.clavesEsperadas = clavesEsperadas;
+        this.filtro = new FiltroBloom(clavesEsperadas, FALSOS_POSITIVOS);
+        this.consultas = Counter.builder("jwt.revocacion.consultas")
+                .description("Comprobaciones de revocación que han consultado la base de datos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Comprueba si un token está revocado.
+     * <p>
+     * Solo consulta la base de datos si el filtro de Bloom da positivo para el token
+     * o para su usuario.
+     * </p>
+     *
+     * @param jti identificador del token (null en tokens sin jti)
+     * @param idUsuario ID del usuario del token
+     * @param emitidoEn momento de emisión del token (claim iat)
+     * @return true si el token está revocado
+     */
+    public boolean estaRevocado(String jti, Long idUsuario, Date emitidoEn) {
+        FiltroBloom actual = filtro;
+        boolean posibleToken = jti != null && actual.podriaContener(CLAVE_TOKEN + jti);
+        boolean posibleUsuario = idUsuario != null && actual.podriaContener(CLAVE_USUARIO + idUsuario);
+        if (!posibleToken && !posibleUsuario) {
+            return false;
+        }
+
+        consultas.increment();
+        if (posibleToken && tokenRevocadoRepository.existsByJti(jti)) {
+            return true;
+        }
+        // Sin fecha de emisión no se puede saber si es anterior a la revocación
+        return posibleUsuario && (emitidoEn == null
+                || tokenRevocadoRepository.existsByIdUsuarioAndRevocadoEnGreaterThan(
+                        idUsuario, aFecha(emitidoEn)));
+    }
+
+    /**
+     * Revoca un único token (cierre de sesión).
+     *
+     * @param jti identificador del token
+     * @param expiraEn expiración del token; la revocación se conserva hasta entonces
+     */
+    @Transactional
+    public void revocarToken(String jti, Date expiraEn) {
+        if (jti == null || tokenRevocadoRepository.existsByJti(jti)) {
+            return;
+        }
+        tokenRevocadoRepository.save(new TokenRevocado(jti, null, LocalDateTime.now(), aFecha(expiraEn)));
+        agregarTrasConfirmar(CLAVE_TOKEN + jti);
+    }
+
+    /**
+     * Revoca todos los tokens emitidos en segundos anteriores al actual para un usuario
+     * (cambio de contraseña, baja), incluidos sus refresh tokens.
+     *
+     * @param idUsuario ID del usuario
+     */
+    @Transactional
+    public void revocarUsuario(Long idUsuario) {
+        refreshTokenRepository.deleteByUsuarioId(idUsuario);
+
+        // Misma precisión que el claim iat, con el que se compara en estaRevocado
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime expiraEn = ahora.plusNanos(jwtUtil.getValidezMs() * 1_000_000);
+        tokenRevocadoRepository.save(new TokenRevocado(null, idUsuario, ahora, expiraEn));
+        agregarTrasConfirmar(CLAVE_USUARIO + idUsuario);
+    }
+
+    /**
+     * Reconstruye el filtro de Bloom desde la tabla, descartando antes las revocaciones
+     * de tokens ya expirados. Se ejecuta al arrancar y periódicamente.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-ms:60000}",
+               initialDelayString = "${jwt.revocation.rebuild-ms:60000}")
+    public void reconstruir() {
+        LocalDateTime ahora = LocalDateTime.now();
+        tokenRevocadoRepository.deleteCaducados(ahora);
+
+        // Se publica antes de leer la tabla: una revocación confirmada a la vez queda en
+        // la lectura o en el filtro nuevo, nunca se pierde
+        long vigentes = tokenRevocadoRepository.countVigentes(ahora);
+        FiltroBloom nuevo = new FiltroBloom(
+                (int) Math.min(Integer.MAX_VALUE, Math.max(clavesEsperadas, vigentes * 2)), FALSOS_POSITIVOS);
+        filtroEnConstruccion = nuevo;
+
+        for (String jti : tokenRevocadoRepository.findJtiVigentes(ahora)) {
+            nuevo.agregar(CLAVE_TOKEN + jti);
+        }
+        for (Long idUsuario : tokenRevocadoRepository.findUsuariosConRevocacionVigente(ahora)) {
+            nuevo.agregar(CLAVE_USUARIO + idUsuario);
+        }
+
+        filtro = nuevo;
+        filtroEnConstruccion = null;
+    }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * Añade la clave al filtro cuando la revocación ya es visible en la tabla, de modo que
+     * una reconstrucción simultánea la lee de la tabla o la recibe en el filtro nuevo.
+     */
+    private void agregarTrasConfirmar(String clave) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            agregar(clave);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                agregar(clave);
+            }
+        });
+    }
+
+    private void agregar(String clave) {
+        FiltroBloom enConstruccion = filtroEnConstruccion;
+        if (enConstruccion != null) {
+            enConstruccion.agregar(clave);
+        }
+        filtro.agregar(clave);
+    }
+
+    private static LocalDateTime aFecha(Date fecha) {
+        return LocalDateTime.ofInstant(fecha.toInstant(), ZoneId.systemDefault());
+    }
+}
@@ -29,14 +29,15 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
  * <p><strong>Características de seguridad:</strong></p>
  * <ul>
  *   <li>Autenticación JWT sin estado (stateless)</li>
- *   <li>Encriptación de contraseñas con BCrypt</li>
+ *   <li>Encriptación de contraseñas con BCrypt en un ejecutor acotado (503 si está saturado)</li>
  *   <li>CSRF deshabilitado (apropiado para APIs REST)</li>
  *   <li>CORS configurado para frontend en Vercel y localhost</li>
- *   <li>Endpoints públicos: /api/auth/login, /api/auth/register, /uploads/**</li>
+ *   <li>Endpoints públicos: /api/auth/login, /api/auth/register, /api/auth/refresh, /uploads/**</li>
  * </ul>
  *
  * <p><strong>Flujo de seguridad:</strong></p>
  * <ol>
+ *   <li>LimitadorAuthFilter limita por IP y email las peticiones a login y registro (429)</li>
  *   <li>JwtAuthFilter intercepta peticiones y valida tokens</li>
  *   <li>Si el token es válido, establece autenticación en SecurityContext</li>
  *   <li>@PreAuthorize evalúa permisos basados en roles</li>
@@ -54,25 +55,30 @@ public class SecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtAuthFilter jwtAuthFilter;
+    private final LimitadorAuthFilter limitadorAuthFilter;
 
     public SecurityConfig(UserDetailsServiceImpl userDetailsService,
-            JwtAuthFilter jwtAuthFilter) {
+            JwtAuthFilter jwtAuthFilter,
+            LimitadorAuthFilter limitadorAuthFilter) {
         this.userDetailsService = userDetailsService;
         this.jwtAuthFilter = jwtAuthFilter;
+        this.limitadorAuthFilter = limitadorAuthFilter;
     }
 
     /**
      * Configura el codificador de contraseñas BCrypt.
      * <p>
      * BCrypt es un algoritmo de hash adaptativo que incluye salt automático
-     * y permite ajustar la complejidad computacional.
+     * y permite ajustar la complejidad computacional. El cálculo se ejecuta en un
+     * ejecutor acotado para que una ráfaga de logins no ocupe los hilos de Tomcat.
      * </p>
      *
+     * @param ejecutorHash ejecutor dedicado al cifrado de contraseñas
      * @return PasswordEncoder configurado con BCrypt
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(EjecutorHashContrasenas ejecutorHash) {
+        return new PasswordEncoderAcotado(new BCryptPasswordEncoder(), ejecutorHash);
     }
 
     /**
@@ -93,7 +99,8 @@ public class SecurityConfig {
     /**
      * Configura la cadena de filtros de seguridad.
      * <p>
-     * Define qué endpoints son públicos, aplica el filtro JWT y establece
+     * Define qué endpoints son públicos, aplica la limitación de peticiones a los
+     * endpoints de autenticación y el filtro JWT, y establece
      * la política de sesiones stateless apropiada para APIs REST.
      * </p>
      *
@@ -109,9 +116,10 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
+                        .requestMatchers("/api/auth/login", "/api/auth/register", "/api/auth/refresh").permitAll()
                         .requestMatchers("/uploads/**").permitAll()
                         .anyRequest().authenticated())
+                .addFilterBefore(limitadorAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -146,7 +154,7 @@ public class SecurityConfig {
 
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Next-Cursor"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
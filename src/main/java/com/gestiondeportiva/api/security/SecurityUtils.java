@@ -4,7 +4,10 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.gestiondeportiva.api.entities.Evento;
 import com.gestiondeportiva.api.entities.Rol;
 import com.gestiondeportiva.api.entities.Usuario;
 import com.gestiondeportiva.api.repositories.UsuarioRepository;
@@ -26,6 +29,14 @@ import jakarta.persistence.EntityNotFoundException;
  *   <li>JUGADOR: Solo puede ver y modificar sus propios datos</li>
  * </ul>
  *
+ * <p><strong>Coste de las comprobaciones:</strong></p>
+ * <ul>
+ *   <li>Las comprobaciones de rol y equipo usan el {@link UsuarioPrincipal} del token,
+ *       sin consultar la base de datos</li>
+ *   <li>{@link #getUsuarioActual()} se resuelve una sola vez por transacción: las llamadas
+ *       siguientes dentro de la misma transacción reutilizan la entidad ya cargada</li>
+ * </ul>
+ *
  * <p><strong>Uso típico:</strong></p>
  * <pre>
  * // En un servicio
@@ -63,18 +74,57 @@ public class SecurityUtils {
         return auth.getName(); // El JWT usa email como username
     }
 
+    /**
+     * Obtiene el principal construido desde el token JWT del usuario autenticado.
+     *
+     * @return UsuarioPrincipal del usuario autenticado, o null si la autenticación
+     *         no procede de un token JWT (por ejemplo, usuarios simulados en pruebas)
+     */
+    public UsuarioPrincipal getPrincipalActual() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UsuarioPrincipal principal) {
+            return principal;
+        }
+        return null;
+    }
+
     /**
      * Obtiene la entidad Usuario completa del usuario autenticado.
      * <p>
      * Busca el usuario en la base de datos usando el email extraído del SecurityContext.
+     * Dentro de una transacción la entidad se guarda como recurso de la transacción,
+     * de modo que las llamadas sucesivas no repiten la consulta.
      * </p>
      *
      * @return Usuario entidad completa del usuario autenticado
      * @throws EntityNotFoundException si el usuario no se encuentra en la base de datos
      */
     public Usuario getUsuarioActual() {
-        return usuarioRepository.findByEmail(getEmailActual())
-                .orElseThrow(() -> new EntityNotFoundException("Usuario actual no encontrado"));
+        String email = getEmailActual();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return buscarPorEmail(email);
+        }
+
+        UsuarioEnTransaccion enTransaccion =
+                (UsuarioEnTransaccion) TransactionSynchronizationManager.getResource(this);
+        if (enTransaccion != null && enTransaccion.email().equals(email)) {
+            return enTransaccion.usuario();
+        }
+
+        Usuario usuario = buscarPorEmail(email);
+        if (enTransaccion == null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SecurityUtils.this);
+                }
+            });
+        } else {
+            TransactionSynchronizationManager.unbindResource(this);
+        }
+        TransactionSynchronizationManager.bindResource(this, new UsuarioEnTransaccion(email, usuario));
+        return usuario;
     }
 
     /**
@@ -83,7 +133,7 @@ public class SecurityUtils {
      * @return true si es JUGADOR, false en caso contrario
      */
     public boolean esJugadorActual() {
-        return getUsuarioActual().getRol() == Rol.JUGADOR;
+        return getRolActual() == Rol.JUGADOR;
     }
 
     /**
@@ -92,7 +142,7 @@ public class SecurityUtils {
      * @return true si es ENTRENADOR, false en caso contrario
      */
     public boolean esEntrenadorActual() {
-        return getUsuarioActual().getRol() == Rol.ENTRENADOR;
+        return getRolActual() == Rol.ENTRENADOR;
     }
 
     /**
@@ -101,7 +151,7 @@ public class SecurityUtils {
      * @return true si es ADMIN, false en caso contrario
      */
     public boolean esAdminActual() {
-        return getUsuarioActual().getRol() == Rol.ADMIN;
+        return getRolActual() == Rol.ADMIN;
     }
 
     /**
@@ -138,9 +188,9 @@ public class SecurityUtils {
             return; // No aplica la regla si no es entrenador
         }
 
-        Usuario entrenador = getUsuarioActual();
+        Long equipoEntrenador = getEquipoIdActual();
 
-        if (entrenador.getEquipo() == null) {
+        if (equipoEntrenador == null) {
             throw new AccessDeniedException("El entrenador no tiene equipo asignado");
         }
 
@@ -148,12 +198,39 @@ public class SecurityUtils {
             throw new AccessDeniedException("Este jugador no pertenece a ningún equipo");
         }
 
-        if (!jugadorConsultado.getEquipo().getId()
-                .equals(entrenador.getEquipo().getId())) {
+        if (!jugadorConsultado.getEquipo().getId().equals(equipoEntrenador)) {
             throw new AccessDeniedException("Este jugador no es de tu equipo");
         }
     }
 
+    /**
+     * Valida que un entrenador solo pueda gestionar eventos de su equipo.
+     * <p>
+     * Las búsquedas por ID no pasan por el filtro de equipo, así que los servicios
+     * que cargan un evento con findById y lo modifican deben comprobarlo aquí.
+     * ADMIN no tiene esta restricción.
+     * </p>
+     *
+     * @param evento evento que se intenta gestionar
+     * @throws AccessDeniedException si el entrenador intenta gestionar un evento de otro equipo
+     */
+    public void checkEntrenadorSoloEventosDeSuEquipo(Evento evento) {
+
+        if (!esEntrenadorActual()) {
+            return; // No aplica la regla si no es entrenador
+        }
+
+        Long equipoEntrenador = getEquipoIdActual();
+
+        if (equipoEntrenador == null) {
+            throw new AccessDeniedException("El entrenador no tiene equipo asignado");
+        }
+
+        if (evento.getEquipo() == null || !evento.getEquipo().getId().equals(equipoEntrenador)) {
+            throw new AccessDeniedException("Este evento no es de tu equipo");
+        }
+    }
+
     /**
      * Valida que solo usuarios ADMIN puedan realizar una acción.
      *
@@ -164,4 +241,44 @@ public class SecurityUtils {
             throw new AccessDeniedException("Solo ADMIN puede realizar esta acción");
         }
     }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * Obtiene el rol del usuario autenticado, desde el token si es posible.
+     */
+    private Rol getRolActual() {
+        UsuarioPrincipal principal = getPrincipalActual();
+        return principal != null ? principal.getRol() : getUsuarioActual().getRol();
+    }
+
+    /**
+     * Obtiene el ID del equipo del usuario autenticado, desde el token si es posible.
+     * <p>
+     * Es el mismo equipo con el que {@link FiltroEquipoTransactionManager} acota las
+     * consultas; al cambiar el equipo de un usuario se revocan sus tokens, así que el
+     * del token no queda desfasado.
+     * </p>
+     *
+     * @return ID del equipo, o null si el usuario no tiene equipo asignado
+     */
+    public Long getEquipoIdActual() {
+        UsuarioPrincipal principal = getPrincipalActual();
+        if (principal != null) {
+            return principal.getEquipoId();
+        }
+        Usuario usuario = getUsuarioActual();
+        return usuario.getEquipo() != null ? usuario.getEquipo().getId() : null;
+    }
+
+    private Usuario buscarPorEmail(String email) {
+        return usuarioRepository.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("Usuario actual no encontrado"));
+    }
+
+    /**
+     * Usuario autenticado ya resuelto en la transacción en curso.
+     */
+    private record UsuarioEnTransaccion(String email, Usuario usuario) {
+    }
 }
@@ -0,0 +1,29 @@
+package com.gestiondeportiva.api.security;
+
+/**
+ * Excepción lanzada cuando una operación se rechaza por falta de capacidad.
+ * <p>
+ * Se utiliza para el control de admisión de las operaciones costosas (por ejemplo,
+ * el cifrado de contraseñas con BCrypt): en lugar de encolar trabajo sin límite,
+ * la petición se rechaza inmediatamente y el cliente recibe un 503 con la cabecera
+ * Retry-After indicando cuándo volver a intentarlo.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see EjecutorHashContrasenas
+ */
+public class ServicioSaturadoException extends RuntimeException {
+
+    /** Segundos recomendados antes de reintentar */
+    private final long reintentarEnSegundos;
+
+    public ServicioSaturadoException(String mensaje, long reintentarEnSegundos) {
+        super(mensaje);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
@@ -1,11 +1,5 @@
 package com.gestiondeportiva.api.security;
 
-import java.util.List;
-
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -26,7 +20,7 @@ import com.gestiondeportiva.api.repositories.UsuarioRepository;
  *   <li>Spring Security llama a loadUserByUsername con el email del usuario</li>
  *   <li>Se busca el usuario en la base de datos por email</li>
  *   <li>Se extraen el rol y la contraseña (ya encriptada con BCrypt)</li>
- *   <li>Se retorna un UserDetails con email, password y authorities</li>
+ *   <li>Se retorna un UsuarioPrincipal con email, password, authorities, ID y equipo</li>
  * </ol>
  *
  * @author Sistema de Gestión Deportiva MyClub
@@ -53,32 +47,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      * <ol>
      *   <li>Busca el usuario en la base de datos por email</li>
      *   <li>Extrae el rol y lo convierte a authority con prefijo ROLE_</li>
-     *   <li>Crea y retorna un UserDetails con email, password cifrada y authorities</li>
+     *   <li>Crea y retorna un UsuarioPrincipal con email, password cifrada, authorities,
+     *       ID y equipo (datos que después se incluyen como claims en el token JWT)</li>
      * </ol>
      *
      * @param email dirección de correo electrónico del usuario (usado como username)
-     * @return UserDetails con la información del usuario para Spring Security
+     * @return UsuarioPrincipal con la información del usuario para Spring Security
      * @throws UsernameNotFoundException si no se encuentra un usuario con ese email
      */
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    public UsuarioPrincipal loadUserByUsername(String email) throws UsernameNotFoundException {
 
         Usuario usuario = usuarioRepository.findByEmail(email)
                 .orElseThrow(() ->
                         new UsernameNotFoundException("Usuario no encontrado con email: " + email)
                 );
 
-        // Suponiendo que tu entidad Usuario tiene un campo `rol` de tipo enum Rol
-        // y valores como ADMIN, ENTRENADOR, JUGADOR, etc.
-        String rolNombre = usuario.getRol().name(); // p.ej. "ADMIN"
-
-        List<GrantedAuthority> authorities =
-                List.of(new SimpleGrantedAuthority("ROLE_" + rolNombre));
-
-        return new User(
-                usuario.getEmail(),      // username (email)
-                usuario.getPassword(),   // password BCRYPT
-                authorities              // roles
-        );
+        return UsuarioPrincipal.desdeUsuario(usuario);
     }
 }
@@ -0,0 +1,100 @@
+package com.gestiondeportiva.api.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.entities.Usuario;
+
+/**
+ * Principal de Spring Security con los datos del usuario necesarios para autorizar peticiones.
+ * <p>
+ * Se construye de dos formas: desde la entidad Usuario durante el login (con la contraseña
+ * cifrada, para que Spring Security pueda verificarla) o desde los claims de un token JWT
+ * ya verificado (sin contraseña). En el segundo caso no se consulta la base de datos, de modo
+ * que autenticar una petición solo cuesta verificar la firma del token.
+ * </p>
+ *
+ * <p><strong>Datos del principal:</strong></p>
+ * <ul>
+ *   <li>id: ID del usuario</li>
+ *   <li>email: Username de Spring Security y subject del token</li>
+ *   <li>rol: Rol del usuario, expuesto como authority con prefijo ROLE_</li>
+ *   <li>equipoId: ID del equipo del usuario (null si no tiene equipo)</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see JwtUtil
+ * @see JwtAuthFilter
+ */
+public class UsuarioPrincipal implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String email;
+    private String password;
+    private final Rol rol;
+    private final Long equipoId;
+    private final List<GrantedAuthority> authorities;
+
+    public UsuarioPrincipal(Long id, String email, String password, Rol rol, Long equipoId) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.rol = rol;
+        this.equipoId = equipoId;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + rol.name()));
+    }
+
+    /**
+     * Crea el principal a partir de la entidad Usuario, incluyendo la contraseña cifrada.
+     *
+     * @param usuario entidad con el equipo cargado
+     * @return UsuarioPrincipal con los datos del usuario
+     */
+    public static UsuarioPrincipal desdeUsuario(Usuario usuario) {
+        return new UsuarioPrincipal(
+                usuario.getId(),
+                usuario.getEmail(),
+                usuario.getPassword(),
+                usuario.getRol(),
+                usuario.getEquipo() != null ? usuario.getEquipo().getId() : null);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Rol getRol() {
+        return rol;
+    }
+
+    public Long getEquipoId() {
+        return equipoId;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
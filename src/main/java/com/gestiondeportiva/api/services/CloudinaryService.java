@@ -1,11 +1,11 @@
 package com.gestiondeportiva.api.services;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
@@ -13,16 +13,14 @@ import com.cloudinary.utils.ObjectUtils;
 /**
  * Servicio para la gestión de imágenes en Cloudinary.
  * <p>
- * Proporciona funcionalidades para subir, transformar y eliminar imágenes
- * en el servicio cloud de Cloudinary. Las imágenes se optimizan automáticamente
- * (tamaño, calidad, formato) antes de almacenarlas.
+ * Proporciona funcionalidades para subir y eliminar imágenes en el servicio cloud
+ * de Cloudinary. Las imágenes llegan ya reducidas y en JPEG
+ * ({@link GeneradorMiniaturas}), por lo que se guardan tal cual, sin transformaciones
+ * en Cloudinary.
  * </p>
  *
  * <p><strong>Configuración:</strong></p>
  * <ul>
- *   <li>Tamaño máximo de imagen: 500x500px (manteniendo aspecto)</li>
- *   <li>Calidad: automática (optimizada por Cloudinary)</li>
- *   <li>Formato: automático (WebP cuando el navegador lo soporte)</li>
  *   <li>Conexión: HTTPS segura</li>
  * </ul>
  *
@@ -56,42 +54,24 @@ public class CloudinaryService {
     /**
      * Sube una imagen a Cloudinary y retorna la URL segura de la imagen.
      * <p>
-     * Valida que el archivo sea una imagen y no esté vacío. Aplica transformaciones
-     * automáticas para optimizar el tamaño, calidad y formato.
+     * La imagen se guarda tal cual: ya debe estar reducida y validada (se sube desde el
+     * directorio de espera de {@link ProcesadorFotosPerfil}, nunca dentro de una petición HTTP).
      * </p>
      *
-     * @param file archivo MultipartFile con la imagen
+     * @param archivo ruta local de la imagen
      * @param folder carpeta destino en Cloudinary
      * @return URL segura (HTTPS) de la imagen subida
-     * @throws IllegalArgumentException si el archivo está vacío o no es una imagen
      * @throws RuntimeException si hay un error durante la subida
      */
-    public String subirImagen(MultipartFile file, String folder) {
-        // Validar que el archivo no esté vacío
-        if (file.isEmpty()) {
-            throw new IllegalArgumentException("El archivo está vacío");
-        }
-
-        // Validar tipo de archivo (solo imágenes)
-        String contentType = file.getContentType();
-        if (contentType == null || !contentType.startsWith("image/")) {
-            throw new IllegalArgumentException("Solo se permiten archivos de imagen");
-        }
-
+    public String subirImagen(Path archivo, String folder) {
         try {
             // Configurar opciones de subida
             Map<String, Object> uploadParams = ObjectUtils.asMap(
                     "folder", folder,
-                    "resource_type", "image",
-                    "transformation", new com.cloudinary.Transformation()
-                            .width(500)
-                            .height(500)
-                            .crop("limit")
-                            .quality("auto")
-                            .fetchFormat("auto"));
-
-            // Subir el archivo a Cloudinary
-            Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadParams);
+                    "resource_type", "image");
+
+            // Subir el archivo a Cloudinary (el SDK lo lee del disco en streaming)
+            Map<?, ?> uploadResult = cloudinary.uploader().upload(archivo.toFile(), uploadParams);
 
             // Retornar la URL segura de la imagen
             return (String) uploadResult.get("secure_url");
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.gestiondeportiva.api.dto.ConvocatoriaDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
 
 /**
  * Servicio de lógica de negocio para la gestión de convocatorias de jugadores.
@@ -19,11 +20,14 @@ import com.gestiondeportiva.api.dto.ConvocatoriaDTO;
 public interface ConvocatoriaService {
 
     /**
-     * Obtiene todas las convocatorias del sistema.
+     * Obtiene una página de convocatorias ordenada por ID mediante paginación por cursor.
      *
-     * @return lista de todas las convocatorias
+     * @param after último ID recibido en la página anterior (null para la primera página)
+     * @param limit número máximo de elementos (null para el valor por defecto, acotado a {@link Paginacion#LIMITE_MAXIMO})
+     * @return PaginaCursorDTO con los ConvocatoriaDTO de la página y el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
      */
-    List<ConvocatoriaDTO> findAll();
+    PaginaCursorDTO<ConvocatoriaDTO> findAll(Long after, Integer limit);
 
     /**
      * Crea una nueva convocatoria.
@@ -49,6 +53,23 @@ public interface ConvocatoriaService {
      */
     void deleteById(Long id);
 
+    /**
+     * Reemplaza la convocatoria completa de un evento en una sola transacción.
+     * <p>
+     * Elimina las convocatorias existentes del evento e inserta la nueva plantilla
+     * por lotes. El ID de evento de cada elemento se ignora: se usa el indicado.
+     * </p>
+     *
+     * @param eventoId ID del evento
+     * @param plantilla jugadores convocados con su indicador de titular
+     * @return lista de ConvocatoriaDTO con la nueva convocatoria del evento
+     * @throws jakarta.persistence.EntityNotFoundException si el evento o algún jugador no existen
+     * @throws IllegalArgumentException si la plantilla es nula, falta algún jugador o hay jugadores repetidos
+     * @throws org.springframework.security.access.AccessDeniedException si un ENTRENADOR indica
+     *         un evento o un jugador de otro equipo
+     */
+    List<ConvocatoriaDTO> reemplazarConvocatoria(Long eventoId, List<ConvocatoriaDTO> plantilla);
+
     /**
      * Busca todas las convocatorias de un evento.
      *
@@ -1,15 +1,26 @@
 package com.gestiondeportiva.api.services;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.gestiondeportiva.api.dto.ConvocatoriaDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
 import com.gestiondeportiva.api.entities.Convocatoria;
+import com.gestiondeportiva.api.entities.Evento;
+import com.gestiondeportiva.api.entities.Usuario;
 import com.gestiondeportiva.api.mappers.ConvocatoriaMapper;
 import com.gestiondeportiva.api.repositories.ConvocatoriaRepository;
+import com.gestiondeportiva.api.repositories.EventoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+import com.gestiondeportiva.api.security.SecurityUtils;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -30,19 +41,31 @@ public class ConvocatoriaServiceImpl implements ConvocatoriaService {
 
     private final ConvocatoriaRepository convocatoriaRepository;
     private final ConvocatoriaMapper convocatoriaMapper;
+    private final EventoRepository eventoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final SecurityUtils securityUtils;
 
     public ConvocatoriaServiceImpl(ConvocatoriaRepository convocatoriaRepository,
-            ConvocatoriaMapper convocatoriaMapper) {
+            ConvocatoriaMapper convocatoriaMapper,
+            EventoRepository eventoRepository,
+            UsuarioRepository usuarioRepository,
+            SecurityUtils securityUtils) {
         this.convocatoriaRepository = convocatoriaRepository;
         this.convocatoriaMapper = convocatoriaMapper;
+        this.eventoRepository = eventoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.securityUtils = securityUtils;
     }
 
     // ================== CRUD ==================
 
     @Override
     @Transactional(readOnly = true)
-    public List<ConvocatoriaDTO> findAll() {
-        return convocatoriaMapper.toDTOList(convocatoriaRepository.findAll());
+    public PaginaCursorDTO<ConvocatoriaDTO> findAll(Long after, Integer limit) {
+        return Paginacion.pagina(
+                convocatoriaRepository.findByIdGreaterThan(Paginacion.cursor(after), Paginacion.ventana(limit)),
+                convocatoriaMapper::toDTOList,
+                Convocatoria::getId);
     }
 
     @Override
@@ -89,6 +112,57 @@ public class ConvocatoriaServiceImpl implements ConvocatoriaService {
         convocatoriaRepository.deleteById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <strong>Sentencias ejecutadas:</strong>
+     * </p>
+     * <ol>
+     *   <li>Un SELECT del evento y un SELECT de todos los jugadores (IN)</li>
+     *   <li>Un único DELETE de las convocatorias previas del evento</li>
+     *   <li>Los INSERT de la nueva plantilla agrupados en lotes JDBC</li>
+     * </ol>
+     */
+    @Override
+    @Transactional
+    public List<ConvocatoriaDTO> reemplazarConvocatoria(Long eventoId, List<ConvocatoriaDTO> plantilla) {
+        if (plantilla == null) {
+            throw new IllegalArgumentException("La plantilla no puede ser nula");
+        }
+
+        Set<Long> idsJugadores = new HashSet<>();
+        for (ConvocatoriaDTO dto : plantilla) {
+            if (dto == null || dto.getIdJugador() == null) {
+                throw new IllegalArgumentException("Debe indicar el jugador de cada convocatoria");
+            }
+            if (!idsJugadores.add(dto.getIdJugador())) {
+                throw new IllegalArgumentException("El jugador " + dto.getIdJugador() + " aparece repetido en la plantilla");
+            }
+        }
+
+        Evento evento = eventoRepository.findById(eventoId)
+                .orElseThrow(() -> new EntityNotFoundException("Evento no encontrado con ID: " + eventoId));
+        securityUtils.checkEntrenadorSoloEventosDeSuEquipo(evento);
+
+        // Un único SELECT ... IN para validar y cargar todos los jugadores
+        Map<Long, Usuario> jugadores = usuarioRepository.findAllById(idsJugadores).stream()
+                .collect(Collectors.toMap(Usuario::getId, Function.identity()));
+        if (jugadores.size() != idsJugadores.size()) {
+            idsJugadores.removeAll(jugadores.keySet());
+            throw new EntityNotFoundException("Jugadores no encontrados con ID: " + idsJugadores);
+        }
+        jugadores.values().forEach(securityUtils::checkEntrenadorSoloJugadoresDeSuEquipo);
+
+        convocatoriaRepository.deleteByEventoId(eventoId);
+
+        List<Convocatoria> nuevas = plantilla.stream()
+                .map(dto -> new Convocatoria(evento, jugadores.get(dto.getIdJugador()),
+                        Boolean.TRUE.equals(dto.getTitular())))
+                .toList();
+
+        return convocatoriaMapper.toDTOList(convocatoriaRepository.saveAll(nuevas));
+    }
+
     // ================== Filtros ==================
 
     @Override
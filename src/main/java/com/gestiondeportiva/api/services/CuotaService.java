@@ -4,6 +4,8 @@ import java.util.List;
 import java.util.Optional;
 
 import com.gestiondeportiva.api.dto.CuotaDTO;
+import com.gestiondeportiva.api.dto.GeneracionCuotasDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
 import com.gestiondeportiva.api.entities.EstadoCuota;
 
 /**
@@ -20,11 +22,14 @@ import com.gestiondeportiva.api.entities.EstadoCuota;
 public interface CuotaService {
 
     /**
-     * Obtiene todas las cuotas del sistema.
+     * Obtiene una página de cuotas ordenada por ID mediante paginación por cursor.
      *
-     * @return lista de todas las cuotas
+     * @param after último ID recibido en la página anterior (null para la primera página)
+     * @param limit número máximo de elementos (null para el valor por defecto, acotado a {@link Paginacion#LIMITE_MAXIMO})
+     * @return PaginaCursorDTO con los CuotaDTO de la página y el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
      */
-    List<CuotaDTO> findAll();
+    PaginaCursorDTO<CuotaDTO> findAll(Long after, Integer limit);
 
     /**
      * Crea una nueva cuota.
@@ -77,4 +82,19 @@ public interface CuotaService {
      */
     List<CuotaDTO> findByEstadoCuota(EstadoCuota estadoCuota);
 
+    /**
+     * Genera una cuota PENDIENTE con el concepto e importe indicados para todos los
+     * jugadores de un equipo, o de todo el club si no se indica equipo.
+     * <p>
+     * Los jugadores que ya tienen una cuota con el mismo concepto se omiten, por lo que
+     * la operación puede repetirse sin duplicar cuotas.
+     * </p>
+     *
+     * @param solicitud concepto, importe y equipo opcional
+     * @return resumen con los jugadores evaluados, las cuotas creadas y las omitidas
+     * @throws IllegalArgumentException si falta el concepto o el importe no es válido
+     * @throws jakarta.persistence.EntityNotFoundException si el equipo indicado no existe
+     */
+    GeneracionCuotasDTO generarCuotas(GeneracionCuotasDTO solicitud);
+
 }
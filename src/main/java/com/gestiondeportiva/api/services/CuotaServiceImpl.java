@@ -1,17 +1,27 @@
 package com.gestiondeportiva.api.services;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.gestiondeportiva.api.dto.CuotaDTO;
+import com.gestiondeportiva.api.dto.GeneracionCuotasDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
 import com.gestiondeportiva.api.entities.Cuota;
 import com.gestiondeportiva.api.entities.EstadoCuota;
+import com.gestiondeportiva.api.entities.Rol;
 import com.gestiondeportiva.api.mappers.CuotaMapper;
 import com.gestiondeportiva.api.repositories.CuotaRepository;
+import com.gestiondeportiva.api.repositories.EquipoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 
 /**
@@ -29,20 +39,34 @@ import jakarta.persistence.EntityNotFoundException;
 @Transactional
 public class CuotaServiceImpl implements CuotaService {
 
+    /** Número de jugadores procesados en cada bloque de la generación masiva */
+    static final int TAMANIO_BLOQUE_GENERACION = 500;
+
     private final CuotaRepository cuotaRepository;
     private final CuotaMapper cuotaMapper;
+    private final UsuarioRepository usuarioRepository;
+    private final EquipoRepository equipoRepository;
+    private final EntityManager entityManager;
 
-    public CuotaServiceImpl(CuotaRepository cuotaRepository, CuotaMapper cuotaMapper) {
+    public CuotaServiceImpl(CuotaRepository cuotaRepository, CuotaMapper cuotaMapper,
+            UsuarioRepository usuarioRepository, EquipoRepository equipoRepository,
+            EntityManager entityManager) {
         this.cuotaRepository = cuotaRepository;
         this.cuotaMapper = cuotaMapper;
+        this.usuarioRepository = usuarioRepository;
+        this.equipoRepository = equipoRepository;
+        this.entityManager = entityManager;
     }
 
     // ================== CRUD ==================
 
     @Override
     @Transactional(readOnly = true)
-    public List<CuotaDTO> findAll() {
-        return cuotaMapper.toDTOList(cuotaRepository.findAll());
+    public PaginaCursorDTO<CuotaDTO> findAll(Long after, Integer limit) {
+        return Paginacion.pagina(
+                cuotaRepository.findByIdGreaterThan(Paginacion.cursor(after), Paginacion.ventana(limit)),
+                cuotaMapper::toDTOList,
+                Cuota::getId);
     }
 
     @Override
@@ -92,6 +116,67 @@ public class CuotaServiceImpl implements CuotaService {
         cuotaRepository.deleteById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Recorre los IDs de los jugadores por bloques de {@value #TAMANIO_BLOQUE_GENERACION}
+     * (keyset sobre la clave primaria). Por cada bloque se hace una única consulta IN
+     * para descartar los jugadores que ya tienen el concepto, se insertan las cuotas
+     * nuevas en lote (JDBC batching) y se vacía el contexto de persistencia, de modo
+     * que la memoria usada no crece con el tamaño del club.
+     * </p>
+     */
+    @Override
+    @Transactional
+    public GeneracionCuotasDTO generarCuotas(GeneracionCuotasDTO solicitud) {
+        if (solicitud == null) {
+            throw new IllegalArgumentException("La solicitud de generación no puede ser nula");
+        }
+
+        String concepto = solicitud.getConcepto() == null ? null : solicitud.getConcepto().trim();
+        if (concepto == null || concepto.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar el concepto de la cuota");
+        }
+
+        if (solicitud.getImporte() == null || solicitud.getImporte() < 0) {
+            throw new IllegalArgumentException("Debe indicar un importe válido para la cuota");
+        }
+
+        Long equipoId = solicitud.getIdEquipo();
+        if (equipoId != null && !equipoRepository.existsById(equipoId)) {
+            throw new EntityNotFoundException("Equipo no encontrado con ID: " + equipoId);
+        }
+
+        GeneracionCuotasDTO resumen = new GeneracionCuotasDTO(concepto, solicitud.getImporte(), equipoId);
+        PageRequest bloque = PageRequest.of(0, TAMANIO_BLOQUE_GENERACION);
+        Long after = 0L;
+
+        List<Long> jugadorIds = siguienteBloque(equipoId, after, bloque);
+        while (!jugadorIds.isEmpty()) {
+            Set<Long> conConcepto = new HashSet<>(cuotaRepository.findJugadorIdsConConcepto(concepto, jugadorIds));
+
+            List<Cuota> nuevas = new ArrayList<>();
+            for (Long jugadorId : jugadorIds) {
+                if (!conConcepto.contains(jugadorId)) {
+                    nuevas.add(new Cuota(usuarioRepository.getReferenceById(jugadorId), concepto,
+                            solicitud.getImporte(), EstadoCuota.PENDIENTE, null));
+                }
+            }
+            cuotaRepository.saveAll(nuevas);
+            entityManager.flush();
+            entityManager.clear();
+
+            resumen.setJugadores(resumen.getJugadores() + jugadorIds.size());
+            resumen.setCreadas(resumen.getCreadas() + nuevas.size());
+            resumen.setOmitidas(resumen.getOmitidas() + conConcepto.size());
+
+            after = jugadorIds.get(jugadorIds.size() - 1);
+            jugadorIds = siguienteBloque(equipoId, after, bloque);
+        }
+
+        return resumen;
+    }
+
     // ================== Filtros ==================
 
     @Override
@@ -112,4 +197,16 @@ public class CuotaServiceImpl implements CuotaService {
         return cuotaMapper.toDTOList(cuotaRepository.findByEstadoCuota(estadoCuota));
     }
 
+    // ================== Auxiliares ==================
+
+    /**
+     * Obtiene el siguiente bloque de IDs de jugadores del equipo indicado, o de todo el
+     * club si es null.
+     */
+    private List<Long> siguienteBloque(Long equipoId, Long after, PageRequest bloque) {
+        return equipoId == null
+                ? usuarioRepository.findIdsByRol(Rol.JUGADOR, after, bloque)
+                : usuarioRepository.findIdsByRolAndEquipoId(Rol.JUGADOR, equipoId, after, bloque);
+    }
+
 }
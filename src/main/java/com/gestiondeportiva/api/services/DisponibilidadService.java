@@ -4,6 +4,8 @@ import java.util.List;
 import java.util.Optional;
 
 import com.gestiondeportiva.api.dto.DisponibilidadDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
+import com.gestiondeportiva.api.dto.ResultadoLoteDTO;
 import com.gestiondeportiva.api.entities.EstadoDisponibilidad;
 
 /**
@@ -20,11 +22,14 @@ import com.gestiondeportiva.api.entities.EstadoDisponibilidad;
 public interface DisponibilidadService {
 
     /**
-     * Obtiene todas las disponibilidades del sistema.
+     * Obtiene una página de disponibilidades ordenada por ID mediante paginación por cursor.
      *
-     * @return lista de todas las disponibilidades
+     * @param after último ID recibido en la página anterior (null para la primera página)
+     * @param limit número máximo de elementos (null para el valor por defecto, acotado a {@link Paginacion#LIMITE_MAXIMO})
+     * @return PaginaCursorDTO con los DisponibilidadDTO de la página y el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
      */
-    List<DisponibilidadDTO> findAll();
+    PaginaCursorDTO<DisponibilidadDTO> findAll(Long after, Integer limit);
 
     /**
      * Crea una nueva disponibilidad.
@@ -53,6 +58,20 @@ public interface DisponibilidadService {
      */
     void deleteById(Long id);
 
+    /**
+     * Registra o actualiza en bloque varias disponibilidades (upsert).
+     * <p>
+     * Cada elemento indica evento, jugador, estado y comentario opcional. Si ya existe
+     * una disponibilidad para ese evento y jugador se actualiza; si no, se crea.
+     * Los elementos inválidos o sin permisos se devuelven como ERROR sin afectar al resto.
+     * </p>
+     *
+     * @param lote lista de disponibilidades a registrar
+     * @return resultado de cada elemento en el mismo orden que la petición
+     * @throws IllegalArgumentException si el lote es nulo
+     */
+    List<ResultadoLoteDTO<DisponibilidadDTO>> guardarLote(List<DisponibilidadDTO> lote);
+
     /**
      * Busca una disponibilidad por su ID.
      *
@@ -1,16 +1,32 @@
 package com.gestiondeportiva.api.services;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.gestiondeportiva.api.dto.DisponibilidadDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
+import com.gestiondeportiva.api.dto.ResultadoLoteDTO;
+import com.gestiondeportiva.api.dto.ResultadoLoteDTO.Resultado;
 import com.gestiondeportiva.api.entities.Disponibilidad;
 import com.gestiondeportiva.api.entities.EstadoDisponibilidad;
+import com.gestiondeportiva.api.entities.Evento;
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.entities.Usuario;
 import com.gestiondeportiva.api.mappers.DisponibilidadMapper;
 import com.gestiondeportiva.api.repositories.DisponibilidadRepository;
+import com.gestiondeportiva.api.repositories.EventoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+import com.gestiondeportiva.api.security.SecurityUtils;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -31,19 +47,31 @@ public class DisponibilidadServiceImpl implements DisponibilidadService {
 
     private final DisponibilidadRepository disponibilidadRepository;
     private final DisponibilidadMapper disponibilidadMapper;
+    private final EventoRepository eventoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final SecurityUtils securityUtils;
 
     public DisponibilidadServiceImpl(DisponibilidadRepository disponibilidadRepository,
-            DisponibilidadMapper disponibilidadMapper) {
+            DisponibilidadMapper disponibilidadMapper,
+            EventoRepository eventoRepository,
+            UsuarioRepository usuarioRepository,
+            SecurityUtils securityUtils) {
         this.disponibilidadRepository = disponibilidadRepository;
         this.disponibilidadMapper = disponibilidadMapper;
+        this.eventoRepository = eventoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.securityUtils = securityUtils;
     }
 
     // ================== CRUD ==================
 
     @Override
     @Transactional(readOnly = true)
-    public List<DisponibilidadDTO> findAll() {
-        return disponibilidadMapper.toDTOList(disponibilidadRepository.findAll());
+    public PaginaCursorDTO<DisponibilidadDTO> findAll(Long after, Integer limit) {
+        return Paginacion.pagina(
+                disponibilidadRepository.findByIdGreaterThan(Paginacion.cursor(after), Paginacion.ventana(limit)),
+                disponibilidadMapper::toDTOList,
+                Disponibilidad::getId);
     }
 
     @Override
@@ -93,6 +121,97 @@ public class DisponibilidadServiceImpl implements DisponibilidadService {
         disponibilidadRepository.deleteById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <strong>Sentencias ejecutadas:</strong> un SELECT ... IN de eventos, otro de jugadores
+     * y otro de las disponibilidades existentes; después, las inserciones y actualizaciones
+     * se envían agrupadas en lotes JDBC al confirmar la transacción.
+     * </p>
+     * <p>
+     * <strong>Control de acceso por elemento:</strong>
+     * </p>
+     * <ul>
+     *   <li>ADMIN: Cualquier jugador y evento</li>
+     *   <li>ENTRENADOR: Solo jugadores de su equipo</li>
+     *   <li>JUGADOR: Solo su propia disponibilidad</li>
+     * </ul>
+     */
+    @Override
+    @Transactional
+    public List<ResultadoLoteDTO<DisponibilidadDTO>> guardarLote(List<DisponibilidadDTO> lote) {
+        if (lote == null) {
+            throw new IllegalArgumentException("El lote de disponibilidades no puede ser nulo");
+        }
+
+        Usuario actual = securityUtils.getUsuarioActual();
+
+        Set<Long> idsEventos = new HashSet<>();
+        Set<Long> idsJugadores = new HashSet<>();
+        for (DisponibilidadDTO dto : lote) {
+            if (dto != null && dto.getIdEvento() != null && dto.getIdJugador() != null) {
+                idsEventos.add(dto.getIdEvento());
+                idsJugadores.add(dto.getIdJugador());
+            }
+        }
+
+        Map<Long, Evento> eventos = eventoRepository.findAllById(idsEventos).stream()
+                .collect(Collectors.toMap(Evento::getId, Function.identity()));
+        Map<Long, Usuario> jugadores = usuarioRepository.findAllById(idsJugadores).stream()
+                .collect(Collectors.toMap(Usuario::getId, Function.identity()));
+
+        // Una única consulta IN para resolver las filas que ya existen
+        Map<String, Disponibilidad> existentes = new HashMap<>();
+        if (!idsEventos.isEmpty()) {
+            for (Disponibilidad d : disponibilidadRepository.findByEventoIdInAndJugadorIdIn(idsEventos, idsJugadores)) {
+                existentes.put(clave(d.getEvento().getId(), d.getJugador().getId()), d);
+            }
+        }
+
+        List<Disponibilidad> nuevas = new ArrayList<>();
+        Disponibilidad[] guardadas = new Disponibilidad[lote.size()];
+        Resultado[] tipos = new Resultado[lote.size()];
+        List<ResultadoLoteDTO<DisponibilidadDTO>> resultados = new ArrayList<>(lote.size());
+        Set<String> procesadas = new HashSet<>();
+
+        for (int i = 0; i < lote.size(); i++) {
+            DisponibilidadDTO dto = lote.get(i);
+            String error = validarElemento(dto, eventos, jugadores, actual);
+            if (error == null && !procesadas.add(clave(dto.getIdEvento(), dto.getIdJugador()))) {
+                error = "Disponibilidad repetida en el lote para el evento " + dto.getIdEvento()
+                        + " y el jugador " + dto.getIdJugador();
+            }
+            if (error != null) {
+                resultados.add(ResultadoLoteDTO.error(i, error));
+                continue;
+            }
+
+            Disponibilidad disponibilidad = existentes.get(clave(dto.getIdEvento(), dto.getIdJugador()));
+            if (disponibilidad != null) {
+                // Entidad gestionada: el UPDATE se genera al hacer flush
+                disponibilidad.setEstadoDisponibilidad(dto.getEstadoDisponibilidad());
+                disponibilidad.setComentario(dto.getComentario());
+                tipos[i] = Resultado.ACTUALIZADO;
+            } else {
+                disponibilidad = new Disponibilidad(eventos.get(dto.getIdEvento()), jugadores.get(dto.getIdJugador()),
+                        dto.getEstadoDisponibilidad(), dto.getComentario());
+                nuevas.add(disponibilidad);
+                tipos[i] = Resultado.CREADO;
+            }
+            guardadas[i] = disponibilidad;
+            resultados.add(null);
+        }
+
+        disponibilidadRepository.saveAll(nuevas);
+
+        for (int i = 0; i < lote.size(); i++) {
+            if (guardadas[i] != null) {
+                resultados.set(i, ResultadoLoteDTO.ok(i, tipos[i], disponibilidadMapper.toDTO(guardadas[i])));
+            }
+        }
+        return resultados;
+    }
+
     // ================== Filtros ==================
 
     @Override
@@ -105,21 +224,56 @@ public class DisponibilidadServiceImpl implements DisponibilidadService {
     @Override
     @Transactional(readOnly = true)
     public List<DisponibilidadDTO> findByJugadorId(Long jugadorId) {
-        return disponibilidadMapper.toDTOList(disponibilidadRepository.findByJugadorId(jugadorId));
+        return disponibilidadRepository.findByJugadorId(jugadorId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<DisponibilidadDTO> findByEventoId(Long eventoId) {
-        return disponibilidadMapper.toDTOList(disponibilidadRepository.findByEventoId(eventoId));
+        return disponibilidadRepository.findByEventoId(eventoId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<DisponibilidadDTO> findByEventoIdAndEstadoDisponibilidad(Long eventoId,
             EstadoDisponibilidad estadoDisponibilidad) {
-        return disponibilidadMapper
-                .toDTOList(disponibilidadRepository.findByEventoIdAndEstadoDisponibilidad(eventoId, estadoDisponibilidad));
+        return disponibilidadRepository.findByEventoIdAndEstadoDisponibilidad(eventoId, estadoDisponibilidad);
+    }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * Valida un elemento del lote y los permisos del usuario sobre él.
+     *
+     * @return mensaje de error, o null si el elemento es válido
+     */
+    private String validarElemento(DisponibilidadDTO dto, Map<Long, Evento> eventos,
+            Map<Long, Usuario> jugadores, Usuario actual) {
+        if (dto == null || dto.getIdEvento() == null || dto.getIdJugador() == null) {
+            return "Debe indicar el evento y el jugador de la disponibilidad";
+        }
+        if (dto.getEstadoDisponibilidad() == null) {
+            return "Debe indicar el estado de la disponibilidad";
+        }
+        if (!eventos.containsKey(dto.getIdEvento())) {
+            return "Evento no encontrado con ID: " + dto.getIdEvento();
+        }
+        Usuario jugador = jugadores.get(dto.getIdJugador());
+        if (jugador == null) {
+            return "Jugador no encontrado con ID: " + dto.getIdJugador();
+        }
+        if (actual.getRol() == Rol.JUGADOR && !actual.getId().equals(jugador.getId())) {
+            return "Un jugador solo puede registrar su propia disponibilidad";
+        }
+        if (actual.getRol() == Rol.ENTRENADOR && (actual.getEquipo() == null || jugador.getEquipo() == null
+                || !actual.getEquipo().getId().equals(jugador.getEquipo().getId()))) {
+            return "No puedes registrar la disponibilidad de jugadores de otro equipo";
+        }
+        return null;
+    }
+
+    private static String clave(Long eventoId, Long jugadorId) {
+        return eventoId + ":" + jugadorId;
     }
 
 }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.gestiondeportiva.api.dto.EstadisticaDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
 
 /**
  * Servicio de lógica de negocio para la gestión de estadísticas de jugadores.
@@ -31,11 +32,14 @@ public interface EstadisticaService {
 
 
     /**
-     * Obtiene todas las estadísticas del sistema.
+     * Obtiene una página de estadísticas ordenada por ID mediante paginación por cursor.
      *
-     * @return lista de EstadisticaDTO con todas las estadísticas
+     * @param after último ID recibido en la página anterior (null para la primera página)
+     * @param limit número máximo de elementos (null para el valor por defecto, acotado a {@link Paginacion#LIMITE_MAXIMO})
+     * @return PaginaCursorDTO con los EstadisticaDTO de la página y el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
      */
-    List<EstadisticaDTO> findAll();
+    PaginaCursorDTO<EstadisticaDTO> findAll(Long after, Integer limit);
 
     /**
      * Crea una nueva estadística con lógica de upsert.
@@ -74,6 +78,25 @@ public interface EstadisticaService {
      */
     void deleteById(Long id);
 
+    /**
+     * Guarda la hoja de estadísticas completa de un evento (upsert por jugador).
+     * <p>
+     * Para cada línea, si ya existe una estadística del jugador en el evento se
+     * actualizan sus valores; si no, se crea. El ID de evento de cada línea se
+     * ignora: se usa el indicado. La operación es atómica: si alguna línea es
+     * inválida no se guarda ninguna.
+     * </p>
+     *
+     * @param eventoId ID del evento
+     * @param lineas estadísticas de cada jugador (goles y tarjetas)
+     * @return lista de EstadisticaDTO guardadas, en el mismo orden que las líneas
+     * @throws IllegalArgumentException si falta algún campo obligatorio o hay jugadores repetidos
+     * @throws jakarta.persistence.EntityNotFoundException si el evento o algún jugador no existen
+     * @throws org.springframework.security.access.AccessDeniedException si un ENTRENADOR indica
+     *         un evento o un jugador de otro equipo
+     */
+    List<EstadisticaDTO> guardarHojaPartido(Long eventoId, List<EstadisticaDTO> lineas);
+
     /**
      * Busca todas las estadísticas de un jugador específico.
      *
@@ -1,12 +1,20 @@
 package com.gestiondeportiva.api.services;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.gestiondeportiva.api.dto.EstadisticaDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
 import com.gestiondeportiva.api.entities.Estadistica;
 import com.gestiondeportiva.api.entities.Usuario;
 import com.gestiondeportiva.api.entities.Evento;
@@ -14,6 +22,7 @@ import com.gestiondeportiva.api.mappers.EstadisticaMapper;
 import com.gestiondeportiva.api.repositories.EstadisticaRepository;
 import com.gestiondeportiva.api.repositories.UsuarioRepository;
 import com.gestiondeportiva.api.repositories.EventoRepository;
+import com.gestiondeportiva.api.security.SecurityUtils;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -45,15 +54,18 @@ public class EstadisticaServiceImpl implements EstadisticaService {
     private final EstadisticaMapper estadisticaMapper;
     private final UsuarioRepository usuarioRepository;
     private final EventoRepository eventoRepository;
+    private final SecurityUtils securityUtils;
 
     public EstadisticaServiceImpl(EstadisticaRepository estadisticaRepository,
                                    EstadisticaMapper estadisticaMapper,
                                    UsuarioRepository usuarioRepository,
-                                   EventoRepository eventoRepository) {
+                                   EventoRepository eventoRepository,
+                                   SecurityUtils securityUtils) {
         this.estadisticaRepository = estadisticaRepository;
         this.estadisticaMapper = estadisticaMapper;
         this.usuarioRepository = usuarioRepository;
         this.eventoRepository = eventoRepository;
+        this.securityUtils = securityUtils;
     }
 
     // ================== CRUD ==================
@@ -63,8 +75,11 @@ public class EstadisticaServiceImpl implements EstadisticaService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<EstadisticaDTO> findAll() {
-        return estadisticaMapper.toDTOList(estadisticaRepository.findAll());
+    public PaginaCursorDTO<EstadisticaDTO> findAll(Long after, Integer limit) {
+        return Paginacion.pagina(
+                estadisticaRepository.findByIdGreaterThan(Paginacion.cursor(after), Paginacion.ventana(limit)),
+                estadisticaMapper::toDTOList,
+                Estadistica::getId);
     }
 
     /**
@@ -198,6 +213,73 @@ public class EstadisticaServiceImpl implements EstadisticaService {
         estadisticaRepository.deleteById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <strong>Sentencias ejecutadas</strong> (independientemente del número de jugadores):
+     * </p>
+     * <ol>
+     *   <li>Un SELECT del evento</li>
+     *   <li>Un SELECT ... IN que valida y carga todos los jugadores</li>
+     *   <li>Un SELECT de las estadísticas ya registradas en el evento</li>
+     *   <li>Los INSERT y UPDATE agrupados en lotes JDBC al confirmar la transacción</li>
+     * </ol>
+     */
+    @Override
+    @Transactional
+    public List<EstadisticaDTO> guardarHojaPartido(Long eventoId, List<EstadisticaDTO> lineas) {
+        if (lineas == null) {
+            throw new IllegalArgumentException("La hoja de estadísticas no puede ser nula");
+        }
+
+        Set<Long> idsJugadores = new HashSet<>();
+        for (EstadisticaDTO linea : lineas) {
+            validarLinea(linea);
+            if (!idsJugadores.add(linea.getIdJugador())) {
+                throw new IllegalArgumentException("El jugador " + linea.getIdJugador() + " aparece repetido en la hoja");
+            }
+        }
+
+        Evento evento = eventoRepository.findById(eventoId)
+                .orElseThrow(() -> new EntityNotFoundException("Evento no encontrado con ID: " + eventoId));
+        securityUtils.checkEntrenadorSoloEventosDeSuEquipo(evento);
+
+        // Un único SELECT ... IN para validar todos los jugadores
+        Map<Long, Usuario> jugadores = usuarioRepository.findAllById(idsJugadores).stream()
+                .collect(Collectors.toMap(Usuario::getId, Function.identity()));
+        if (jugadores.size() != idsJugadores.size()) {
+            idsJugadores.removeAll(jugadores.keySet());
+            throw new EntityNotFoundException("Jugadores no encontrados con ID: " + idsJugadores);
+        }
+        jugadores.values().forEach(securityUtils::checkEntrenadorSoloJugadoresDeSuEquipo);
+
+        // Estadísticas existentes del evento, indexadas por la clave (evento, jugador)
+        Map<Long, Estadistica> existentes = new HashMap<>();
+        for (Estadistica estadistica : estadisticaRepository.findByEventoId(eventoId)) {
+            existentes.putIfAbsent(estadistica.getJugador().getId(), estadistica);
+        }
+
+        List<Estadistica> hoja = new ArrayList<>(lineas.size());
+        List<Estadistica> nuevas = new ArrayList<>();
+        for (EstadisticaDTO linea : lineas) {
+            Estadistica estadistica = existentes.get(linea.getIdJugador());
+            if (estadistica == null) {
+                estadistica = new Estadistica();
+                estadistica.setEvento(evento);
+                estadistica.setJugador(jugadores.get(linea.getIdJugador()));
+                nuevas.add(estadistica);
+            }
+            // Las existentes están gestionadas: el UPDATE se genera al hacer flush
+            estadistica.setGoles(linea.getGoles());
+            estadistica.setTarjetasAmarillas(linea.getTarjetasAmarillas());
+            estadistica.setTarjetasRojas(linea.getTarjetasRojas());
+            hoja.add(estadistica);
+        }
+
+        estadisticaRepository.saveAll(nuevas);
+        return estadisticaMapper.toDTOList(hoja);
+    }
+
     // ================== Filtros ==================
 
     @Override
@@ -218,4 +300,27 @@ public class EstadisticaServiceImpl implements EstadisticaService {
     public List<EstadisticaDTO> findByEventoId(Long eventoId) {
         return estadisticaMapper.toDTOList(estadisticaRepository.findByEventoId(eventoId));
     }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * Valida los campos obligatorios de una línea de la hoja de estadísticas.
+     *
+     * @param linea línea a validar
+     * @throws IllegalArgumentException si falta el jugador, los goles o las tarjetas
+     */
+    private void validarLinea(EstadisticaDTO linea) {
+        if (linea == null || linea.getIdJugador() == null) {
+            throw new IllegalArgumentException("Debe especificar el jugador de cada línea de la hoja");
+        }
+        if (linea.getGoles() == null) {
+            throw new IllegalArgumentException("Debe indicar la cantidad de goles del jugador " + linea.getIdJugador());
+        }
+        if (linea.getTarjetasAmarillas() == null) {
+            throw new IllegalArgumentException("Debe indicar las tarjetas amarillas del jugador " + linea.getIdJugador());
+        }
+        if (linea.getTarjetasRojas() == null) {
+            throw new IllegalArgumentException("Debe indicar las tarjetas rojas del jugador " + linea.getIdJugador());
+        }
+    }
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.gestiondeportiva.api.dto.EventoDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
 import com.gestiondeportiva.api.entities.TipoEvento;
 
 /**
@@ -23,11 +24,14 @@ import com.gestiondeportiva.api.entities.TipoEvento;
 public interface EventoService {
 
     /**
-     * Obtiene todos los eventos del sistema.
+     * Obtiene una página de eventos ordenada por ID mediante paginación por cursor.
      *
-     * @return lista de EventoDTO con todos los eventos
+     * @param after último ID recibido en la página anterior (null para la primera página)
+     * @param limit número máximo de elementos (null para el valor por defecto, acotado a {@link Paginacion#LIMITE_MAXIMO})
+     * @return PaginaCursorDTO con los EventoDTO de la página y el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
      */
-    List<EventoDTO> findAll();
+    PaginaCursorDTO<EventoDTO> findAll(Long after, Integer limit);
 
     /**
      * Crea un nuevo evento.
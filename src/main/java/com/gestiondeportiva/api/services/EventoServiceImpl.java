@@ -4,11 +4,13 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.gestiondeportiva.api.dto.EventoDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
 import com.gestiondeportiva.api.entities.Evento;
 import com.gestiondeportiva.api.entities.TipoEvento;
 import com.gestiondeportiva.api.entities.Usuario;
@@ -62,28 +64,29 @@ public class EventoServiceImpl implements EventoService {
      *   <li>ENTRENADOR: Solo ve eventos de su equipo</li>
      *   <li>JUGADOR: Solo ve eventos de su equipo</li>
      * </ul>
+     * <p>
+     * La restricción por equipo la aplica el filtro de Hibernate {@code filtroEquipo}
+     * en la propia consulta.
+     * </p>
      *
      * @throws AccessDeniedException si el usuario no tiene equipo asignado
      */
     @Override
     @Transactional(readOnly = true)
-    public List<EventoDTO> findAll() {
+    public PaginaCursorDTO<EventoDTO> findAll(Long after, Integer limit) {
 
-        Usuario actual = securityUtils.getUsuarioActual();
+        Long cursor = Paginacion.cursor(after);
+        Pageable ventana = Paginacion.ventana(limit);
 
-        // ADMIN → ve todos
-        if (securityUtils.esAdminActual()) {
-            return eventoMapper.toDTOList(eventoRepository.findAll());
+        // ENTRENADOR o JUGADOR → el filtro de equipo acota la consulta a su equipo
+        if (!securityUtils.esAdminActual()) {
+            comprobarEquipoAsignado();
         }
 
-        // ENTRENADOR o JUGADOR → solo eventos de su equipo
-        if (actual.getEquipo() == null) {
-            throw new AccessDeniedException("No tienes equipo asignado para ver eventos");
-        }
-
-        return eventoMapper.toDTOList(
-                eventoRepository.findByEquipoId(actual.getEquipo().getId())
-        );
+        return Paginacion.pagina(
+                eventoRepository.findByIdGreaterThan(cursor, ventana),
+                eventoMapper::toDTOList,
+                Evento::getId);
     }
 
     /**
@@ -254,71 +257,63 @@ public class EventoServiceImpl implements EventoService {
     @Transactional(readOnly = true)
     public List<EventoDTO> findByFechaAfter(LocalDate fecha) {
 
-        Usuario actual = securityUtils.getUsuarioActual();
-
-        // ADMIN → sin restricciones
-        if (securityUtils.esAdminActual()) {
-            return eventoMapper.toDTOList(eventoRepository.findByFechaAfter(fecha));
+        // ENTRENADOR o JUGADOR → el filtro de equipo acota la consulta a su equipo
+        if (!securityUtils.esAdminActual()) {
+            comprobarEquipoAsignado();
         }
 
-        // ENTRENADOR o JUGADOR → filtrar solo eventos de su equipo
-        return eventoMapper.toDTOList(
-                eventoRepository.findByFechaAfter(fecha).stream()
-                        .filter(ev -> ev.getEquipo().getId().equals(actual.getEquipo().getId()))
-                        .toList()
-        );
+        return eventoMapper.toDTOList(eventoRepository.findByFechaAfter(fecha));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<EventoDTO> findByTipo(TipoEvento tipoEvento) {
 
-        Usuario actual = securityUtils.getUsuarioActual();
-
-        if (securityUtils.esAdminActual()) {
-            return eventoMapper.toDTOList(eventoRepository.findByTipoEvento(tipoEvento));
+        if (!securityUtils.esAdminActual()) {
+            comprobarEquipoAsignado();
         }
 
-        return eventoMapper.toDTOList(
-                eventoRepository.findByTipoEvento(tipoEvento).stream()
-                        .filter(ev -> ev.getEquipo().getId().equals(actual.getEquipo().getId()))
-                        .toList()
-        );
+        return eventoMapper.toDTOList(eventoRepository.findByTipoEvento(tipoEvento));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<EventoDTO> findByFecha(LocalDate fecha) {
 
-        Usuario actual = securityUtils.getUsuarioActual();
-
-        if (securityUtils.esAdminActual()) {
-            return eventoMapper.toDTOList(eventoRepository.findByFecha(fecha));
+        if (!securityUtils.esAdminActual()) {
+            comprobarEquipoAsignado();
         }
 
-        return eventoMapper.toDTOList(
-                eventoRepository.findByFecha(fecha).stream()
-                        .filter(ev -> ev.getEquipo().getId().equals(actual.getEquipo().getId()))
-                        .toList()
-        );
+        return eventoMapper.toDTOList(eventoRepository.findByFecha(fecha));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<EventoDTO> findByLugar(String lugar) {
 
-        Usuario actual = securityUtils.getUsuarioActual();
-
-        if (securityUtils.esAdminActual()) {
-            return eventoMapper.toDTOList(eventoRepository.findByLugar(lugar));
+        if (!securityUtils.esAdminActual()) {
+            comprobarEquipoAsignado();
         }
 
-        return eventoMapper.toDTOList(
-                eventoRepository.findByLugar(lugar).stream()
-                        .filter(ev -> ev.getEquipo().getId().equals(actual.getEquipo().getId()))
-                        .toList()
-        );
+        return eventoMapper.toDTOList(eventoRepository.findByLugar(lugar));
     }
 
-}
+    // ================== Auxiliares ==================
+
+    /**
+     * Comprueba que el usuario autenticado tiene equipo asignado antes de listar eventos.
+     * <p>
+     * El acotado por equipo lo hace el filtro {@code filtroEquipo}; sin equipo no hay
+     * eventos que ver y se responde 403 en lugar de una lista vacía. Se usa el equipo
+     * del token, el mismo con el que se activa el filtro.
+     * </p>
+     *
+     * @throws AccessDeniedException si el usuario no tiene equipo asignado
+     */
+    private void comprobarEquipoAsignado() {
+        if (securityUtils.getEquipoIdActual() == null) {
+            throw new AccessDeniedException("No tienes equipo asignado para ver eventos");
+        }
+    }
 
+}
@@ -1,34 +1,114 @@
 package com.gestiondeportiva.api.services;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.gestiondeportiva.api.entities.ArchivoAlmacenado;
+import com.gestiondeportiva.api.repositories.ArchivoAlmacenadoRepository;
+
+/**
+ * Almacén local de archivos direccionado por contenido.
+ * <p>
+ * Cada archivo se guarda con el SHA-256 de su contenido como nombre, repartido en dos
+ * niveles de subdirectorios ({@code ab/cd/abcd….jpg}, 65.536 directorios): con millones
+ * de archivos cada directorio sigue teniendo unas decenas y las búsquedas son rápidas.
+ * </p>
+ *
+ * <p><strong>Garantías:</strong></p>
+ * <ul>
+ *   <li>Deduplicación: si el contenido ya está guardado, guardarlo otra vez solo cuesta
+ *       calcular el hash y sumar una referencia</li>
+ *   <li>Escritura atómica: el archivo se escribe en un temporal del propio almacén, se
+ *       sincroniza con el disco y se renombra; nunca se ve un archivo a medias</li>
+ *   <li>Contador de referencias (tabla archivos_almacenados): eliminar resta una
+ *       referencia y el archivo solo se borra cuando no le queda ninguna</li>
+ *   <li>Los nombres no cambian nunca de contenido, así que se pueden cachear sin caducidad</li>
+ * </ul>
+ * <p>
+ * Las operaciones sobre un mismo nombre se serializan con {@value #FRANJAS} cerrojos
+ * repartidos por nombre. El almacén es local, por lo que cada instancia gestiona el suyo.
+ * </p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see ArchivoAlmacenado
+ */
 @Service
 public class FileStorageService {
 
+    /** Número de cerrojos (potencia de dos) */
+    static final int FRANJAS = 64;
+
+    /** Nombre de un archivo del almacén: {@code ab/cd/<sha256>.<ext>} */
+    private static final Pattern NOMBRE = Pattern.compile("([0-9a-f]{2})/([0-9a-f]{2})/\\1\\2[0-9a-f]{60}\\.[a-z0-9]{1,5}");
+
+    /** Nombre de un archivo anterior al almacén por contenido: {@code <uuid>.<ext>} en la raíz */
+    private static final Pattern NOMBRE_ANTIGUO = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}(\\.[A-Za-z0-9]{1,10})?");
+
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,5}");
+
+    private static final Map<String, String> EXTENSIONES = Map.of(
+            "image/jpeg", "jpg",
+            "image/jpg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp");
+
+    private static final int TAMANIO_BLOQUE = 64 * 1024;
+
     private final Path fileStorageLocation;
+    private final Path temporales;
+    private final ArchivoAlmacenadoRepository archivoAlmacenadoRepository;
+    private final Object[] cerrojos = new Object[FRANJAS];
 
-    public FileStorageService(@Value("${file.upload-dir}") String uploadDir) {
+    public FileStorageService(@Value("${file.upload-dir}") String uploadDir,
+                              ArchivoAlmacenadoRepository archivoAlmacenadoRepository) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.temporales = this.fileStorageLocation.resolve(".tmp");
+        this.archivoAlmacenadoRepository = archivoAlmacenadoRepository;
+        for (int i = 0; i < FRANJAS; i++) {
+            cerrojos[i] = new Object();
+        }
 
         try {
-            Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.temporales);
         } catch (IOException ex) {
             throw new RuntimeException("No se pudo crear el directorio para almacenar archivos", ex);
         }
     }
 
     /**
-     * Guarda un archivo y retorna el nombre del archivo guardado
+     * Guarda una imagen subida y retorna su nombre en el almacén.
+     * <p>
+     * El contenido se copia en bloques a un temporal mientras se calcula su hash, sin
+     * cargarlo entero en memoria.
+     * </p>
+     *
+     * @param file imagen subida
+     * @return ruta relativa del archivo ({@code ab/cd/<sha256>.<ext>})
+     * @throws IllegalArgumentException si el archivo está vacío o no es una imagen
      */
     public String guardarArchivo(MultipartFile file) {
         // Validar que el archivo no esté vacío
@@ -41,55 +121,183 @@ public class FileStorageService {
         if (contentType == null || !contentType.startsWith("image/")) {
             throw new IllegalArgumentException("Solo se permiten archivos de imagen");
         }
+        String extension = EXTENSIONES.getOrDefault(contentType.toLowerCase(Locale.ROOT), "img");
 
-        // Obtener extensión del archivo
-        String originalFilename = file.getOriginalFilename();
-        if (originalFilename == null || originalFilename.isEmpty()) {
-            throw new IllegalArgumentException("El nombre del archivo no es válido");
+        Path temporal = temporales.resolve(UUID.randomUUID() + ".part");
+        try {
+            MessageDigest sha256 = nuevoSha256();
+            try (InputStream entrada = new DigestInputStream(file.getInputStream(), sha256)) {
+                Files.copy(entrada, temporal);
+            }
+            return almacenar(temporal, HexFormat.of().formatHex(sha256.digest()), extension);
+        } catch (IOException ex) {
+            eliminarSinErrores(temporal);
+            throw new RuntimeException("Error al guardar el archivo", ex);
         }
+    }
 
-        String cleanFilename = StringUtils.cleanPath(originalFilename);
-        String extension = "";
-        int dotIndex = cleanFilename.lastIndexOf('.');
-        if (dotIndex > 0) {
-            extension = cleanFilename.substring(dotIndex);
+    /**
+     * Guarda en el almacén un archivo local, que se mueve (o se elimina, si su contenido
+     * ya estaba guardado).
+     *
+     * @param origen archivo a guardar
+     * @param extension extensión del nombre en el almacén (por ejemplo, "jpg")
+     * @return ruta relativa del archivo ({@code ab/cd/<sha256>.<ext>})
+     */
+    public String guardarArchivo(Path origen, String extension) {
+        if (!EXTENSION.matcher(extension).matches()) {
+            throw new IllegalArgumentException("Extensión no válida: " + extension);
         }
-
-        // Generar nombre único para el archivo
-        String nuevoNombre = UUID.randomUUID().toString() + extension;
-
         try {
-            // Copiar archivo al directorio de destino
-            Path targetLocation = this.fileStorageLocation.resolve(nuevoNombre);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            return nuevoNombre;
+            return almacenar(origen, calcularHash(origen), extension);
         } catch (IOException ex) {
-            throw new RuntimeException("Error al guardar el archivo: " + nuevoNombre, ex);
+            throw new RuntimeException("Error al guardar el archivo: " + origen.getFileName(), ex);
         }
     }
 
     /**
-     * Elimina un archivo por su nombre
+     * Resta una referencia a un archivo y lo borra del disco si no le quedan más.
+     * <p>
+     * Los archivos anteriores al almacén por contenido (nombre UUID en la raíz) se
+     * borran directamente. Cualquier otro nombre se rechaza: una variante no canónica de
+     * un nombre del almacén ({@code ab/cd/./…}) apuntaría a un archivo compartido y lo
+     * borraría sin tener en cuenta sus referencias.
+     * </p>
+     *
+     * @param fileName ruta relativa del archivo
+     * @throws IllegalArgumentException si el nombre no es de un archivo del almacén
      */
     public void eliminarArchivo(String fileName) {
         if (fileName == null || fileName.isEmpty()) {
             return;
         }
 
-        try {
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
-            Files.deleteIfExists(filePath);
-        } catch (IOException ex) {
-            // Log pero no lanzar excepción, es opcional eliminar la foto anterior
-            System.err.println("No se pudo eliminar el archivo: " + fileName);
+        if (NOMBRE_ANTIGUO.matcher(fileName).matches()) {
+            eliminarSinErrores(obtenerRutaArchivo(fileName));
+            return;
+        }
+        if (!NOMBRE.matcher(fileName).matches()) {
+            throw new IllegalArgumentException("Nombre de archivo no válido");
+        }
+
+        synchronized (cerrojo(fileName)) {
+            archivoAlmacenadoRepository.restarReferencia(fileName);
+            if (archivoAlmacenadoRepository.deleteSinReferencias(fileName) == 1) {
+                eliminarSinErrores(fileStorageLocation.resolve(fileName));
+            }
         }
     }
 
     /**
-     * Obtiene la ruta completa del archivo
+     * Obtiene la ruta completa de un archivo del almacén.
+     *
+     * @param fileName ruta relativa del archivo
+     * @return ruta absoluta dentro del almacén
+     * @throws IllegalArgumentException si el nombre sale del directorio del almacén
      */
     public Path obtenerRutaArchivo(String fileName) {
-        return this.fileStorageLocation.resolve(fileName).normalize();
+        Path ruta = this.fileStorageLocation.resolve(fileName).normalize();
+        if (!ruta.startsWith(fileStorageLocation) || ruta.startsWith(temporales)) {
+            throw new IllegalArgumentException("Nombre de archivo no válido");
+        }
+        return ruta;
+    }
+
+    /**
+     * Indica si un nombre corresponde a un archivo direccionado por contenido (su
+     * contenido no cambia nunca y se puede cachear sin caducidad).
+     *
+     * @param fileName ruta relativa del archivo
+     * @return true si el nombre tiene la forma {@code ab/cd/<sha256>.<ext>}
+     */
+    public boolean esDireccionadoPorContenido(String fileName) {
+        return fileName != null && NOMBRE.matcher(fileName).matches();
+    }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * Coloca el archivo en su ruta definitiva, o lo descarta si el contenido ya estaba,
+     * y suma una referencia.
+     */
+    private String almacenar(Path origen, String hash, String extension) throws IOException {
+        String nombre = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+        Path destino = fileStorageLocation.resolve(nombre);
+        long tamanio = Files.size(origen);
+
+        synchronized (cerrojo(nombre)) {
+            if (Files.exists(destino)) {
+                Files.delete(origen);
+            } else {
+                Files.createDirectories(destino.getParent());
+                mover(origen, destino);
+            }
+            if (archivoAlmacenadoRepository.sumarReferencia(nombre) == 0) {
+                archivoAlmacenadoRepository.save(new ArchivoAlmacenado(nombre, 1, tamanio, LocalDateTime.now()));
+            }
+        }
+        return nombre;
+    }
+
+    /**
+     * Sincroniza el archivo con el disco y lo renombra atómicamente a su destino. Si el
+     * origen está en otro sistema de archivos, se copia antes a un temporal del almacén.
+     */
+    private void mover(Path origen, Path destino) throws IOException {
+        sincronizar(origen);
+        try {
+            Files.move(origen, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Path temporal = temporales.resolve(UUID.randomUUID() + ".part");
+            try {
+                Files.copy(origen, temporal);
+                sincronizar(temporal);
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                eliminarSinErrores(temporal);
+            }
+            Files.delete(origen);
+        }
+    }
+
+    private static void sincronizar(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.force(true);
+        }
+    }
+
+    private static String calcularHash(Path archivo) throws IOException {
+        MessageDigest sha256 = nuevoSha256();
+        ByteBuffer bloque = ByteBuffer.allocate(TAMANIO_BLOQUE);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            while (canal.read(bloque) != -1) {
+                bloque.flip();
+                sha256.update(bloque);
+                bloque.clear();
+            }
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private static MessageDigest nuevoSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private Object cerrojo(String nombre) {
+        int h = nombre.hashCode();
+        return cerrojos[(h ^ (h >>> 16)) & (FRANJAS - 1)];
+    }
+
+    private static void eliminarSinErrores(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException ex) {
+            // Log pero no lanzar excepción, es opcional eliminar el archivo
+            System.err.println("No se pudo eliminar el archivo: " + archivo.getFileName());
+        }
     }
 }
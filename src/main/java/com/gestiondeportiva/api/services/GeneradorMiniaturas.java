@@ -0,0 +1,317 @@
+package com.gestiondeportiva.api.services;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Generación local de los tamaños de la foto de perfil.
+ * <p>
+ * En lugar de subir el original (hasta 5 MB) y reducirlo en Cloudinary, la foto se
+ * decodifica y se reduce aquí a tres tamaños, que se suben ya en JPEG: así se sube
+ * menos y cada pantalla descarga solo el tamaño que muestra.
+ * </p>
+ *
+ * <p><strong>Tamaños (lado mayor, manteniendo la proporción y sin ampliar):</strong></p>
+ * <ul>
+ *   <li>Grande: 500 px (perfil)</li>
+ *   <li>Mediana: 120 px (fichas y listados)</li>
+ *   <li>Miniatura: 40 px (avatares en plantillas y convocatorias)</li>
+ * </ul>
+ *
+ * <p><strong>Memoria:</strong> las imágenes grandes se decodifican submuestreadas
+ * (solo se leen los píxeles necesarios para unas dos veces el tamaño grande), y cada
+ * tamaño se obtiene del anterior reduciendo a la mitad en varios pasos para evitar
+ * el aliasing.</p>
+ *
+ * <p><strong>Orientación:</strong> ImageIO ignora la etiqueta EXIF Orientation y el
+ * JPEG generado no la conserva, así que la rotación o el volteo que indica (habitual en
+ * las fotos de móvil) se aplica a los píxeles antes de reducir.</p>
+ *
+ * <p><strong>Errores:</strong> un archivo sin decodificador (WebP, HEIC...), que no se
+ * puede decodificar (JPEG CMYK, archivo corrupto) o demasiado grande lanza
+ * IllegalArgumentException: volver a intentarlo no cambiaría el resultado.
+ * {@link #comprobar(Path)} lo detecta antes de aceptar la foto.</p>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see ProcesadorFotosPerfil
+ */
+@Service
+public class GeneradorMiniaturas {
+
+    public static final int TAMANIO_GRANDE = 500;
+    public static final int TAMANIO_MEDIANA = 120;
+    public static final int TAMANIO_MINIATURA = 40;
+
+    /** Resolución máxima admitida del original (evita imágenes diseñadas para agotar la CPU) */
+    private static final long MAX_PIXELES = 50_000_000L;
+
+    private static final float CALIDAD_JPEG = 0.85f;
+
+    /** Lado del fragmento que se decodifica para comprobar una imagen */
+    private static final int LADO_COMPROBACION = 16;
+
+    /** Etiqueta EXIF Orientation (valores 1 a 8) */
+    private static final int ETIQUETA_ORIENTACION = 0x0112;
+
+    /**
+     * Archivos generados para cada tamaño.
+     *
+     * @param grande imagen de 500 px
+     * @param mediana imagen de 120 px
+     * @param miniatura imagen de 40 px
+     */
+    public record Miniaturas(Path grande, Path mediana, Path miniatura) {
+
+        /**
+         * @return los tres archivos, del mayor al menor
+         */
+        public List<Path> todas() {
+            return List.of(grande, mediana, miniatura);
+        }
+    }
+
+    /**
+     * Genera los tres tamaños de una foto junto al original ({@code <nombre>-500.jpg}, etc.).
+     *
+     * @param original ruta de la imagen original
+     * @return archivos generados
+     * @throws IllegalArgumentException si el archivo no es una imagen válida o es demasiado grande
+     * @throws IOException si no se puede leer el original o escribir los tamaños
+     */
+    public Miniaturas generar(Path original) throws IOException {
+        BufferedImage imagen = orientar(leer(original, false), leerOrientacion(original));
+        BufferedImage grande = reducir(imagen, TAMANIO_GRANDE);
+        BufferedImage mediana = reducir(grande, TAMANIO_MEDIANA);
+        BufferedImage miniatura = reducir(mediana, TAMANIO_MINIATURA);
+
+        String nombre = original.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        String base = punto > 0 ? nombre.substring(0, punto) : nombre;
+        Path directorio = original.getParent();
+
+        return new Miniaturas(
+                escribir(grande, directorio.resolve(base + "-" + TAMANIO_GRANDE + ".jpg")),
+                escribir(mediana, directorio.resolve(base + "-" + TAMANIO_MEDIANA + ".jpg")),
+                escribir(miniatura, directorio.resolve(base + "-" + TAMANIO_MINIATURA + ".jpg")));
+    }
+
+    /**
+     * Comprueba que un archivo es una imagen que se puede procesar, sin decodificarla
+     * entera: lee la cabecera y la esquina superior izquierda.
+     *
+     * @param archivo ruta de la imagen
+     * @throws IllegalArgumentException si el formato no está soportado, no se puede
+     *         decodificar o es demasiado grande
+     * @throws IOException si no se puede leer el archivo
+     */
+    public void comprobar(Path archivo) throws IOException {
+        leer(archivo, true);
+    }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * Decodifica la imagen submuestreada para no cargar en memoria más píxeles de los
+     * necesarios para el tamaño grande o, para comprobarla, solo su esquina superior
+     * izquierda. Los errores de decodificación se lanzan como IllegalArgumentException.
+     */
+    private static BufferedImage leer(Path original, boolean soloEsquina) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> lectores = entrada == null ? null : ImageIO.getImageReaders(entrada);
+            if (lectores == null || !lectores.hasNext()) {
+                throw new IllegalArgumentException("Formato de imagen no soportado (usa JPEG, PNG, GIF o BMP)");
+            }
+
+            ImageReader lector = lectores.next();
+            try {
+                lector.setInput(entrada, true, true);
+                int ancho = lector.getWidth(0);
+                int alto = lector.getHeight(0);
+                if ((long) ancho * alto > MAX_PIXELES) {
+                    throw new IllegalArgumentException("La imagen supera la resolución máxima permitida");
+                }
+
+                ImageReadParam parametros = lector.getDefaultReadParam();
+                if (soloEsquina) {
+                    parametros.setSourceRegion(new Rectangle(0, 0,
+                            Math.min(ancho, LADO_COMPROBACION), Math.min(alto, LADO_COMPROBACION)));
+                } else {
+                    int submuestreo = Math.max(1, Math.max(ancho, alto) / (2 * TAMANIO_GRANDE));
+                    parametros.setSourceSubsampling(submuestreo, submuestreo, 0, 0);
+                }
+                return lector.read(0, parametros);
+            } catch (IIOException e) {
+                // Tipo de imagen no soportado (JPEG CMYK) o datos corruptos
+                throw new IllegalArgumentException("La imagen no se puede decodificar", e);
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    /**
+     * Lee la etiqueta EXIF Orientation de un JPEG (segmento APP1 "Exif", IFD0).
+     *
+     * @return orientación de 1 a 8; 1 (sin transformar) si no es un JPEG o no la tiene
+     */
+    static int leerOrientacion(Path archivo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo)))) {
+            if (entrada.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marcador = entrada.readUnsignedShort();
+                if ((marcador & 0xFF00) != 0xFF00 || marcador == 0xFFDA || marcador == 0xFFD9) {
+                    return 1; // Sin más cabeceras antes de los datos de la imagen
+                }
+                int longitud = entrada.readUnsignedShort() - 2;
+                if (longitud < 0) {
+                    return 1;
+                }
+                byte[] segmento = new byte[longitud];
+                entrada.readFully(segmento);
+                if (marcador == 0xFFE1 && longitud > 6
+                        && new String(segmento, 0, 6, StandardCharsets.ISO_8859_1).equals("Exif\0\0")) {
+                    return orientacionExif(ByteBuffer.wrap(segmento, 6, longitud - 6).slice());
+                }
+            }
+        } catch (EOFException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Busca la orientación en el IFD0 de la estructura TIFF del bloque EXIF.
+     */
+    private static int orientacionExif(ByteBuffer tiff) {
+        try {
+            tiff.order(tiff.getShort(0) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            int ifd = tiff.getInt(4);
+            int entradas = Short.toUnsignedInt(tiff.getShort(ifd));
+            for (int i = 0; i < entradas; i++) {
+                int posicion = ifd + 2 + i * 12;
+                if (Short.toUnsignedInt(tiff.getShort(posicion)) == ETIQUETA_ORIENTACION) {
+                    int valor = Short.toUnsignedInt(tiff.getShort(posicion + 8));
+                    return valor >= 1 && valor <= 8 ? valor : 1;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // Bloque EXIF mal formado: se ignora
+        }
+        return 1;
+    }
+
+    /**
+     * Aplica a los píxeles la rotación o el volteo de la orientación EXIF.
+     */
+    static BufferedImage orientar(BufferedImage imagen, int orientacion) {
+        int w = imagen.getWidth();
+        int h = imagen.getHeight();
+        AffineTransform transformacion = switch (orientacion) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // Volteo horizontal
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180°
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // Volteo vertical
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // Trasposición
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 90° horario
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // Trasposición inversa
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);   // 90° antihorario
+            default -> null;
+        };
+        if (transformacion == null) {
+            return imagen;
+        }
+
+        boolean girada = orientacion >= 5;
+        BufferedImage destino = new BufferedImage(girada ? h : w, girada ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, destino.getWidth(), destino.getHeight());
+            g.drawImage(imagen, transformacion, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    /**
+     * Reduce la imagen para que su lado mayor no supere el tamaño indicado, a la mitad
+     * en cada paso y con un último paso al tamaño exacto. Devuelve siempre RGB sin
+     * transparencia (el fondo transparente queda blanco), listo para JPEG.
+     */
+    private static BufferedImage reducir(BufferedImage imagen, int tamanio) {
+        int ladoMayor = Math.max(imagen.getWidth(), imagen.getHeight());
+        double escala = Math.min(1.0, (double) tamanio / ladoMayor);
+        int anchoFinal = Math.max(1, (int) Math.round(imagen.getWidth() * escala));
+        int altoFinal = Math.max(1, (int) Math.round(imagen.getHeight() * escala));
+
+        BufferedImage actual = imagen;
+        int ancho = imagen.getWidth();
+        int alto = imagen.getHeight();
+        do {
+            ancho = Math.max(anchoFinal, ancho / 2);
+            alto = Math.max(altoFinal, alto / 2);
+            actual = dibujar(actual, ancho, alto);
+        } while (ancho != anchoFinal || alto != altoFinal);
+        return actual;
+    }
+
+    private static BufferedImage dibujar(BufferedImage origen, int ancho, int alto) {
+        BufferedImage destino = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, ancho, alto);
+            g.drawImage(origen, 0, 0, ancho, alto, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private static Path escribir(BufferedImage imagen, Path destino) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam parametros = escritor.getDefaultWriteParam();
+        parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        parametros.setCompressionQuality(CALIDAD_JPEG);
+
+        Files.deleteIfExists(destino);
+        try (ImageOutputStream salida = ImageIO.createImageOutputStream(destino.toFile())) {
+            escritor.setOutput(salida);
+            escritor.write(null, new IIOImage(imagen, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+        return destino;
+    }
+}
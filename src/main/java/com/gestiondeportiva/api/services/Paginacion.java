@@ -0,0 +1,93 @@
+package com.gestiondeportiva.api.services;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
+
+/**
+ * Utilidades comunes para la paginación por cursor (keyset) de los listados.
+ * <p>
+ * Todos los listados completos ({@code findAll}) se sirven por ventanas ordenadas por ID:
+ * la consulta filtra {@code id > after} y limita el número de filas, de modo que la latencia
+ * y la memoria por petición no crecen con el tamaño del club.
+ * </p>
+ *
+ * <p><strong>Límites:</strong></p>
+ * <ul>
+ *   <li>Tamaño por defecto: {@value #LIMITE_POR_DEFECTO} elementos</li>
+ *   <li>Tamaño máximo: {@value #LIMITE_MAXIMO} elementos (valores mayores se recortan)</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see PaginaCursorDTO
+ */
+public final class Paginacion {
+
+    /** Número de elementos devueltos cuando el cliente no indica límite */
+    public static final int LIMITE_POR_DEFECTO = 50;
+
+    /** Número máximo de elementos que se devuelven en una sola página */
+    public static final int LIMITE_MAXIMO = 200;
+
+    private Paginacion() {
+    }
+
+    /**
+     * Normaliza el cursor recibido del cliente.
+     *
+     * @param after último ID recibido por el cliente (null para la primera página)
+     * @return ID a partir del cual buscar (0 para la primera página)
+     * @throws IllegalArgumentException si el cursor es negativo
+     */
+    public static Long cursor(Long after) {
+        if (after == null) {
+            return 0L;
+        }
+        if (after < 0) {
+            throw new IllegalArgumentException("El cursor 'after' no puede ser negativo");
+        }
+        return after;
+    }
+
+    /**
+     * Construye la ventana de consulta ordenada por ID con el límite acotado.
+     *
+     * @param limit número de elementos pedido por el cliente (null para el valor por defecto)
+     * @return Pageable de la primera página con orden ascendente por ID
+     * @throws IllegalArgumentException si el límite es menor que 1
+     */
+    public static Pageable ventana(Integer limit) {
+        int tamanio = limit == null ? LIMITE_POR_DEFECTO : limit;
+        if (tamanio < 1) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero");
+        }
+        return PageRequest.of(0, Math.min(tamanio, LIMITE_MAXIMO), Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    /**
+     * Convierte un Slice de entidades en una página de DTOs con el cursor siguiente.
+     *
+     * @param <E> tipo de la entidad
+     * @param <T> tipo del DTO
+     * @param slice resultado de la consulta keyset
+     * @param mapper conversión de la lista de entidades a DTOs
+     * @param id función que obtiene el ID de una entidad
+     * @return PaginaCursorDTO con el contenido y el cursor de la siguiente página
+     */
+    public static <E, T> PaginaCursorDTO<T> pagina(Slice<E> slice,
+            Function<List<E>, List<T>> mapper,
+            Function<E, Long> id) {
+        List<E> contenido = slice.getContent();
+        Long siguiente = slice.hasNext() && !contenido.isEmpty()
+                ? id.apply(contenido.get(contenido.size() - 1))
+                : null;
+        return new PaginaCursorDTO<>(mapper.apply(contenido), siguiente);
+    }
+}
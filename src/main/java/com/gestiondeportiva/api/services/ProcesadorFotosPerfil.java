@@ -0,0 +1,645 @@
+package com.gestiondeportiva.api.services;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.gestiondeportiva.api.dto.TrabajoFotoDTO;
+import com.gestiondeportiva.api.entities.EstadoTrabajoFoto;
+import com.gestiondeportiva.api.entities.TrabajoFoto;
+import com.gestiondeportiva.api.entities.Usuario;
+import com.gestiondeportiva.api.repositories.TrabajoFotoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+import com.gestiondeportiva.api.security.ServicioSaturadoException;
+import com.gestiondeportiva.api.services.GeneradorMiniaturas.Miniaturas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Procesamiento en segundo plano de las fotos de perfil.
+ * <p>
+ * Subir la foto a Cloudinary y eliminar la anterior son dos llamadas remotas lentas; si
+ * se hacen en la petición, el hilo de Tomcat queda bloqueado mientras tanto. En su lugar,
+ * la petición solo valida la imagen, la guarda en un directorio local de espera, registra
+ * un {@link TrabajoFoto} y responde con su ID. Un ejecutor acotado genera los tamaños de
+ * la foto ({@link GeneradorMiniaturas}), los sube, los sustituye en el usuario y elimina
+ * los anteriores.
+ * </p>
+ * <p>
+ * Con photos.storage=local, los tamaños se guardan en el almacén local direccionado por
+ * contenido ({@link FileStorageService}) en lugar de en Cloudinary: la misma foto subida
+ * dos veces ocupa espacio una sola vez.
+ * </p>
+ *
+ * <p><strong>Garantías:</strong></p>
+ * <ul>
+ *   <li>La foto aceptada está en disco (escritura atómica y sincronizada) y en la tabla
+ *       trabajos_foto antes de responder: sobrevive a un reinicio</li>
+ *   <li>Si la subida falla, se reintenta con espera exponencial (photos.retry-backoff-ms,
+ *       el doble en cada intento) hasta photos.max-attempts intentos</li>
+ *   <li>Si el ejecutor está lleno, el trabajo sigue PENDIENTE y lo encola la siguiente
+ *       pasada periódica (photos.jobs.sweep-ms); la petición nunca espera</li>
+ *   <li>Si la instancia tiene photos.max-pending fotos pendientes, la subida se rechaza
+ *       con HTTP 503</li>
+ *   <li>Si un usuario sube dos fotos seguidas, se queda la más reciente aunque termine antes</li>
+ *   <li>Los trabajos terminados se eliminan tras photos.jobs.retention-hours horas</li>
+ * </ul>
+ * <p>
+ * El directorio de espera es local, así que cada trabajo registra la instancia que lo
+ * aceptó y cada instancia solo reanuda, encola y procesa los suyos. El identificador de
+ * la instancia es photos.instance-id o, si está vacío, uno generado y guardado en el
+ * propio directorio de espera ({@value #ARCHIVO_INSTANCIA}), de modo que dura lo mismo que
+ * las fotos que contiene. Los trabajos de una instancia que desaparece sin terminarlos
+ * se dan por fallidos tras photos.jobs.retention-hours horas sin cambios.
+ * </p>
+ *
+ * <p><strong>Métricas (Actuator):</strong></p>
+ * <ul>
+ *   <li>fotos.perfil.cola: Trabajos encolados en el ejecutor</li>
+ *   <li>fotos.perfil.subida: Tiempo de subida a Cloudinary de los tres tamaños de una foto</li>
+ *   <li>fotos.perfil.completados: Fotos sustituidas</li>
+ *   <li>fotos.perfil.reintentos: Intentos fallidos que se volverán a intentar</li>
+ *   <li>fotos.perfil.fallidos: Trabajos terminados sin sustituir la foto</li>
+ * </ul>
+ *
+ * @author Sistema de Gestión Deportiva MyClub
+ * @version 1.0
+ * @see TrabajoFoto
+ * @see CloudinaryService
+ */
+@Service
+public class ProcesadorFotosPerfil implements DisposableBean {
+
+    /** Carpeta de Cloudinary para las fotos de perfil */
+    private static final String CARPETA = "myclub/fotos-perfil";
+
+    /** Prefijo de las URLs de las fotos guardadas en el almacén local */
+    static final String URL_LOCAL = "/uploads/fotos-perfil/";
+
+    /** Segundos de Retry-After cuando hay demasiadas fotos pendientes */
+    private static final long REINTENTAR_EN_SEGUNDOS = 30;
+
+    /** Archivo del directorio de espera con el identificador generado de la instancia */
+    static final String ARCHIVO_INSTANCIA = "instancia.id";
+
+    private static final int LONGITUD_INSTANCIA = 64;
+
+    /** Tiempo tras el que un trabajo en proceso se da por abandonado y se reanuda */
+    private static final long MAX_PROCESANDO_MINUTOS = 10;
+
+    private static final int LONGITUD_ERROR = 500;
+
+    private static final List<EstadoTrabajoFoto> FINALIZADOS =
+            List.of(EstadoTrabajoFoto.COMPLETADO, EstadoTrabajoFoto.FALLIDO);
+
+    private static final List<EstadoTrabajoFoto> SIN_TERMINAR =
+            List.of(EstadoTrabajoFoto.PENDIENTE, EstadoTrabajoFoto.PROCESANDO);
+
+    private final TrabajoFotoRepository trabajoFotoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final CloudinaryService cloudinaryService;
+    private final FileStorageService fileStorageService;
+    private final GeneradorMiniaturas generadorMiniaturas;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean almacenamientoLocal;
+    private final Path directorio;
+    private final String instancia;
+    private final ThreadPoolExecutor ejecutor;
+    private final int maxIntentos;
+    private final long esperaReintentoMs;
+    private final long maxPendientes;
+    private final long retencionHoras;
+    private final Timer subida;
+    private final Counter completados;
+    private final Counter reintentos;
+    private final Counter fallidos;
+
+    /** Trabajos encolados en el ejecutor que aún no han empezado */
+    private final Set<String> encolados = ConcurrentHashMap.newKeySet();
+
+    public ProcesadorFotosPerfil(TrabajoFotoRepository trabajoFotoRepository,
+                                 UsuarioRepository usuarioRepository,
+                                 CloudinaryService cloudinaryService,
+                                 FileStorageService fileStorageService,
+                                 GeneradorMiniaturas generadorMiniaturas,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${photos.storage:cloudinary}") String almacenamiento,
+                                 @Value("${photos.staging-dir:uploads/pendientes}") String directorioEspera,
+                                 @Value("${photos.instance-id:}") String instancia,
+                                 @Value("${photos.workers:2}") int hilos,
+                                 @Value("${photos.queue-capacity:100}") int capacidadCola,
+                                 @Value("${photos.max-attempts:5}") int maxIntentos,
+                                 @Value("${photos.retry-backoff-ms:2000}") long esperaReintentoMs,
+                                 @Value("${photos.max-pending:1000}") long maxPendientes,
+                                 @Value("${photos.jobs.retention-hours:168}") long retencionHoras,
+                                 MeterRegistry meterRegistry) {
+        this.trabajoFotoRepository = trabajoFotoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.cloudinaryService = cloudinaryService;
+        this.fileStorageService = fileStorageService;
+        this.generadorMiniaturas = generadorMiniaturas;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.almacenamientoLocal = "local".equalsIgnoreCase(almacenamiento);
+        this.maxIntentos = maxIntentos;
+        this.esperaReintentoMs = esperaReintentoMs;
+        this.maxPendientes = maxPendientes;
+        this.retencionHoras = retencionHoras;
+
+        this.directorio = Paths.get(directorioEspera).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.directorio);
+        } catch (IOException ex) {
+            throw new RuntimeException("No se pudo crear el directorio de espera de fotos", ex);
+        }
+        this.instancia = instancia.isBlank() ? leerInstancia(this.directorio) : instancia.strip();
+        if (this.instancia.length() > LONGITUD_INSTANCIA) {
+            throw new IllegalStateException("photos.instance-id no puede superar los "
+                    + LONGITUD_INSTANCIA + " caracteres");
+        }
+
+        AtomicInteger contador = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "fotos-perfil-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("fotos.perfil.cola", ejecutor, e -> e.getQueue().size())
+                .description("Trabajos de foto de perfil encolados")
+                .register(meterRegistry);
+        this.subida = Timer.builder("fotos.perfil.subida")
+                .description("Tiempo de subida de los tamaños de una foto de perfil a Cloudinary")
+                .register(meterRegistry);
+        this.completados = Counter.builder("fotos.perfil.completados")
+                .description("Fotos de perfil sustituidas")
+                .register(meterRegistry);
+        this.reintentos = Counter.builder("fotos.perfil.reintentos")
+                .description("Intentos fallidos de procesar una foto de perfil que se reintentarán")
+                .register(meterRegistry);
+        this.fallidos = Counter.builder("fotos.perfil.fallidos")
+                .description("Trabajos de foto de perfil terminados sin sustituir la foto")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reanuda al arrancar los trabajos de esta instancia que quedaron a medias; la
+     * siguiente pasada los encola. Adopta también los trabajos sin instancia, anteriores
+     * a que se registrara.
+     */
+    @PostConstruct
+    void reanudarInterrumpidos() {
+        LocalDateTime ahora = LocalDateTime.now();
+        trabajoFotoRepository.adoptarSinInstancia(instancia);
+        trabajoFotoRepository.reanudar(instancia, EstadoTrabajoFoto.PROCESANDO, EstadoTrabajoFoto.PENDIENTE,
+                ahora, ahora);
+    }
+
+    /**
+     * Acepta una foto de perfil para procesarla en segundo plano.
+     * <p>
+     * Solo valida la imagen y la guarda en el directorio de espera; no llama a Cloudinary.
+     * Para no aceptar fotos que el trabajo no podrá procesar (WebP, HEIC, JPEG CMYK), se
+     * comprueba que la imagen se puede decodificar leyendo solo su cabecera y una esquina.
+     * </p>
+     *
+     * @param idUsuario ID del usuario
+     * @param file archivo de imagen
+     * @return TrabajoFotoDTO en estado PENDIENTE, con el ID para consultar su estado
+     * @throws IllegalArgumentException si el archivo está vacío, no es una imagen o no se
+     *                                  puede decodificar
+     * @throws EntityNotFoundException si el usuario no existe
+     * @throws ServicioSaturadoException si hay demasiadas fotos pendientes
+     */
+    public TrabajoFotoDTO aceptar(Long idUsuario, MultipartFile file) {
+        validar(file);
+        if (!usuarioRepository.existsById(idUsuario)) {
+            throw new EntityNotFoundException("Usuario no encontrado");
+        }
+        if (trabajoFotoRepository.countByInstanciaAndEstado(instancia, EstadoTrabajoFoto.PENDIENTE) >= maxPendientes) {
+            throw new ServicioSaturadoException(
+                    "Hay demasiadas fotos pendientes de procesar, inténtalo de nuevo en unos minutos",
+                    REINTENTAR_EN_SEGUNDOS);
+        }
+
+        String id = UUID.randomUUID().toString();
+        String archivo = id + ".img";
+        guardarEnEspera(file, archivo);
+        try {
+            generadorMiniaturas.comprobar(directorio.resolve(archivo));
+        } catch (IllegalArgumentException e) {
+            eliminarDeEspera(archivo);
+            throw e;
+        } catch (IOException e) {
+            eliminarDeEspera(archivo);
+            throw new RuntimeException("Error al leer la foto: " + archivo, e);
+        }
+
+        TrabajoFoto trabajo;
+        try {
+            trabajo = trabajoFotoRepository.save(new TrabajoFoto(id, idUsuario, instancia, archivo, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            eliminarDeEspera(archivo);
+            throw e;
+        }
+        encolar(id);
+        return toDTO(trabajo);
+    }
+
+    /**
+     * Consulta el estado de un trabajo de foto de perfil.
+     *
+     * @param idUsuario ID del usuario
+     * @param idTrabajo ID del trabajo
+     * @return Optional con el estado, vacío si el trabajo no existe o es de otro usuario
+     */
+    public Optional<TrabajoFotoDTO> consultar(Long idUsuario, String idTrabajo) {
+        return trabajoFotoRepository.findByIdAndIdUsuario(idTrabajo, idUsuario).map(this::toDTO);
+    }
+
+    /**
+     * Encola periódicamente los trabajos pendientes de esta instancia cuyo siguiente
+     * intento ha llegado (reintentos y trabajos que no cupieron en el ejecutor al
+     * aceptarlos), y reanuda los que llevan demasiado tiempo en proceso.
+     */
+    @Scheduled(fixedDelayString = "${photos.jobs.sweep-ms:5000}",
+               initialDelayString = "${photos.jobs.sweep-ms:5000}")
+    public void encolarListos() {
+        LocalDateTime ahora = LocalDateTime.now();
+        trabajoFotoRepository.reanudar(instancia, EstadoTrabajoFoto.PROCESANDO, EstadoTrabajoFoto.PENDIENTE,
+                ahora.minusMinutes(MAX_PROCESANDO_MINUTOS), ahora);
+
+        int libres = ejecutor.getQueue().remainingCapacity();
+        if (libres == 0) {
+            return;
+        }
+        for (String id : trabajoFotoRepository.findIdsListos(
+                instancia, EstadoTrabajoFoto.PENDIENTE, ahora, PageRequest.of(0, libres))) {
+            if (!encolar(id)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Elimina periódicamente los trabajos terminados hace más de photos.jobs.retention-hours,
+     * y da por fallidos los que llevan ese tiempo sin cambios (de cualquier instancia: si
+     * siguiera en marcha, los habría terminado hace mucho).
+     */
+    @Scheduled(fixedDelayString = "${photos.jobs.cleanup-ms:3600000}",
+               initialDelayString = "${photos.jobs.cleanup-ms:3600000}")
+    public void limpiarFinalizados() {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime limite = ahora.minusHours(retencionHoras);
+        trabajoFotoRepository.deleteFinalizados(FINALIZADOS, limite);
+        trabajoFotoRepository.abandonar(SIN_TERMINAR, EstadoTrabajoFoto.FALLIDO,
+                "La instancia que aceptó la foto no la ha procesado", limite, ahora);
+    }
+
+
+    @Override
+    public void destroy() {
+        // Los trabajos interrumpidos se reanudan en el siguiente arranque
+        ejecutor.shutdown();
+    }
+
+    // ================== Procesamiento ==================
+
+    /**
+     * Encola un trabajo en el ejecutor.
+     *
+     * @return false si el ejecutor está lleno (el trabajo sigue PENDIENTE)
+     */
+    private boolean encolar(String id) {
+        if (!encolados.add(id)) {
+            return true;
+        }
+        try {
+            ejecutor.execute(() -> {
+                encolados.remove(id);
+                procesar(id);
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            encolados.remove(id);
+            return false;
+        }
+    }
+
+    private void procesar(String id) {
+        // Un trabajo encolado dos veces (al aceptarlo y en una pasada) solo se procesa una
+        if (trabajoFotoRepository.cambiarEstado(id, EstadoTrabajoFoto.PENDIENTE,
+                EstadoTrabajoFoto.PROCESANDO, LocalDateTime.now()) == 0) {
+            return;
+        }
+        TrabajoFoto trabajo = trabajoFotoRepository.findById(id).orElse(null);
+        if (trabajo == null) {
+            return;
+        }
+
+        Path archivo = directorio.resolve(trabajo.getArchivo());
+        if (!Files.exists(archivo)) {
+            finalizarSinFoto(trabajo, "El archivo de la foto ya no está disponible");
+            return;
+        }
+
+        Miniaturas miniaturas;
+        try {
+            miniaturas = generadorMiniaturas.generar(archivo);
+        } catch (IllegalArgumentException e) {
+            // La imagen no es válida o no se puede decodificar: reintentar no cambiaría el resultado
+            finalizarSinFoto(trabajo, e.getMessage());
+            return;
+        } catch (IOException | RuntimeException e) {
+            registrarFallo(trabajo, e);
+            return;
+        }
+
+        UrlsFoto nuevas;
+        try {
+            nuevas = subida.recordCallable(() -> subir(miniaturas));
+        } catch (Exception e) {
+            registrarFallo(trabajo, e);
+            return;
+        } finally {
+            // Los tamaños se vuelven a generar si hay que reintentar
+            miniaturas.todas().forEach(tamanio -> eliminarDeEspera(tamanio.getFileName().toString()));
+        }
+
+        Sustitucion sustitucion;
+        try {
+            sustitucion = transactionTemplate.execute(estado -> sustituirFoto(trabajo, nuevas));
+        } catch (RuntimeException e) {
+            nuevas.todas().forEach(this::eliminarImagen);
+            registrarFallo(trabajo, e);
+            return;
+        }
+
+        // Fuera de la transacción: no se retiene el bloqueo del usuario durante las llamadas remotas
+        sustitucion.sobrantes().todas().forEach(this::eliminarImagen);
+        eliminarDeEspera(trabajo.getArchivo());
+        if (sustitucion.aplicada()) {
+            completados.increment();
+        } else {
+            fallidos.increment();
+        }
+    }
+
+    /**
+     * Guarda un tamaño en Cloudinary o, con photos.storage=local, en el almacén local.
+     *
+     * @return URL de la imagen guardada
+     */
+    private String guardarImagen(Path tamanio) {
+        if (almacenamientoLocal) {
+            return URL_LOCAL + fileStorageService.guardarArchivo(tamanio, "jpg");
+        }
+        return cloudinaryService.subirImagen(tamanio, CARPETA);
+    }
+
+    /**
+     * Elimina una imagen del almacén en que se guardó (el local para las URL que empiezan
+     * por {@value #URL_LOCAL}). Igual que en Cloudinary, un nombre que no corresponde a
+     * ningún archivo del almacén se ignora.
+     */
+    private void eliminarImagen(String url) {
+        if (url != null && url.startsWith(URL_LOCAL)) {
+            try {
+                fileStorageService.eliminarArchivo(url.substring(URL_LOCAL.length()));
+            } catch (IllegalArgumentException e) {
+                System.err.println("No se pudo eliminar la imagen local: " + url);
+            }
+        } else {
+            cloudinaryService.eliminarImagen(url);
+        }
+    }
+
+    /**
+     * Sube los tres tamaños. Si falla alguno, elimina los ya subidos para que el
+     * reintento no deje imágenes huérfanas.
+     */
+    private UrlsFoto subir(Miniaturas miniaturas) {
+        List<String> subidas = new ArrayList<>(3);
+        try {
+            for (Path tamanio : miniaturas.todas()) {
+                subidas.add(guardarImagen(tamanio));
+            }
+        } catch (RuntimeException e) {
+            subidas.forEach(this::eliminarImagen);
+            throw e;
+        }
+        return new UrlsFoto(subidas.get(0), subidas.get(1), subidas.get(2));
+    }
+
+    /**
+     * Sustituye la foto del usuario por la recién subida, con la fila del usuario bloqueada
+     * para que dos trabajos del mismo usuario no se pisen.
+     */
+    private Sustitucion sustituirFoto(TrabajoFoto trabajo, UrlsFoto nuevas) {
+        LocalDateTime ahora = LocalDateTime.now();
+        Optional<Usuario> usuario = usuarioRepository.findByIdParaActualizar(trabajo.getIdUsuario());
+
+        String motivo = null;
+        if (usuario.isEmpty()) {
+            motivo = "El usuario ya no existe";
+        } else if (trabajoFotoRepository.existsByIdUsuarioAndEstadoAndCreadoEnGreaterThan(
+                trabajo.getIdUsuario(), EstadoTrabajoFoto.COMPLETADO, trabajo.getCreadoEn())) {
+            motivo = "Sustituida por una foto más reciente";
+        }
+        if (motivo != null) {
+            trabajo.setEstado(EstadoTrabajoFoto.FALLIDO);
+            trabajo.setError(motivo);
+            trabajo.setActualizadoEn(ahora);
+            trabajoFotoRepository.save(trabajo);
+            return new Sustitucion(false, nuevas);
+        }
+
+        Usuario u = usuario.get();
+        UrlsFoto anteriores = new UrlsFoto(u.getFotoUrl(), u.getFotoMedianaUrl(), u.getFotoMiniaturaUrl());
+        u.setFotoUrl(nuevas.grande());
+        u.setFotoMedianaUrl(nuevas.mediana());
+        u.setFotoMiniaturaUrl(nuevas.miniatura());
+        trabajo.setEstado(EstadoTrabajoFoto.COMPLETADO);
+        trabajo.setFotoUrl(nuevas.grande());
+        trabajo.setError(null);
+        trabajo.setActualizadoEn(ahora);
+        trabajoFotoRepository.save(trabajo);
+        return new Sustitucion(true, anteriores);
+    }
+
+    /**
+     * Registra un intento fallido: vuelve a PENDIENTE con espera exponencial o, si se han
+     * agotado los intentos, termina el trabajo como FALLIDO.
+     */
+    private void registrarFallo(TrabajoFoto trabajo, Exception causa) {
+        int intentos = trabajo.getIntentos() + 1;
+        if (intentos >= maxIntentos) {
+            trabajo.setIntentos(intentos);
+            finalizarSinFoto(trabajo, causa.getMessage());
+            return;
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        long espera = esperaReintentoMs << Math.min(intentos - 1, 20);
+        trabajo.setIntentos(intentos);
+        trabajo.setEstado(EstadoTrabajoFoto.PENDIENTE);
+        trabajo.setSiguienteIntento(ahora.plusNanos(espera * 1_000_000));
+        trabajo.setFotoUrl(null);
+        trabajo.setError(recortar(causa.getMessage()));
+        trabajo.setActualizadoEn(ahora);
+        trabajoFotoRepository.save(trabajo);
+        reintentos.increment();
+    }
+
+    private void finalizarSinFoto(TrabajoFoto trabajo, String motivo) {
+        trabajo.setEstado(EstadoTrabajoFoto.FALLIDO);
+        trabajo.setFotoUrl(null);
+        trabajo.setError(recortar(motivo));
+        trabajo.setActualizadoEn(LocalDateTime.now());
+        trabajoFotoRepository.save(trabajo);
+        eliminarDeEspera(trabajo.getArchivo());
+        fallidos.increment();
+    }
+
+    // ================== Auxiliares ==================
+
+    private static void validar(MultipartFile file) {
+        // Validar que el archivo no esté vacío
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("El archivo está vacío");
+        }
+
+        // Validar tipo de archivo (solo imágenes)
+        String contentType = file.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("Solo se permiten archivos de imagen");
+        }
+    }
+
+    /**
+     * Guarda la foto en el directorio de espera: se escribe en un archivo temporal, se
+     * sincroniza con el disco y se renombra, de modo que nunca queda un archivo a medias.
+     * <p>
+     * La foto nunca se carga entera en memoria. Por encima de
+     * spring.servlet.multipart.file-size-threshold el contenedor ya la ha volcado a un
+     * archivo temporal, y {@code transferTo} lo mueve (o, si está en otro disco, lo copia
+     * en bloques); por debajo, se escribe el búfer que ya tenía el contenedor.
+     * </p>
+     */
+    private void guardarEnEspera(MultipartFile file, String archivo) {
+        Path temporal = directorio.resolve(archivo + ".part");
+        try {
+            Files.deleteIfExists(temporal);
+            file.transferTo(temporal.toFile());
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                canal.force(true);
+            }
+            Files.move(temporal, directorio.resolve(archivo), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            eliminarDeEspera(temporal.getFileName().toString());
+            throw new RuntimeException("Error al guardar la foto: " + archivo, ex);
+        }
+    }
+
+    private void eliminarDeEspera(String archivo) {
+        try {
+            Files.deleteIfExists(directorio.resolve(archivo));
+        } catch (IOException ex) {
+            // No se lanza excepción: el trabajo ya ha terminado y el archivo no se vuelve a leer
+            System.err.println("No se pudo eliminar la foto en espera: " + archivo);
+        }
+    }
+
+    /**
+     * Lee el identificador de la instancia guardado en el directorio de espera o, la
+     * primera vez, lo genera y lo guarda.
+     */
+    private static String leerInstancia(Path directorio) {
+        Path archivo = directorio.resolve(ARCHIVO_INSTANCIA);
+        try {
+            if (Files.exists(archivo)) {
+                String guardada = Files.readString(archivo, StandardCharsets.UTF_8).strip();
+                if (!guardada.isEmpty()) {
+                    return guardada;
+                }
+            }
+            String generada = UUID.randomUUID().toString();
+            Files.writeString(archivo, generada, StandardCharsets.UTF_8);
+            return generada;
+        } catch (IOException ex) {
+            throw new RuntimeException("No se pudo leer el identificador de la instancia: " + archivo, ex);
+        }
+    }
+
+    private static String recortar(String mensaje) {
+        if (mensaje == null || mensaje.length() <= LONGITUD_ERROR) {
+            return mensaje;
+        }
+        return mensaje.substring(0, LONGITUD_ERROR);
+    }
+
+    private TrabajoFotoDTO toDTO(TrabajoFoto trabajo) {
+        return new TrabajoFotoDTO(trabajo.getId(), trabajo.getIdUsuario(), trabajo.getEstado(),
+                trabajo.getIntentos(), trabajo.getFotoUrl(), trabajo.getError(),
+                trabajo.getCreadoEn(), trabajo.getActualizadoEn());
+    }
+
+    /**
+     * URLs de los tres tamaños de una foto de perfil.
+     *
+     * @param grande 500 px
+     * @param mediana 120 px
+     * @param miniatura 40 px
+     */
+    private record UrlsFoto(String grande, String mediana, String miniatura) {
+
+        /** Las tres URLs; las fotos antiguas solo tienen la grande y el resto son null */
+        List<String> todas() {
+            return Arrays.asList(grande, mediana, miniatura);
+        }
+    }
+
+    /**
+     * Resultado de la sustitución de la foto.
+     *
+     * @param aplicada true si el usuario tiene ya la nueva foto
+     * @param sobrantes imágenes que hay que eliminar de Cloudinary: las anteriores del
+     *        usuario si se ha aplicado, o las recién subidas si no
+     */
+    private record Sustitucion(boolean aplicada, UrlsFoto sobrantes) {
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.gestiondeportiva.api.dto.UsuarioDTO;
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
 import com.gestiondeportiva.api.entities.Posicion;
 import com.gestiondeportiva.api.entities.Rol;
 import com.gestiondeportiva.api.dto.UsuarioCreateDTO;
@@ -38,11 +39,14 @@ public interface UsuarioService {
 
 
     /**
-     * Obtiene todos los usuarios del sistema.
+     * Obtiene una página de usuarios ordenada por ID mediante paginación por cursor.
      *
-     * @return lista de UsuarioDTO con todos los usuarios
+     * @param after último ID recibido en la página anterior (null para la primera página)
+     * @param limit número máximo de elementos (null para el valor por defecto, acotado a {@link Paginacion#LIMITE_MAXIMO})
+     * @return PaginaCursorDTO con los UsuarioDTO de la página y el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
      */
-    List<UsuarioDTO> findAll();
+    PaginaCursorDTO<UsuarioDTO> findAll(Long after, Integer limit);
 
     /**
      * Crea un nuevo usuario en el sistema.
@@ -56,16 +60,38 @@ public interface UsuarioService {
      */
     UsuarioDTO save(UsuarioCreateDTO nuevoUsuario);
 
+    /**
+     * Registra un nuevo usuario desde el endpoint público de registro.
+     * <p>
+     * A diferencia de {@link #save(UsuarioCreateDTO)}, no requiere usuario autenticado.
+     * Comprueba una sola vez que el email no exista y cifra la contraseña una sola vez.
+     * El usuario se crea siempre como JUGADOR y sin equipo, sea cual sea el rol o el
+     * equipo recibido.
+     * </p>
+     *
+     * @param nuevoUsuario datos del usuario a registrar
+     * @return UsuarioDTO con el usuario creado y su ID asignado
+     * @throws org.springframework.dao.DuplicateKeyException si el email ya está registrado
+     */
+    UsuarioDTO registrar(UsuarioCreateDTO nuevoUsuario);
+
     /**
      * Actualiza un usuario existente.
      * <p>
      * Solo actualiza los campos proporcionados en el DTO. Los campos null
      * no modifican los valores existentes.
      * </p>
+     * <p>
+     * El rol y el equipo solo los puede cambiar un ADMIN. Como van en el token y deciden
+     * qué datos ve el usuario, al cambiarlos se revocan sus tokens y debe volver a
+     * iniciar sesión.
+     * </p>
      *
      * @param id ID del usuario a actualizar
      * @param datosActualizados DTO con los datos a actualizar
      * @return UsuarioDTO con el usuario actualizado
+     * @throws org.springframework.security.access.AccessDeniedException si quien no es
+     *         ADMIN intenta cambiar el rol o el equipo
      */
     UsuarioDTO update(Long id, UsuarioDTO datosActualizados);
 
@@ -1,11 +1,16 @@
 package com.gestiondeportiva.api.services;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import com.gestiondeportiva.api.dto.PaginaCursorDTO;
 import com.gestiondeportiva.api.dto.UsuarioCreateDTO;
 import com.gestiondeportiva.api.dto.UsuarioDTO;
 import com.gestiondeportiva.api.entities.Posicion;
@@ -13,6 +18,7 @@ import com.gestiondeportiva.api.entities.Rol;
 import com.gestiondeportiva.api.entities.Usuario;
 import com.gestiondeportiva.api.mappers.UsuarioMapper;
 import com.gestiondeportiva.api.repositories.UsuarioRepository;
+import com.gestiondeportiva.api.security.RevocacionTokens;
 import com.gestiondeportiva.api.security.SecurityUtils;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -52,15 +58,18 @@ public class UsuarioServiceImpl implements UsuarioService {
     private final UsuarioMapper usuarioMapper;
     private final PasswordEncoder passwordEncoder;
     private final SecurityUtils securityUtils;
+    private final RevocacionTokens revocacionTokens;
 
     public UsuarioServiceImpl(UsuarioRepository usuarioRepository,
             UsuarioMapper usuarioMapper,
             PasswordEncoder passwordEncoder,
-            SecurityUtils securityUtils) {
+            SecurityUtils securityUtils,
+            RevocacionTokens revocacionTokens) {
         this.usuarioRepository = usuarioRepository;
         this.usuarioMapper = usuarioMapper;
         this.passwordEncoder = passwordEncoder;
         this.securityUtils = securityUtils;
+        this.revocacionTokens = revocacionTokens;
     }
 
     // ================== CRUD ==================
@@ -75,26 +84,29 @@ public class UsuarioServiceImpl implements UsuarioService {
      *   <li>ENTRENADOR: Solo devuelve jugadores de su equipo</li>
      *   <li>JUGADOR: Acceso denegado</li>
      * </ul>
+     * <p>
+     * La restricción por equipo del ENTRENADOR la aplica el filtro de Hibernate
+     * {@code filtroEquipo} en la propia consulta.
+     * </p>
      */
     @Override
     @Transactional(readOnly = true)
-    public List<UsuarioDTO> findAll() {
-
-        Usuario actual = securityUtils.getUsuarioActual();
+    public PaginaCursorDTO<UsuarioDTO> findAll(Long after, Integer limit) {
 
-        // ADMIN → devuelve todos
-        if (securityUtils.esAdminActual()) {
-            return usuarioMapper.toDTOList(usuarioRepository.findAll());
-        }
+        Long cursor = Paginacion.cursor(after);
+        Pageable ventana = Paginacion.ventana(limit);
 
-        // ENTRENADOR → solo jugadores de su equipo
-        if (securityUtils.esEntrenadorActual()) {
-            Long idEquipo = actual.getEquipo().getId();
-            return usuarioMapper.toDTOList(usuarioRepository.findByEquipoId(idEquipo));
+        // JUGADOR → NO PERMITIDO
+        if (securityUtils.esJugadorActual()) {
+            throw new AccessDeniedException("No puedes ver todos los usuarios");
         }
 
-        // JUGADOR → NO PERMITIDO
-        throw new AccessDeniedException("No puedes ver todos los usuarios");
+        // ADMIN → devuelve todos
+        // ENTRENADOR → el filtro de equipo acota la consulta a su equipo
+        return Paginacion.pagina(
+                usuarioRepository.findByIdGreaterThan(cursor, ventana),
+                usuarioMapper::toDTOList,
+                Usuario::getId);
     }
 
     /**
@@ -173,6 +185,50 @@ public class UsuarioServiceImpl implements UsuarioService {
         return usuarioMapper.toDTO(guardado);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <strong>Coste del registro:</strong>
+     * </p>
+     * <ol>
+     *   <li>Una consulta de existencia sobre el índice único de email</li>
+     *   <li>Un único cifrado BCrypt, fuera de transacción para no retener una conexión
+     *       de base de datos durante el cálculo</li>
+     *   <li>Un INSERT; si otro registro simultáneo gana la carrera, el índice único lo
+     *       rechaza y se traduce igualmente a DuplicateKeyException</li>
+     * </ol>
+     * <p>
+     * El rol y el equipo que envíe el cliente se ignoran: el registro público crea siempre
+     * un JUGADOR sin equipo, que un ADMIN o un ENTRENADOR asigna después con las reglas
+     * de {@link #save(UsuarioCreateDTO)}.
+     * </p>
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UsuarioDTO registrar(UsuarioCreateDTO nuevoUsuario) {
+
+        if (usuarioRepository.existsByEmail(nuevoUsuario.getEmail())) {
+            throw new DuplicateKeyException("Ya existe un usuario con el email: " + nuevoUsuario.getEmail());
+        }
+
+        // El endpoint es anónimo: nunca se acepta un rol ni un equipo del cliente
+        nuevoUsuario.setRol(Rol.JUGADOR);
+        nuevoUsuario.setIdEquipo(null);
+
+        Usuario usuario = usuarioMapper.toEntity(nuevoUsuario);
+        usuario.setPassword(passwordEncoder.encode(usuario.getPassword()));
+
+        try {
+            return usuarioMapper.toDTO(usuarioRepository.saveAndFlush(usuario));
+        } catch (DataIntegrityViolationException e) {
+            // Registro simultáneo con el mismo email: lo rechaza el índice único
+            if (!(e instanceof DuplicateKeyException) && !usuarioRepository.existsByEmail(nuevoUsuario.getEmail())) {
+                throw e;
+            }
+            throw new DuplicateKeyException("Ya existe un usuario con el email: " + nuevoUsuario.getEmail(), e);
+        }
+    }
+
     @Override
     @Transactional
     public UsuarioDTO update(Long id, UsuarioDTO datosActualizados) {
@@ -183,9 +239,24 @@ public class UsuarioServiceImpl implements UsuarioService {
         securityUtils.checkJugadorSoloPuedeVerseASiMismo(usuarioExistente);
         securityUtils.checkEntrenadorSoloJugadoresDeSuEquipo(usuarioExistente);
 
+        // El rol y el equipo van en el token y deciden qué datos se ven: solo los cambia
+        // un ADMIN, y al cambiarlos se revocan los tokens emitidos con los anteriores
+        boolean cambiaRol = datosActualizados.getRol() != null
+                && datosActualizados.getRol() != usuarioExistente.getRol();
+        boolean cambiaEquipo = datosActualizados.getIdEquipo() != null
+                && (usuarioExistente.getEquipo() == null
+                        || !datosActualizados.getIdEquipo().equals(usuarioExistente.getEquipo().getId()));
+        if ((cambiaRol || cambiaEquipo) && !securityUtils.esAdminActual()) {
+            throw new AccessDeniedException("Solo un administrador puede cambiar el rol o el equipo de un usuario");
+        }
+
         usuarioMapper.updateEntityFromDTO(datosActualizados, usuarioExistente);
+        UsuarioDTO actualizado = usuarioMapper.toDTO(usuarioRepository.save(usuarioExistente));
 
-        return usuarioMapper.toDTO(usuarioRepository.save(usuarioExistente));
+        if (cambiaRol || cambiaEquipo) {
+            revocacionTokens.revocarUsuario(usuarioExistente.getId());
+        }
+        return actualizado;
     }
 
     @Override
@@ -200,6 +271,7 @@ public class UsuarioServiceImpl implements UsuarioService {
 
         // 👑 ADMIN: puede borrar a cualquiera
         if (securityUtils.esAdminActual()) {
+            revocacionTokens.revocarUsuario(usuarioABorrar.getId());
             usuarioRepository.delete(usuarioABorrar);
             return;
         }
@@ -221,6 +293,7 @@ public class UsuarioServiceImpl implements UsuarioService {
                 throw new AccessDeniedException("No puedes eliminar jugadores que no pertenecen a tu equipo");
             }
 
+            revocacionTokens.revocarUsuario(usuarioABorrar.getId());
             usuarioRepository.delete(usuarioABorrar);
             return;
         }
@@ -295,8 +368,6 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Transactional(readOnly = true)
     public List<UsuarioDTO> findByRol(Rol rol) {
 
-        Usuario actual = securityUtils.getUsuarioActual();
-
         // ADMIN → sin límites
         if (securityUtils.esAdminActual()) {
             return usuarioMapper.toDTOList(usuarioRepository.findByRol(rol));
@@ -314,10 +385,8 @@ public class UsuarioServiceImpl implements UsuarioService {
                 throw new AccessDeniedException("Un entrenador solo puede ver jugadores");
             }
 
-            Long idEquipo = actual.getEquipo().getId();
-
-            return usuarioMapper.toDTOList(
-                    usuarioRepository.findByEquipoId(idEquipo));
+            // El filtro de equipo acota la consulta a su equipo
+            return usuarioMapper.toDTOList(usuarioRepository.findByRol(rol));
         }
 
         throw new AccessDeniedException("No autorizado");
@@ -327,50 +396,28 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Transactional(readOnly = true)
     public List<UsuarioDTO> findByApellidos(String apellidos) {
 
-        Usuario actual = securityUtils.getUsuarioActual();
-
-        // ADMIN
-        if (securityUtils.esAdminActual()) {
-            return usuarioMapper.toDTOList(usuarioRepository.findByApellidos(apellidos));
-        }
-
         // JUGADOR → no permitido
         if (securityUtils.esJugadorActual()) {
             throw new AccessDeniedException("Un jugador no puede buscar por apellidos");
         }
 
-        // ENTRENADOR → solo jugadores de su equipo
-        List<Usuario> jugadoresEquipo = usuarioRepository.findByEquipoId(actual.getEquipo().getId());
-
-        return usuarioMapper.toDTOList(
-                jugadoresEquipo.stream()
-                        .filter(u -> apellidos.equalsIgnoreCase(u.getApellidos()))
-                        .toList());
+        // ADMIN → sin límites
+        // ENTRENADOR → el filtro de equipo acota la consulta a su equipo
+        return usuarioMapper.toDTOList(usuarioRepository.findByApellidos(apellidos));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<UsuarioDTO> findByPosicion(Posicion posicion) {
 
-        Usuario actual = securityUtils.getUsuarioActual();
-
-        // ADMIN
-        if (securityUtils.esAdminActual()) {
-            return usuarioMapper.toDTOList(usuarioRepository.findByPosicion(posicion));
-        }
-
         // JUGADOR → no permitido
         if (securityUtils.esJugadorActual()) {
             throw new AccessDeniedException("Un jugador no puede buscar por posición");
         }
 
-        // ENTRENADOR → solo jugadores de su equipo
-        List<Usuario> jugadoresEquipo = usuarioRepository.findByEquipoId(actual.getEquipo().getId());
-
-        return usuarioMapper.toDTOList(
-                jugadoresEquipo.stream()
-                        .filter(u -> posicion.equals(u.getPosicion()))
-                        .toList());
+        // ADMIN → sin límites
+        // ENTRENADOR → el filtro de equipo acota la consulta a su equipo
+        return usuarioMapper.toDTOList(usuarioRepository.findByPosicion(posicion));
     }
 
     /**
@@ -385,6 +432,8 @@ public class UsuarioServiceImpl implements UsuarioService {
      *   <li>Valida longitud mínima de 6 caracteres</li>
      *   <li>Encripta la nueva contraseña con BCrypt</li>
      *   <li>Guarda el usuario actualizado</li>
+     *   <li>Revoca todos los tokens emitidos hasta ahora para el usuario, que deberá
+     *       volver a iniciar sesión</li>
      * </ol>
      *
      * @throws EntityNotFoundException si el usuario no existe
@@ -416,5 +465,8 @@ public class UsuarioServiceImpl implements UsuarioService {
         // Cifrar y guardar la nueva contraseña
         usuario.setPassword(passwordEncoder.encode(passwordNueva));
         usuarioRepository.save(usuario);
+
+        // Invalidar las sesiones abiertas con la contraseña anterior
+        revocacionTokens.revocarUsuario(usuario.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+-- =====================================================
+--   V10 - INSTANCIA DE LOS TRABAJOS DE FOTO DE PERFIL
+-- =====================================================
+-- El archivo de cada trabajo está en el directorio de espera de la instancia que
+-- aceptó la foto, así que solo esa instancia puede procesarlo. Cada instancia solo
+-- reanuda, encola y cuenta sus propios trabajos (columna instancia).
+--
+-- Los trabajos anteriores a esta migración quedan con instancia vacía; la primera
+-- instancia que arranca los adopta (ProcesadorFotosPerfil.reanudarInterrumpidos).
+
+ALTER TABLE trabajos_foto ADD COLUMN instancia VARCHAR(64) NOT NULL DEFAULT '';
+
+-- TrabajoFotoRepository: findIdsListos, countByInstanciaAndEstado, reanudar
+DROP INDEX idx_trabajos_foto_estado_siguiente ON trabajos_foto;
+CREATE INDEX idx_trabajos_foto_instancia_estado ON trabajos_foto (instancia, estado, siguiente_intento);
+
+-- TrabajoFotoRepository: deleteFinalizados, abandonar
+CREATE INDEX idx_trabajos_foto_estado_actualizado ON trabajos_foto (estado, actualizado_en);
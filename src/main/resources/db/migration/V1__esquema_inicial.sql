@@ -0,0 +1,104 @@
+-- =====================================================
+--   V1 - ESQUEMA INICIAL
+-- =====================================================
+-- Esquema base equivalente al que generaba Hibernate con ddl-auto=update.
+-- En bases de datos existentes no se ejecuta: Flyway las marca con
+-- baseline-version=1 y aplica solo las migraciones posteriores.
+
+CREATE TABLE equipos (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    categoria       ENUM ('SENIOR','JUVENIL','CADETE','INFANTIL','ALEVIN','BENJAMIN','PREBENJAMIN'),
+    nombre          VARCHAR(255),
+    entrenador_id   BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_equipos_entrenador UNIQUE (entrenador_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE usuarios (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    apellidos       VARCHAR(255),
+    email           VARCHAR(255) NOT NULL,
+    foto_url        VARCHAR(255),
+    nombre          VARCHAR(255),
+    password        VARCHAR(255),
+    posicion        ENUM ('PORTERO','DEFENSA','CENTROCAMPISTA','DELANTERO'),
+    rol             ENUM ('ENTRENADOR','JUGADOR','ADMIN'),
+    telefono        VARCHAR(255),
+    id_equipo       BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE eventos (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    descripcion     VARCHAR(255),
+    fecha           DATE         NOT NULL,
+    hora            TIME(6)      NOT NULL,
+    lugar           VARCHAR(255),
+    tipo_evento     ENUM ('ENTRENAMIENTO','PARTIDO','REUNION') NOT NULL,
+    id_equipo       BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE convocatorias (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    titular         BIT,
+    id_evento       BIGINT       NOT NULL,
+    id_jugador      BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE disponibilidades (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    comentario      VARCHAR(255),
+    estado          ENUM ('ASISTE','NO_ASISTE','DUDA'),
+    id_evento       BIGINT       NOT NULL,
+    id_jugador      BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE estadisticas (
+    id                  BIGINT   NOT NULL AUTO_INCREMENT,
+    goles               INTEGER  NOT NULL,
+    tarjetas_amarillas  INTEGER  NOT NULL,
+    tarjetas_rojas      INTEGER  NOT NULL,
+    id_evento           BIGINT   NOT NULL,
+    id_jugador          BIGINT   NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE cuotas (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    concepto        VARCHAR(255),
+    estado          ENUM ('PENDIENTE','PAGADO','EXENTO') NOT NULL,
+    fecha_pago      DATE,
+    importe         FLOAT(53)    NOT NULL,
+    id_jugador      BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- ================== Claves foráneas ==================
+
+ALTER TABLE equipos
+    ADD CONSTRAINT fk_equipos_entrenador FOREIGN KEY (entrenador_id) REFERENCES usuarios (id);
+
+ALTER TABLE usuarios
+    ADD CONSTRAINT fk_usuarios_equipo FOREIGN KEY (id_equipo) REFERENCES equipos (id);
+
+ALTER TABLE eventos
+    ADD CONSTRAINT fk_eventos_equipo FOREIGN KEY (id_equipo) REFERENCES equipos (id);
+
+ALTER TABLE convocatorias
+    ADD CONSTRAINT fk_convocatorias_evento FOREIGN KEY (id_evento) REFERENCES eventos (id),
+    ADD CONSTRAINT fk_convocatorias_jugador FOREIGN KEY (id_jugador) REFERENCES usuarios (id);
+
+ALTER TABLE disponibilidades
+    ADD CONSTRAINT fk_disponibilidades_evento FOREIGN KEY (id_evento) REFERENCES eventos (id),
+    ADD CONSTRAINT fk_disponibilidades_jugador FOREIGN KEY (id_jugador) REFERENCES usuarios (id);
+
+ALTER TABLE estadisticas
+    ADD CONSTRAINT fk_estadisticas_evento FOREIGN KEY (id_evento) REFERENCES eventos (id),
+    ADD CONSTRAINT fk_estadisticas_jugador FOREIGN KEY (id_jugador) REFERENCES usuarios (id);
+
+ALTER TABLE cuotas
+    ADD CONSTRAINT fk_cuotas_jugador FOREIGN KEY (id_jugador) REFERENCES usuarios (id);
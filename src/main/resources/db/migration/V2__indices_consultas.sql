@@ -0,0 +1,30 @@
+-- =====================================================
+--   V2 - ÍNDICES DE CONSULTA
+-- =====================================================
+-- Índices compuestos alineados con los métodos de los repositorios.
+-- Deben mantenerse sincronizados con las anotaciones @Index de las entidades.
+
+-- EventoRepository: findByEquipoId*, findByEquipoIdAndFecha(After), findByFecha(After)
+CREATE INDEX idx_eventos_equipo_fecha ON eventos (id_equipo, fecha);
+CREATE INDEX idx_eventos_equipo_tipo ON eventos (id_equipo, tipo_evento);
+CREATE INDEX idx_eventos_fecha ON eventos (fecha);
+
+-- DisponibilidadRepository: findByEventoId(AndEstadoDisponibilidad), findByJugadorId
+CREATE INDEX idx_disponibilidades_evento_estado ON disponibilidades (id_evento, estado);
+CREATE INDEX idx_disponibilidades_jugador ON disponibilidades (id_jugador);
+
+-- EstadisticaRepository: findByEventoId(AndJugadorId), findByJugadorId
+CREATE INDEX idx_estadisticas_evento_jugador ON estadisticas (id_evento, id_jugador);
+CREATE INDEX idx_estadisticas_jugador ON estadisticas (id_jugador);
+
+-- CuotaRepository: findByJugadorId, findByEstadoCuota
+CREATE INDEX idx_cuotas_jugador_estado ON cuotas (id_jugador, estado);
+CREATE INDEX idx_cuotas_estado ON cuotas (estado);
+
+-- UsuarioRepository: findByEquipoId, findByRol
+CREATE INDEX idx_usuarios_equipo_rol ON usuarios (id_equipo, rol);
+CREATE INDEX idx_usuarios_rol ON usuarios (rol);
+
+-- ConvocatoriaRepository: findByEventoId(AndTitularTrue), findByJugadorId
+CREATE INDEX idx_convocatorias_evento_titular ON convocatorias (id_evento, titular);
+CREATE INDEX idx_convocatorias_jugador ON convocatorias (id_jugador);
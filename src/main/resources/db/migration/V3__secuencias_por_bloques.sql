@@ -0,0 +1,20 @@
+-- =====================================================
+--   V3 - SECUENCIAS POR BLOQUES
+-- =====================================================
+-- Convocatorias, disponibilidades, estadísticas y cuotas pasan de IDENTITY a
+-- @SequenceGenerator(allocationSize = 50). MySQL no tiene secuencias, así que
+-- Hibernate las emula con una tabla <tabla>_seq de una sola fila (next_val).
+-- Cada tabla se inicializa por encima del mayor ID existente más un bloque
+-- completo, para que los IDs reservados nunca colisionen con filas previas.
+
+CREATE TABLE convocatorias_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO convocatorias_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM convocatorias;
+
+CREATE TABLE disponibilidades_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO disponibilidades_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM disponibilidades;
+
+CREATE TABLE estadisticas_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO estadisticas_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM estadisticas;
+
+CREATE TABLE cuotas_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO cuotas_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM cuotas;
@@ -0,0 +1,23 @@
+-- =====================================================
+--   V4 - TOKENS REVOCADOS
+-- =====================================================
+-- Revocaciones de tokens JWT (entidad TokenRevocado). Una fila con jti revoca un
+-- único token (cierre de sesión); una fila con id_usuario revoca todos los tokens
+-- del usuario emitidos hasta revocado_en (cambio de contraseña, baja). Las filas
+-- se eliminan cuando pasa expira_en, así que la tabla se mantiene pequeña.
+
+CREATE TABLE tokens_revocados (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    jti             VARCHAR(36),
+    id_usuario      BIGINT,
+    revocado_en     DATETIME(6)  NOT NULL,
+    expira_en       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_tokens_revocados_jti UNIQUE (jti)
+) ENGINE = InnoDB;
+
+-- TokenRevocadoRepository: existsByIdUsuarioAndRevocadoEnGreaterThanEqual
+CREATE INDEX idx_tokens_revocados_usuario ON tokens_revocados (id_usuario, revocado_en);
+
+-- TokenRevocadoRepository: countVigentes, findJtiVigentes, findUsuariosConRevocacionVigente, deleteCaducados
+CREATE INDEX idx_tokens_revocados_expira ON tokens_revocados (expira_en);
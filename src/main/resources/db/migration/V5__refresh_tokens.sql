@@ -0,0 +1,23 @@
+-- =====================================================
+--   V5 - REFRESH TOKENS
+-- =====================================================
+-- Refresh tokens rotatorios (entidad RefreshToken). Solo se guarda el SHA-256 del
+-- token (token_hash, BINARY(32)); cada renovación reescribe hash y expiración en
+-- la misma fila.
+-- Al eliminar un usuario se eliminan sus refresh tokens.
+
+CREATE TABLE refresh_tokens (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    token_hash      BINARY(32)   NOT NULL,
+    id_usuario      BIGINT       NOT NULL,
+    expira_en       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_usuario FOREIGN KEY (id_usuario) REFERENCES usuarios (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- RefreshTokenRepository: deleteByUsuarioId
+CREATE INDEX idx_refresh_tokens_usuario ON refresh_tokens (id_usuario);
+
+-- RefreshTokenRepository: deleteCaducados
+CREATE INDEX idx_refresh_tokens_expira ON refresh_tokens (expira_en);
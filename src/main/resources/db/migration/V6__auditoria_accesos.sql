@@ -0,0 +1,27 @@
+-- =====================================================
+--   V6 - AUDITORÍA DE ACCESOS
+-- =====================================================
+-- Último inicio de sesión en usuarios y registro de intentos de login (entidad
+-- RegistroAcceso). Ambos se escriben en segundo plano y en lotes; los IDs del
+-- registro se reservan en bloques de 50 (registros_acceso_seq) como en V3.
+
+ALTER TABLE usuarios ADD COLUMN ultimo_acceso DATETIME(6);
+
+CREATE TABLE registros_acceso (
+    id              BIGINT       NOT NULL,
+    id_usuario      BIGINT,
+    email           VARCHAR(255),
+    ip              VARCHAR(45),
+    exito           BIT          NOT NULL,
+    fecha           DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE registros_acceso_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO registros_acceso_seq (next_val) VALUES (1);
+
+-- RegistroAccesoRepository: findByIdUsuarioOrderByFechaDesc
+CREATE INDEX idx_registros_acceso_usuario_fecha ON registros_acceso (id_usuario, fecha);
+
+-- Consultas y purgas por fecha
+CREATE INDEX idx_registros_acceso_fecha ON registros_acceso (fecha);
@@ -0,0 +1,26 @@
+-- =====================================================
+--   V7 - TRABAJOS DE FOTO DE PERFIL
+-- =====================================================
+-- Procesamiento en segundo plano de las fotos de perfil (entidad TrabajoFoto). El ID
+-- es un UUID que se devuelve al cliente para consultar el estado; el archivo se
+-- guarda en el directorio local de espera hasta que se sube.
+
+CREATE TABLE trabajos_foto (
+    id                  VARCHAR(36)  NOT NULL,
+    id_usuario          BIGINT       NOT NULL,
+    archivo             VARCHAR(64)  NOT NULL,
+    estado              ENUM ('PENDIENTE','PROCESANDO','COMPLETADO','FALLIDO') NOT NULL,
+    intentos            INT          NOT NULL,
+    siguiente_intento   DATETIME(6)  NOT NULL,
+    foto_url            VARCHAR(255),
+    error               VARCHAR(500),
+    creado_en           DATETIME(6)  NOT NULL,
+    actualizado_en      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- TrabajoFotoRepository: findIdsListos, countByEstado, deleteFinalizados
+CREATE INDEX idx_trabajos_foto_estado_siguiente ON trabajos_foto (estado, siguiente_intento);
+
+-- TrabajoFotoRepository: existsByIdUsuarioAndEstadoAndCreadoEnGreaterThan
+CREATE INDEX idx_trabajos_foto_usuario ON trabajos_foto (id_usuario, estado, creado_en);
@@ -0,0 +1,9 @@
+-- =====================================================
+--   V8 - TAMAÑOS DE LA FOTO DE PERFIL
+-- =====================================================
+-- La foto de perfil se reduce localmente a 500, 120 y 40 px antes de subirla.
+-- foto_url guarda la de 500 px; las nuevas columnas, las de 120 y 40 px
+-- (null en las fotos subidas antes de este cambio).
+
+ALTER TABLE usuarios ADD COLUMN foto_mediana_url VARCHAR(255);
+ALTER TABLE usuarios ADD COLUMN foto_miniatura_url VARCHAR(255);
@@ -0,0 +1,14 @@
+-- =====================================================
+--   V9 - ALMACÉN LOCAL DIRECCIONADO POR CONTENIDO
+-- =====================================================
+-- Contador de referencias de los archivos del almacén local (entidad
+-- ArchivoAlmacenado). El nombre es la ruta relativa ab/cd/<sha256>.<ext>, así que
+-- el mismo contenido tiene una sola fila y un solo archivo.
+
+CREATE TABLE archivos_almacenados (
+    nombre          VARCHAR(80)  NOT NULL,
+    referencias     INT          NOT NULL,
+    tamanio         BIGINT       NOT NULL,
+    creado_en       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (nombre)
+) ENGINE = InnoDB;
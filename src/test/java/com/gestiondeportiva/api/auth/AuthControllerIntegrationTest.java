@@ -0,0 +1,97 @@
+package com.gestiondeportiva.api.auth;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestiondeportiva.api.entities.*;
+import com.gestiondeportiva.api.repositories.*;
+
+/**
+ * Pruebas de integración para AuthController
+ * Estas pruebas verifican el registro público de extremo a extremo: el registro no se
+ * ejecuta dentro de la transacción de la prueba, así que los datos se limpian al final
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EquipoRepository equipoRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private Equipo equipo;
+
+    @BeforeEach
+    void setUp() {
+        equipo = new Equipo();
+        equipo.setNombre("Equipo Registro");
+        equipo.setCategoria(Categoria.SENIOR);
+        equipo = equipoRepository.save(equipo);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        equipoRepository.deleteAll();
+    }
+
+    @Test
+    void testRegistroComoAdmin_DebeCrearJugadorSinEquipo() throws Exception {
+        // Given: Un cliente anónimo que pide rol ADMIN y un equipo
+        RegisterRequest request = new RegisterRequest("Ana", "López", "ana.lopez@test.com",
+                "secreto123", Rol.ADMIN, null, "600123123", equipo.getId());
+
+        // When/Then: Se crea un JUGADOR sin equipo
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.usuario.rol").value("JUGADOR"))
+                .andExpect(jsonPath("$.usuario.idEquipo").isEmpty());
+
+        Usuario guardado = usuarioRepository.findByEmail("ana.lopez@test.com").orElseThrow();
+        assertEquals(Rol.JUGADOR, guardado.getRol());
+        assertNull(guardado.getEquipo());
+    }
+
+    @Test
+    void testRegistroComoEntrenador_DebeCrearJugador() throws Exception {
+        // Given
+        RegisterRequest request = new RegisterRequest("Luis", "Martín", "luis.martin@test.com",
+                "secreto123", Rol.ENTRENADOR, null, "600456456", equipo.getId());
+
+        // When/Then
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.usuario.rol").value("JUGADOR"));
+
+        assertEquals(Rol.JUGADOR, usuarioRepository.findByEmail("luis.martin@test.com").orElseThrow().getRol());
+    }
+}
@@ -1,5 +1,7 @@
 package com.gestiondeportiva.api.controllers;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -18,14 +20,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gestiondeportiva.api.dto.EstadisticaDTO;
 import com.gestiondeportiva.api.entities.*;
 import com.gestiondeportiva.api.repositories.*;
+import com.gestiondeportiva.api.security.UsuarioPrincipal;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 /**
  * Pruebas de integración para EstadisticaController
  * Estas pruebas verifican el comportamiento end-to-end de la API
- * incluyendo controlador, servicio, repositorio y base de datos
+ * incluyendo controlador, servicio, repositorio y base de datos.
+ * Las pruebas de la hoja de partido se autentican con un {@link UsuarioPrincipal}
+ * de entrenador, cuyo equipo se comprueba frente al del evento y los jugadores
  */
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -260,10 +266,145 @@ class EstadisticaControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()").value(3));
     }
 
+    @Test
+    void testGuardarHoja_DebeActualizarLasExistentesEInsertarLasNuevas() throws Exception {
+        // Given: El jugador ya tiene estadística en el evento y otro jugador no
+        Estadistica existente = estadistica(jugador, 1);
+        Usuario otroJugador = jugador("Luis", "luis.gomez@test.com", equipo);
+
+        // When
+        mockMvc.perform(post("/api/estadisticas/evento/" + evento.getId() + "/hoja")
+                .with(user(entrenador(equipo)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                        linea(jugador, 3), linea(otroJugador, 1)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].idJugador").value(jugador.getId()))
+                .andExpect(jsonPath("$[1].idJugador").value(otroJugador.getId()));
+
+        // Then: Se actualiza la fila existente y se inserta la nueva
+        estadisticaRepository.flush();
+        List<Estadistica> hoja = estadisticaRepository.findByEventoId(evento.getId());
+        assertEquals(2, hoja.size());
+        Estadistica actualizada = estadisticaRepository
+                .findByEventoIdAndJugadorId(evento.getId(), jugador.getId()).orElseThrow();
+        assertEquals(existente.getId(), actualizada.getId());
+        assertEquals(3, actualizada.getGoles());
+        assertEquals(1, estadisticaRepository
+                .findByEventoIdAndJugadorId(evento.getId(), otroJugador.getId()).orElseThrow().getGoles());
+    }
+
+    @Test
+    void testGuardarHojaConJugadorRepetido_DebeRetornar400() throws Exception {
+        // When/Then
+        mockMvc.perform(post("/api/estadisticas/evento/" + evento.getId() + "/hoja")
+                .with(user(entrenador(equipo)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(linea(jugador, 1), linea(jugador, 2)))))
+                .andExpect(status().isBadRequest());
+
+        assertTrue(estadisticaRepository.findByEventoId(evento.getId()).isEmpty());
+    }
+
+    @Test
+    void testGuardarHojaConJugadorInexistente_DebeRetornar404SinEscribirNada() throws Exception {
+        // Given
+        estadistica(jugador, 1);
+        EstadisticaDTO inexistente = linea(jugador, 5);
+        inexistente.setIdJugador(999_999L);
+
+        // When/Then
+        mockMvc.perform(post("/api/estadisticas/evento/" + evento.getId() + "/hoja")
+                .with(user(entrenador(equipo)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(linea(jugador, 4), inexistente))))
+                .andExpect(status().isNotFound());
+
+        // Then: Ni se actualiza la existente ni se inserta ninguna
+        List<Estadistica> hoja = estadisticaRepository.findByEventoId(evento.getId());
+        assertEquals(1, hoja.size());
+        assertEquals(1, hoja.get(0).getGoles());
+    }
+
+    @Test
+    void testGuardarHojaDeEventoDeOtroEquipo_DebeRetornar403() throws Exception {
+        // Given: El entrenador es de otro equipo
+        Equipo otroEquipo = equipo("Equipo Rival");
+
+        // When/Then
+        mockMvc.perform(post("/api/estadisticas/evento/" + evento.getId() + "/hoja")
+                .with(user(entrenador(otroEquipo)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(linea(jugador, 1)))))
+                .andExpect(status().isForbidden());
+
+        assertTrue(estadisticaRepository.findByEventoId(evento.getId()).isEmpty());
+    }
+
+    @Test
+    void testGuardarHojaConJugadorDeOtroEquipo_DebeRetornar403() throws Exception {
+        // Given
+        Usuario ajeno = jugador("Pablo", "pablo.ruiz@test.com", equipo("Equipo Rival"));
+
+        // When/Then
+        mockMvc.perform(post("/api/estadisticas/evento/" + evento.getId() + "/hoja")
+                .with(user(entrenador(equipo)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(linea(jugador, 1), linea(ajeno, 2)))))
+                .andExpect(status().isForbidden());
+
+        assertTrue(estadisticaRepository.findByEventoId(evento.getId()).isEmpty());
+    }
+
     @Test
     void testAccesoSinAutenticacion_DebeRetornar401() throws Exception {
         // When/Then: Sin @WithMockUser
         mockMvc.perform(get("/api/estadisticas"))
                 .andExpect(status().isForbidden());
     }
+
+    // ================== Auxiliares ==================
+
+    private static UsuarioPrincipal entrenador(Equipo equipo) {
+        return new UsuarioPrincipal(-1L, "entrenador@test.com", null, Rol.ENTRENADOR, equipo.getId());
+    }
+
+    private Equipo equipo(String nombre) {
+        Equipo nuevo = new Equipo();
+        nuevo.setNombre(nombre);
+        nuevo.setCategoria(Categoria.SENIOR);
+        return equipoRepository.save(nuevo);
+    }
+
+    private Usuario jugador(String nombre, String email, Equipo equipo) {
+        Usuario nuevo = new Usuario();
+        nuevo.setNombre(nombre);
+        nuevo.setApellidos("Prueba");
+        nuevo.setEmail(email);
+        nuevo.setPassword("$2a$10$testHashedPassword");
+        nuevo.setRol(Rol.JUGADOR);
+        nuevo.setPosicion(Posicion.DEFENSA);
+        nuevo.setEquipo(equipo);
+        return usuarioRepository.save(nuevo);
+    }
+
+    private Estadistica estadistica(Usuario jugador, int goles) {
+        Estadistica nueva = new Estadistica();
+        nueva.setJugador(jugador);
+        nueva.setEvento(evento);
+        nueva.setGoles(goles);
+        nueva.setTarjetasAmarillas(0);
+        nueva.setTarjetasRojas(0);
+        return estadisticaRepository.save(nueva);
+    }
+
+    private static EstadisticaDTO linea(Usuario jugador, int goles) {
+        EstadisticaDTO linea = new EstadisticaDTO();
+        linea.setIdJugador(jugador.getId());
+        linea.setGoles(goles);
+        linea.setTarjetasAmarillas(0);
+        linea.setTarjetasRojas(0);
+        return linea;
+    }
 }
@@ -0,0 +1,163 @@
+package com.gestiondeportiva.api.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.gestiondeportiva.api.services.FileStorageService;
+
+/**
+ * Pruebas de integración para FotosPerfilController.
+ * Verifican las cabeceras de caché, If-None-Match, las peticiones parciales (Range,
+ * If-Range y 416), HEAD y las rutas que no corresponden a un archivo.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FotosPerfilControllerIntegrationTest {
+
+    private static final String URL = "/uploads/fotos-perfil/";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    private byte[] contenido;
+    private String nombre;
+    private String etag;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 100 bytes aleatorios, para no compartir archivo entre pruebas
+        contenido = new byte[100];
+        new Random().nextBytes(contenido);
+        Path origen = Files.createTempFile("foto", ".jpg");
+        Files.write(origen, contenido);
+        nombre = fileStorageService.guardarArchivo(origen, "jpg");
+        etag = "\"" + nombre.substring(nombre.lastIndexOf('/') + 1, nombre.lastIndexOf('.')) + "\"";
+    }
+
+    @AfterEach
+    void tearDown() {
+        fileStorageService.eliminarArchivo(nombre);
+    }
+
+    @Test
+    void testGet_DebeServirLaFotoConCacheInmutable() throws Exception {
+        MvcResult resultado = mockMvc.perform(get(URL + nombre))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "100"))
+                .andExpect(content().contentType("image/jpeg"))
+                .andReturn();
+
+        assertArrayEquals(contenido, resultado.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void testIfNoneMatch_ConElMismoEtag_DebeRetornar304() throws Exception {
+        MvcResult resultado = mockMvc.perform(get(URL + nombre).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertEquals(0, resultado.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void testIfNoneMatch_ConOtroEtag_DebeRetornar200() throws Exception {
+        mockMvc.perform(get(URL + nombre).header(HttpHeaders.IF_NONE_MATCH, "\"otro\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testRange_DebeRetornar206ConElFragmento() throws Exception {
+        MvcResult resultado = mockMvc.perform(get(URL + nombre).header(HttpHeaders.RANGE, "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/100"))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "10"))
+                .andReturn();
+
+        assertArrayEquals(Arrays.copyOfRange(contenido, 10, 20), resultado.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void testRange_Sufijo_DebeRetornarLosUltimosBytes() throws Exception {
+        MvcResult resultado = mockMvc.perform(get(URL + nombre).header(HttpHeaders.RANGE, "bytes=-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 95-99/100"))
+                .andReturn();
+
+        assertArrayEquals(Arrays.copyOfRange(contenido, 95, 100), resultado.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void testIfRange_ConElMismoEtag_DebeRetornar206() throws Exception {
+        mockMvc.perform(get(URL + nombre)
+                        .header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/100"));
+    }
+
+    @Test
+    void testIfRange_ConOtroEtag_DebeRetornarElArchivoEntero() throws Exception {
+        MvcResult resultado = mockMvc.perform(get(URL + nombre)
+                        .header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, "\"otro\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andReturn();
+
+        assertArrayEquals(contenido, resultado.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void testRange_FueraDelArchivo_DebeRetornar416() throws Exception {
+        mockMvc.perform(get(URL + nombre).header(HttpHeaders.RANGE, "bytes=200-300"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"));
+    }
+
+    @Test
+    void testHead_DebeRetornarCabecerasSinCuerpo() throws Exception {
+        MvcResult resultado = mockMvc.perform(head(URL + nombre))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "100"))
+                .andReturn();
+
+        assertEquals(0, resultado.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void testDirectorioSinNombre_DebeRetornar404() throws Exception {
+        mockMvc.perform(get("/uploads/fotos-perfil")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/fotos-perfil/")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testArchivoInexistente_DebeRetornar404() throws Exception {
+        mockMvc.perform(get(URL + "ab/cd/abcd" + "0".repeat(60) + ".jpg"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,343 @@
+package com.gestiondeportiva.api.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.api.ResourceProvider;
+import org.flywaydb.core.api.resource.LoadableResource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.gestiondeportiva.api.entities.EstadoCuota;
+import com.gestiondeportiva.api.entities.EstadoDisponibilidad;
+import com.gestiondeportiva.api.entities.EstadoTrabajoFoto;
+import com.gestiondeportiva.api.entities.Rol;
+
+/**
+ * Pruebas del plan de ejecución de las consultas de los repositorios.
+ * <p>
+ * El esquema lo crean las migraciones de Flyway (las mismas que en producción) sobre H2
+ * en modo MySQL. Cada prueba llama a un finder, recoge el SQL que genera Hibernate,
+ * ejecuta EXPLAIN sobre él con los mismos parámetros y comprueba que se resuelve con el
+ * índice esperado y no con un recorrido completo de la tabla.
+ * </p>
+ * <p>
+ * Al leer las migraciones se adaptan dos construcciones de MySQL que en H2 cambiarían
+ * el resultado (ver {@link MigracionesH2}); el resto del SQL se ejecuta tal cual y
+ * Hibernate valida el esquema resultante contra las entidades.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migraciones;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+class IndicesConsultasTest {
+
+    /** SQL generado por Hibernate en el hilo de la prueba mientras se recoge */
+    private static final ThreadLocal<List<String>> SENTENCIAS = new ThreadLocal<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private DisponibilidadRepository disponibilidadRepository;
+
+    @Autowired
+    private EstadisticaRepository estadisticaRepository;
+
+    @Autowired
+    private CuotaRepository cuotaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ConvocatoriaRepository convocatoriaRepository;
+
+    @Autowired
+    private TrabajoFotoRepository trabajoFotoRepository;
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        FlywayConfigurationCustomizer migracionesParaH2() {
+            return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer capturaSentencias() {
+            return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    (StatementInspector) sql -> {
+                        List<String> sentencias = SENTENCIAS.get();
+                        if (sentencias != null) {
+                            sentencias.add(sql);
+                        }
+                        return sql;
+                    });
+        }
+    }
+
+    @Test
+    void testEventosPorEquipo_DebeUsarIndice() {
+        assertUsaIndice(() -> eventoRepository.findByEquipoId(1L), "idx_eventos_equipo_fecha", 1L);
+    }
+
+    @Test
+    void testEventosPorFecha_DebeUsarIndice() {
+        LocalDate fecha = LocalDate.of(2024, 1, 1);
+
+        assertUsaIndice(() -> eventoRepository.findByFecha(fecha), "idx_eventos_fecha", fecha);
+    }
+
+    @Test
+    void testEventosPosterioresAFecha_DebeUsarIndice() {
+        LocalDate fecha = LocalDate.of(2024, 1, 1);
+
+        assertUsaIndice(() -> eventoRepository.findByFechaAfter(fecha), "idx_eventos_fecha", fecha);
+    }
+
+    @Test
+    void testDisponibilidadesPorEventoYEstado_DebeUsarIndice() {
+        assertUsaIndice(() -> disponibilidadRepository.findByEventoIdAndEstadoDisponibilidad(1L,
+                EstadoDisponibilidad.ASISTE), "idx_disponibilidades_evento_estado",
+                1L, EstadoDisponibilidad.ASISTE.name());
+    }
+
+    @Test
+    void testDisponibilidadesPorJugador_DebeUsarIndice() {
+        assertUsaIndice(() -> disponibilidadRepository.findByJugadorId(1L),
+                "idx_disponibilidades_jugador", 1L);
+    }
+
+    @Test
+    void testDisponibilidadesPorEvento_DebeUsarIndice() {
+        assertUsaIndice(() -> disponibilidadRepository.findByEventoId(1L),
+                "idx_disponibilidades_evento_estado", 1L);
+    }
+
+    @Test
+    void testEstadisticaPorEventoYJugador_DebeUsarIndice() {
+        assertUsaIndice(() -> estadisticaRepository.findByEventoIdAndJugadorId(1L, 2L),
+                "idx_estadisticas_evento_jugador", 1L, 2L);
+    }
+
+    @Test
+    void testEstadisticasPorJugador_DebeUsarIndice() {
+        assertUsaIndice(() -> estadisticaRepository.findByJugadorId(1L), "idx_estadisticas_jugador", 1L);
+    }
+
+    @Test
+    void testEstadisticasPorEvento_DebeUsarIndice() {
+        assertUsaIndice(() -> estadisticaRepository.findByEventoId(1L), "idx_estadisticas_evento_jugador", 1L);
+    }
+
+    @Test
+    void testCuotasPorJugador_DebeUsarIndice() {
+        assertUsaIndice(() -> cuotaRepository.findByJugadorId(1L), "idx_cuotas_jugador_estado", 1L);
+    }
+
+    @Test
+    void testCuotasPorEstado_DebeUsarIndice() {
+        assertUsaIndice(() -> cuotaRepository.findByEstadoCuota(EstadoCuota.PENDIENTE),
+                "idx_cuotas_estado", EstadoCuota.PENDIENTE.name());
+    }
+
+    @Test
+    void testUsuariosPorEquipo_DebeUsarIndice() {
+        assertUsaIndice(() -> usuarioRepository.findByEquipoId(1L), "idx_usuarios_equipo_rol", 1L);
+    }
+
+    @Test
+    void testUsuariosPorRol_DebeUsarIndice() {
+        assertUsaIndice(() -> usuarioRepository.findByRol(Rol.JUGADOR), "idx_usuarios_rol", Rol.JUGADOR.name());
+    }
+
+    @Test
+    void testIdsJugadoresDelClub_DebeUsarIndice() {
+        assertUsaIndice(() -> usuarioRepository.findIdsByRol(Rol.JUGADOR, 0L, PageRequest.of(0, 500)),
+                "idx_usuarios_rol", Rol.JUGADOR.name(), 0L, 500);
+    }
+
+    @Test
+    void testIdsJugadoresDeUnEquipo_DebeUsarIndice() {
+        assertUsaIndice(() -> usuarioRepository.findIdsByRolAndEquipoId(Rol.JUGADOR, 1L, 0L, PageRequest.of(0, 500)),
+                "idx_usuarios_equipo_rol", Rol.JUGADOR.name(), 1L, 0L, 500);
+    }
+
+    @Test
+    void testTitularesPorEvento_DebeUsarIndice() {
+        assertUsaIndice(() -> convocatoriaRepository.findByEventoIdAndTitularTrue(1L),
+                "idx_convocatorias_evento_titular", 1L);
+    }
+
+    @Test
+    void testConvocatoriasPorJugador_DebeUsarIndice() {
+        assertUsaIndice(() -> convocatoriaRepository.findByJugadorId(1L), "idx_convocatorias_jugador", 1L);
+    }
+
+    @Test
+    void testConvocatoriasPorEvento_DebeUsarIndice() {
+        assertUsaIndice(() -> convocatoriaRepository.findByEventoId(1L), "idx_convocatorias_evento_titular", 1L);
+    }
+
+    @Test
+    void testTrabajosFotoListos_DebeUsarIndice() {
+        LocalDateTime ahora = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        assertUsaIndice(() -> trabajoFotoRepository.findIdsListos("instancia-a", EstadoTrabajoFoto.PENDIENTE,
+                        ahora, PageRequest.of(0, 10)), "idx_trabajos_foto_instancia_estado",
+                "instancia-a", EstadoTrabajoFoto.PENDIENTE.name(), ahora, 10);
+    }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * Llama al finder y comprueba que el plan de la consulta que genera usa el índice
+     * indicado. H2 muestra el índice elegido para cada tabla en un comentario del plan,
+     * o "tableScan" cuando recorre la tabla completa.
+     *
+     * @param finder llamada al repositorio
+     * @param indice nombre del índice esperado
+     * @param parametros valores de los parámetros de la consulta, en orden
+     */
+    private void assertUsaIndice(Runnable finder, String indice, Object... parametros) {
+        List<String> sentencias = new ArrayList<>();
+        SENTENCIAS.set(sentencias);
+        try {
+            finder.run();
+        } finally {
+            SENTENCIAS.remove();
+        }
+        assertThat(sentencias).hasSize(1);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sentencias.get(0), String.class, parametros);
+
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        assertThat(plan).contains("/* public." + indice + ":");
+    }
+
+    /**
+     * Migraciones de classpath:db/migration tal como las lee Flyway, con dos adaptaciones:
+     * <ul>
+     *   <li>Se omiten las claves foráneas de V1. H2 crea un índice propio para cada una y
+     *       lo conserva aunque después se cree otro que empiece por la misma columna (solo
+     *       reutiliza uno con exactamente las mismas columnas), y con las tablas vacías
+     *       puede elegirlo en lugar del índice de V2; MySQL, en cambio, reutiliza el de V2.</li>
+     *   <li>Las tablas de secuencia de V3 y V6 (la emulación de secuencias de MySQL) se
+     *       crean como secuencias de H2 con el mismo incremento que el allocationSize de
+     *       las entidades, que es lo que valida Hibernate con el dialecto de H2.</li>
+     * </ul>
+     */
+    static class MigracionesH2 implements ResourceProvider {
+
+        private static final String UBICACION = "db/migration/";
+        private static final int INCREMENTO_SECUENCIAS = 50;
+        private static final Pattern CLAVE_FORANEA = Pattern.compile(
+                "ALTER TABLE \\w+\\s+ADD CONSTRAINT \\w+ FOREIGN KEY [^;]*;");
+        private static final Pattern TABLA_SECUENCIA = Pattern.compile(
+                "CREATE TABLE (\\w+_seq) \\(next_val BIGINT\\)[^;]*;\\s*INSERT INTO \\1 [^;]*;");
+
+        private final List<LoadableResource> migraciones = new ArrayList<>();
+
+        MigracionesH2() {
+            try {
+                Resource[] recursos = new PathMatchingResourcePatternResolver()
+                        .getResources("classpath:" + UBICACION + "*.sql");
+                for (Resource recurso : recursos) {
+                    String sql = recurso.getContentAsString(StandardCharsets.UTF_8);
+                    migraciones.add(new Migracion(recurso.getFilename(), adaptar(sql)));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public LoadableResource getResource(String nombre) {
+            return migraciones.stream()
+                    .filter(migracion -> migracion.getRelativePath().equals(nombre))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        @Override
+        public Collection<LoadableResource> getResources(String prefijo, String[] sufijos) {
+            return migraciones.stream()
+                    .filter(migracion -> migracion.getFilename().startsWith(prefijo))
+                    .filter(migracion -> Arrays.stream(sufijos).anyMatch(migracion.getFilename()::endsWith))
+                    .toList();
+        }
+
+        private static String adaptar(String sql) {
+            String sinClavesForaneas = CLAVE_FORANEA.matcher(sql).replaceAll("");
+            return TABLA_SECUENCIA.matcher(sinClavesForaneas).replaceAll(
+                    "CREATE SEQUENCE $1 START WITH 1 INCREMENT BY " + INCREMENTO_SECUENCIAS + ";");
+        }
+
+        private static class Migracion extends LoadableResource {
+
+            private final String nombre;
+            private final String sql;
+
+            Migracion(String nombre, String sql) {
+                this.nombre = nombre;
+                this.sql = sql;
+            }
+
+            @Override
+            public Reader read() {
+                return new StringReader(sql);
+            }
+
+            @Override
+            public String getAbsolutePath() {
+                return UBICACION + nombre;
+            }
+
+            @Override
+            public String getAbsolutePathOnDisk() {
+                return null;
+            }
+
+            @Override
+            public String getFilename() {
+                return nombre;
+            }
+
+            @Override
+            public String getRelativePath() {
+                return UBICACION + nombre;
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.gestiondeportiva.api.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.gestiondeportiva.api.entities.Posicion;
+import com.gestiondeportiva.api.entities.RegistroAcceso;
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.entities.Usuario;
+import com.gestiondeportiva.api.repositories.RegistroAccesoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Pruebas de integración para AuditoriaAccesos.
+ * Verifican el límite de la cola y el contador de descartados, la escritura de un lote
+ * (registros de auditoría y último acceso de cada usuario) y el reintento evento a
+ * evento cuando un lote falla.
+ * <p>
+ * Los repositorios reales se envuelven en mocks que delegan en ellos, para comprobar las
+ * llamadas y simular un registro no válido.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditoriaAccesosTest {
+
+    @Autowired
+    private RegistroAccesoRepository registroAccesoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RegistroAccesoRepository registros;
+    private UsuarioRepository usuarios;
+    private SimpleMeterRegistry meterRegistry;
+    private Usuario ana;
+    private Usuario bruno;
+    private final List<AuditoriaAccesos> auditorias = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        registros = mock(RegistroAccesoRepository.class, delegatesTo(registroAccesoRepository));
+        usuarios = mock(UsuarioRepository.class, delegatesTo(usuarioRepository));
+        meterRegistry = new SimpleMeterRegistry();
+        ana = usuario("Ana");
+        bruno = usuario("Bruno");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (AuditoriaAccesos auditoria : auditorias) {
+            auditoria.destroy();
+        }
+        registroAccesoRepository.deleteAll(registrosDe(ana.getId(), bruno.getId()));
+        usuarioRepository.deleteAllById(List.of(ana.getId(), bruno.getId()));
+    }
+
+    @Test
+    void testColaLlena_DebeDescartarYContarLosEventos() {
+        // Given: Una cola de 2 eventos sin hilo escritor
+        AuditoriaAccesos auditoria = crearAuditoria(2, 10);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            auditoria.registrar(ana.getId(), ana.getEmail(), "10.0.0.1", true);
+        }
+
+        // Then
+        assertEquals(3, meterRegistry.get("auth.auditoria.descartados").counter().count());
+        assertEquals(2, meterRegistry.get("auth.auditoria.cola").gauge().value());
+    }
+
+    @Test
+    void testLote_DebeInsertarLosRegistrosYElUltimoAccesoDeCadaUsuario() throws InterruptedException {
+        // Given: Varios logins en la cola antes de arrancar el escritor (un solo lote)
+        AuditoriaAccesos auditoria = crearAuditoria(100, 50);
+        auditoria.registrar(ana.getId(), ana.getEmail(), "10.0.0.1", true);
+        Thread.sleep(5);
+        auditoria.registrar(bruno.getId(), bruno.getEmail(), "10.0.0.2", true);
+        Thread.sleep(5);
+        auditoria.registrar(ana.getId(), ana.getEmail(), "10.0.0.1", true);
+        Thread.sleep(5);
+        auditoria.registrar(bruno.getId(), bruno.getEmail(), "10.0.0.2", false);
+
+        // When: Se arranca y se para, lo que escribe los pendientes
+        auditoria.iniciar();
+        auditoria.destroy();
+
+        // Then: Un único saveAll con los 4 registros
+        verify(registros).saveAll(argThat(lote -> lote instanceof Collection<?> c && c.size() == 4));
+        assertEquals(4, registrosDe(ana.getId(), bruno.getId()).size());
+
+        // Then: Cada usuario tiene como último acceso su propio último login correcto
+        assertEquals(ultimoLoginCorrecto(ana.getId()), ultimoAcceso(ana));
+        assertEquals(ultimoLoginCorrecto(bruno.getId()), ultimoAcceso(bruno));
+        assertTrue(ultimoAcceso(ana).isAfter(ultimoAcceso(bruno)));
+        verify(usuarios, times(2)).actualizarUltimoAcceso(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRegistroNoValido_DebeReintentarEventoAEventoYDescartarSoloEse() throws InterruptedException {
+        // Given: El registro con email "no-valido" falla al guardarse
+        doAnswer(invocacion -> {
+            Iterable<RegistroAcceso> lote = invocacion.getArgument(0);
+            for (RegistroAcceso registro : lote) {
+                if ("no-valido".equals(registro.getEmail())) {
+                    throw new DataIntegrityViolationException("registro no válido");
+                }
+            }
+            return registroAccesoRepository.saveAll(lote);
+        }).when(registros).saveAll(anyIterable());
+        AuditoriaAccesos auditoria = crearAuditoria(100, 50);
+        auditoria.registrar(ana.getId(), ana.getEmail(), "10.0.0.1", true);
+        auditoria.registrar(ana.getId(), "no-valido", "10.0.0.1", false);
+        auditoria.registrar(bruno.getId(), bruno.getEmail(), "10.0.0.2", true);
+
+        // When
+        auditoria.iniciar();
+        auditoria.destroy();
+
+        // Then: Se escriben los otros dos eventos y se cuenta el perdido
+        List<RegistroAcceso> escritos = registrosDe(ana.getId(), bruno.getId());
+        assertEquals(2, escritos.size());
+        assertTrue(escritos.stream().noneMatch(registro -> "no-valido".equals(registro.getEmail())));
+        assertEquals(1, meterRegistry.get("auth.auditoria.errores").counter().count());
+        assertNotNull(ultimoAcceso(ana));
+        assertNotNull(ultimoAcceso(bruno));
+    }
+
+    @Test
+    void testGuardarUsuarioCargadoAntes_NoDebeSobrescribirElUltimoAcceso() throws InterruptedException {
+        // Given: Se carga el usuario y después se registra un login
+        Usuario cargado = usuarioRepository.findById(ana.getId()).orElseThrow();
+        AuditoriaAccesos auditoria = crearAuditoria(100, 50);
+        auditoria.registrar(ana.getId(), ana.getEmail(), "10.0.0.1", true);
+        auditoria.iniciar();
+        auditoria.destroy();
+        LocalDateTime acceso = ultimoAcceso(ana);
+        assertNotNull(acceso);
+
+        // When: Se guarda la copia cargada antes del login
+        cargado.setTelefono("600000000");
+        usuarioRepository.save(cargado);
+
+        // Then
+        assertEquals(acceso, ultimoAcceso(ana));
+    }
+
+    // ================== Auxiliares ==================
+
+    private AuditoriaAccesos crearAuditoria(int capacidadCola, int tamanioLote) {
+        AuditoriaAccesos auditoria = new AuditoriaAccesos(registros, usuarios, transactionManager,
+                capacidadCola, tamanioLote, meterRegistry);
+        auditorias.add(auditoria);
+        return auditoria;
+    }
+
+    private Usuario usuario(String nombre) {
+        Usuario usuario = new Usuario();
+        usuario.setNombre(nombre);
+        usuario.setApellidos("Auditoría");
+        usuario.setEmail(nombre.toLowerCase() + "." + UUID.randomUUID() + "@test.com");
+        usuario.setPassword("x");
+        usuario.setRol(Rol.JUGADOR);
+        usuario.setPosicion(Posicion.DEFENSA);
+        return usuarioRepository.save(usuario);
+    }
+
+    private List<RegistroAcceso> registrosDe(Long... idsUsuario) {
+        List<Long> ids = List.of(idsUsuario);
+        return registroAccesoRepository.findAll().stream()
+                .filter(registro -> ids.contains(registro.getIdUsuario()))
+                .toList();
+    }
+
+    private LocalDateTime ultimoLoginCorrecto(Long idUsuario) {
+        return registrosDe(idUsuario).stream()
+                .filter(RegistroAcceso::isExito)
+                .map(RegistroAcceso::getFecha)
+                .max(LocalDateTime::compareTo)
+                .orElseThrow();
+    }
+
+    private LocalDateTime ultimoAcceso(Usuario usuario) {
+        return usuarioRepository.findById(usuario.getId()).orElseThrow().getUltimoAcceso();
+    }
+}
@@ -0,0 +1,49 @@
+package com.gestiondeportiva.api.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para FiltroBloom.
+ */
+class FiltroBloomTest {
+
+    @Test
+    void testPodriaContener_ClavesAgregadas_NuncaDebeDarFalsoNegativo() {
+        // Given: Un filtro con 10.000 claves añadidas
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        String[] claves = new String[10_000];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = "jti:" + UUID.randomUUID();
+            filtro.agregar(claves[i]);
+        }
+
+        // When/Then: Todas las claves añadidas se encuentran
+        for (String clave : claves) {
+            assertTrue(filtro.podriaContener(clave));
+        }
+    }
+
+    @Test
+    void testPodriaContener_ClavesNoAgregadas_DebeRespetarTasaDeFalsosPositivos() {
+        // Given: Un filtro lleno hasta su capacidad prevista con un 1% de falsos positivos
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.agregar("usuario:" + i);
+        }
+
+        // When: Se consultan 100.000 claves que no se han añadido
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.podriaContener("jti:" + UUID.randomUUID())) {
+                falsosPositivos++;
+            }
+        }
+
+        // Then: La tasa de falsos positivos no supera el doble de la configurada
+        assertTrue(falsosPositivos < 2_000, "Falsos positivos: " + falsosPositivos);
+    }
+}
@@ -0,0 +1,282 @@
+package com.gestiondeportiva.api.security;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.gestiondeportiva.api.entities.Categoria;
+import com.gestiondeportiva.api.entities.Convocatoria;
+import com.gestiondeportiva.api.entities.Disponibilidad;
+import com.gestiondeportiva.api.entities.Equipo;
+import com.gestiondeportiva.api.entities.EstadoDisponibilidad;
+import com.gestiondeportiva.api.entities.Estadistica;
+import com.gestiondeportiva.api.entities.Evento;
+import com.gestiondeportiva.api.entities.Posicion;
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.entities.TipoEvento;
+import com.gestiondeportiva.api.entities.Usuario;
+import com.gestiondeportiva.api.repositories.ConvocatoriaRepository;
+import com.gestiondeportiva.api.repositories.DisponibilidadRepository;
+import com.gestiondeportiva.api.repositories.EquipoRepository;
+import com.gestiondeportiva.api.repositories.EstadisticaRepository;
+import com.gestiondeportiva.api.repositories.EventoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+
+/**
+ * Pruebas de integración del filtro de equipo (FiltroEquipoTransactionManager).
+ * <p>
+ * Las peticiones se autentican con tokens JWT reales, de modo que el principal es un
+ * {@link UsuarioPrincipal} y el filtro se activa como en producción. Verifican que
+ * JUGADOR y ENTRENADOR solo ven los eventos, usuarios, disponibilidades, convocatorias
+ * y estadísticas de su equipo, que ADMIN lo ve todo, y que al cambiar el equipo de un
+ * usuario su token anterior deja de valer.
+ * </p>
+ * <p>
+ * Sin {@code @Transactional}: con una transacción de prueba abierta antes de autenticar,
+ * las peticiones la reutilizarían y el filtro no se activaría. Los datos se eliminan al
+ * terminar cada prueba.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FiltroEquipoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EquipoRepository equipoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private DisponibilidadRepository disponibilidadRepository;
+
+    @Autowired
+    private ConvocatoriaRepository convocatoriaRepository;
+
+    @Autowired
+    private EstadisticaRepository estadisticaRepository;
+
+    private Equipo equipoA;
+    private Equipo equipoB;
+    private Usuario admin;
+    private Usuario entrenadorA;
+    private Usuario jugadorA;
+    private Usuario jugadorB;
+    private Evento eventoA;
+    private Evento eventoB;
+
+    private final List<Long> disponibilidades = new ArrayList<>();
+    private final List<Long> convocatorias = new ArrayList<>();
+    private final List<Long> estadisticas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        equipoA = equipo("Filtro A");
+        equipoB = equipo("Filtro B");
+        admin = usuario("admin.filtro@test.com", Rol.ADMIN, null);
+        entrenadorA = usuario("entrenador.filtro.a@test.com", Rol.ENTRENADOR, equipoA);
+        jugadorA = usuario("jugador.filtro.a@test.com", Rol.JUGADOR, equipoA);
+        jugadorB = usuario("jugador.filtro.b@test.com", Rol.JUGADOR, equipoB);
+        eventoA = evento(equipoA);
+        eventoB = evento(equipoB);
+
+        for (Object[] par : new Object[][] { { eventoA, jugadorA }, { eventoB, jugadorB } }) {
+            Evento evento = (Evento) par[0];
+            Usuario jugador = (Usuario) par[1];
+
+            Disponibilidad disponibilidad = new Disponibilidad();
+            disponibilidad.setEvento(evento);
+            disponibilidad.setJugador(jugador);
+            disponibilidad.setEstadoDisponibilidad(EstadoDisponibilidad.ASISTE);
+            disponibilidades.add(disponibilidadRepository.save(disponibilidad).getId());
+
+            Convocatoria convocatoria = new Convocatoria();
+            convocatoria.setEvento(evento);
+            convocatoria.setJugador(jugador);
+            convocatoria.setTitular(true);
+            convocatorias.add(convocatoriaRepository.save(convocatoria).getId());
+
+            Estadistica estadistica = new Estadistica();
+            estadistica.setEvento(evento);
+            estadistica.setJugador(jugador);
+            estadistica.setGoles(1);
+            estadisticas.add(estadisticaRepository.save(estadistica).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        estadisticaRepository.deleteAllById(estadisticas);
+        convocatoriaRepository.deleteAllById(convocatorias);
+        disponibilidadRepository.deleteAllById(disponibilidades);
+        eventoRepository.deleteAllById(List.of(eventoA.getId(), eventoB.getId()));
+        usuarioRepository.deleteAllById(List.of(admin.getId(), entrenadorA.getId(), jugadorA.getId(), jugadorB.getId()));
+        equipoRepository.deleteAllById(List.of(equipoA.getId(), equipoB.getId()));
+    }
+
+    @Test
+    void testJugador_SoloDebeVerLosDatosDeSuEquipo() throws Exception {
+        String token = token(jugadorA);
+
+        listar("/api/eventos", token).andExpect(jsonPath("$[*].id", contains(entero(eventoA.getId()))));
+        listar("/api/disponibilidades", token)
+                .andExpect(jsonPath("$[*].id", contains(entero(disponibilidades.get(0)))));
+        listar("/api/convocatorias", token)
+                .andExpect(jsonPath("$[*].id", contains(entero(convocatorias.get(0)))));
+        listar("/api/estadisticas", token)
+                .andExpect(jsonPath("$[*].id", contains(entero(estadisticas.get(0)))));
+
+        // Un jugador no puede listar usuarios
+        mockMvc.perform(get("/api/usuarios").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testEntrenador_SoloDebeVerLosDatosDeSuEquipo() throws Exception {
+        String token = token(entrenadorA);
+
+        listar("/api/eventos", token).andExpect(jsonPath("$[*].id", contains(entero(eventoA.getId()))));
+        listar("/api/usuarios", token).andExpect(jsonPath("$[*].id",
+                containsInAnyOrder(entero(entrenadorA.getId()), entero(jugadorA.getId()))));
+        listar("/api/disponibilidades", token)
+                .andExpect(jsonPath("$[*].id", contains(entero(disponibilidades.get(0)))));
+        listar("/api/convocatorias", token)
+                .andExpect(jsonPath("$[*].id", contains(entero(convocatorias.get(0)))));
+        listar("/api/estadisticas", token)
+                .andExpect(jsonPath("$[*].id", contains(entero(estadisticas.get(0)))));
+    }
+
+    @Test
+    void testAdmin_DebeVerLosDatosDeTodosLosEquipos() throws Exception {
+        String token = token(admin);
+
+        listar("/api/eventos", token).andExpect(jsonPath("$[*].id",
+                hasItems(entero(eventoA.getId()), entero(eventoB.getId()))));
+        listar("/api/usuarios", token).andExpect(jsonPath("$[*].id",
+                hasItems(entero(jugadorA.getId()), entero(jugadorB.getId()))));
+        listar("/api/disponibilidades", token).andExpect(jsonPath("$[*].id",
+                hasItems(entero(disponibilidades.get(0)), entero(disponibilidades.get(1)))));
+        listar("/api/convocatorias", token).andExpect(jsonPath("$[*].id",
+                hasItems(entero(convocatorias.get(0)), entero(convocatorias.get(1)))));
+        listar("/api/estadisticas", token).andExpect(jsonPath("$[*].id",
+                hasItems(entero(estadisticas.get(0)), entero(estadisticas.get(1)))));
+    }
+
+    @Test
+    void testCambioDeEquipo_DebeInvalidarElTokenAnterior() throws Exception {
+        // Given: El entrenador tiene un token emitido con el equipo A en un segundo anterior
+        // al del cambio (la revocación por usuario tiene la precisión de segundos del iat)
+        String tokenAnterior = token(entrenadorA);
+        esperarAlSiguienteSegundo(tokenAnterior);
+
+        // When: Un administrador lo pasa al equipo B
+        mockMvc.perform(put("/api/usuarios/" + entrenadorA.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"idEquipo\":" + equipoB.getId() + "}"))
+                .andExpect(status().isOk());
+
+        // Then: El token con el equipo anterior ya no se acepta
+        mockMvc.perform(get("/api/eventos").header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenAnterior))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testJugador_NoDebePoderCambiarSuEquipoNiSuRol() throws Exception {
+        String token = token(jugadorA);
+
+        mockMvc.perform(put("/api/usuarios/" + jugadorA.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"idEquipo\":" + equipoB.getId() + "}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/usuarios/" + jugadorA.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rol\":\"ADMIN\"}"))
+                .andExpect(status().isForbidden());
+    }
+
+    // ================== Auxiliares ==================
+
+    private ResultActions listar(String url, String token) throws Exception {
+        return mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private String token(Usuario usuario) {
+        return jwtUtil.generateToken(new UsuarioPrincipal(usuario.getId(), usuario.getEmail(), null,
+                usuario.getRol(), usuario.getEquipo() != null ? usuario.getEquipo().getId() : null));
+    }
+
+    private void esperarAlSiguienteSegundo(String token) throws InterruptedException {
+        Instant siguiente = jwtUtil.verificar(token).emitidoEn().toInstant().plus(1, ChronoUnit.SECONDS);
+        while (Instant.now().isBefore(siguiente)) {
+            Thread.sleep(20);
+        }
+    }
+
+    /** Los IDs pequeños se serializan como enteros en el JSON */
+    private static Integer entero(Long id) {
+        return id.intValue();
+    }
+
+    private Equipo equipo(String nombre) {
+        Equipo equipo = new Equipo();
+        equipo.setNombre(nombre);
+        equipo.setCategoria(Categoria.SENIOR);
+        return equipoRepository.save(equipo);
+    }
+
+    private Usuario usuario(String email, Rol rol, Equipo equipo) {
+        Usuario usuario = new Usuario();
+        usuario.setNombre("Usuario");
+        usuario.setApellidos("Filtro");
+        usuario.setEmail(email);
+        usuario.setPassword("$2a$10$testHashedPassword");
+        usuario.setRol(rol);
+        usuario.setPosicion(Posicion.DEFENSA);
+        usuario.setEquipo(equipo);
+        return usuarioRepository.save(usuario);
+    }
+
+    private Evento evento(Equipo equipo) {
+        Evento evento = new Evento();
+        evento.setDescripcion("Entrenamiento " + equipo.getNombre());
+        evento.setTipoEvento(TipoEvento.ENTRENAMIENTO);
+        evento.setFecha(LocalDate.now());
+        evento.setHora(LocalTime.of(19, 0));
+        evento.setLugar("Campo municipal");
+        evento.setEquipo(equipo);
+        return eventoRepository.save(evento);
+    }
+}
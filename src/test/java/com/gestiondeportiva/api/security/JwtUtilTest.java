@@ -0,0 +1,188 @@
+package com.gestiondeportiva.api.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.gestiondeportiva.api.entities.Rol;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Pruebas unitarias para JwtUtil y su caché de tokens verificados.
+ * Incluye la tasa de aciertos de la caché y una comparación de tiempos con y sin
+ * caché para una mezcla realista de tokens repetidos y tokens nuevos.
+ */
+class JwtUtilTest {
+
+    @Test
+    void testExtractPrincipal_DebeReconstruirLosClaimsDelToken() {
+        // Given: Un token emitido para un entrenador con equipo
+        JwtUtil jwtUtil = new JwtUtil(100, 900_000);
+        String token = jwtUtil.generateToken(new UsuarioPrincipal(7L, "coach@test.com", "x", Rol.ENTRENADOR, 3L));
+
+        // When: Se construye el principal desde el token
+        UsuarioPrincipal principal = jwtUtil.extractPrincipal(token);
+
+        // Then: El principal contiene los datos del usuario y no la contraseña
+        assertEquals(7L, principal.getId());
+        assertEquals("coach@test.com", principal.getUsername());
+        assertEquals(Rol.ENTRENADOR, principal.getRol());
+        assertEquals(3L, principal.getEquipoId());
+        assertNull(principal.getPassword());
+    }
+
+    @Test
+    void testExtractAllClaims_CuandoSeRepiteElToken_DebeUsarLaCache() {
+        // Given: Un token ya verificado una vez
+        JwtUtil jwtUtil = new JwtUtil(100, 900_000);
+        String token = jwtUtil.generateToken(new UsuarioPrincipal(1L, "a@test.com", "x", Rol.JUGADOR, null));
+        jwtUtil.extractUsername(token);
+
+        // When: Se vuelve a leer el mismo token
+        String email = jwtUtil.extractUsername(token);
+
+        // Then: Se resuelve desde la caché
+        assertEquals("a@test.com", email);
+        assertEquals(1, jwtUtil.getCacheTokens().getAciertos());
+        assertEquals(1, jwtUtil.getCacheTokens().size());
+    }
+
+    @Test
+    void testVerificar_DebeDevolverPrincipalJtiYEmisionConUnaSolaBusqueda() {
+        // Given: Un token ya verificado una vez
+        JwtUtil jwtUtil = new JwtUtil(100, 900_000);
+        String token = jwtUtil.generateToken(new UsuarioPrincipal(5L, "b@test.com", "x", Rol.JUGADOR, 2L));
+        jwtUtil.verificar(token);
+        long busquedas = jwtUtil.getCacheTokens().getAciertos() + jwtUtil.getCacheTokens().getFallos();
+
+        // When: Se vuelve a verificar (como en cada petición)
+        JwtUtil.TokenVerificado verificado = jwtUtil.verificar(token);
+
+        // Then: Una sola búsqueda en la caché devuelve todos los datos
+        assertEquals(busquedas + 1, jwtUtil.getCacheTokens().getAciertos() + jwtUtil.getCacheTokens().getFallos());
+        assertEquals(5L, verificado.principal().getId());
+        assertNotNull(verificado.id());
+        assertNotNull(verificado.emitidoEn());
+        assertTrue(verificado.expiraEn().after(verificado.emitidoEn()));
+    }
+
+    @Test
+    void testExtractAllClaims_CuandoElTokenEstaManipulado_DebeRechazarlo() {
+        // Given: Un token válido en caché y una copia con la firma alterada
+        JwtUtil jwtUtil = new JwtUtil(100, 900_000);
+        String token = jwtUtil.generateToken(new UsuarioPrincipal(1L, "a@test.com", "x", Rol.JUGADOR, null));
+        jwtUtil.extractUsername(token);
+        int posicion = token.length() - 5;
+        char original = token.charAt(posicion);
+        String manipulado = token.substring(0, posicion) + (original == 'A' ? 'B' : 'A')
+                + token.substring(posicion + 1);
+
+        // When/Then: El token manipulado no se sirve desde la caché
+        assertThrows(JwtException.class, () -> jwtUtil.extractUsername(manipulado));
+    }
+
+    @Test
+    void testCache_CuandoSeSuperaElMaximo_DebeMantenerseAcotada() {
+        // Given: Una caché de 10 entradas
+        JwtUtil jwtUtil = new JwtUtil(10, 900_000);
+
+        // When: Se verifican 50 tokens distintos
+        for (long i = 0; i < 50; i++) {
+            jwtUtil.extractUsername(jwtUtil.generateToken(
+                    new UsuarioPrincipal(i, "u" + i + "@test.com", "x", Rol.JUGADOR, null)));
+        }
+
+        // Then: La caché no supera su capacidad
+        assertTrue(jwtUtil.getCacheTokens().size() <= 10);
+    }
+
+    /**
+     * Tasa de aciertos de la caché al autenticar peticiones (extractPrincipal). Simula 500
+     * usuarios activos con un token cada uno, de los que una minoría concentra la mayoría
+     * de peticiones, y un 5% de peticiones con tokens recién emitidos.
+     */
+    @Test
+    void testCache_MezclaDeTokensRepetidos_DebeAcertarMasDel90PorCiento() {
+        JwtUtil conCache = new JwtUtil(10_000, 900_000);
+
+        List<String> peticiones = generarPeticiones(conCache, 500, 40_000);
+        ejecutar(conCache, peticiones);
+
+        CacheTokensVerificados cache = conCache.getCacheTokens();
+        double tasaAciertos = (double) cache.getAciertos() / (cache.getAciertos() + cache.getFallos());
+
+        assertTrue(tasaAciertos > 0.9);
+    }
+
+    /**
+     * Tiempo de autenticar la misma mezcla de peticiones con y sin caché. Cada repetición
+     * usa tokens recién emitidos (la caché empieza sin ellos) y se toma el mejor tiempo
+     * de cada variante tras calentar el JIT, para reducir el ruido de la máquina.
+     * Un acierto solo cuesta un SHA-256 del token; un fallo, el HMAC, el parseo del JSON
+     * y la construcción del principal.
+     */
+    @Test
+    void testCache_MezclaDeTokensRepetidos_DebeSerMasRapidaQueSinCache() {
+        JwtUtil conCache = new JwtUtil(10_000, 900_000);
+        JwtUtil sinCache = new JwtUtil(0, 900_000);
+
+        List<String> calentamiento = generarPeticiones(conCache, 500, 20_000);
+        ejecutar(conCache, calentamiento);
+        ejecutar(sinCache, calentamiento);
+
+        long mejorConCache = Long.MAX_VALUE;
+        long mejorSinCache = Long.MAX_VALUE;
+        for (int repeticion = 0; repeticion < 5; repeticion++) {
+            List<String> peticiones = generarPeticiones(conCache, 500, 20_000);
+            mejorSinCache = Math.min(mejorSinCache, medir(sinCache, peticiones));
+            mejorConCache = Math.min(mejorConCache, medir(conCache, peticiones));
+        }
+
+        System.out.printf("JwtUtil, 20.000 peticiones: sin caché %d ms, con caché %d ms (x%.1f)%n",
+                mejorSinCache / 1_000_000, mejorConCache / 1_000_000, (double) mejorSinCache / mejorConCache);
+        assertTrue(mejorConCache * 2 < mejorSinCache,
+                "con caché " + mejorConCache + " ns, sin caché " + mejorSinCache + " ns");
+    }
+
+    private static List<String> generarPeticiones(JwtUtil jwtUtil, int usuarios, int total) {
+        Random random = new Random(42);
+        List<String> tokens = new ArrayList<>();
+        for (long i = 0; i < usuarios; i++) {
+            tokens.add(jwtUtil.generateToken(
+                    new UsuarioPrincipal(i, "u" + i + "@test.com", "x", Rol.JUGADOR, i % 20)));
+        }
+
+        List<String> peticiones = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            if (random.nextInt(100) < 5) {
+                long id = usuarios + i;
+                peticiones.add(jwtUtil.generateToken(
+                        new UsuarioPrincipal(id, "n" + id + "@test.com", "x", Rol.JUGADOR, null)));
+            } else {
+                // Distribución sesgada: los primeros usuarios hacen más peticiones
+                double r = random.nextDouble();
+                peticiones.add(tokens.get((int) (r * r * usuarios)));
+            }
+        }
+        return peticiones;
+    }
+
+    private static long medir(JwtUtil jwtUtil, List<String> peticiones) {
+        long inicio = System.nanoTime();
+        ejecutar(jwtUtil, peticiones);
+        return System.nanoTime() - inicio;
+    }
+
+    private static void ejecutar(JwtUtil jwtUtil, List<String> peticiones) {
+        long suma = 0;
+        for (String token : peticiones) {
+            suma += jwtUtil.extractPrincipal(token).getId();
+        }
+        assertTrue(suma > 0);
+    }
+}
@@ -0,0 +1,68 @@
+package com.gestiondeportiva.api.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Pruebas unitarias para LimitadorAuthFilter.
+ * Verifican que el límite por email no se puede saltar con un cuerpo demasiado grande.
+ */
+class LimitadorAuthFilterTest {
+
+    private LimitadorAuthFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        // Límite por IP holgado y un solo intento por email
+        filtro = new LimitadorAuthFilter(100, 100, 1, 1, 1000, new ObjectMapper());
+    }
+
+    @Test
+    void testCuerpoDemasiadoGrande_DebeRetornar413() throws Exception {
+        // Given: Login relleno con un campo ignorado que supera el máximo
+        String relleno = "x".repeat(LimitadorAuthFilter.MAXIMO_CUERPO);
+        MockHttpServletRequest request = login("{\"email\":\"ana@test.com\",\"password\":\"a\",\"relleno\":\"" + relleno + "\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain cadena = new MockFilterChain();
+
+        // When
+        filtro.doFilter(request, response, cadena);
+
+        // Then: No llega al controlador
+        assertEquals(413, response.getStatus());
+        assertNull(cadena.getRequest());
+    }
+
+    @Test
+    void testMismoEmail_SegundoIntentoDebeRetornar429() throws Exception {
+        // Given
+        String cuerpo = "{\"email\":\"Ana@Test.com\",\"password\":\"a\"}";
+        MockFilterChain primera = new MockFilterChain();
+
+        // When: El primer intento pasa y el cuerpo llega intacto al resto de la cadena
+        filtro.doFilter(login(cuerpo), new MockHttpServletResponse(), primera);
+        MockHttpServletResponse segunda = new MockHttpServletResponse();
+        filtro.doFilter(login(cuerpo.toLowerCase()), segunda, new MockFilterChain());
+
+        // Then
+        assertEquals(cuerpo, new String(primera.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(429, segunda.getStatus());
+        assertNotNull(segunda.getHeader("Retry-After"));
+    }
+
+    private static MockHttpServletRequest login(String cuerpo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setContentType("application/json");
+        request.setContent(cuerpo.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,220 @@
+package com.gestiondeportiva.api.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para LimitadorPeticiones.
+ * Incluye pruebas con muchos hilos compitiendo por las mismas claves y por
+ * claves distintas, y una medida del rendimiento con muchos hilos y más claves
+ * que el máximo de entradas, de modo que se expulsan entradas bajo contención.
+ */
+class LimitadorPeticionesTest {
+
+    @Test
+    void testConsumir_CuandoSeAgotaLaCapacidad_DebeRechazarConEspera() {
+        // Given: Un limitador de 3 peticiones con recarga de 60 por minuto (1 por segundo)
+        AtomicLong reloj = new AtomicLong(1_000_000);
+        LimitadorPeticiones limitador = new LimitadorPeticiones(3, 60, 1000, reloj::get);
+
+        // When: Se hacen 4 peticiones seguidas
+        long[] esperas = new long[4];
+        for (int i = 0; i < 4; i++) {
+            esperas[i] = limitador.consumir("10.0.0.1");
+        }
+
+        // Then: Las 3 primeras se permiten y la cuarta debe esperar ~1 segundo
+        assertEquals(0, esperas[0]);
+        assertEquals(0, esperas[1]);
+        assertEquals(0, esperas[2]);
+        assertEquals(1000, esperas[3]);
+    }
+
+    @Test
+    void testConsumir_CuandoPasaElTiempo_DebeRecargarTokens() {
+        // Given: Una cubeta agotada
+        AtomicLong reloj = new AtomicLong(1_000_000);
+        LimitadorPeticiones limitador = new LimitadorPeticiones(2, 60, 1000, reloj::get);
+        limitador.consumir("a@test.com");
+        limitador.consumir("a@test.com");
+        assertTrue(limitador.consumir("a@test.com") > 0);
+
+        // When: Pasa un segundo
+        reloj.addAndGet(1000);
+
+        // Then: Se recupera un token, pero no dos
+        assertEquals(0, limitador.consumir("a@test.com"));
+        assertTrue(limitador.consumir("a@test.com") > 0);
+    }
+
+    @Test
+    void testConsumir_ClavesDistintas_NoDebenAfectarseEntreSi() {
+        // Given: Un limitador de una petición por clave
+        LimitadorPeticiones limitador = new LimitadorPeticiones(1, 1, 1000);
+
+        // When/Then: Agotar una clave no afecta a otra
+        assertEquals(0, limitador.consumir("10.0.0.1"));
+        assertTrue(limitador.consumir("10.0.0.1") > 0);
+        assertEquals(0, limitador.consumir("10.0.0.2"));
+    }
+
+    @Test
+    void testConsumir_CuandoHayMuchasClaves_DebeMantenerMemoriaAcotada() {
+        // Given: Un limitador con cupo de 640 claves (10 por franja)
+        AtomicLong reloj = new AtomicLong(1_000_000);
+        LimitadorPeticiones limitador = new LimitadorPeticiones(5, 60, 640, reloj::get);
+
+        // When: Llegan 50.000 claves distintas
+        for (int i = 0; i < 50_000; i++) {
+            limitador.consumir("10.0." + (i / 256) + "." + (i % 256));
+            reloj.incrementAndGet();
+        }
+
+        // Then: El número de claves en memoria no supera el cupo
+        assertTrue(limitador.size() <= 640);
+    }
+
+    @Test
+    void testConsumir_ConMuchosHilos_NoDebeConcederMasTokensQueLaCapacidad() throws Exception {
+        // Given: Una clave con 1000 tokens y sin recarga
+        LimitadorPeticiones limitador = new LimitadorPeticiones(1000, 0, 1000);
+        LongAdder concedidas = new LongAdder();
+
+        // When: 64 hilos intentan consumir 100 veces cada uno
+        ejecutarEnHilos(64, 100, (hilo, i) -> {
+            if (limitador.consumir("misma-clave") == 0) {
+                concedidas.increment();
+            }
+        });
+
+        // Then: Se conceden exactamente 1000 peticiones
+        assertEquals(1000, concedidas.sum());
+    }
+
+    /**
+     * 64 hilos sobre una única clave (máxima contención en el compare-and-set) y cada
+     * hilo sobre claves propias (reparto entre franjas): el número de claves en memoria
+     * no supera el máximo configurado.
+     */
+    @Test
+    void testConsumir_ContencionConMuchosHilos_RespetaMaximoEntradas() throws Exception {
+        int hilos = 64;
+        int iteraciones = 20_000;
+        LimitadorPeticiones limitador = new LimitadorPeticiones(1000, 60_000, 100_000);
+
+        ejecutarEnHilos(hilos, iteraciones, (hilo, i) -> limitador.consumir("10.0.0.1"));
+        ejecutarEnHilos(hilos, iteraciones, (hilo, i) -> limitador.consumir("10.0." + hilo + "." + (i & 255)));
+
+        assertTrue(limitador.size() <= 100_000);
+    }
+
+    /**
+     * Rendimiento con 1, 8 y 64 hilos sobre 100.000 claves (IPs y emails) y un máximo de
+     * 6.400 entradas: casi todas las peticiones de claves frías obligan a expulsar entradas
+     * de su franja mientras otros hilos consumen de ella. Una de cada diez peticiones va a
+     * una clave caliente compartida por todos los hilos. Se mide el mejor de tres intentos
+     * tras un calentamiento, con el mismo número total de peticiones en cada configuración.
+     * <p>
+     * Con muchos hilos el rendimiento no debe hundirse respecto a un solo hilo (no hay
+     * un cerrojo global), y la memoria sigue acotada: un hilo puede insertar su clave
+     * justo después de que otro libere espacio en la misma franja, así que el total puede
+     * superar el máximo como mucho en una entrada por hilo.
+     * </p>
+     */
+    @Test
+    void testRendimiento_ConMuchosHilosYExpulsion_NoDebeHundirseNiSuperarElMaximo() throws Exception {
+        int maximoEntradas = 6_400;
+        int peticiones = 640_000;
+        String[] claves = new String[100_000];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = i % 2 == 0 ? "10." + (i >> 16) + "." + ((i >> 8) & 255) + "." + (i & 255)
+                    : "usuario" + i + "@test.com";
+        }
+
+        double porHiloUnico = 0;
+        for (int hilos : new int[] { 1, 8, 64 }) {
+            LimitadorPeticiones limitador = new LimitadorPeticiones(5, 60, maximoEntradas);
+            int iteraciones = peticiones / hilos;
+            Operacion operacion = (hilo, i) -> {
+                int aleatorio = mezclar(hilo * 1_000_003 + i);
+                limitador.consumir(aleatorio % 10 == 0 ? "10.0.0.1"
+                        : claves[Math.floorMod(aleatorio, claves.length)]);
+            };
+
+            ejecutarEnHilos(hilos, iteraciones, operacion);
+            long mejor = Long.MAX_VALUE;
+            for (int intento = 0; intento < 3; intento++) {
+                mejor = Math.min(mejor, ejecutarEnHilos(hilos, iteraciones, operacion));
+            }
+
+            double porSegundo = peticiones * 1e9 / mejor;
+            System.out.printf("LimitadorPeticiones, %d hilos: %.0f peticiones/s, %d claves en memoria%n",
+                    hilos, porSegundo, limitador.size());
+            assertTrue(limitador.size() <= maximoEntradas + hilos, "claves en memoria: " + limitador.size());
+            if (hilos == 1) {
+                porHiloUnico = porSegundo;
+            } else {
+                assertTrue(porSegundo > porHiloUnico / 4,
+                        hilos + " hilos: " + porSegundo + " peticiones/s, 1 hilo: " + porHiloUnico);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operacion {
+        void ejecutar(int hilo, int iteracion);
+    }
+
+    /**
+     * Ejecuta la operación en paralelo y espera a que terminen todos los hilos.
+     *
+     * @return nanosegundos desde que se da la salida hasta que termina el último hilo
+     */
+    private static long ejecutarEnHilos(int hilos, int iteraciones, Operacion operacion) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        CountDownLatch fin = new CountDownLatch(hilos);
+        try {
+            for (int h = 0; h < hilos; h++) {
+                int hilo = h;
+                pool.execute(() -> {
+                    try {
+                        salida.await();
+                        for (int i = 0; i < iteraciones; i++) {
+                            operacion.ejecutar(hilo, i);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        fin.countDown();
+                    }
+                });
+            }
+            long inicio = System.nanoTime();
+            salida.countDown();
+            assertTrue(fin.await(60, TimeUnit.SECONDS));
+            return System.nanoTime() - inicio;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Mezcla de bits (finalizador de MurmurHash3) para elegir claves sin compartir un Random.
+     */
+    private static int mezclar(int x) {
+        x ^= x >>> 16;
+        x *= 0x85ebca6b;
+        x ^= x >>> 13;
+        x *= 0xc2b2ae35;
+        return x ^ (x >>> 16);
+    }
+}
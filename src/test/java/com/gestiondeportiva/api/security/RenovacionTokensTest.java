@@ -0,0 +1,111 @@
+package com.gestiondeportiva.api.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gestiondeportiva.api.entities.Posicion;
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.entities.Usuario;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+import com.gestiondeportiva.api.security.RenovacionTokens.Tokens;
+import com.gestiondeportiva.api.services.UsuarioService;
+
+/**
+ * Pruebas de integración para RenovacionTokens.
+ * Verifican la rotación de los refresh tokens, que un token rotado no se puede reutilizar
+ * y que cambiar la contraseña invalida los refresh tokens emitidos.
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class RenovacionTokensTest {
+
+    @Autowired
+    private RenovacionTokens renovacionTokens;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario();
+        usuario.setNombre("Marta");
+        usuario.setApellidos("Ruiz");
+        usuario.setEmail("marta.ruiz@test.com");
+        usuario.setPassword(passwordEncoder.encode("actual123"));
+        usuario.setRol(Rol.JUGADOR);
+        usuario.setPosicion(Posicion.DEFENSA);
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    @Test
+    void testRenovar_DebeRotarElRefreshToken() {
+        // Given
+        String refreshToken = renovacionTokens.emitir(usuario.getId());
+
+        // When
+        Optional<Tokens> renovados = renovacionTokens.renovar(refreshToken);
+
+        // Then: Nuevo access token del mismo usuario y refresh token distinto
+        assertTrue(renovados.isPresent());
+        assertNotEquals(refreshToken, renovados.get().refreshToken());
+        assertEquals(usuario.getEmail(), jwtUtil.extractUsername(renovados.get().accessToken()));
+    }
+
+    @Test
+    void testRenovarConTokenRotado_DebeRechazarlo() {
+        // Given: Un token ya rotado
+        String original = renovacionTokens.emitir(usuario.getId());
+        String rotado = renovacionTokens.renovar(original).orElseThrow().refreshToken();
+
+        // When/Then: El original ya no sirve, el rotado sí
+        assertTrue(renovacionTokens.renovar(original).isEmpty());
+        assertTrue(renovacionTokens.renovar(rotado).isPresent());
+    }
+
+    @Test
+    void testRenovarTrasRevocar_DebeRechazarlo() {
+        // Given
+        String refreshToken = renovacionTokens.emitir(usuario.getId());
+
+        // When
+        renovacionTokens.revocar(refreshToken);
+
+        // Then
+        assertTrue(renovacionTokens.renovar(refreshToken).isEmpty());
+    }
+
+    @Test
+    void testCambiarPassword_DebeInvalidarLosRefreshTokens() {
+        // Given: Dos sesiones abiertas
+        String primera = renovacionTokens.emitir(usuario.getId());
+        String segunda = renovacionTokens.emitir(usuario.getId());
+
+        // When
+        usuarioService.cambiarPassword(usuario.getId(), "actual123", "nueva1234");
+
+        // Then
+        assertTrue(renovacionTokens.renovar(primera).isEmpty());
+        assertTrue(renovacionTokens.renovar(segunda).isEmpty());
+    }
+}
@@ -0,0 +1,125 @@
+package com.gestiondeportiva.api.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.repositories.RefreshTokenRepository;
+import com.gestiondeportiva.api.repositories.TokenRevocadoRepository;
+import com.gestiondeportiva.api.security.JwtUtil.TokenVerificado;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Pruebas de integración para RevocacionTokens.
+ * Verifican la revocación de un token (cierre de sesión), la revocación de todos los
+ * tokens de un usuario con la precisión de segundos del claim iat y que una
+ * reconstrucción del filtro no pierde las revocaciones hechas mientras se ejecuta.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RevocacionTokensTest {
+
+    private static final long ID_USUARIO = 9_000L;
+
+    @Autowired
+    private RevocacionTokens revocacionTokens;
+
+    @Autowired
+    private TokenRevocadoRepository tokenRevocadoRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @AfterEach
+    void tearDown() {
+        tokenRevocadoRepository.deleteAll();
+    }
+
+    @Test
+    void testCerrarSesion_DebeRechazarEseTokenYNoLosDemas() {
+        // Given: Dos sesiones del mismo usuario
+        TokenVerificado cerrada = emitir(ID_USUARIO);
+        TokenVerificado abierta = emitir(ID_USUARIO);
+
+        // When
+        revocacionTokens.revocarToken(cerrada.id(), cerrada.expiraEn());
+
+        // Then
+        assertTrue(estaRevocado(cerrada));
+        assertFalse(estaRevocado(abierta));
+    }
+
+    @Test
+    void testRevocarUsuario_DebeRechazarLosTokensAnterioresYAceptarLosNuevos() throws InterruptedException {
+        // Given: Un token emitido en un segundo anterior al de la revocación
+        TokenVerificado anterior = emitir(ID_USUARIO);
+        esperarAlSiguienteSegundo(anterior);
+        TokenVerificado otroUsuario = emitir(ID_USUARIO + 1);
+
+        // When: Se revoca y se emite un token nuevo (normalmente en el mismo segundo)
+        revocacionTokens.revocarUsuario(ID_USUARIO);
+        TokenVerificado nuevo = emitir(ID_USUARIO);
+
+        // Then
+        assertTrue(estaRevocado(anterior));
+        assertFalse(estaRevocado(nuevo));
+        assertFalse(estaRevocado(otroUsuario));
+    }
+
+    @Test
+    void testRevocarDuranteReconstruccion_NoDebePerderLaRevocacion() {
+        // Given: La revocación llega después de leer la tabla y antes de publicar el filtro
+        TokenRevocadoRepository repositorio = mock(TokenRevocadoRepository.class,
+                delegatesTo(tokenRevocadoRepository));
+        RevocacionTokens revocacion = new RevocacionTokens(repositorio, refreshTokenRepository, jwtUtil,
+                1_000, new SimpleMeterRegistry());
+        TokenVerificado token = emitir(ID_USUARIO);
+        doAnswer(invocacion -> {
+            List<String> leidos = tokenRevocadoRepository.findJtiVigentes(invocacion.getArgument(0));
+            revocacion.revocarToken(token.id(), token.expiraEn());
+            return leidos;
+        }).when(repositorio).findJtiVigentes(any());
+
+        // When
+        revocacion.reconstruir();
+
+        // Then: La revocación no estaba en la lectura, pero sí en el filtro nuevo
+        assertTrue(revocacion.estaRevocado(token.id(), ID_USUARIO, token.emitidoEn()));
+    }
+
+    // ================== Auxiliares ==================
+
+    private TokenVerificado emitir(long idUsuario) {
+        String email = "revocacion." + UUID.randomUUID() + "@test.com";
+        return jwtUtil.verificar(jwtUtil.generateToken(
+                new UsuarioPrincipal(idUsuario, email, null, Rol.JUGADOR, null)));
+    }
+
+    private boolean estaRevocado(TokenVerificado token) {
+        return revocacionTokens.estaRevocado(token.id(), token.principal().getId(), token.emitidoEn());
+    }
+
+    private static void esperarAlSiguienteSegundo(TokenVerificado token) throws InterruptedException {
+        Instant siguiente = token.emitidoEn().toInstant().plus(1, ChronoUnit.SECONDS);
+        while (Instant.now().isBefore(siguiente)) {
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.gestiondeportiva.api.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.gestiondeportiva.api.dto.ConvocatoriaDTO;
+import com.gestiondeportiva.api.entities.Convocatoria;
+import com.gestiondeportiva.api.entities.Equipo;
+import com.gestiondeportiva.api.entities.Evento;
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.entities.Usuario;
+import com.gestiondeportiva.api.mappers.ConvocatoriaMapper;
+import com.gestiondeportiva.api.repositories.ConvocatoriaRepository;
+import com.gestiondeportiva.api.repositories.EventoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+import com.gestiondeportiva.api.security.SecurityUtils;
+import com.gestiondeportiva.api.security.UsuarioPrincipal;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Pruebas unitarias para ConvocatoriaServiceImpl
+ * Verifican el reemplazo de la convocatoria de un evento: la sustitución de las filas
+ * previas, el rechazo de jugadores repetidos o inexistentes y que un entrenador no
+ * pueda convocar en eventos ni con jugadores de otro equipo.
+ * <p>
+ * Se usa un SecurityUtils real sobre un usuario autenticado en el SecurityContext,
+ * para que las comprobaciones de equipo sean las de producción.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class ConvocatoriaServiceImplTest {
+
+    @Mock
+    private ConvocatoriaRepository convocatoriaRepository;
+
+    @Mock
+    private ConvocatoriaMapper convocatoriaMapper;
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    private ConvocatoriaServiceImpl convocatoriaService;
+
+    private Equipo equipo;
+    private Equipo otroEquipo;
+    private Evento evento;
+    private Usuario jugador1;
+    private Usuario jugador2;
+
+    @BeforeEach
+    void setUp() {
+        convocatoriaService = new ConvocatoriaServiceImpl(convocatoriaRepository, convocatoriaMapper,
+                eventoRepository, usuarioRepository, new SecurityUtils(usuarioRepository));
+
+        equipo = equipo(1L);
+        otroEquipo = equipo(2L);
+
+        evento = new Evento();
+        evento.setId(10L);
+        evento.setEquipo(equipo);
+
+        jugador1 = jugador(1L, equipo);
+        jugador2 = jugador(2L, equipo);
+
+        autenticar(Rol.ENTRENADOR, 1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReemplazarConvocatoria_DebeBorrarLasPreviasEInsertarLaNuevaPlantilla() {
+        // Given
+        when(eventoRepository.findById(10L)).thenReturn(Optional.of(evento));
+        when(usuarioRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(jugador1, jugador2));
+        when(convocatoriaRepository.saveAll(anyList())).thenAnswer(invocacion -> invocacion.getArgument(0));
+
+        // When
+        convocatoriaService.reemplazarConvocatoria(10L, List.of(convocado(1L, true), convocado(2L, false)));
+
+        // Then: Se borran las previas del evento antes de insertar las nuevas
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Convocatoria>> nuevas = ArgumentCaptor.forClass(List.class);
+        InOrder orden = inOrder(convocatoriaRepository);
+        orden.verify(convocatoriaRepository).deleteByEventoId(10L);
+        orden.verify(convocatoriaRepository).saveAll(nuevas.capture());
+
+        assertEquals(2, nuevas.getValue().size());
+        assertSame(jugador1, nuevas.getValue().get(0).getJugador());
+        assertTrue(nuevas.getValue().get(0).getTitular());
+        assertSame(jugador2, nuevas.getValue().get(1).getJugador());
+        assertFalse(nuevas.getValue().get(1).getTitular());
+        assertTrue(nuevas.getValue().stream().allMatch(convocatoria -> convocatoria.getEvento() == evento));
+    }
+
+    @Test
+    void testReemplazarConvocatoria_ConJugadorRepetido_DebeLanzarExcepcion() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () ->
+                convocatoriaService.reemplazarConvocatoria(10L, List.of(convocado(1L, true), convocado(1L, false))));
+
+        verifyNoInteractions(convocatoriaRepository);
+    }
+
+    @Test
+    void testReemplazarConvocatoria_ConJugadorInexistente_DebeLanzarExcepcionSinBorrar() {
+        // Given: El jugador 3 no existe
+        when(eventoRepository.findById(10L)).thenReturn(Optional.of(evento));
+        when(usuarioRepository.findAllById(Set.of(1L, 3L))).thenReturn(List.of(jugador1));
+
+        // When/Then
+        EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () ->
+                convocatoriaService.reemplazarConvocatoria(10L, List.of(convocado(1L, true), convocado(3L, true))));
+
+        assertTrue(ex.getMessage().contains("3"));
+        verifyNoInteractions(convocatoriaRepository);
+    }
+
+    @Test
+    void testReemplazarConvocatoria_EntrenadorConEventoDeOtroEquipo_DebeDenegarAcceso() {
+        // Given
+        evento.setEquipo(otroEquipo);
+        when(eventoRepository.findById(10L)).thenReturn(Optional.of(evento));
+
+        // When/Then
+        assertThrows(AccessDeniedException.class, () ->
+                convocatoriaService.reemplazarConvocatoria(10L, List.of(convocado(1L, true))));
+
+        verifyNoInteractions(convocatoriaRepository);
+    }
+
+    @Test
+    void testReemplazarConvocatoria_EntrenadorConJugadorDeOtroEquipo_DebeDenegarAcceso() {
+        // Given
+        Usuario ajeno = jugador(3L, otroEquipo);
+        when(eventoRepository.findById(10L)).thenReturn(Optional.of(evento));
+        when(usuarioRepository.findAllById(Set.of(1L, 3L))).thenReturn(List.of(jugador1, ajeno));
+
+        // When/Then
+        assertThrows(AccessDeniedException.class, () ->
+                convocatoriaService.reemplazarConvocatoria(10L, List.of(convocado(1L, true), convocado(3L, true))));
+
+        verifyNoInteractions(convocatoriaRepository);
+    }
+
+    @Test
+    void testReemplazarConvocatoria_AdminConEventoDeOtroEquipo_DebePermitirlo() {
+        // Given
+        autenticar(Rol.ADMIN, null);
+        evento.setEquipo(otroEquipo);
+        when(eventoRepository.findById(10L)).thenReturn(Optional.of(evento));
+        when(usuarioRepository.findAllById(Set.of(1L))).thenReturn(List.of(jugador1));
+        when(convocatoriaRepository.saveAll(anyList())).thenReturn(new ArrayList<>());
+
+        // When
+        convocatoriaService.reemplazarConvocatoria(10L, List.of(convocado(1L, true)));
+
+        // Then
+        verify(convocatoriaRepository).deleteByEventoId(10L);
+    }
+
+    // ================== Auxiliares ==================
+
+    private static void autenticar(Rol rol, Long equipoId) {
+        UsuarioPrincipal principal = new UsuarioPrincipal(100L, "usuario@test.com", null, rol, equipoId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static Equipo equipo(Long id) {
+        Equipo equipo = new Equipo();
+        equipo.setId(id);
+        return equipo;
+    }
+
+    private static Usuario jugador(Long id, Equipo equipo) {
+        Usuario jugador = new Usuario();
+        jugador.setId(id);
+        jugador.setRol(Rol.JUGADOR);
+        jugador.setEquipo(equipo);
+        return jugador;
+    }
+
+    private static ConvocatoriaDTO convocado(Long idJugador, boolean titular) {
+        ConvocatoriaDTO dto = new ConvocatoriaDTO();
+        dto.setIdJugador(idJugador);
+        dto.setTitular(titular);
+        return dto;
+    }
+}
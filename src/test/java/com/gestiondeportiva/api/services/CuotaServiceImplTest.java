@@ -0,0 +1,186 @@
+package com.gestiondeportiva.api.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gestiondeportiva.api.dto.GeneracionCuotasDTO;
+import com.gestiondeportiva.api.entities.Categoria;
+import com.gestiondeportiva.api.entities.Cuota;
+import com.gestiondeportiva.api.entities.Equipo;
+import com.gestiondeportiva.api.entities.EstadoCuota;
+import com.gestiondeportiva.api.entities.Posicion;
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.entities.Usuario;
+import com.gestiondeportiva.api.repositories.CuotaRepository;
+import com.gestiondeportiva.api.repositories.EquipoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+
+/**
+ * Pruebas de integración para la generación masiva de cuotas de CuotaServiceImpl.
+ * Verifican que se omiten los jugadores que ya tienen el concepto, que repetir la
+ * generación no duplica cuotas, que se recorren varios bloques de jugadores y que
+ * solo se generan cuotas para los jugadores del equipo indicado.
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class CuotaServiceImplTest {
+
+    @Autowired
+    private CuotaService cuotaService;
+
+    @Autowired
+    private CuotaRepository cuotaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EquipoRepository equipoRepository;
+
+    private Equipo equipo;
+    private String concepto;
+
+    @BeforeEach
+    void setUp() {
+        equipo = new Equipo();
+        equipo.setNombre("Equipo Cuotas");
+        equipo.setCategoria(Categoria.SENIOR);
+        equipo = equipoRepository.save(equipo);
+
+        concepto = "Mensualidad " + UUID.randomUUID();
+    }
+
+    @Test
+    void testGenerarCuotas_DebeOmitirLosJugadoresQueYaTienenElConcepto() {
+        // Given: Tres jugadores del equipo, uno ya con la cuota del concepto
+        List<Usuario> jugadores = crearJugadores(3, equipo);
+        cuotaRepository.save(new Cuota(jugadores.get(0), concepto, 30.0, EstadoCuota.PAGADO, null));
+
+        // When
+        GeneracionCuotasDTO resumen = cuotaService.generarCuotas(solicitud(equipo.getId()));
+
+        // Then
+        assertEquals(3, resumen.getJugadores());
+        assertEquals(2, resumen.getCreadas());
+        assertEquals(1, resumen.getOmitidas());
+        List<Cuota> cuotas = cuotasDelConcepto();
+        assertEquals(3, cuotas.size());
+        assertEquals(2, cuotas.stream().filter(cuota -> cuota.getEstadoCuota() == EstadoCuota.PENDIENTE).count());
+    }
+
+    @Test
+    void testGenerarCuotasDosVeces_NoDebeDuplicarlas() {
+        // Given
+        crearJugadores(4, equipo);
+        cuotaService.generarCuotas(solicitud(equipo.getId()));
+
+        // When
+        GeneracionCuotasDTO repetida = cuotaService.generarCuotas(solicitud(equipo.getId()));
+
+        // Then
+        assertEquals(0, repetida.getCreadas());
+        assertEquals(4, repetida.getOmitidas());
+        assertEquals(4, cuotasDelConcepto().size());
+    }
+
+    @Test
+    void testGenerarCuotasDeVariosBloques_DebeCrearUnaCuotaPorJugador() {
+        // Given: Más jugadores que dos bloques completos, alguno ya con el concepto
+        int total = CuotaServiceImpl.TAMANIO_BLOQUE_GENERACION * 2 + 1;
+        List<Usuario> jugadores = crearJugadores(total, equipo);
+        cuotaRepository.save(new Cuota(jugadores.get(CuotaServiceImpl.TAMANIO_BLOQUE_GENERACION), concepto,
+                30.0, EstadoCuota.PENDIENTE, null));
+
+        // When
+        GeneracionCuotasDTO resumen = cuotaService.generarCuotas(solicitud(equipo.getId()));
+
+        // Then
+        assertEquals(total, resumen.getJugadores());
+        assertEquals(total - 1, resumen.getCreadas());
+        assertEquals(1, resumen.getOmitidas());
+        assertEquals(total, cuotasDelConcepto().stream().map(cuota -> cuota.getJugador().getId()).distinct().count());
+    }
+
+    @Test
+    void testGenerarCuotasDeUnEquipo_NoDebeIncluirOtrosEquiposNiEntrenadores() {
+        // Given
+        Equipo otroEquipo = new Equipo();
+        otroEquipo.setNombre("Equipo Rival");
+        otroEquipo.setCategoria(Categoria.SENIOR);
+        otroEquipo = equipoRepository.save(otroEquipo);
+        List<Usuario> delEquipo = crearJugadores(2, equipo);
+        crearJugadores(3, otroEquipo);
+        Usuario entrenador = crearUsuario(Rol.ENTRENADOR, equipo);
+
+        // When
+        GeneracionCuotasDTO resumen = cuotaService.generarCuotas(solicitud(equipo.getId()));
+
+        // Then
+        assertEquals(2, resumen.getCreadas());
+        List<Long> conCuota = cuotasDelConcepto().stream().map(cuota -> cuota.getJugador().getId()).toList();
+        assertTrue(conCuota.containsAll(delEquipo.stream().map(Usuario::getId).toList()));
+        assertFalse(conCuota.contains(entrenador.getId()));
+    }
+
+    @Test
+    void testGenerarCuotasDelClub_DebeIncluirATodosLosJugadores() {
+        // Given
+        crearJugadores(2, equipo);
+        crearJugadores(1, null);
+        int jugadoresDelClub = usuarioRepository.findByRol(Rol.JUGADOR).size();
+
+        // When
+        GeneracionCuotasDTO resumen = cuotaService.generarCuotas(solicitud(null));
+
+        // Then
+        assertEquals(jugadoresDelClub, resumen.getCreadas());
+        assertEquals(jugadoresDelClub, cuotasDelConcepto().size());
+    }
+
+    // ================== Auxiliares ==================
+
+    private GeneracionCuotasDTO solicitud(Long idEquipo) {
+        return new GeneracionCuotasDTO(concepto, 30.0, idEquipo);
+    }
+
+    private List<Usuario> crearJugadores(int cantidad, Equipo equipo) {
+        List<Usuario> jugadores = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            jugadores.add(nuevoUsuario(Rol.JUGADOR, equipo));
+        }
+        return usuarioRepository.saveAll(jugadores);
+    }
+
+    private Usuario crearUsuario(Rol rol, Equipo equipo) {
+        return usuarioRepository.save(nuevoUsuario(rol, equipo));
+    }
+
+    private static Usuario nuevoUsuario(Rol rol, Equipo equipo) {
+        Usuario usuario = new Usuario();
+        usuario.setNombre("Jugador");
+        usuario.setApellidos("Cuotas");
+        usuario.setEmail("cuotas." + UUID.randomUUID() + "@test.com");
+        usuario.setPassword("x");
+        usuario.setRol(rol);
+        usuario.setPosicion(Posicion.DEFENSA);
+        usuario.setEquipo(equipo);
+        return usuario;
+    }
+
+    private List<Cuota> cuotasDelConcepto() {
+        return cuotaRepository.findAll().stream()
+                .filter(cuota -> concepto.equals(cuota.getConcepto()))
+                .toList();
+    }
+}
@@ -0,0 +1,203 @@
+package com.gestiondeportiva.api.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestiondeportiva.api.dto.DisponibilidadDTO;
+import com.gestiondeportiva.api.dto.ResultadoLoteDTO;
+import com.gestiondeportiva.api.dto.ResultadoLoteDTO.Resultado;
+import com.gestiondeportiva.api.entities.Disponibilidad;
+import com.gestiondeportiva.api.entities.Equipo;
+import com.gestiondeportiva.api.entities.EstadoDisponibilidad;
+import com.gestiondeportiva.api.entities.Evento;
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.entities.Usuario;
+import com.gestiondeportiva.api.mappers.DisponibilidadMapper;
+import com.gestiondeportiva.api.repositories.DisponibilidadRepository;
+import com.gestiondeportiva.api.repositories.EventoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+import com.gestiondeportiva.api.security.SecurityUtils;
+
+/**
+ * Pruebas unitarias para DisponibilidadServiceImpl
+ * Verifican el guardado por lotes: un resultado por elemento en el orden de la petición
+ * (CREADO, ACTUALIZADO o ERROR), la detección de elementos repetidos y los permisos
+ * de JUGADOR y ENTRENADOR, que solo invalidan los elementos afectados.
+ */
+@ExtendWith(MockitoExtension.class)
+class DisponibilidadServiceImplTest {
+
+    @Mock
+    private DisponibilidadRepository disponibilidadRepository;
+
+    @Mock
+    private DisponibilidadMapper disponibilidadMapper;
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private SecurityUtils securityUtils;
+
+    @InjectMocks
+    private DisponibilidadServiceImpl disponibilidadService;
+
+    private Equipo equipo;
+    private Evento evento;
+    private Usuario jugador1;
+    private Usuario jugador2;
+
+    @BeforeEach
+    void setUp() {
+        equipo = equipo(1L);
+
+        evento = new Evento();
+        evento.setId(10L);
+        evento.setEquipo(equipo);
+
+        jugador1 = usuario(1L, Rol.JUGADOR, equipo);
+        jugador2 = usuario(2L, Rol.JUGADOR, equipo);
+    }
+
+    @Test
+    void testGuardarLote_DebeDevolverUnResultadoPorElementoEnOrden() {
+        // Given: Jugador 1 sin disponibilidad, jugador 2 con una previa y un evento inexistente
+        autenticar(usuario(100L, Rol.ADMIN, null));
+        Disponibilidad existente = new Disponibilidad(evento, jugador2, EstadoDisponibilidad.DUDA, null);
+        when(eventoRepository.findAllById(anyCollection())).thenReturn(List.of(evento));
+        when(usuarioRepository.findAllById(anyCollection())).thenReturn(List.of(jugador1, jugador2));
+        when(disponibilidadRepository.findByEventoIdInAndJugadorIdIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(existente));
+
+        // When
+        List<ResultadoLoteDTO<DisponibilidadDTO>> resultados = disponibilidadService.guardarLote(List.of(
+                disponibilidad(10L, 1L, EstadoDisponibilidad.ASISTE),
+                disponibilidad(99L, 1L, EstadoDisponibilidad.ASISTE),
+                disponibilidad(10L, 2L, EstadoDisponibilidad.NO_ASISTE)));
+
+        // Then: Resultados en el orden de la petición
+        assertEquals(3, resultados.size());
+        assertResultado(resultados.get(0), 0, Resultado.CREADO);
+        assertResultado(resultados.get(1), 1, Resultado.ERROR);
+        assertTrue(resultados.get(1).getMensaje().contains("99"));
+        assertResultado(resultados.get(2), 2, Resultado.ACTUALIZADO);
+
+        // Then: Solo se inserta la nueva; la existente se modifica en su sitio
+        assertEquals(EstadoDisponibilidad.NO_ASISTE, existente.getEstadoDisponibilidad());
+        List<Disponibilidad> insertadas = capturarInsertadas();
+        assertEquals(1, insertadas.size());
+        assertSame(jugador1, insertadas.get(0).getJugador());
+    }
+
+    @Test
+    void testGuardarLote_ConElementoRepetido_DebeMarcarComoErrorSoloLaRepeticion() {
+        // Given
+        autenticar(usuario(100L, Rol.ADMIN, null));
+        when(eventoRepository.findAllById(anyCollection())).thenReturn(List.of(evento));
+        when(usuarioRepository.findAllById(anyCollection())).thenReturn(List.of(jugador1));
+
+        // When
+        List<ResultadoLoteDTO<DisponibilidadDTO>> resultados = disponibilidadService.guardarLote(List.of(
+                disponibilidad(10L, 1L, EstadoDisponibilidad.ASISTE),
+                disponibilidad(10L, 1L, EstadoDisponibilidad.NO_ASISTE)));
+
+        // Then
+        assertResultado(resultados.get(0), 0, Resultado.CREADO);
+        assertResultado(resultados.get(1), 1, Resultado.ERROR);
+        assertTrue(resultados.get(1).getMensaje().contains("repetida"));
+        assertEquals(1, capturarInsertadas().size());
+    }
+
+    @Test
+    void testGuardarLote_Jugador_SoloPuedeRegistrarSuPropiaDisponibilidad() {
+        // Given: El usuario autenticado es el jugador 1
+        autenticar(jugador1);
+        when(eventoRepository.findAllById(anyCollection())).thenReturn(List.of(evento));
+        when(usuarioRepository.findAllById(anyCollection())).thenReturn(List.of(jugador1, jugador2));
+
+        // When
+        List<ResultadoLoteDTO<DisponibilidadDTO>> resultados = disponibilidadService.guardarLote(List.of(
+                disponibilidad(10L, 2L, EstadoDisponibilidad.ASISTE),
+                disponibilidad(10L, 1L, EstadoDisponibilidad.ASISTE)));
+
+        // Then
+        assertResultado(resultados.get(0), 0, Resultado.ERROR);
+        assertTrue(resultados.get(0).getMensaje().contains("propia"));
+        assertResultado(resultados.get(1), 1, Resultado.CREADO);
+        assertSame(jugador1, capturarInsertadas().get(0).getJugador());
+    }
+
+    @Test
+    void testGuardarLote_Entrenador_SoloPuedeRegistrarJugadoresDeSuEquipo() {
+        // Given: Un entrenador del equipo 1 y un jugador del equipo 2
+        autenticar(usuario(50L, Rol.ENTRENADOR, equipo));
+        Usuario ajeno = usuario(3L, Rol.JUGADOR, equipo(2L));
+        when(eventoRepository.findAllById(anyCollection())).thenReturn(List.of(evento));
+        when(usuarioRepository.findAllById(anyCollection())).thenReturn(List.of(jugador1, ajeno));
+
+        // When
+        List<ResultadoLoteDTO<DisponibilidadDTO>> resultados = disponibilidadService.guardarLote(List.of(
+                disponibilidad(10L, 1L, EstadoDisponibilidad.ASISTE),
+                disponibilidad(10L, 3L, EstadoDisponibilidad.ASISTE)));
+
+        // Then
+        assertResultado(resultados.get(0), 0, Resultado.CREADO);
+        assertResultado(resultados.get(1), 1, Resultado.ERROR);
+        assertTrue(resultados.get(1).getMensaje().contains("otro equipo"));
+        assertSame(jugador1, capturarInsertadas().get(0).getJugador());
+    }
+
+    // ================== Auxiliares ==================
+
+    private void autenticar(Usuario usuario) {
+        when(securityUtils.getUsuarioActual()).thenReturn(usuario);
+    }
+
+    private List<Disponibilidad> capturarInsertadas() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Disponibilidad>> insertadas = ArgumentCaptor.forClass(List.class);
+        verify(disponibilidadRepository).saveAll(insertadas.capture());
+        return insertadas.getValue();
+    }
+
+    private static void assertResultado(ResultadoLoteDTO<DisponibilidadDTO> resultado, int indice, Resultado tipo) {
+        assertEquals(indice, resultado.getIndice());
+        assertEquals(tipo, resultado.getResultado());
+    }
+
+    private static Equipo equipo(Long id) {
+        Equipo equipo = new Equipo();
+        equipo.setId(id);
+        return equipo;
+    }
+
+    private static Usuario usuario(Long id, Rol rol, Equipo equipo) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setRol(rol);
+        usuario.setEquipo(equipo);
+        return usuario;
+    }
+
+    private static DisponibilidadDTO disponibilidad(Long idEvento, Long idJugador, EstadoDisponibilidad estado) {
+        DisponibilidadDTO dto = new DisponibilidadDTO();
+        dto.setIdEvento(idEvento);
+        dto.setIdJugador(idJugador);
+        dto.setEstadoDisponibilidad(estado);
+        return dto;
+    }
+}
@@ -0,0 +1,321 @@
+package com.gestiondeportiva.api.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gestiondeportiva.api.dto.ConvocatoriaDTO;
+import com.gestiondeportiva.api.dto.DisponibilidadDTO;
+import com.gestiondeportiva.api.dto.GeneracionCuotasDTO;
+import com.gestiondeportiva.api.entities.Categoria;
+import com.gestiondeportiva.api.entities.Equipo;
+import com.gestiondeportiva.api.entities.EstadoDisponibilidad;
+import com.gestiondeportiva.api.entities.Evento;
+import com.gestiondeportiva.api.entities.Posicion;
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.entities.TipoEvento;
+import com.gestiondeportiva.api.entities.Usuario;
+import com.gestiondeportiva.api.repositories.EquipoRepository;
+import com.gestiondeportiva.api.repositories.EventoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+import com.gestiondeportiva.api.security.UsuarioPrincipal;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pruebas del número de envíos a la base de datos de las escrituras masivas.
+ * <p>
+ * El DataSource se envuelve para contar, mientras se ejecuta cada operación, los envíos
+ * JDBC (cada executeBatch y cada ejecución suelta) y las filas de cada lote. Con el
+ * batching de JDBC, los INSERT de N filas deben llegar en N / hibernate.jdbc.batch_size
+ * lotes y no en N sentencias; los identificadores se reservan por bloques, de modo que
+ * tampoco hay una consulta por fila a las tablas de secuencias.
+ * </p>
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class EscrituraPorLotesTest {
+
+    private static final int JUGADORES = 120;
+
+    /** Envíos JDBC hechos en el hilo de la prueba mientras se recogen */
+    private static final ThreadLocal<List<Envio>> ENVIOS = new ThreadLocal<>();
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int tamanioLote;
+
+    @Autowired
+    private ConvocatoriaService convocatoriaService;
+
+    @Autowired
+    private DisponibilidadService disponibilidadService;
+
+    @Autowired
+    private CuotaService cuotaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EquipoRepository equipoRepository;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Equipo equipo;
+    private Evento evento;
+    private List<Usuario> jugadores;
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        static BeanPostProcessor contadorEnvios() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nombre) {
+                    return bean instanceof DataSource dataSource ? new DataSourceContador(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /** Un envío a la base de datos: la sentencia y las filas que lleva */
+    record Envio(String sql, int filas) {
+
+        boolean esInsercionEn(String tabla) {
+            return sql.toLowerCase(Locale.ROOT).startsWith("insert into " + tabla + " ");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        equipo = new Equipo();
+        equipo.setNombre("Equipo Lotes");
+        equipo.setCategoria(Categoria.SENIOR);
+        equipo = equipoRepository.save(equipo);
+
+        evento = eventoRepository.save(new Evento(equipo, TipoEvento.PARTIDO, LocalDate.now(),
+                LocalTime.of(18, 0), "Estadio Lotes", "Partido por lotes"));
+
+        jugadores = new ArrayList<>(JUGADORES);
+        for (int i = 0; i < JUGADORES; i++) {
+            jugadores.add(usuario(Rol.JUGADOR, equipo));
+        }
+        jugadores = usuarioRepository.saveAll(jugadores);
+
+        Usuario admin = usuarioRepository.save(usuario(Rol.ADMIN, null));
+        UsuarioPrincipal principal = UsuarioPrincipal.desdeUsuario(admin);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReemplazarConvocatoria_DebeInsertarPorLotes() {
+        // Given
+        List<ConvocatoriaDTO> plantilla = jugadores.stream().map(jugador -> {
+            ConvocatoriaDTO dto = new ConvocatoriaDTO();
+            dto.setIdJugador(jugador.getId());
+            dto.setTitular(Boolean.FALSE);
+            return dto;
+        }).toList();
+
+        // When
+        List<Envio> envios = recoger(() -> convocatoriaService.reemplazarConvocatoria(evento.getId(), plantilla));
+
+        // Then
+        assertInsertaPorLotes(envios, "convocatorias");
+    }
+
+    @Test
+    void testGuardarLoteDisponibilidades_DebeInsertarPorLotes() {
+        // Given
+        List<DisponibilidadDTO> lote = jugadores.stream().map(jugador -> {
+            DisponibilidadDTO dto = new DisponibilidadDTO();
+            dto.setIdEvento(evento.getId());
+            dto.setIdJugador(jugador.getId());
+            dto.setEstadoDisponibilidad(EstadoDisponibilidad.ASISTE);
+            return dto;
+        }).toList();
+
+        // When
+        List<Envio> envios = recoger(() -> disponibilidadService.guardarLote(lote));
+
+        // Then
+        assertInsertaPorLotes(envios, "disponibilidades");
+    }
+
+    @Test
+    void testGenerarCuotas_DebeInsertarPorLotes() {
+        // Given
+        GeneracionCuotasDTO solicitud = new GeneracionCuotasDTO("Cuota " + UUID.randomUUID(), 25.0, equipo.getId());
+
+        // When
+        List<Envio> envios = recoger(() -> cuotaService.generarCuotas(solicitud));
+
+        // Then
+        assertInsertaPorLotes(envios, "cuotas");
+    }
+
+    // ================== Auxiliares ==================
+
+    /**
+     * Ejecuta la operación y vacía el contexto de persistencia, para que las escrituras
+     * pendientes se envíen mientras se recogen los envíos.
+     */
+    private List<Envio> recoger(Runnable operacion) {
+        List<Envio> envios = new ArrayList<>();
+        ENVIOS.set(envios);
+        try {
+            operacion.run();
+            entityManager.flush();
+        } finally {
+            ENVIOS.remove();
+        }
+        return envios;
+    }
+
+    /**
+     * Comprueba que las filas de la tabla llegan en lotes completos y que el total de
+     * envíos de la operación no crece con el número de filas.
+     */
+    private void assertInsertaPorLotes(List<Envio> envios, String tabla) {
+        List<Envio> inserciones = envios.stream().filter(envio -> envio.esInsercionEn(tabla)).toList();
+        assertThat(inserciones).as("lotes de INSERT en %s", tabla)
+                .hasSize((JUGADORES + tamanioLote - 1) / tamanioLote);
+        assertThat(inserciones.stream().mapToInt(Envio::filas).sum()).isEqualTo(JUGADORES);
+        assertThat(inserciones.stream().mapToInt(Envio::filas).max().orElseThrow()).isEqualTo(tamanioLote);
+        assertThat(envios).as("envíos totales").hasSizeLessThan(JUGADORES / 4);
+    }
+
+    private static Usuario usuario(Rol rol, Equipo equipo) {
+        Usuario usuario = new Usuario();
+        usuario.setNombre("Jugador");
+        usuario.setApellidos("Lotes");
+        usuario.setEmail("lotes." + UUID.randomUUID() + "@test.com");
+        usuario.setPassword("x");
+        usuario.setRol(rol);
+        usuario.setPosicion(Posicion.DEFENSA);
+        usuario.setEquipo(equipo);
+        return usuario;
+    }
+
+    /**
+     * DataSource que registra en {@link #ENVIOS} cada ejecución de las sentencias
+     * preparadas de sus conexiones.
+     */
+    static class DataSourceContador extends DelegatingDataSource {
+
+        DataSourceContador(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return envolver(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String usuario, String password) throws SQLException {
+            return envolver(super.getConnection(usuario, password));
+        }
+
+        private static Connection envolver(Connection conexion) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, metodo, argumentos) -> {
+                        Object resultado = invocar(conexion, metodo, argumentos);
+                        if (resultado instanceof PreparedStatement sentencia && metodo.getName().equals("prepareStatement")) {
+                            return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                                    new Class<?>[] { PreparedStatement.class },
+                                    new SentenciaContada(sentencia, (String) argumentos[0]));
+                        }
+                        return resultado;
+                    });
+        }
+    }
+
+    /** Cuenta las filas añadidas a cada lote y registra un envío por cada ejecución */
+    static class SentenciaContada implements InvocationHandler {
+
+        private final PreparedStatement sentencia;
+        private final String sql;
+        private int filasEnLote;
+
+        SentenciaContada(PreparedStatement sentencia, String sql) {
+            this.sentencia = sentencia;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            switch (metodo.getName()) {
+                case "addBatch" -> filasEnLote++;
+                case "clearBatch" -> filasEnLote = 0;
+                case "executeBatch" -> {
+                    registrar(filasEnLote);
+                    filasEnLote = 0;
+                }
+                case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate" -> registrar(1);
+                default -> {
+                }
+            }
+            return invocar(sentencia, metodo, argumentos);
+        }
+
+        private void registrar(int filas) {
+            List<Envio> envios = ENVIOS.get();
+            if (envios != null) {
+                envios.add(new Envio(sql, filas));
+            }
+        }
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(destino, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
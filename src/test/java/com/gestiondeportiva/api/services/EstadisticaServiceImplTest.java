@@ -23,6 +23,7 @@ import com.gestiondeportiva.api.mappers.EstadisticaMapper;
 import com.gestiondeportiva.api.repositories.EstadisticaRepository;
 import com.gestiondeportiva.api.repositories.EventoRepository;
 import com.gestiondeportiva.api.repositories.UsuarioRepository;
+import com.gestiondeportiva.api.security.SecurityUtils;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -45,6 +46,9 @@ class EstadisticaServiceImplTest {
     @Mock
     private EventoRepository eventoRepository;
 
+    @Mock
+    private SecurityUtils securityUtils;
+
     @InjectMocks
     private EstadisticaServiceImpl estadisticaService;
 
@@ -0,0 +1,191 @@
+package com.gestiondeportiva.api.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.gestiondeportiva.api.entities.ArchivoAlmacenado;
+import com.gestiondeportiva.api.repositories.ArchivoAlmacenadoRepository;
+
+/**
+ * Pruebas de integración para FileStorageService.
+ * Verifican la deduplicación por contenido, el contador de referencias (el archivo solo
+ * se borra al eliminar su última referencia) y que se rechazan los nombres que salen
+ * del directorio del almacén.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FileStorageServiceTest {
+
+    @Autowired
+    private ArchivoAlmacenadoRepository archivoAlmacenadoRepository;
+
+    @TempDir
+    Path temporal;
+
+    private Path raiz;
+    private FileStorageService fileStorageService;
+    private final List<String> guardados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        raiz = temporal.resolve("almacen");
+        fileStorageService = new FileStorageService(raiz.toString(), archivoAlmacenadoRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archivoAlmacenadoRepository.deleteAllById(guardados);
+    }
+
+    @Test
+    void testGuardarDosVeces_DebeGuardarUnSoloArchivoConDosReferencias() throws IOException {
+        // Given
+        byte[] contenido = contenidoUnico();
+
+        // When: El mismo contenido se guarda desde un archivo local y desde una subida
+        String primero = guardar(origen(contenido), "jpg");
+        String segundo = guardar(new MockMultipartFile("foto", "foto.jpg", "image/jpeg", contenido));
+
+        // Then
+        assertEquals(primero, segundo);
+        assertTrue(fileStorageService.esDireccionadoPorContenido(primero));
+        assertEquals(1, contarArchivos());
+        assertArrayEquals(contenido, Files.readAllBytes(fileStorageService.obtenerRutaArchivo(primero)));
+        assertEquals(2, referencias(primero));
+    }
+
+    @Test
+    void testContenidoDistinto_DebeGuardarArchivosDistintos() throws IOException {
+        // When
+        String primero = guardar(origen(contenidoUnico()), "jpg");
+        String segundo = guardar(origen(contenidoUnico()), "jpg");
+
+        // Then
+        assertNotEquals(primero, segundo);
+        assertEquals(2, contarArchivos());
+    }
+
+    @Test
+    void testEliminar_DebeBorrarElArchivoSoloConLaUltimaReferencia() throws IOException {
+        // Given: Un archivo con dos referencias
+        byte[] contenido = contenidoUnico();
+        String nombre = guardar(origen(contenido), "jpg");
+        guardar(origen(contenido), "jpg");
+        Path ruta = fileStorageService.obtenerRutaArchivo(nombre);
+
+        // When: Se elimina una vez
+        fileStorageService.eliminarArchivo(nombre);
+
+        // Then: El archivo sigue, con una referencia
+        assertTrue(Files.exists(ruta));
+        assertEquals(1, referencias(nombre));
+
+        // When: Se elimina la última referencia
+        fileStorageService.eliminarArchivo(nombre);
+
+        // Then: Se borran el archivo y su fila
+        assertFalse(Files.exists(ruta));
+        assertTrue(archivoAlmacenadoRepository.findById(nombre).isEmpty());
+    }
+
+    @Test
+    void testNombresFueraDelAlmacen_DebenRechazarse() throws IOException {
+        // Given: Un archivo junto al almacén, fuera de él
+        Path fuera = Files.writeString(temporal.resolve("fuera.jpg"), "no tocar");
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> fileStorageService.obtenerRutaArchivo("../fuera.jpg"));
+        assertThrows(IllegalArgumentException.class, () -> fileStorageService.obtenerRutaArchivo("ab/../../fuera.jpg"));
+        assertThrows(IllegalArgumentException.class, () -> fileStorageService.obtenerRutaArchivo(fuera.toString()));
+        assertThrows(IllegalArgumentException.class, () -> fileStorageService.obtenerRutaArchivo(".tmp/x.part"));
+        assertThrows(IllegalArgumentException.class, () -> fileStorageService.eliminarArchivo("../fuera.jpg"));
+        assertTrue(Files.exists(fuera));
+    }
+
+    @Test
+    void testNombreNoCanonico_NoDebeBorrarElArchivoDelAlmacen() throws IOException {
+        // Given: Un archivo del almacén y una variante de su nombre que resuelve a la misma ruta
+        String nombre = guardar(origen(contenidoUnico()), "jpg");
+        String variante = nombre.substring(0, 6) + "./" + nombre.substring(6);
+        Path ruta = fileStorageService.obtenerRutaArchivo(nombre);
+        assertEquals(ruta, fileStorageService.obtenerRutaArchivo(variante));
+
+        // When/Then: Se rechaza sin tocar el archivo ni sus referencias
+        assertThrows(IllegalArgumentException.class, () -> fileStorageService.eliminarArchivo(variante));
+        assertTrue(Files.exists(ruta));
+        assertEquals(1, referencias(nombre));
+    }
+
+    @Test
+    void testNombreAntiguo_DebeBorrarseDirectamente() throws IOException {
+        // Given: Un archivo anterior al almacén por contenido (UUID en la raíz)
+        String nombre = UUID.randomUUID() + ".png";
+        Path ruta = Files.writeString(raiz.resolve(nombre), "foto antigua");
+
+        // When
+        fileStorageService.eliminarArchivo(nombre);
+
+        // Then
+        assertFalse(Files.exists(ruta));
+    }
+
+    @Test
+    void testExtensionNoValida_DebeRechazarse() throws IOException {
+        Path origen = origen(contenidoUnico());
+
+        assertThrows(IllegalArgumentException.class, () -> fileStorageService.guardarArchivo(origen, "../jpg"));
+        assertTrue(Files.exists(origen));
+    }
+
+    // ================== Auxiliares ==================
+
+    private String guardar(Path origen, String extension) {
+        String nombre = fileStorageService.guardarArchivo(origen, extension);
+        guardados.add(nombre);
+        return nombre;
+    }
+
+    private String guardar(MockMultipartFile archivo) {
+        String nombre = fileStorageService.guardarArchivo(archivo);
+        guardados.add(nombre);
+        return nombre;
+    }
+
+    private Path origen(byte[] contenido) throws IOException {
+        return Files.write(temporal.resolve(UUID.randomUUID() + ".img"), contenido);
+    }
+
+    private static byte[] contenidoUnico() {
+        return ("foto " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int referencias(String nombre) {
+        return archivoAlmacenadoRepository.findById(nombre).map(ArchivoAlmacenado::getReferencias).orElse(0);
+    }
+
+    /** Archivos del almacén, sin contar los temporales */
+    private long contarArchivos() throws IOException {
+        try (Stream<Path> archivos = Files.walk(raiz)) {
+            return archivos.filter(Files::isRegularFile)
+                    .filter(ruta -> !ruta.startsWith(raiz.resolve(".tmp")))
+                    .count();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.gestiondeportiva.api.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.gestiondeportiva.api.services.GeneradorMiniaturas.Miniaturas;
+
+/**
+ * Pruebas unitarias para GeneradorMiniaturas.
+ * Verifican los tamaños generados, que no se amplían las imágenes pequeñas, que se
+ * aplica la orientación EXIF y que se rechazan los archivos que no se pueden decodificar.
+ */
+class GeneradorMiniaturasTest {
+
+    private final GeneradorMiniaturas generador = new GeneradorMiniaturas();
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void testGenerar_DebeReducirManteniendoLaProporcion() throws IOException {
+        // Given: Una imagen apaisada de 1000x500
+        Path original = escribir(imagen(1000, 500), "png", "apaisada.png");
+
+        // When
+        Miniaturas miniaturas = generador.generar(original);
+
+        // Then: El lado mayor de cada tamaño es el previsto y la proporción se mantiene
+        assertDimensiones(miniaturas.grande(), 500, 250);
+        assertDimensiones(miniaturas.mediana(), 120, 60);
+        assertDimensiones(miniaturas.miniatura(), 40, 20);
+    }
+
+    @Test
+    void testGenerar_ImagenPequenia_NoDebeAmpliarla() throws IOException {
+        // Given: Una imagen de 100x50, menor que el tamaño grande y el mediano
+        Path original = escribir(imagen(100, 50), "png", "pequenia.png");
+
+        // When
+        Miniaturas miniaturas = generador.generar(original);
+
+        // Then
+        assertDimensiones(miniaturas.grande(), 100, 50);
+        assertDimensiones(miniaturas.mediana(), 100, 50);
+        assertDimensiones(miniaturas.miniatura(), 40, 20);
+    }
+
+    @Test
+    void testGenerar_ConOrientacionExif_DebeGirarLaImagen() throws IOException {
+        // Given: Un JPEG de 200x100 (mitad izquierda roja, derecha azul) que indica
+        // en su EXIF que debe mostrarse girado 90° en sentido horario
+        Path original = directorio.resolve("movil.jpg");
+        Files.write(original, conOrientacionExif(jpeg(imagen(200, 100)), 6));
+
+        // When
+        Miniaturas miniaturas = generador.generar(original);
+
+        // Then: Queda vertical, con el rojo arriba y el azul abajo
+        BufferedImage grande = ImageIO.read(miniaturas.grande().toFile());
+        assertEquals(100, grande.getWidth());
+        assertEquals(200, grande.getHeight());
+        assertTrue(esRojo(grande.getRGB(50, 40)));
+        assertTrue(esAzul(grande.getRGB(50, 160)));
+    }
+
+    @Test
+    void testComprobar_ArchivoQueNoEsImagen_DebeLanzarExcepcion() throws IOException {
+        // Given
+        Path archivo = directorio.resolve("foto.webp");
+        Files.writeString(archivo, "RIFF....WEBPVP8 no es una imagen decodificable");
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> generador.comprobar(archivo));
+    }
+
+    @Test
+    void testComprobar_ImagenValida_NoDebeLanzarExcepcion() throws IOException {
+        // Given
+        Path original = directorio.resolve("valida.jpg");
+        Files.write(original, jpeg(imagen(300, 200)));
+
+        // When/Then
+        assertDoesNotThrow(() -> generador.comprobar(original));
+    }
+
+    // ================== Auxiliares ==================
+
+    /** Imagen con la mitad izquierda roja y la derecha azul */
+    private static BufferedImage imagen(int ancho, int alto) {
+        BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagen.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, ancho / 2, alto);
+        g.setColor(Color.BLUE);
+        g.fillRect(ancho / 2, 0, ancho - ancho / 2, alto);
+        g.dispose();
+        return imagen;
+    }
+
+    private Path escribir(BufferedImage imagen, String formato, String nombre) throws IOException {
+        Path archivo = directorio.resolve(nombre);
+        ImageIO.write(imagen, formato, archivo.toFile());
+        return archivo;
+    }
+
+    private static byte[] jpeg(BufferedImage imagen) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ImageIO.write(imagen, "jpeg", salida);
+        return salida.toByteArray();
+    }
+
+    /**
+     * Inserta tras el marcador SOI un segmento APP1 "Exif" con un IFD0 que solo contiene
+     * la etiqueta Orientation.
+     */
+    private static byte[] conOrientacionExif(byte[] jpeg, int orientacion) {
+        ByteBuffer tiff = ByteBuffer.allocate(26); // Big endian ("MM")
+        tiff.put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8);
+        tiff.putShort((short) 1);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientacion).putShort((short) 0);
+        tiff.putInt(0);
+
+        byte[] exif = "Exif\0\0".getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer resultado = ByteBuffer.allocate(jpeg.length + 4 + exif.length + tiff.capacity());
+        resultado.put(jpeg, 0, 2);
+        resultado.putShort((short) 0xFFE1).putShort((short) (2 + exif.length + tiff.capacity()));
+        resultado.put(exif).put(tiff.array());
+        resultado.put(jpeg, 2, jpeg.length - 2);
+        return resultado.array();
+    }
+
+    private static void assertDimensiones(Path archivo, int ancho, int alto) throws IOException {
+        BufferedImage imagen = ImageIO.read(archivo.toFile());
+        assertEquals(ancho, imagen.getWidth());
+        assertEquals(alto, imagen.getHeight());
+    }
+
+    private static boolean esRojo(int rgb) {
+        Color color = new Color(rgb);
+        return color.getRed() > 200 && color.getBlue() < 60;
+    }
+
+    private static boolean esAzul(int rgb) {
+        Color color = new Color(rgb);
+        return color.getBlue() > 200 && color.getRed() < 60;
+    }
+}
@@ -0,0 +1,305 @@
+package com.gestiondeportiva.api.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.gestiondeportiva.api.dto.TrabajoFotoDTO;
+import com.gestiondeportiva.api.dto.UsuarioDTO;
+import com.gestiondeportiva.api.entities.EstadoTrabajoFoto;
+import com.gestiondeportiva.api.entities.Posicion;
+import com.gestiondeportiva.api.entities.Rol;
+import com.gestiondeportiva.api.entities.TrabajoFoto;
+import com.gestiondeportiva.api.entities.Usuario;
+import com.gestiondeportiva.api.mappers.UsuarioMapper;
+import com.gestiondeportiva.api.repositories.TrabajoFotoRepository;
+import com.gestiondeportiva.api.repositories.UsuarioRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Pruebas de integración para ProcesadorFotosPerfil.
+ * Recorren el flujo completo de un trabajo (aceptar, procesar, reintentar y sustituir la
+ * foto anterior) con Cloudinary simulado, y verifican que una instancia no toca los
+ * trabajos que aceptó otra.
+ * <p>
+ * El procesamiento es asíncrono, así que no se usa {@code @Transactional}: cada prueba
+ * espera al estado del trabajo y limpia sus datos al terminar.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProcesadorFotosPerfilTest {
+
+    private static final String INSTANCIA = "instancia-a";
+
+    @Autowired
+    private TrabajoFotoRepository trabajoFotoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UsuarioMapper usuarioMapper;
+
+    @TempDir
+    Path directorio;
+
+    private CloudinaryService cloudinaryService;
+    private ProcesadorFotosPerfil procesador;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        cloudinaryService = mock(CloudinaryService.class);
+        procesador = crearProcesador(INSTANCIA, directorio);
+
+        usuario = new Usuario();
+        usuario.setNombre("Lucía");
+        usuario.setApellidos("Pardo");
+        usuario.setEmail("lucia.pardo." + UUID.randomUUID() + "@test.com");
+        usuario.setPassword("x");
+        usuario.setRol(Rol.JUGADOR);
+        usuario.setPosicion(Posicion.CENTROCAMPISTA);
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        procesador.destroy();
+        trabajoFotoRepository.deleteAll();
+        usuarioRepository.deleteById(usuario.getId());
+    }
+
+    @Test
+    void testAceptar_DebeProcesarYSustituirLaFoto() throws Exception {
+        // Given
+        when(cloudinaryService.subirImagen(any(Path.class), anyString())).thenReturn("g1", "m1", "p1");
+
+        // When
+        TrabajoFotoDTO aceptado = procesador.aceptar(usuario.getId(), foto());
+
+        // Then: Responde PENDIENTE y, en segundo plano, el usuario recibe los tres tamaños
+        assertEquals(EstadoTrabajoFoto.PENDIENTE, aceptado.getEstado());
+        TrabajoFoto trabajo = esperar(aceptado.getId(), t -> t.getEstado() == EstadoTrabajoFoto.COMPLETADO);
+        assertEquals(INSTANCIA, trabajo.getInstancia());
+        assertEquals("g1", trabajo.getFotoUrl());
+
+        Usuario actualizado = usuarioRepository.findById(usuario.getId()).orElseThrow();
+        assertEquals("g1", actualizado.getFotoUrl());
+        assertEquals("m1", actualizado.getFotoMedianaUrl());
+        assertEquals("p1", actualizado.getFotoMiniaturaUrl());
+        assertFalse(Files.exists(directorio.resolve(trabajo.getArchivo())));
+    }
+
+    @Test
+    void testFalloAlSubir_DebeReintentarloEnLaSiguientePasada() throws Exception {
+        // Given: Cloudinary falla la primera vez
+        when(cloudinaryService.subirImagen(any(Path.class), anyString()))
+                .thenThrow(new RuntimeException("Cloudinary no disponible"))
+                .thenReturn("g1", "m1", "p1");
+
+        // When: Se acepta la foto y el primer intento falla
+        String id = procesador.aceptar(usuario.getId(), foto()).getId();
+        TrabajoFoto fallido = esperar(id, t -> t.getIntentos() == 1
+                && t.getEstado() == EstadoTrabajoFoto.PENDIENTE);
+
+        // Then: Queda pendiente con el error y el archivo sigue en espera
+        assertEquals("Cloudinary no disponible", fallido.getError());
+        assertTrue(Files.exists(directorio.resolve(fallido.getArchivo())));
+
+        // When: La siguiente pasada lo encola de nuevo
+        procesador.encolarListos();
+
+        // Then
+        TrabajoFoto completado = esperar(id, t -> t.getEstado() == EstadoTrabajoFoto.COMPLETADO);
+        assertEquals(1, completado.getIntentos());
+        assertNull(completado.getError());
+        assertEquals("g1", usuarioRepository.findById(usuario.getId()).orElseThrow().getFotoUrl());
+    }
+
+    @Test
+    void testSegundaFoto_DebeSustituirLaAnteriorYEliminarla() throws Exception {
+        // Given: El usuario ya tiene una foto procesada
+        when(cloudinaryService.subirImagen(any(Path.class), anyString()))
+                .thenReturn("g1", "m1", "p1", "g2", "m2", "p2");
+        String primera = procesador.aceptar(usuario.getId(), foto()).getId();
+        esperar(primera, t -> t.getEstado() == EstadoTrabajoFoto.COMPLETADO);
+
+        // When
+        String segunda = procesador.aceptar(usuario.getId(), foto()).getId();
+        esperar(segunda, t -> t.getEstado() == EstadoTrabajoFoto.COMPLETADO);
+
+        // Then: El usuario tiene la nueva y la anterior se elimina de Cloudinary
+        Usuario actualizado = usuarioRepository.findById(usuario.getId()).orElseThrow();
+        assertEquals("g2", actualizado.getFotoUrl());
+        verify(cloudinaryService, timeout(5000)).eliminarImagen("g1");
+        verify(cloudinaryService, timeout(5000)).eliminarImagen("m1");
+        verify(cloudinaryService, timeout(5000)).eliminarImagen("p1");
+    }
+
+    @Test
+    void testTrabajosDeOtraInstancia_NoDebeReanudarlosNiProcesarlos() throws Exception {
+        // Given: Un trabajo en proceso y otro pendiente aceptados por otra instancia
+        LocalDateTime antes = LocalDateTime.now().minusHours(1);
+        TrabajoFoto enProceso = new TrabajoFoto(UUID.randomUUID().toString(), usuario.getId(),
+                "instancia-b", "en-proceso.img", antes);
+        enProceso.setEstado(EstadoTrabajoFoto.PROCESANDO);
+        trabajoFotoRepository.save(enProceso);
+        TrabajoFoto pendiente = trabajoFotoRepository.save(new TrabajoFoto(UUID.randomUUID().toString(),
+                usuario.getId(), "instancia-b", "pendiente.img", antes));
+        when(cloudinaryService.subirImagen(any(Path.class), anyString())).thenReturn("g1", "m1", "p1");
+
+        // When: Esta instancia arranca, hace una pasada y procesa una foto propia (con un
+        // solo hilo, los trabajos encolados antes se habrían procesado primero)
+        procesador.reanudarInterrumpidos();
+        procesador.encolarListos();
+        String propio = procesador.aceptar(usuario.getId(), foto()).getId();
+        esperar(propio, t -> t.getEstado() == EstadoTrabajoFoto.COMPLETADO);
+
+        // Then: Los trabajos de la otra instancia siguen como estaban
+        TrabajoFoto enProcesoTras = trabajoFotoRepository.findById(enProceso.getId()).orElseThrow();
+        TrabajoFoto pendienteTras = trabajoFotoRepository.findById(pendiente.getId()).orElseThrow();
+        assertEquals(EstadoTrabajoFoto.PROCESANDO, enProcesoTras.getEstado());
+        assertEquals(EstadoTrabajoFoto.PENDIENTE, pendienteTras.getEstado());
+        assertEquals(0, pendienteTras.getIntentos());
+        assertNull(pendienteTras.getError());
+    }
+
+    @Test
+    void testSinInstanciaConfigurada_DebeReutilizarLaGuardadaEnElDirectorio(@TempDir Path otroDirectorio)
+            throws IOException {
+        // Given: Un procesador que genera su identificador en el directorio de espera y un
+        // trabajo suyo que se quedó a medias al pararlo
+        crearProcesador("", otroDirectorio).destroy();
+        String generada = Files.readString(otroDirectorio.resolve(ProcesadorFotosPerfil.ARCHIVO_INSTANCIA));
+        TrabajoFoto interrumpido = new TrabajoFoto(UUID.randomUUID().toString(), usuario.getId(),
+                generada, "interrumpido.img", LocalDateTime.now().minusMinutes(1));
+        interrumpido.setEstado(EstadoTrabajoFoto.PROCESANDO);
+        trabajoFotoRepository.save(interrumpido);
+
+        // When: Se vuelve a arrancar sobre el mismo directorio
+        ProcesadorFotosPerfil reiniciado = crearProcesador("", otroDirectorio);
+        reiniciado.reanudarInterrumpidos();
+        reiniciado.destroy();
+
+        // Then: Reconoce el trabajo como suyo y lo reanuda
+        assertEquals(EstadoTrabajoFoto.PENDIENTE,
+                trabajoFotoRepository.findById(interrumpido.getId()).orElseThrow().getEstado());
+    }
+
+    @Test
+    void testFotoUrlDeOtroUsuario_NoDebeBorrarSuArchivo(@TempDir Path origenes) throws Exception {
+        // Given: Una foto de otro usuario en el almacén local
+        String ajena = fileStorageService.guardarArchivo(
+                Files.write(origenes.resolve("ajena.jpg"), UUID.randomUUID().toString().getBytes()), "jpg");
+        Path rutaAjena = fileStorageService.obtenerRutaArchivo(ajena);
+        String variante = ProcesadorFotosPerfil.URL_LOCAL + ajena.substring(0, 6) + "./" + ajena.substring(6);
+
+        // When: El usuario intenta apuntar su foto a una variante de ese nombre
+        UsuarioDTO cambios = new UsuarioDTO();
+        cambios.setFotoUrl(variante);
+        usuarioMapper.updateEntityFromDTO(cambios, usuario);
+
+        // Then: La actualización no toca las URL de la foto
+        assertNull(usuario.getFotoUrl());
+
+        // Given: Aunque la URL llegue a la base de datos por otra vía
+        usuario.setFotoUrl(variante);
+        usuario = usuarioRepository.save(usuario);
+        procesador.destroy();
+        procesador = crearProcesador(INSTANCIA, directorio, "local");
+
+        // When: Sube una foto nueva, que sustituye a la "anterior"
+        TrabajoFoto trabajo = esperar(procesador.aceptar(usuario.getId(), foto()).getId(),
+                t -> t.getEstado() == EstadoTrabajoFoto.COMPLETADO);
+        esperarBorrado(directorio.resolve(trabajo.getArchivo()));
+
+        // Then: El archivo del otro usuario sigue en el almacén
+        assertTrue(Files.exists(rutaAjena));
+        Usuario actualizado = usuarioRepository.findById(usuario.getId()).orElseThrow();
+        assertEquals(trabajo.getFotoUrl(), actualizado.getFotoUrl());
+
+        for (String url : List.of(actualizado.getFotoUrl(), actualizado.getFotoMedianaUrl(),
+                actualizado.getFotoMiniaturaUrl())) {
+            fileStorageService.eliminarArchivo(url.substring(ProcesadorFotosPerfil.URL_LOCAL.length()));
+        }
+        fileStorageService.eliminarArchivo(ajena);
+    }
+
+    // ================== Auxiliares ==================
+
+    private ProcesadorFotosPerfil crearProcesador(String instancia, Path espera) {
+        return crearProcesador(instancia, espera, "cloudinary");
+    }
+
+    private ProcesadorFotosPerfil crearProcesador(String instancia, Path espera, String almacenamiento) {
+        // Un solo hilo y sin espera entre reintentos: la siguiente pasada reintenta
+        return new ProcesadorFotosPerfil(trabajoFotoRepository, usuarioRepository, cloudinaryService,
+                fileStorageService, new GeneradorMiniaturas(), transactionManager, almacenamiento,
+                espera.toString(), instancia, 1, 10, 5, 0, 100, 168, new SimpleMeterRegistry());
+    }
+
+    private static MockMultipartFile foto() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB), "jpeg", salida);
+        return new MockMultipartFile("foto", "foto.jpg", "image/jpeg", salida.toByteArray());
+    }
+
+    /**
+     * Espera (como máximo 10 segundos) a que se borre el archivo de espera, lo último que
+     * hace el procesador tras eliminar las imágenes sustituidas.
+     */
+    private static void esperarBorrado(Path archivo) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (Files.exists(archivo) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertFalse(Files.exists(archivo));
+    }
+
+    /**
+     * Espera (como máximo 10 segundos) a que el trabajo cumpla la condición.
+     */
+    private TrabajoFoto esperar(String id, Predicate<TrabajoFoto> condicion) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < limite) {
+            TrabajoFoto trabajo = trabajoFotoRepository.findById(id).orElseThrow();
+            if (condicion.test(trabajo)) {
+                return trabajo;
+            }
+            Thread.sleep(20);
+        }
+        fail("El trabajo " + id + " no ha llegado al estado esperado: "
+                + trabajoFotoRepository.findById(id).orElseThrow());
+        return null;
+    }
+}